@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+/**
+ * Generates the code of resolved and analysed units on a pool of worker threads.
+ * <p>
+ * Units are handed over in batches by the compiler thread, which waits for the whole
+ * batch to be generated before resolving the next one. Hence the workers never run
+ * concurrently with type resolution, only with each other.
+ * </p>
+ * @see Compiler#processingThreads
+ */
+public class CodeGenerationTaskManager {
+
+	/* number of units queued per worker thread in each batch */
+	public static final int UNITS_PER_THREAD = 4;
+
+	final Compiler compiler;
+	final ExecutorService executor;
+	final int batchSize;
+
+	// results of the current batch
+	private Future<?>[] tasks;
+	private long[] generateTimes;
+
+	public CodeGenerationTaskManager(Compiler compiler, int threadCount) {
+		this.compiler = compiler;
+		this.batchSize = threadCount * UNITS_PER_THREAD;
+		this.tasks = new Future[this.batchSize];
+		this.generateTimes = new long[this.batchSize];
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+			Thread thread = new Thread(runnable, "Compiler Code Generation Task #" + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public int batchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Generates the code of the first <code>count</code> units concurrently, and returns once all of them are done.
+	 * Failures are kept per unit, see {@link #checkGenerated(int)}.
+	 */
+	public void generate(CompilationUnitDeclaration[] units, int count) {
+		for (int i = 0; i < count; i++) {
+			final CompilationUnitDeclaration unit = units[i];
+			final int index = i;
+			this.tasks[i] = this.executor.submit(() -> {
+				long generateStart = System.currentTimeMillis();
+				// problems are reported through a private reporter, the shared one tracks its current reference context
+				ProblemReporter sharedReporter = unit.problemReporter;
+				unit.problemReporter = new ProblemReporter(sharedReporter.policy, sharedReporter.options, sharedReporter.problemFactory);
+				try {
+					this.compiler.generate(unit);
+				} finally {
+					unit.problemReporter = sharedReporter;
+					this.generateTimes[index] = System.currentTimeMillis() - generateStart;
+				}
+			});
+		}
+		// wait for the whole batch, so that a failing unit does not leave other workers running behind our back
+		for (int i = 0; i < count; i++) {
+			boolean interrupted = false;
+			while (true) {
+				try {
+					this.tasks[i].get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					break; // rethrown by checkGenerated(int)
+				}
+			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Answers the time spent generating the code of the unit at the given position of the last batch,
+	 * or rethrows the exception its generation failed with.
+	 */
+	public long checkGenerated(int position) throws Error {
+		Future<?> task = this.tasks[position];
+		this.tasks[position] = null;
+		try {
+			task.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw (RuntimeException) cause;
+		} catch (InterruptedException e) {
+			// cannot happen, the task is done
+		}
+		return this.generateTimes[position];
+	}
+
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+}
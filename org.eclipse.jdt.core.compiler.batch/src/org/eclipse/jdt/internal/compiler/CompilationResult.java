@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,6 +71,7 @@ public class CompilationResult {
 	public char[][][] qualifiedReferences;
 	public char[][] simpleNameReferences;
 	public char[][] rootReferences;
+	public char[][] memberReferences; // see CompilationUnitScope#recordMemberReference()
 	public boolean hasAnnotations = false;
 	public boolean hasFunctionalTypes = false;
 	public int lineSeparatorPositions[];
@@ -57,6 +57,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	/*
+	 * Number of worker threads generating the code of resolved units. When greater than 1, units are resolved
+	 * and analysed in batches on the compiler thread, and their code is generated concurrently, see CodeGenerationTaskManager.
+	 * Results are still accepted in the order of the units.
+	 */
+	public int processingThreads = 1;
 
 	// number of initial units parsed at once (-1: none)
 
@@ -289,6 +295,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.lookupEnvironment = new LookupEnvironment(this, this.options, this.problemReporter, environment);
 		this.out = out == null ? new PrintWriter(System.out, true) : out;
 		this.stats = new CompilerStats();
+		this.lookupEnvironment.stats = this.stats;
 		initializeParser();
 	}
 
@@ -554,6 +561,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	protected void processCompiledUnits(int startingIndex, boolean lastRound) throws java.lang.Error {
 		CompilationUnitDeclaration unit = null;
 		ProcessTaskManager processingTask = null;
+		CodeGenerationTaskManager codeGenerationTask = null;
 		try {
 			if (this.useSingleThread) {
 				// process all units (some more could be injected in the loop by the lookup environment)
@@ -582,7 +590,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					}
 
 					reportWorked(1, i);
-					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
+					countAccepted(unit.compilationResult);
 					long acceptStart = System.currentTimeMillis();
 					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
 					this.stats.generateTime += System.currentTimeMillis() - acceptStart; // record accept time as part of generation
@@ -595,6 +603,81 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 								new String(unit.getFileName())
 							}));
 				}
+			} else if (this.processingThreads > 1) {
+				codeGenerationTask = new CodeGenerationTaskManager(this, this.processingThreads);
+				CompilationUnitDeclaration[] batch = new CompilationUnitDeclaration[codeGenerationTask.batchSize()];
+				int[] batchIndexes = new int[batch.length];
+				// process all units (some more could be injected in the loop by the lookup environment)
+				// resolution is done batch by batch on this thread, code generation of each batch is shared by the workers
+				for (int i = startingIndex; i < this.totalUnits;) {
+					int batchCount = 0;
+					RuntimeException resolveException = null;
+					Error resolveError = null;
+					try {
+						for (; i < this.totalUnits && batchCount < batch.length; i++) {
+							unit = this.unitsToProcess[i];
+							if (unit.compilationResult != null && unit.compilationResult.hasBeenAccepted)
+								continue;
+							reportProgress(Messages.bind(Messages.compilation_processing, new String(unit.getFileName())));
+							if (this.options.verbose)
+								this.out.println(
+									Messages.bind(Messages.compilation_process,
+									new String[] {
+										String.valueOf(i + 1),
+										String.valueOf(this.totalUnits),
+										new String(unit.getFileName())
+									}));
+							resolveAndAnalyse(unit);
+							batch[batchCount] = unit;
+							batchIndexes[batchCount++] = i;
+						}
+					} catch (RuntimeException e) {
+						resolveException = e; // accept the units resolved so far first, as if they had been processed one by one
+					} catch (Error e) {
+						resolveError = e;
+					}
+					this.lookupEnvironment.unitBeingCompleted = null;
+					codeGenerationTask.generate(batch, batchCount);
+					for (int j = 0; j < batchCount; j++) {
+						unit = batch[j];
+						batch[j] = null;
+						int index = batchIndexes[j];
+						try {
+							this.stats.generateTime += codeGenerationTask.checkGenerated(j);
+							// refresh the total number of units known at this stage
+							unit.compilationResult.totalUnitsKnown = this.totalUnits;
+						} finally {
+							// cleanup compilation unit result, but only if not annotation processed.
+							if (this.annotationProcessorManager == null || shouldCleanup(index))
+								unit.cleanUp();
+						}
+						if (this.annotationProcessorManager == null) {
+							this.unitsToProcess[index] = null; // release reference to processed unit declaration
+						}
+
+						reportWorked(1, index);
+						countAccepted(unit.compilationResult);
+						long acceptStart = System.currentTimeMillis();
+						this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+						this.stats.generateTime += System.currentTimeMillis() - acceptStart; // record accept time as part of generation
+						if (this.options.verbose)
+							this.out.println(
+								Messages.bind(Messages.compilation_done,
+								new String[] {
+									String.valueOf(index + 1),
+									String.valueOf(this.totalUnits),
+									new String(unit.getFileName())
+								}));
+					}
+					if (resolveException != null) {
+						unit = this.unitsToProcess[i];
+						throw resolveException;
+					}
+					if (resolveError != null) {
+						unit = this.unitsToProcess[i];
+						throw resolveError;
+					}
+				}
 			} else {
 				processingTask = new ProcessTaskManager(this, startingIndex);
 				int acceptedCount = 0;
@@ -610,7 +693,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					}
 					if (unit == null) break;
 					reportWorked(1, acceptedCount++);
-					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
+					countAccepted(unit.compilationResult);
 					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
 					if (this.options.verbose)
 						this.out.println(
@@ -644,6 +727,10 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				processingTask.shutdown();
 				processingTask = null;
 			}
+			if (codeGenerationTask != null) {
+				codeGenerationTask.shutdown();
+				codeGenerationTask = null;
+			}
 			reset();
 			this.annotationProcessorStartIndex  = 0;
 			this.stats.endTime = System.currentTimeMillis();
@@ -651,6 +738,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		}
 	}
 
+	private void countAccepted(CompilationResult result) {
+		this.stats.lineCount += result.lineSeparatorPositions.length;
+		this.stats.unitCount++;
+		this.stats.problemCount += result.problemCount;
+	}
+
 	public synchronized CompilationUnitDeclaration getUnitToProcess(int next) {
 		if (next < this.totalUnits) {
 			CompilationUnitDeclaration unit = this.unitsToProcess[next];
@@ -844,6 +937,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					CompilationUnitDeclaration parsedUnit;
 					unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
 					long parseStart = System.currentTimeMillis();
+					long[] sample = this.stats.sample();
 					if (this.totalUnits < this.parseThreshold) {
 						parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
 					} else {
@@ -851,9 +945,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					}
 					long resolveStart = System.currentTimeMillis();
 					this.stats.parseTime += resolveStart - parseStart;
+					this.stats.record(CompilerStats.PARSE, unitResult.fileName, sample);
+					sample = this.stats.sample();
 					// initial type binding creation
 					this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
 					this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+					this.stats.record(CompilerStats.RESOLVE, unitResult.fileName, sample);
 					addCompilationUnit(sourceUnits[i], parsedUnit);
 					ImportReference currentPackage = parsedUnit.currentPackage;
 					if (currentPackage != null) {
@@ -873,24 +970,50 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		} finally { // especially on AbortCompilation
 			if (this.parser.readManager != null) {
 				this.parser.readManager.shutdown();
+				this.stats.readStallTime += this.parser.readManager.getStallTime();
+				this.stats.readStallCount += this.parser.readManager.getStallCount();
+				this.stats.unitsReadAhead += this.parser.readManager.getReadAheadCount();
 				this.parser.readManager = null;
 			}
 		}
 		// binding resolution
+		this.lookupEnvironment.processingThreads = this.processingThreads;
+		long[] sample = this.stats.sample();
 		this.lookupEnvironment.completeTypeBindings();
+		this.stats.record(CompilerStats.RESOLVE, null, sample); // spans all units
 	}
 
 	/**
 	 * Process a compilation unit already parsed and build.
 	 */
 	public void process(CompilationUnitDeclaration unit, int i) {
+		resolveAndAnalyse(unit);
+
+		long generateStart = System.currentTimeMillis();
+		generate(unit);
+		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+
+		// refresh the total number of units known at this stage
+		unit.compilationResult.totalUnitsKnown = this.totalUnits;
+
+		this.lookupEnvironment.unitBeingCompleted = null;
+	}
+
+	/**
+	 * Resolve and analyse a compilation unit already parsed and build, up to code generation.
+	 */
+	protected void resolveAndAnalyse(CompilationUnitDeclaration unit) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
 		long parseStart = System.currentTimeMillis();
+		char[] fileName = unit.getFileName();
+		long[] sample = this.stats.sample();
 
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
 		this.stats.parseTime += resolveStart - parseStart;
+		this.stats.record(CompilerStats.PARSE, fileName, sample);
+		sample = this.stats.sample();
 
 		// fault in fields & methods
 		if (unit.scope != null)
@@ -905,13 +1028,23 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 		long analyzeStart = System.currentTimeMillis();
 		this.stats.resolveTime += analyzeStart - resolveStart;
+		this.stats.record(CompilerStats.RESOLVE, fileName, sample);
+		sample = this.stats.sample();
 
 		//No need of analysis or generation of code if statements are not required
 		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
 
-		long generateStart = System.currentTimeMillis();
-		this.stats.analyzeTime += generateStart - analyzeStart;
+		this.stats.analyzeTime += System.currentTimeMillis() - analyzeStart;
+		this.stats.record(CompilerStats.ANALYZE, fileName, sample);
+	}
 
+	/**
+	 * Generate the code of a compilation unit already analysed.
+	 * May run on a code generation worker thread, hence must not record any compiler state but its stats,
+	 * which {@link CompilerStats#record(int, char[], long[])} lets several threads record concurrently.
+	 */
+	protected void generate(CompilationUnitDeclaration unit) {
+		long[] sample = this.stats.sample();
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
 
 		// reference info
@@ -920,13 +1053,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 		// finalize problems (suppressWarnings)
 		unit.finalizeProblems();
-
-		this.stats.generateTime += System.currentTimeMillis() - generateStart;
-
-		// refresh the total number of units known at this stage
-		unit.compilationResult.totalUnitsKnown = this.totalUnits;
-
-		this.lookupEnvironment.unitBeingCompleted = null;
+		this.stats.record(CompilerStats.GENERATE, unit.getFileName(), sample); // measures the current thread only
 	}
 
 	protected void processAnnotations() {
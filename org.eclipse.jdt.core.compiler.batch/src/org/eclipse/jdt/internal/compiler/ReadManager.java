@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,171 +14,251 @@
 
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnitExtension;
+import org.eclipse.jdt.internal.compiler.util.SourceReader;
 
+/**
+ * Reads the contents of the units to compile ahead of the parser, on background threads.
+ * <p>
+ * The amount read ahead is bounded in bytes rather than in units, by the <code>jdt.compiler.readAhead</code>
+ * system property (16MB by default). Units backed by a source file are read through a {@link SourceReader}, so each
+ * reading thread reuses its buffers. The compiler thread never blocks on a lock: it takes the contents of a unit
+ * once published, and only waits when the unit is still being read, which is measured as a read stall.
+ * </p>
+ */
 public class ReadManager implements Runnable {
-	ICompilationUnit[] units;
-	int nextFileToRead;
-	ICompilationUnit[] filesRead;
-	char[][] contentsRead;
-	int readyToReadPosition;
-	int nextAvailablePosition;
-	Thread[] readingThreads;
-	char[] readInProcessMarker = new char[0];
-	int sleepingThreadCount;
-	private Throwable caughtException;
-
-	static final int START_CUSHION = 5;
+	public static final String READ_AHEAD_PROPERTY = "jdt.compiler.readAhead"; //$NON-NLS-1$
+	static final int DEFAULT_READ_AHEAD = 16 * 1024 * 1024;
+	static final int UNKNOWN_SIZE = 16 * 1024; // assumed size of the units which are not backed by a file
+
+	static final int START_CUSHION = 5; // the first units are read by the compiler thread, while the reading threads start
 	public static final int THRESHOLD = 10;
-	static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	static final int MAX_THREADS = 15;
+
+	private static final Object SKIPPED = new Object(); // contents read ahead but dropped as the compiler went past the unit
+	private static final Object RELEASED = new Object(); // contents already handed to the compiler thread
+
+	private final ICompilationUnit[] units;
+	private final AtomicIntegerArray claimed; // 1 once a thread, reading or compiler, is in charge of reading a unit
+	private final AtomicReferenceArray<Object> contents; // char[] once read, Throwable if reading failed, then RELEASED or SKIPPED
+	private final int[] charges; // the bytes of the read ahead budget held by each unit, published with its contents
+	private final AtomicInteger nextFileToRead = new AtomicInteger(START_CUSHION);
+	private final Semaphore budget; // bytes which may still be read ahead
+	private final int budgetSize;
+	private final Object claimLock = new Object(); // orders the reading threads so that units get budget in order
+	private Thread[] readingThreads;
+	private volatile boolean shutdown;
+	private volatile Thread waiter; // the compiler thread, while it waits for a unit
+	private volatile int skippedBelow; // the compiler went past the units below, their contents are dropped once read
+
+	// only used by the compiler thread
+	private int nextUnit; // the unit expected next
+	private long stallTime;
+	private int stallCount;
+	private int readAheadCount;
 
 public ReadManager(ICompilationUnit[] files, int length) {
+	this.units = new ICompilationUnit[length];
+	System.arraycopy(files, 0, this.units, 0, length);
+	this.claimed = new AtomicIntegerArray(length);
+	this.contents = new AtomicReferenceArray<>(length);
+	this.charges = new int[length];
+	this.budgetSize = getReadAhead();
+	this.budget = new Semaphore(this.budgetSize);
+
 	// start the background threads to read the file's contents
 	int threadCount = Runtime.getRuntime().availableProcessors() + 1;
-	if (threadCount < 2) {
+	if (threadCount < 2 || this.budgetSize == 0) {
 		threadCount = 0;
-	} else if (threadCount > CACHE_SIZE) {
-		threadCount = CACHE_SIZE;
+	} else if (threadCount > MAX_THREADS) {
+		threadCount = MAX_THREADS;
 	}
-
 	if (threadCount > 0) {
-		synchronized (this) {
-			this.units = new ICompilationUnit[length];
-			System.arraycopy(files, 0, this.units, 0, length);
-			this.nextFileToRead = START_CUSHION; // skip some files to reduce the number of times we have to wait
-			this.filesRead = new ICompilationUnit[CACHE_SIZE];
-			this.contentsRead = new char[CACHE_SIZE][];
-			this.readyToReadPosition = 0;
-			this.nextAvailablePosition = 0;
-			this.sleepingThreadCount = 0;
-			this.readingThreads = new Thread[threadCount];
-			for (int i = threadCount; --i >= 0;) {
-				this.readingThreads[i] = new Thread(this, "Compiler Source File Reader"); //$NON-NLS-1$
-				this.readingThreads[i].setDaemon(true);
-				this.readingThreads[i].start();
-			}
+		this.readingThreads = new Thread[threadCount];
+		for (int i = threadCount; --i >= 0;) {
+			this.readingThreads[i] = new Thread(this, "Compiler Source File Reader"); //$NON-NLS-1$
+			this.readingThreads[i].setDaemon(true);
+			this.readingThreads[i].start();
 		}
 	}
 }
 
-public char[] getContents(ICompilationUnit unit) throws Error {
-	Thread[] rThreads = this.readingThreads;
-	if (rThreads == null || this.units.length == 0) {
-		if (this.caughtException != null) {
-			// rethrow the caught exception from the readingThreads in the main compiler thread
-			if (this.caughtException instanceof Error)
-				throw (Error) this.caughtException;
-			throw (RuntimeException) this.caughtException;
+private static int getReadAhead() {
+	String setting = System.getProperty(READ_AHEAD_PROPERTY);
+	if (setting != null) {
+		try {
+			return (int) Math.min(Integer.MAX_VALUE, Math.max(0, Long.parseLong(setting)));
+		} catch (NumberFormatException e) {
+			// use the default
 		}
+	}
+	return DEFAULT_READ_AHEAD;
+}
+
+public char[] getContents(ICompilationUnit unit) throws Error {
+	int index = indexOf(unit);
+	if (index == -1 || this.readingThreads == null)
 		return unit.getContents();
+	this.nextUnit = index + 1;
+	skipTo(index);
+	if (this.claimed.compareAndSet(index, 0, 1)) {
+		this.contents.set(index, RELEASED); // should the unit be asked for again
+		return unit.getContents(); // not read ahead, read it now rather than wait for a reading thread
+	}
+	Object result = this.contents.get(index);
+	if (result == SKIPPED || result == RELEASED)
+		return unit.getContents(); // dropped when the compiler went past the unit, or asked for again
+	if (result == null) {
+		long start = System.nanoTime();
+		this.waiter = Thread.currentThread();
+		while ((result = this.contents.get(index)) == null && !this.shutdown)
+			LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(10));
+		this.waiter = null;
+		this.stallTime += System.nanoTime() - start;
+		this.stallCount++;
+		if (result == null || result == SKIPPED)
+			return unit.getContents();
 	}
+	release(index);
+	if (result instanceof char[]) {
+		this.readAheadCount++;
+		return (char[]) result;
+	}
+	if (result instanceof Error)
+		throw (Error) result;
+	// rethrow the exception of the reading thread, such as an AbortCompilationUnit, in the compiler thread
+	throw (RuntimeException) result;
+}
 
-	boolean yield = this.sleepingThreadCount == rThreads.length;
-	char[] result = null;
-	synchronized (this) {
-		if (unit == this.filesRead[this.readyToReadPosition]) {
-			result = this.contentsRead[this.readyToReadPosition];
-			while (result == this.readInProcessMarker || result == null) {
-				// let the readingThread know we're waiting
-				//System.out.print('|');
-				this.contentsRead[this.readyToReadPosition] = null;
-				try {
-					wait(250);
-				} catch (InterruptedException ignore) { // ignore
-				}
-				if (this.caughtException != null) {
-					// rethrow the caught exception from the readingThreads in the main compiler thread
-					if (this.caughtException instanceof Error)
-						throw (Error) this.caughtException;
-					throw (RuntimeException) this.caughtException;
-				}
-				result = this.contentsRead[this.readyToReadPosition];
-			}
-			// free spot for next file
-			this.filesRead[this.readyToReadPosition] = null;
-			this.contentsRead[this.readyToReadPosition] = null;
-			if (++this.readyToReadPosition >= this.contentsRead.length)
-				this.readyToReadPosition = 0;
-			if (this.sleepingThreadCount > 0) {
-				//System.out.print('+');
-				//System.out.print(this.nextFileToRead);
-				notify();
-			}
-		} else {
-			// must make sure we're reading ahead of the unit
-			int unitIndex = 0;
-			for (int l = this.units.length; unitIndex < l; unitIndex++)
-				if (this.units[unitIndex] == unit) break;
-			if (unitIndex == this.units.length) {
-				// attempting to read a unit that was not included in the initial files - should not happen
-				this.units = new ICompilationUnit[0]; // stop looking for more
-			} else if (unitIndex >= this.nextFileToRead) {
-				// start over
-				//System.out.println(unitIndex + " vs " + this.nextFileToRead);
-				this.nextFileToRead = unitIndex + START_CUSHION;
-				this.readyToReadPosition = 0;
-				this.nextAvailablePosition = 0;
-				this.filesRead = new ICompilationUnit[CACHE_SIZE];
-				this.contentsRead = new char[CACHE_SIZE][];
-				notifyAll();
-			}
+private int indexOf(ICompilationUnit unit) {
+	if (this.nextUnit < this.units.length && this.units[this.nextUnit] == unit)
+		return this.nextUnit;
+	for (int i = 0, l = this.units.length; i < l; i++)
+		if (this.units[i] == unit) return i;
+	return -1; // attempting to read a unit that was not included in the initial files - should not happen
+}
+
+/*
+ * Makes the reading threads continue after the given unit, and drops the contents read ahead for the units the
+ * compiler went past, so that their budget is not held forever.
+ */
+private void skipTo(int index) {
+	int next = this.nextFileToRead.get();
+	while (next <= index) {
+		if (this.nextFileToRead.compareAndSet(next, index + 1))
+			break;
+		next = this.nextFileToRead.get();
+	}
+	int skipped = this.skippedBelow;
+	if (skipped < index) {
+		this.skippedBelow = index;
+		for (int i = skipped; i < index; i++) {
+			Object result = this.contents.get(i);
+			if (result != null)
+				drop(i, result);
 		}
 	}
-	if (yield)
-		Thread.yield(); // ensure other threads get a chance
-	if (result != null)
-		return result;
-	//System.out.print('-');
-	return unit.getContents();
+}
+
+/*
+ * Drops the contents read ahead for a unit, unless done concurrently by a reading thread or the compiler thread.
+ */
+private void drop(int index, Object result) {
+	if (result != SKIPPED && result != RELEASED && this.contents.compareAndSet(index, result, SKIPPED)) {
+		int charge = this.charges[index];
+		if (charge > 0)
+			this.budget.release(charge);
+	}
+}
+
+private void release(int index) {
+	this.contents.set(index, RELEASED);
+	int charge = this.charges[index];
+	if (charge > 0)
+		this.budget.release(charge);
+}
+
+/**
+ * Answers the time the compiler thread waited for units still being read, in nanoseconds.
+ */
+public long getStallTime() {
+	return this.stallTime;
+}
+
+/**
+ * Answers how many times the compiler thread waited for a unit still being read.
+ */
+public int getStallCount() {
+	return this.stallCount;
+}
+
+/**
+ * Answers how many units the compiler thread got from the reading threads.
+ */
+public int getReadAheadCount() {
+	return this.readAheadCount;
 }
 
 @Override
 public void run() {
-	try {
-		while (this.readingThreads != null && this.nextFileToRead < this.units.length) {
-			ICompilationUnit unit = null;
-			int position = -1;
-			synchronized (this) {
-				if (this.readingThreads == null) return;
-
-				while (this.filesRead[this.nextAvailablePosition] != null) {
-					this.sleepingThreadCount++;
-					try {
-						wait(250); // wait until a spot in contents is available
-					} catch (InterruptedException e) { // ignore
-					}
-					this.sleepingThreadCount--;
-					if (this.readingThreads == null) return;
-				}
-
-				if (this.nextFileToRead >= this.units.length) return;
-				unit = this.units[this.nextFileToRead++];
-				position = this.nextAvailablePosition;
-				if (++this.nextAvailablePosition >= this.contentsRead.length)
-					this.nextAvailablePosition = 0;
-				this.filesRead[position] = unit;
-				this.contentsRead[position] = this.readInProcessMarker; // mark the spot so we know its being read
-			}
-			char[] result = unit.getContents();
-			synchronized (this) {
-				if (this.filesRead[position] == unit) {
-					if (this.contentsRead[position] == null) // wake up main thread which is waiting for this file
-						notifyAll();
-					this.contentsRead[position] = result;
+	SourceReader reader = new SourceReader();
+	while (!this.shutdown) {
+		int index;
+		int charge;
+		synchronized (this.claimLock) {
+			index = this.nextFileToRead.getAndIncrement();
+			if (index >= this.units.length)
+				return;
+			if (!this.claimed.compareAndSet(index, 0, 1))
+				continue; // being read by the compiler thread
+			charge = charge(this.units[index]);
+			try {
+				while (!this.budget.tryAcquire(charge, 250, TimeUnit.MILLISECONDS)) {
+					if (this.shutdown)
+						return;
 				}
+			} catch (InterruptedException e) {
+				return;
 			}
 		}
-	} catch (Error | RuntimeException e) {
-		synchronized (this) {
-			this.caughtException = e;
-			shutdown();
+		ICompilationUnit unit = this.units[index];
+		Object result;
+		try {
+			result = unit instanceof ICompilationUnitExtension
+					? ((ICompilationUnitExtension) unit).getContents(reader)
+					: unit.getContents();
+		} catch (Error | RuntimeException e) {
+			result = e;
 		}
-		return;
+		this.charges[index] = charge;
+		this.contents.set(index, result);
+		if (index < this.skippedBelow)
+			drop(index, result); // the compiler went past the unit while it was being read
+		Thread compilerThread = this.waiter;
+		if (compilerThread != null)
+			LockSupport.unpark(compilerThread);
 	}
 }
 
-public synchronized void shutdown() {
-	this.readingThreads = null; // mark the read manager as shutting down so that the reading threads stop
-	notifyAll();
+private int charge(ICompilationUnit unit) {
+	long size = unit instanceof ICompilationUnitExtension ? ((ICompilationUnitExtension) unit).getContentsSize() : -1;
+	if (size < 0)
+		size = UNKNOWN_SIZE;
+	return (int) Math.max(1, Math.min(size, this.budgetSize)); // a unit larger than the budget still gets read
+}
+
+public void shutdown() {
+	this.shutdown = true; // mark the read manager as shutting down so that the reading threads stop
+	Thread compilerThread = this.waiter;
+	if (compilerThread != null)
+		LockSupport.unpark(compilerThread);
+}
 }
-}
\ No newline at end of file
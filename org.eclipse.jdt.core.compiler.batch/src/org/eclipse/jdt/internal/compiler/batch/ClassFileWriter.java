@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Writes the class files produced by the batch compiler, into output directories and optionally into a single jar.
+ * <p>
+ * Class files are queued and written by a background thread, so that compilation does not wait on the file system.
+ * The queue is bounded: the compiler blocks when the writer falls behind. Output directories are only created
+ * once per package, and write errors are collected until {@link #close()}, so that the compiler can report them
+ * at the end of the compilation. The <code>jdt.compiler.outputQueue</code> system property sets the capacity of the
+ * queue, in class files; <code>0</code> writes on the thread of the compiler. Should the background thread die, the
+ * class files are written on the thread of the compiler from then on.
+ * </p><p>
+ * The class files destined to the jar are written into it as they come, with a fixed time stamp. The batch
+ * compiler queues them per compilation unit, in the order of the units and sorted by name within each unit,
+ * so that the same sources always produce the same jar.
+ * </p>
+ */
+public class ClassFileWriter {
+
+	public static final String QUEUE_PROPERTY = "jdt.compiler.outputQueue"; //$NON-NLS-1$
+	static final int DEFAULT_QUEUE_CAPACITY = 64;
+	static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0); // the earliest time stamp zip tools agree on
+
+	/**
+	 * A class file, or a jar of class files, which could not be written.
+	 */
+	public static class WriteError {
+		public final String destinationPath;
+		public final String relativeName;
+		public final IOException exception;
+		public final int classFileCount; // the number of class files lost
+
+		WriteError(String destinationPath, String relativeName, IOException exception, int classFileCount) {
+			this.destinationPath = destinationPath;
+			this.relativeName = relativeName;
+			this.exception = exception;
+			this.classFileCount = classFileCount;
+		}
+	}
+
+	private static class Request {
+		final boolean generatePackagesStructure;
+		final String destinationPath;
+		final String relativeName;
+		final byte[] bytes;
+
+		Request(boolean generatePackagesStructure, String destinationPath, String relativeName, byte[] bytes) {
+			this.generatePackagesStructure = generatePackagesStructure;
+			this.destinationPath = destinationPath;
+			this.relativeName = relativeName;
+			this.bytes = bytes;
+		}
+	}
+	private static final Request END = new Request(false, null, null, null);
+	private static final long POLL_MILLIS = 100; // how often a blocked caller checks that the writer is still alive
+
+	private final BlockingQueue<Request> queue; // null when writing synchronously
+	private final Thread thread;
+	private final String jarPath;
+	// the jar, opened with its first entry, and the names of its entries; only touched by the writing thread while it is alive
+	private ZipOutputStream jar;
+	private final Set<String> jarEntryNames = new HashSet<>();
+	private IOException jarException; // why the jar could not be written, its later entries are lost with it
+	private final Map<String, String> directories = new HashMap<>(); // created output directories, by destination and package; only touched by the writing thread while it is alive
+	private final List<WriteError> errors = Collections.synchronizedList(new ArrayList<>());
+	private boolean closed;
+	private volatile boolean finished; // whether the writing thread completed the jar and stopped
+
+/**
+ * Creates a writer into output directories.
+ *
+ * @param capacity the number of class files which may be queued, <code>0</code> to write synchronously
+ */
+public ClassFileWriter(int capacity) {
+	this(capacity, null);
+}
+/**
+ * Creates a writer into output directories and into the given jar, which gets the class files whose
+ * destination path is the jar path.
+ *
+ * @param capacity the number of class files which may be queued, <code>0</code> to write synchronously
+ * @param jarPath the jar or zip file to create, or <code>null</code> to only write into output directories
+ */
+public ClassFileWriter(int capacity, String jarPath) {
+	this.jarPath = jarPath;
+	if (capacity > 0) {
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.thread = new Thread(this::run, "Class file writer"); //$NON-NLS-1$
+		this.thread.setDaemon(true);
+		this.thread.start();
+	} else {
+		this.queue = null;
+		this.thread = null;
+	}
+}
+/**
+ * Answers the capacity of the queue set by the <code>jdt.compiler.outputQueue</code> system property.
+ */
+public static int getQueueCapacity() {
+	String setting = System.getProperty(QUEUE_PROPERTY);
+	if (setting != null) {
+		try {
+			return Math.max(0, Integer.parseInt(setting));
+		} catch (NumberFormatException e) {
+			// use the default
+		}
+	}
+	return DEFAULT_QUEUE_CAPACITY;
+}
+/**
+ * Queues the given class file bytes, waiting for room in the queue if needed. The bytes must not be changed
+ * afterwards.
+ *
+ * @param generatePackagesStructure whether the packages of the class file should be created under the destination
+ * @param destinationPath the output directory
+ * @param relativeName the name of the class file relative to the destination, using the platform separator
+ * @param bytes the contents of the class file
+ */
+public void write(boolean generatePackagesStructure, String destinationPath, String relativeName, byte[] bytes) {
+	Request request = new Request(generatePackagesStructure, destinationPath, relativeName, bytes);
+	if (this.queue == null) {
+		synchronized (this) {
+			write(request);
+		}
+		return;
+	}
+	if (!enqueue(request)) {
+		synchronized (this) {
+			write(request);
+		}
+	}
+}
+/*
+ * Queues the given request, waiting for room in the queue as long as the writing thread is alive.
+ * Answers false if the writing thread died.
+ */
+private boolean enqueue(Request request) {
+	boolean interrupted = false;
+	try {
+		while (this.thread.isAlive()) {
+			try {
+				if (this.queue.offer(request, POLL_MILLIS, TimeUnit.MILLISECONDS))
+					return true;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		return false;
+	} finally {
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
+/**
+ * Writes the pending class files, completes the jar if any, and answers the class files which could not be written,
+ * in the order they were queued.
+ */
+public List<WriteError> close() {
+	synchronized (this) {
+		if (this.closed)
+			return Collections.emptyList();
+		this.closed = true;
+	}
+	if (this.queue != null && enqueue(END)) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				this.thread.join();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+	if (!this.finished) {
+		// no writing thread, or it died: write what it left on this thread
+		synchronized (this) {
+			if (this.queue != null) {
+				List<Request> pending = new ArrayList<>();
+				this.queue.drainTo(pending);
+				for (Request request : pending) {
+					if (request != END)
+						write(request);
+				}
+			}
+			closeJar();
+		}
+	}
+	synchronized (this.errors) {
+		return new ArrayList<>(this.errors);
+	}
+}
+private void run() {
+	try {
+		while (true) {
+			Request request = this.queue.take();
+			if (request == END) {
+				closeJar();
+				this.finished = true;
+				return;
+			}
+			try {
+				write(request);
+			} catch (Error e) {
+				this.errors.add(new WriteError(request.destinationPath, request.relativeName, new IOException(e), 1));
+				throw e;
+			}
+		}
+	} catch (InterruptedException e) {
+		// the compiler gave up
+	}
+}
+private void write(Request request) {
+	try {
+		if (this.jarPath != null && this.jarPath.equals(request.destinationPath)) {
+			writeJarEntry(request);
+			return;
+		}
+		String fileName = request.generatePackagesStructure
+				? getPackageDirectory(request) + File.separatorChar + lastSegment(request.relativeName)
+				: getFileName(request);
+		try (OutputStream output = new FileOutputStream(fileName)) {
+			output.write(request.bytes);
+		}
+	} catch (IOException e) {
+		this.errors.add(new WriteError(request.destinationPath, request.relativeName, e, 1));
+	} catch (RuntimeException e) {
+		this.errors.add(new WriteError(request.destinationPath, request.relativeName, new IOException(e), 1));
+	}
+}
+/*
+ * Creates the directory of the package of the given class file once, reporting failures as Util does.
+ */
+private String getPackageDirectory(Request request) throws IOException {
+	int separatorIndex = request.relativeName.lastIndexOf(File.separatorChar);
+	String packagePath = separatorIndex == -1 ? "" : request.relativeName.substring(0, separatorIndex); //$NON-NLS-1$
+	String key = request.destinationPath + File.pathSeparatorChar + packagePath;
+	String directory = this.directories.get(key);
+	if (directory == null) {
+		String fileName = Util.buildAllDirectoriesInto(request.destinationPath, request.relativeName);
+		directory = fileName.substring(0, fileName.lastIndexOf(File.separatorChar));
+		this.directories.put(key, directory);
+	}
+	return directory;
+}
+private static String getFileName(Request request) {
+	String outputPath = request.destinationPath.replace('/', File.separatorChar);
+	String name = lastSegment(request.relativeName);
+	return outputPath.endsWith(File.separator) ? outputPath + name : outputPath + File.separatorChar + name;
+}
+private static String lastSegment(String relativeName) {
+	return relativeName.substring(relativeName.lastIndexOf(File.separatorChar) + 1);
+}
+private void writeJarEntry(Request request) throws ZipException {
+	String name = request.relativeName.replace(File.separatorChar, '/');
+	if (!this.jarEntryNames.add(name))
+		throw new ZipException("duplicate entry: " + name); //$NON-NLS-1$
+	if (this.jarException != null)
+		return; // lost with the jar, reported once when closing it
+	try {
+		if (this.jar == null) {
+			File jarFile = new File(this.jarPath);
+			File parent = jarFile.getAbsoluteFile().getParentFile();
+			if (parent != null)
+				parent.mkdirs();
+			this.jar = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(jarFile)));
+		}
+		ZipEntry zipEntry = new ZipEntry(name);
+		zipEntry.setTimeLocal(ENTRY_TIME);
+		this.jar.putNextEntry(zipEntry);
+		this.jar.write(request.bytes);
+		this.jar.closeEntry();
+	} catch (IOException e) {
+		this.jarException = e;
+	} catch (RuntimeException e) {
+		this.jarException = new IOException(e);
+	}
+}
+/*
+ * Completes the jar, and reports all of its entries as lost if it could not be written.
+ */
+private void closeJar() {
+	if (this.jarPath == null)
+		return;
+	try {
+		if (this.jar != null)
+			this.jar.close();
+	} catch (IOException e) {
+		if (this.jarException == null)
+			this.jarException = e;
+	}
+	this.jar = null;
+	if (this.jarException != null) {
+		File jarFile = new File(this.jarPath);
+		File parent = jarFile.getAbsoluteFile().getParentFile();
+		this.errors.add(new WriteError(parent == null ? this.jarPath : parent.getPath(), jarFile.getName(), this.jarException, this.jarEntryNames.size()));
+	}
+	this.jarEntryNames.clear();
+}
+}
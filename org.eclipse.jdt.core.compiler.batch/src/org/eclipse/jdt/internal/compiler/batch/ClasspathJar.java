@@ -31,6 +31,7 @@ import java.util.zip.ZipFile;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider;
@@ -68,11 +69,11 @@ public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporte
 	try {
 		initialize();
 		ArrayList<Classpath> result = new ArrayList<>();
-		ZipEntry manifest = this.zipFile.getEntry(TypeConstants.META_INF_MANIFEST_MF);
+		InputStream manifest = getInputStream(TypeConstants.META_INF_MANIFEST_MF);
 		if (manifest != null) { // non-null implies regular file
 			ManifestAnalyzer analyzer = new ManifestAnalyzer();
 			boolean success;
-			try (InputStream inputStream = this.zipFile.getInputStream(manifest)) {
+			try (InputStream inputStream = manifest) {
 				success = analyzer.analyzeManifestContents(inputStream);
 			}
 			List calledFileNames = analyzer.getCalledFileNames();
@@ -91,7 +92,7 @@ public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporte
 				while (calledFilesIterator.hasNext()) {
 					File linkedFile = new File(directoryPath + (String) calledFilesIterator.next());
 					if (linkedFile.isFile()) {
-						result.add(new ClasspathJar(linkedFile, this.closeZipFileAtEnd, this.accessRuleSet, this.destinationPath));
+						result.add(newLinkedJar(linkedFile));
 					}
 				}
 			}
@@ -103,6 +104,48 @@ public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporte
 		return null;
 	}
 }
+/**
+ * Answers a stream on the contents of the given entry, or <code>null</code> if the jar has no such entry.
+ */
+protected InputStream getInputStream(String entryName) throws IOException {
+	ZipEntry entry = this.zipFile.getEntry(entryName);
+	return entry == null ? null : this.zipFile.getInputStream(entry);
+}
+/**
+ * Answers the class path entry for a jar listed in the Class-Path section of the manifest of this jar.
+ */
+protected ClasspathJar newLinkedJar(File linkedFile) {
+	return new ClasspathJar(linkedFile, this.closeZipFileAtEnd, this.accessRuleSet, this.destinationPath);
+}
+/**
+ * Answers the type read from the given class file entry, or <code>null</code> if the jar has no such entry.
+ */
+protected IBinaryType readClass(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	ClassFileReaderCache cache = ClassFileReaderCache.getShared();
+	if (cache == null)
+		return inModule(ClassFileReader.read(this.zipFile, qualifiedBinaryFileName));
+	ZipEntry entry = this.zipFile.getEntry(qualifiedBinaryFileName);
+	if (entry == null)
+		return null;
+	return cache.get(cacheKey(), qualifiedBinaryFileName, entry.getCrc(),
+			() -> inModule(ClassFileReader.read(this.zipFile, qualifiedBinaryFileName)));
+}
+/**
+ * Answers the class path entry under which the readers of this jar are cached. Readers hold the module of the jar,
+ * which depends on how the jar is put on the class path, so that the readers of each module are cached apart.
+ */
+protected String cacheKey() {
+	return this.module == null ? this.file.getPath() : this.file.getPath() + '|' + String.valueOf(this.module.name());
+}
+/**
+ * Sets the module of this jar on the given new reader, unless the class file declares its own module.
+ * Readers must not be changed once cached.
+ */
+protected ClassFileReader inModule(ClassFileReader reader) {
+	if (reader != null && reader.moduleName == null && this.module != null)
+		reader.moduleName = this.module.name();
+	return reader;
+}
 @Override
 public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageName, String moduleName, String qualifiedBinaryFileName) {
 	return findClass(typeName, qualifiedPackageName, moduleName, qualifiedBinaryFileName, false);
@@ -113,16 +156,11 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader = readClass(qualifiedBinaryFileName);
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
-			if (reader instanceof ClassFileReader) {
-				ClassFileReader classReader = (ClassFileReader) reader;
-				if (classReader.moduleName == null)
-					classReader.moduleName = modName;
-				else
-					modName = classReader.moduleName;
-			}
+			if (reader instanceof ClassFileReader && ((ClassFileReader) reader).moduleName != null)
+				modName = ((ClassFileReader) reader).moduleName;
 			searchPaths:
 			if (this.annotationPaths != null) {
 				String qualifiedClassName = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length()-SuffixConstants.EXTENSION_CLASS.length()-1);
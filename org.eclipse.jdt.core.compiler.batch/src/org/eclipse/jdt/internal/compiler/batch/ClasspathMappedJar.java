@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider;
+import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+
+/**
+ * A jar on the class path, which is memory-mapped and looked up through a {@link MappedJarIndex}
+ * rather than opened as a {@link java.util.zip.ZipFile}.
+ * <p>
+ * Used in place of {@link ClasspathJar} when the <code>jdt.compiler.mappedJars</code> system property is set
+ * to <code>true</code>. The <code>jdt.compiler.jarIndexCache</code> system property optionally names the directory
+ * where the indexes are kept across compilations. Falls back to a {@link java.util.zip.ZipFile} when the jar
+ * cannot be mapped, e.g. when it is larger than 2GB.
+ * </p><p>
+ * Long running compilers may also keep the indexes in memory across compilations, see {@link #shareIndexes(int)}.
+ * </p>
+ */
+public class ClasspathMappedJar extends ClasspathJar {
+
+	public static final boolean ENABLED = Boolean.getBoolean("jdt.compiler.mappedJars"); //$NON-NLS-1$
+	public static final String INDEX_CACHE = System.getProperty("jdt.compiler.jarIndexCache"); //$NON-NLS-1$
+
+	private static Map<String, MappedJarIndex> SHARED_INDEXES = null; // by jar path, null unless shared across compilations
+
+	protected MappedJarIndex index;
+
+public ClasspathMappedJar(File file, boolean closeZipFileAtEnd, AccessRuleSet accessRuleSet, String destinationPath) {
+	super(file, closeZipFileAtEnd, accessRuleSet, destinationPath);
+}
+
+/**
+ * Answers whether jars on the class path should be mapped rather than opened as zip files.
+ */
+public static synchronized boolean isEnabled() {
+	return ENABLED || SHARED_INDEXES != null;
+}
+/**
+ * Keeps the indexes of the most recently used jars in memory across compilations, for as long as the modification
+ * time and size of the jars do not change, and enables mapped jars.
+ *
+ * @param maximumSize the maximum number of indexes to keep, <code>0</code> stops sharing indexes
+ */
+public static synchronized void shareIndexes(final int maximumSize) {
+	if (maximumSize == 0) {
+		SHARED_INDEXES = null;
+		return;
+	}
+	SHARED_INDEXES = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, MappedJarIndex> eldest) {
+			return size() > maximumSize;
+		}
+	};
+}
+private static synchronized MappedJarIndex getIndex(File file) throws IOException {
+	File cacheDirectory = INDEX_CACHE == null ? null : new File(INDEX_CACHE);
+	if (SHARED_INDEXES == null)
+		return MappedJarIndex.open(file, cacheDirectory);
+	String path = file.getAbsolutePath();
+	MappedJarIndex index = SHARED_INDEXES.get(path);
+	if (index == null || !index.isUpToDate(file)) { // evict the index of a jar that changed
+		index = MappedJarIndex.open(file, cacheDirectory);
+		SHARED_INDEXES.put(path, index);
+	}
+	return index;
+}
+private static synchronized boolean isShared() {
+	return SHARED_INDEXES != null;
+}
+
+@Override
+public void initialize() throws IOException {
+	if (this.index == null && this.zipFile == null) {
+		try {
+			this.index = getIndex(this.file);
+		} catch (IOException e) {
+			super.initialize();
+		}
+	}
+}
+@Override
+protected InputStream getInputStream(String entryName) throws IOException {
+	if (this.index == null)
+		return super.getInputStream(entryName);
+	byte[] bytes = this.index.getEntryBytes(entryName);
+	return bytes == null ? null : new ByteArrayInputStream(bytes);
+}
+@Override
+protected ClasspathJar newLinkedJar(File linkedFile) {
+	return new ClasspathMappedJar(linkedFile, this.closeZipFileAtEnd, this.accessRuleSet, this.destinationPath);
+}
+@Override
+protected IBinaryType readClass(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	if (this.index == null)
+		return super.readClass(qualifiedBinaryFileName);
+	ClassFileReaderCache cache = ClassFileReaderCache.getShared();
+	if (cache == null)
+		return inModule(readMappedClass(qualifiedBinaryFileName));
+	long crc = this.index.getEntryCrc(qualifiedBinaryFileName);
+	if (crc == -1)
+		return null;
+	return cache.get(cacheKey(), qualifiedBinaryFileName, crc, () -> inModule(readMappedClass(qualifiedBinaryFileName)));
+}
+private ClassFileReader readMappedClass(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	byte[] bytes = this.index.getEntryBytes(qualifiedBinaryFileName);
+	if (bytes == null)
+		return null;
+	URI uri = URI.create("jar:file://" + this.file.toURI().getRawPath() + "!/" + qualifiedBinaryFileName); //$NON-NLS-1$ //$NON-NLS-2$
+	return new ClassFileReader(uri, bytes, qualifiedBinaryFileName.toCharArray());
+}
+@Override
+public boolean hasAnnotationFileFor(String qualifiedTypeName) {
+	if (this.index == null)
+		return super.hasAnnotationFileFor(qualifiedTypeName);
+	return this.index.hasEntry(qualifiedTypeName + ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX);
+}
+@Override
+public char[][][] findTypeNames(String qualifiedPackageName, String moduleName) {
+	if (this.index == null)
+		return super.findTypeNames(qualifiedPackageName, moduleName);
+	if (!isPackage(qualifiedPackageName, moduleName))
+		return null; // most common case
+	char[][] packageName = CharOperation.splitOn('/', qualifiedPackageName.toCharArray());
+	List<char[][]> answers = new ArrayList<>();
+	for (String fileName : this.index.getEntryNames(qualifiedPackageName)) {
+		int indexOfDot = fileName.lastIndexOf('.');
+		if (indexOfDot != -1)
+			answers.add(CharOperation.arrayConcat(packageName, fileName.substring(fileName.lastIndexOf('/') + 1, indexOfDot).toCharArray()));
+	}
+	return answers.isEmpty() ? null : answers.toArray(new char[answers.size()][][]);
+}
+@Override
+public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
+	if (this.index == null)
+		return super.getModulesDeclaringPackage(qualifiedPackageName, moduleName);
+	return singletonModuleNameIf(this.index.isPackage(qualifiedPackageName));
+}
+@Override
+public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
+	if (this.index == null)
+		return super.hasCompilationUnit(qualifiedPackageName, moduleName);
+	for (String fileName : this.index.getEntryNames(qualifiedPackageName)) {
+		if (fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
+			return true;
+	}
+	return false;
+}
+@Override
+public char[][] listPackages() {
+	if (this.index == null)
+		return super.listPackages();
+	List<char[]> packageNames = new ArrayList<>();
+	for (String packageName : this.index.getPackages()) {
+		if (!packageName.isEmpty() && hasCompilationUnit(packageName, null))
+			packageNames.add(packageName.replace('/', '.').toCharArray());
+	}
+	return packageNames.toArray(new char[packageNames.size()][]);
+}
+@Override
+public void reset() {
+	super.reset();
+	if (this.closeZipFileAtEnd && this.index != null) {
+		if (!isShared())
+			this.index.close();
+		this.index = null;
+	}
+}
+@Override
+public String toString() {
+	return "Classpath for mapped jar file " + this.file.getPath(); //$NON-NLS-1$
+}
+}
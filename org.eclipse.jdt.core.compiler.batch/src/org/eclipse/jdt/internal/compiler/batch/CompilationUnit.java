@@ -18,13 +18,14 @@ import java.io.IOException;
 import java.util.function.Function;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
-import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnitExtension;
 import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilationUnit;
+import org.eclipse.jdt.internal.compiler.util.SourceReader;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
-public class CompilationUnit implements ICompilationUnit {
+public class CompilationUnit implements ICompilationUnitExtension {
 	public char[] contents;
 	public char[] fileName;
 	public char[] mainTypeName;
@@ -102,6 +103,24 @@ public char[] getContents() {
 		throw new AbortCompilationUnit(null, e, this.encoding);
 	}
 }
+@Override
+public char[] getContents(SourceReader reader) {
+	if (this.contents != null)
+		return this.contents;   // answer the cached source
+
+	try {
+		return reader.read(new File(new String(this.fileName)), this.encoding);
+	} catch (IOException e) {
+		this.contents = CharOperation.NO_CHAR; // assume no source if asked again
+		throw new AbortCompilationUnit(null, e, this.encoding);
+	}
+}
+@Override
+public long getContentsSize() {
+	if (this.contents != null)
+		return 0;
+	return new File(new String(this.fileName)).length();
+}
 /**
  * @see org.eclipse.jdt.internal.compiler.env.IDependent#getFileName()
  */
@@ -0,0 +1,406 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * A long running batch compiler, which accepts compilation requests over a local socket.
+ * <p>
+ * Compiling in the same VM over and over saves the warm-up of the VM, and keeps the state the batch compiler
+ * caches across compilations: the opened JRT images and their class path entries, and the indexes of the jars
+ * on the class path, see {@link ClasspathMappedJar#shareIndexes(int)}. The index of a jar is evicted as soon as
+ * the modification time or size of the jar changes. The readers of the class files are kept as well, see
+ * {@link ClassFileReaderCache}. Type bindings are not kept, since they belong to the lookup environment of a
+ * single compilation.
+ * </p><p>
+ * The daemon listens on a Unix domain socket (<code>-socket &lt;path&gt;</code>), which only its owner may use.
+ * Listening on a TCP port of the loopback interface instead (<code>-port &lt;port&gt;</code>) must be asked for
+ * explicitly. Since a compilation runs annotation processors from the processor path, every request must carry
+ * the secret the daemon writes at start up into a token file only its owner can read, see {@link #tokenFile(SocketAddress)}.
+ * Requests without it are rejected.
+ * </p><p>
+ * Requests are compiled one after the other, with the command line arguments of {@link Main}. Relative paths in
+ * these arguments, and in the argument files they name, are resolved against the working directory sent by the
+ * client. A request made of the single <code>-shutdown</code> argument stops the daemon.
+ * </p><p>
+ * The protocol is binary: a request is the protocol version followed by the token, the working directory of the
+ * client, the number of arguments and the arguments, and the answer is the exit code of the compilation followed
+ * by its standard and error outputs. Integers are written as by {@link DataOutputStream#writeInt(int)}, strings
+ * and the token as their length in bytes followed by their bytes, UTF-8 for strings.
+ * {@link #compile(SocketAddress, Path, Path, String[], PrintWriter, PrintWriter)} implements the client side,
+ * also available from the command line as <code>-connect &lt;path&gt; &lt;arguments&gt;</code> or
+ * <code>-connectPort &lt;port&gt; &lt;arguments&gt;</code>.
+ * </p>
+ */
+public class CompilerDaemon {
+
+	public static final int PROTOCOL_VERSION = 2;
+	public static final String SHUTDOWN = "-shutdown"; //$NON-NLS-1$
+
+	/* number of jar indexes kept across compilations */
+	public static final int INDEX_CACHE_SIZE = 2000;
+	/* default maximum size in bytes of the class files whose readers are kept across compilations */
+	public static final long CLASS_FILE_CACHE_SIZE = 256L * 1024 * 1024;
+
+	private static final int TOKEN_LENGTH = 32;
+	private static final Set<String> PATH_OPTIONS = Set.of("-d", "-s", "-log", "-metrics", "-properties", "--system"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+	private static final Set<String> PATH_LIST_OPTIONS = Set.of("-cp", "-classpath", "-bootclasspath", "-sourcepath", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"-extdirs", "-endorseddirs", "-processorpath", "--processor-module-path", "-p", "--module-path", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"--module-source-path", "-annotationpath"); //$NON-NLS-1$ //$NON-NLS-2$
+	private static final Set<String> VALUE_OPTIONS = Set.of("-target", "-source", "--release", "-encoding", "-repeat", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			"-maxProblems", "--add-exports", "--add-reads", "--add-modules", "--limit-modules", "--module-version", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"-processor", "-classNames"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	final ServerSocketChannel server;
+	private final Path tokenFile;
+	private final byte[] token;
+	private volatile boolean running = true;
+
+/**
+ * Creates a daemon serving the given channel, and writes a new secret into the token file of its address.
+ */
+public CompilerDaemon(ServerSocketChannel server) throws IOException {
+	this.server = server;
+	this.tokenFile = tokenFile(server.getLocalAddress());
+	this.token = new byte[TOKEN_LENGTH];
+	new SecureRandom().nextBytes(this.token);
+	writeToken(this.tokenFile, this.token);
+	ClasspathMappedJar.shareIndexes(INDEX_CACHE_SIZE);
+	if (ClassFileReaderCache.getShared() == null)
+		ClassFileReaderCache.setShared(CLASS_FILE_CACHE_SIZE);
+}
+
+/**
+ * Opens a server socket channel for the given address, either a Unix domain socket address or an address of the
+ * loopback interface. A stale socket file is deleted first, and the new one is only accessible to its owner.
+ */
+@SuppressWarnings("resource") // the channel is handed to the caller, and only closed here on failure
+public static ServerSocketChannel open(SocketAddress address) throws IOException {
+	if (address instanceof UnixDomainSocketAddress) {
+		Path path = ((UnixDomainSocketAddress) address).getPath();
+		Files.deleteIfExists(path);
+		ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			server.bind(address);
+			if (isPosix())
+				Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------")); //$NON-NLS-1$
+		} catch (IOException | RuntimeException e) {
+			server.close();
+			throw e;
+		}
+		return server;
+	}
+	if (!(address instanceof InetSocketAddress) || !((InetSocketAddress) address).getAddress().isLoopbackAddress())
+		throw new IllegalArgumentException("Not a local address: " + address); //$NON-NLS-1$
+	ServerSocketChannel server = ServerSocketChannel.open();
+	try {
+		server.bind(address);
+	} catch (IOException | RuntimeException e) {
+		server.close();
+		throw e;
+	}
+	return server;
+}
+
+/**
+ * Answers the address of the given port of the loopback interface.
+ */
+public static SocketAddress loopbackAddress(int port) {
+	return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+}
+
+/**
+ * Answers the file holding the secret of the daemon listening on the given address: next to the socket file for a
+ * Unix domain socket, in the home directory of the user for a TCP port.
+ */
+public static Path tokenFile(SocketAddress address) {
+	if (address instanceof UnixDomainSocketAddress) {
+		Path path = ((UnixDomainSocketAddress) address).getPath().toAbsolutePath();
+		return path.resolveSibling(path.getFileName() + ".token"); //$NON-NLS-1$
+	}
+	return Path.of(System.getProperty("user.home"), ".ecj-daemon-" + ((InetSocketAddress) address).getPort() + ".token"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+
+@SuppressWarnings("resource") // the default file system must not be closed
+private static boolean isPosix() {
+	return FileSystems.getDefault().supportedFileAttributeViews().contains("posix"); //$NON-NLS-1$
+}
+
+private static void writeToken(Path file, byte[] token) throws IOException {
+	Files.deleteIfExists(file);
+	if (isPosix()) {
+		Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))); //$NON-NLS-1$
+	} else {
+		Files.createFile(file);
+		File ioFile = file.toFile();
+		ioFile.setReadable(false, false);
+		ioFile.setWritable(false, false);
+		ioFile.setReadable(true, true);
+		ioFile.setWritable(true, true);
+	}
+	Files.write(file, token);
+}
+
+/**
+ * Serves requests until a shutdown request is received or the server channel is closed.
+ */
+public void serve() throws IOException {
+	SocketAddress address = this.server.getLocalAddress();
+	try {
+		while (this.running) {
+			try (SocketChannel channel = this.server.accept()) {
+				handle(channel);
+			} catch (IOException e) {
+				if (!this.server.isOpen())
+					break;
+				// a broken connection only affects its own request
+			}
+		}
+	} finally {
+		this.server.close();
+		Files.deleteIfExists(this.tokenFile);
+		if (address instanceof UnixDomainSocketAddress)
+			Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+	}
+}
+
+private void handle(SocketChannel channel) throws IOException {
+	DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+	DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+	if (input.readInt() != PROTOCOL_VERSION) {
+		reject(output, "Unsupported protocol version\n"); //$NON-NLS-1$
+		return;
+	}
+	int length = input.readInt();
+	if (length != TOKEN_LENGTH) {
+		reject(output, "Unauthorized request\n"); //$NON-NLS-1$
+		return;
+	}
+	byte[] requestToken = new byte[length];
+	input.readFully(requestToken);
+	if (!MessageDigest.isEqual(requestToken, this.token)) {
+		reject(output, "Unauthorized request\n"); //$NON-NLS-1$
+		return;
+	}
+	Path directory = Path.of(readString(input));
+	String[] arguments = new String[input.readInt()];
+	for (int i = 0; i < arguments.length; i++)
+		arguments[i] = readString(input);
+
+	StringWriter out = new StringWriter();
+	StringWriter err = new StringWriter();
+	int exitCode;
+	if (arguments.length == 1 && SHUTDOWN.equals(arguments[0])) {
+		this.running = false;
+		exitCode = 0;
+	} else {
+		try (PrintWriter outWriter = new PrintWriter(out); PrintWriter errWriter = new PrintWriter(err)) {
+			exitCode = Main.compile(resolve(arguments, directory), outWriter, errWriter, null) ? 0 : -1;
+		} catch (RuntimeException | Error e) { // keep serving other requests
+			e.printStackTrace(new PrintWriter(err, true));
+			exitCode = -1;
+		}
+	}
+	output.writeInt(exitCode);
+	writeString(output, out.toString());
+	writeString(output, err.toString());
+	output.flush();
+}
+
+private static void reject(DataOutputStream output, String message) throws IOException {
+	output.writeInt(-1);
+	writeString(output, ""); //$NON-NLS-1$
+	writeString(output, message);
+	output.flush();
+}
+
+/**
+ * Answers the given arguments of {@link Main} with their relative paths resolved against the given directory.
+ * Argument files are expanded, so that the paths they contain are resolved as well.
+ */
+static String[] resolve(String[] arguments, Path directory) {
+	List<String> result = new ArrayList<>(arguments.length);
+	for (String argument : arguments) {
+		String trimmed = argument.trim();
+		if (trimmed.startsWith("@")) { //$NON-NLS-1$
+			Path argumentFile = directory.resolve(trimmed.substring(1));
+			String[] expanded = expand(argumentFile);
+			if (expanded != null) {
+				for (String expandedArgument : expanded)
+					result.add(expandedArgument);
+			} else {
+				result.add('@' + argumentFile.toString()); // let the compiler report it
+			}
+		} else {
+			result.add(argument);
+		}
+	}
+	String previous = null;
+	for (int i = 0; i < result.size(); i++) {
+		String argument = result.get(i);
+		if (previous != null && PATH_OPTIONS.contains(previous)) {
+			if (!Main.NONE.equals(argument))
+				result.set(i, resolvePath(argument, directory));
+		} else if (previous != null && PATH_LIST_OPTIONS.contains(previous)) {
+			result.set(i, resolvePathList(argument, directory));
+		} else if (previous != null && previous.endsWith("[-d")) { //$NON-NLS-1$
+			if (argument.endsWith("]") && !argument.equals(Main.NONE + ']')) //$NON-NLS-1$
+				result.set(i, resolvePath(argument.substring(0, argument.length() - 1), directory) + ']');
+		} else if ((previous == null || !VALUE_OPTIONS.contains(previous)) && !argument.startsWith("-")) { //$NON-NLS-1$
+			result.set(i, resolveEntry(argument, directory)); // a source file or directory, maybe with a suffix in brackets
+		}
+		previous = argument;
+	}
+	return result.toArray(new String[result.size()]);
+}
+
+private static String[] expand(Path argumentFile) {
+	try {
+		LineNumberReader reader = new LineNumberReader(new StringReader(new String(Util.getFileCharContent(argumentFile.toFile(), null))));
+		StringBuilder buffer = new StringBuilder();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (!line.startsWith("#")) //$NON-NLS-1$
+				buffer.append(line).append(' ');
+		}
+		return Main.tokenize(buffer.toString());
+	} catch (IOException e) {
+		return null;
+	}
+}
+
+private static String resolvePathList(String pathList, Path directory) {
+	if ("CLASSPATH".equals(pathList)) // the value of -annotationpath naming the class path //$NON-NLS-1$
+		return pathList;
+	StringBuilder result = new StringBuilder(pathList.length());
+	for (String entry : pathList.split(File.pathSeparator, -1)) {
+		if (result.length() > 0)
+			result.append(File.pathSeparatorChar);
+		result.append(resolveEntry(entry, directory));
+	}
+	return result.toString();
+}
+
+private static String resolveEntry(String entry, Path directory) {
+	int bracket = entry.indexOf('[');
+	if (bracket < 0)
+		return entry.isEmpty() ? entry : resolvePath(entry, directory);
+	if (bracket == 0)
+		return entry;
+	return resolvePath(entry.substring(0, bracket), directory) + entry.substring(bracket);
+}
+
+private static String resolvePath(String path, Path directory) {
+	try {
+		return directory.resolve(path).toString();
+	} catch (RuntimeException e) { // not a path, leave it to the compiler
+		return path;
+	}
+}
+
+/**
+ * Asks the daemon listening on the given address to compile with the given arguments, and answers whether the
+ * compilation succeeded. The secret of the daemon is read from the given token file, and relative paths are
+ * resolved against the given directory. The outputs of the compilation are copied to the given writers.
+ */
+public static boolean compile(SocketAddress address, Path tokenFile, Path directory, String[] arguments, PrintWriter outWriter, PrintWriter errWriter) throws IOException {
+	byte[] token = Files.readAllBytes(tokenFile);
+	try (SocketChannel channel = SocketChannel.open(address)) {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+		output.writeInt(PROTOCOL_VERSION);
+		output.writeInt(token.length);
+		output.write(token);
+		writeString(output, directory.toAbsolutePath().toString());
+		output.writeInt(arguments.length);
+		for (String argument : arguments)
+			writeString(output, argument);
+		output.flush();
+		DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+		int exitCode = input.readInt();
+		outWriter.print(readString(input));
+		outWriter.flush();
+		errWriter.print(readString(input));
+		errWriter.flush();
+		return exitCode == 0;
+	}
+}
+
+private static String readString(DataInputStream input) throws IOException {
+	byte[] bytes = new byte[input.readInt()];
+	input.readFully(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+
+private static void writeString(DataOutputStream output, String string) throws IOException {
+	byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+	output.writeInt(bytes.length);
+	output.write(bytes);
+}
+
+/**
+ * <code>-socket &lt;path&gt;</code> or <code>-port &lt;port&gt;</code> starts a daemon,
+ * <code>-connect &lt;path&gt; &lt;arguments&gt;</code> or <code>-connectPort &lt;port&gt; &lt;arguments&gt;</code>
+ * sends a request to a running daemon, with paths relative to the current directory.
+ */
+public static void main(String[] argv) throws IOException {
+	if (argv.length >= 2 && ("-socket".equals(argv[0]) || "-port".equals(argv[0]))) { //$NON-NLS-1$ //$NON-NLS-2$
+		SocketAddress address = "-socket".equals(argv[0]) ? UnixDomainSocketAddress.of(argv[1]) : loopbackAddress(Integer.parseInt(argv[1])); //$NON-NLS-1$
+		try (ServerSocketChannel server = open(address)) {
+			new CompilerDaemon(server).serve();
+		}
+	} else if (argv.length >= 2 && ("-connect".equals(argv[0]) || "-connectPort".equals(argv[0]))) { //$NON-NLS-1$ //$NON-NLS-2$
+		SocketAddress address = "-connect".equals(argv[0]) ? UnixDomainSocketAddress.of(argv[1]) : loopbackAddress(Integer.parseInt(argv[1])); //$NON-NLS-1$
+		String[] arguments = new String[argv.length - 2];
+		System.arraycopy(argv, 2, arguments, 0, arguments.length);
+		boolean succeeded = compile(address, tokenFile(address), Path.of(System.getProperty("user.dir")), arguments, //$NON-NLS-1$
+				new PrintWriter(System.out), new PrintWriter(System.err));
+		System.exit(succeeded ? 0 : -1);
+	} else {
+		System.err.println("Usage: CompilerDaemon (-socket <path> | -port <port>) | (-connect <path> | -connectPort <port>) <compiler arguments>"); //$NON-NLS-1$
+		System.exit(-1);
+	}
+}
+}
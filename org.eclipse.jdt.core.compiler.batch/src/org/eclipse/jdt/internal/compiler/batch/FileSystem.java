@@ -345,7 +345,9 @@ public static Classpath getClasspath(String classpathName, String encoding,
 				} else {
 					result =
 							(release == null) ?
-									new ClasspathJar(file, true, accessRuleSet, null) :
+									ClasspathMappedJar.isEnabled() ?
+											new ClasspathMappedJar(file, true, accessRuleSet, null) :
+											new ClasspathJar(file, true, accessRuleSet, null) :
 										new ClasspathMultiReleaseJar(file, true, accessRuleSet, destinationPath, release);
 				}
 			}
@@ -47,9 +47,11 @@ import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DateFormat;
@@ -727,6 +729,15 @@ public class Main implements ProblemSeverities, SuffixConstants {
 				}));
 		}
 
+		public void logMetricsNotWritten(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.metricsNotWritten", fileName, e.getMessage())); //$NON-NLS-1$
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.metricsNotWritten", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
 		public void logNumberOfClassFilesGenerated(int exportedClassFilesCounter) {
 			if ((this.tagBits & Logger.XML) != 0) {
 				HashMap<String, Object> parameters = new HashMap<>();
@@ -1409,6 +1420,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public long lineCount0;
 
 	public String log;
+	public String metrics; // file the metrics of the compilation are written to as JSON, if any
+	protected ClassFileWriter classFileWriter; // writes the class files of the current compilation, created with the first one
 
 	public Logger logger;
 	public int maxProblems;
@@ -1846,6 +1859,7 @@ public void configure(String[] argv) {
 	final int INSIDE_RELEASE = 30;
 	final int INSIDE_LIMIT_MODULES = 31;
 	final int INSIDE_MODULE_VERSION = 32;
+	final int INSIDE_METRICS = 33;
 
 	final int DEFAULT = 0;
 	ArrayList<String> bootclasspaths = new ArrayList<>(DEFAULT_SIZE_CLASSPATH);
@@ -2047,6 +2061,13 @@ public void configure(String[] argv) {
 					mode = INSIDE_LOG;
 					continue;
 				}
+				if (currentArg.equals("-metrics")) { //$NON-NLS-1$
+					if (this.metrics != null)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateMetrics", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_METRICS;
+					continue;
+				}
 				if (currentArg.equals("-repeat")) { //$NON-NLS-1$
 					if (this.maxRepetition > 0)
 						throw new IllegalArgumentException(
@@ -2643,6 +2664,10 @@ public void configure(String[] argv) {
 				this.log = currentArg;
 				mode = DEFAULT;
 				continue;
+			case INSIDE_METRICS :
+				this.metrics = currentArg;
+				mode = DEFAULT;
+				continue;
 			case INSIDE_REPETITION :
 				try {
 					this.maxRepetition = Integer.parseInt(currentArg);
@@ -4667,6 +4692,8 @@ public void outputClassFiles(CompilationResult unitResult) {
 			generateClasspathStructure = true;
 		} // else leave currentDestinationPath null
 		if (currentDestinationPath != null) {
+			// the class files of a unit come in no particular order, sort them so that a jar gets its entries in a stable order
+			Arrays.sort(classFiles, (classFile1, classFile2) -> CharOperation.compareTo(classFile1.fileName(), classFile2.fileName()));
 			for (int i = 0, fileCount = classFiles.length; i < fileCount; i++) {
 				// retrieve the key and the corresponding classfile
 				ClassFile classFile = classFiles[i];
@@ -4677,28 +4704,27 @@ public void outputClassFiles(CompilationResult unitResult) {
 				System.arraycopy(SuffixConstants.SUFFIX_class, 0, relativeName, length, 6);
 				CharOperation.replace(relativeName, '/', File.separatorChar);
 				String relativeStringName = new String(relativeName);
-				try {
-					if (this.compilerOptions.verbose)
-						this.out.println(
-							Messages.bind(
-								Messages.compilation_write,
-								new String[] {
-									String.valueOf(this.exportedClassFilesCounter+1),
-									relativeStringName
-								}));
-					Util.writeToDisk(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName,
-						classFile);
-					this.logger.logClassFile(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName);
-					this.exportedClassFilesCounter++;
-				} catch (IOException e) {
-					this.logger.logNoClassFileCreated(currentDestinationPath, relativeStringName, e);
-				}
+				if (this.compilerOptions.verbose)
+					this.out.println(
+						Messages.bind(
+							Messages.compilation_write,
+							new String[] {
+								String.valueOf(this.exportedClassFilesCounter+1),
+								relativeStringName
+							}));
+				if (this.classFileWriter == null) // started with the first class file, subclasses may write none
+					this.classFileWriter = new ClassFileWriter(ClassFileWriter.getQueueCapacity(),
+							isJarDestination(this.destinationPath) ? this.destinationPath : null);
+				this.classFileWriter.write(
+					generateClasspathStructure,
+					currentDestinationPath,
+					relativeStringName,
+					classFile.getBytes());
+				this.logger.logClassFile(
+					generateClasspathStructure,
+					currentDestinationPath,
+					relativeStringName);
+				this.exportedClassFilesCounter++;
 			}
 			this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
 		}
@@ -4728,6 +4754,8 @@ public void performCompilation() {
 		// temporary code to allow the compiler to revert to a single thread
 		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		this.batchCompiler.processingThreads = Util.getProcessingThreads();
+		this.batchCompiler.stats.detailed = this.metrics != null;
 
 		if (this.compilerOptions.complianceLevel >= ClassFileConstants.JDK1_6
 				&& this.compilerOptions.processAnnotations) {
@@ -4753,6 +4781,7 @@ public void performCompilation() {
 			this.batchCompiler.compile(getCompilationUnits());
 		} finally {
 			this.logger.endLoggingSources();
+			closeClassFileWriter();
 		}
 
 		if (this.extraProblems != null) {
@@ -4763,12 +4792,42 @@ public void performCompilation() {
 			this.compilerStats[this.currentRepetition] = this.batchCompiler.stats;
 		}
 		this.logger.printStats();
+		if (this.metrics != null) {
+			writeMetrics(this.batchCompiler.stats);
+		}
 	}
 	finally {
 	// cleanup
 		environment.cleanup();
 	}
 }
+/*
+ * Waits for the class files of the compilation to be written, and reports those which could not be.
+ */
+private void closeClassFileWriter() {
+	if (this.classFileWriter == null)
+		return; // no class file was written
+	List<ClassFileWriter.WriteError> errors = this.classFileWriter.close();
+	this.classFileWriter = null;
+	for (ClassFileWriter.WriteError error : errors) {
+		this.logger.logNoClassFileCreated(error.destinationPath, error.relativeName, error.exception);
+		this.exportedClassFilesCounter -= error.classFileCount;
+	}
+}
+/*
+ * Writes the metrics of the last compilation, overwriting those of previous repetitions.
+ */
+private void writeMetrics(CompilerStats stats) {
+	File file = new File(this.metrics);
+	File parent = file.getParentFile();
+	if (parent != null)
+		parent.mkdirs();
+	try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+		stats.writeJson(writer);
+	} catch (IOException e) {
+		this.logger.logMetricsNotWritten(this.metrics, e);
+	}
+}
 protected void loggingExtraProblems() {
 	this.logger.loggingExtraProblems(this);
 }
@@ -5198,6 +5257,17 @@ private void relocalize(Locale locale) {
 		throw e;
 	}
 }
+/**
+ * Answers whether the given destination path names a jar or zip file which class files are written into,
+ * rather than a directory.
+ */
+public static boolean isJarDestination(String destinationPath) {
+	if (destinationPath == null || destinationPath == NONE)
+		return false;
+	String lowerCase = destinationPath.toLowerCase(Locale.ROOT);
+	return (lowerCase.endsWith(".jar") || lowerCase.endsWith(".zip")) //$NON-NLS-1$ //$NON-NLS-2$
+			&& !new File(destinationPath).isDirectory();
+}
 /*
  * External API
  */
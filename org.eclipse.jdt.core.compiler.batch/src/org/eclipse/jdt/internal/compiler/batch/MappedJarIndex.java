@@ -0,0 +1,504 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * A read-only view of a jar file, which is memory-mapped rather than opened as a {@link java.util.zip.ZipFile}.
+ * <p>
+ * The central directory is parsed once into a table of the offsets of its headers, sorted by entry name.
+ * Entry names are compared in place in the mapped file, so that looking up an entry allocates no
+ * {@link java.util.zip.ZipEntry} nor name. When a cache directory is given, the table and the package names
+ * of the jar are stored in a side-car file of that directory, keyed by the path, modification time and size
+ * of the jar. Later instances map the side-car file and skip parsing the central directory altogether.
+ * </p><p>
+ * Instances are immutable once opened and may be queried concurrently.
+ * </p>
+ */
+public class MappedJarIndex {
+
+	private static final int LOCSIG = 0x04034b50;
+	private static final int CENSIG = 0x02014b50;
+	private static final int ENDSIG = 0x06054b50;
+	private static final int ZIP64_LOCSIG = 0x07064b50;
+	private static final int ZIP64_ENDSIG = 0x06064b50;
+	private static final int LOCHDR = 30;
+	private static final int CENHDR = 46;
+	private static final int ENDHDR = 22;
+	private static final int ZIP64_EXTRA = 0x0001;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	private static final int CACHE_MAGIC = 0x4A44544A; // "JDTJ"
+	private static final int CACHE_VERSION = 1;
+
+	private final long lastModified; // fingerprint of the indexed jar
+	private final long size;
+	private final ByteBuffer jar; // little endian, as the zip format
+	private final IntBuffer entries; // offsets of the central directory headers, sorted by entry name
+	private final long base; // offset of the archive within the file, in case data was prepended to it
+	private final Set<String> packages;
+	private final AtomicReference<Inflater> inflaterCache = new AtomicReference<>();
+
+private MappedJarIndex(long lastModified, long size, ByteBuffer jar, IntBuffer entries, long base, Set<String> packages) {
+	this.lastModified = lastModified;
+	this.size = size;
+	this.jar = jar;
+	this.entries = entries;
+	this.base = base;
+	this.packages = packages;
+}
+
+/**
+ * Maps the given jar file and indexes its entries, reusing the side-car file of the given cache
+ * directory if it is still valid for the jar, or creating it otherwise.
+ *
+ * @param file the jar file
+ * @param cacheDirectory the directory of side-car index files, or <code>null</code> if none
+ * @throws IOException if the file cannot be mapped, or is not a zip file this index can read
+ */
+public static MappedJarIndex open(File file, File cacheDirectory) throws IOException {
+	long size = file.length();
+	long lastModified = file.lastModified();
+	if (size > Integer.MAX_VALUE)
+		throw new IOException("Too large to be mapped: " + file); //$NON-NLS-1$
+	ByteBuffer jar = map(file);
+	jar.order(ByteOrder.LITTLE_ENDIAN);
+
+	File cacheFile = cacheDirectory == null ? null : getCacheFile(file, cacheDirectory);
+	if (cacheFile != null && cacheFile.isFile()) {
+		try {
+			MappedJarIndex index = readCache(jar, cacheFile, file.getAbsolutePath(), lastModified, size);
+			if (index != null)
+				return index;
+		} catch (IOException | RuntimeException e) {
+			// ignore an unreadable side-car file, it is rewritten below
+		}
+	}
+	MappedJarIndex index;
+	try {
+		index = parse(lastModified, size, jar);
+	} catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+		// a truncated or corrupt central directory points outside of the file
+		ZipException exception = new ZipException("Invalid central directory: " + file); //$NON-NLS-1$
+		exception.initCause(e);
+		throw exception;
+	}
+	if (cacheFile != null) {
+		try {
+			index.writeCache(cacheFile, file.getAbsolutePath());
+		} catch (IOException e) {
+			// caching is best effort
+		}
+	}
+	return index;
+}
+
+private static MappedByteBuffer map(File file) throws IOException {
+	try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+		return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // stays valid once the channel is closed
+	}
+}
+
+private static File getCacheFile(File file, File cacheDirectory) {
+	String path = file.getAbsolutePath();
+	return new File(cacheDirectory, file.getName() + '-' + Integer.toHexString(path.hashCode()) + ".index"); //$NON-NLS-1$
+}
+
+private static MappedJarIndex parse(long lastModified, long size, ByteBuffer jar) throws ZipException {
+	// locate the end of central directory record, which may be followed by a comment of up to 64K
+	int limit = jar.limit();
+	int end = -1;
+	for (int position = limit - ENDHDR, min = Math.max(0, limit - ENDHDR - 0xFFFF); position >= min; position--) {
+		if (jar.getInt(position) == ENDSIG && position + ENDHDR + u16(jar, position + 20) == limit) {
+			end = position;
+			break;
+		}
+	}
+	if (end == -1)
+		throw new ZipException("End of central directory not found"); //$NON-NLS-1$
+	long directorySize = u32(jar, end + 12);
+	long directoryOffset = u32(jar, end + 16);
+	long directoryEnd = end;
+	if (u16(jar, end + 10) == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+		int locator = end - 20;
+		if (locator >= 0 && jar.getInt(locator) == ZIP64_LOCSIG) {
+			long zip64End = jar.getLong(locator + 8);
+			if (zip64End < 0 || zip64End > locator - 56 || jar.getInt((int) zip64End) != ZIP64_ENDSIG)
+				throw new ZipException("Invalid zip64 end of central directory"); //$NON-NLS-1$
+			directorySize = jar.getLong((int) zip64End + 40);
+			directoryOffset = jar.getLong((int) zip64End + 48);
+			directoryEnd = zip64End;
+		}
+	}
+	long base = directoryEnd - directorySize - directoryOffset;
+	if (base < 0 || directorySize < 0)
+		throw new ZipException("Invalid central directory"); //$NON-NLS-1$
+
+	int[] offsets = new int[1024];
+	int count = 0;
+	int position = (int) (base + directoryOffset);
+	while (position < directoryEnd) {
+		if (jar.getInt(position) != CENSIG)
+			throw new ZipException("Invalid central directory header"); //$NON-NLS-1$
+		if (count == offsets.length)
+			System.arraycopy(offsets, 0, offsets = new int[count * 2], 0, count);
+		offsets[count++] = position;
+		position += CENHDR + u16(jar, position + 28) + u16(jar, position + 30) + u16(jar, position + 32);
+	}
+	if (count != offsets.length)
+		System.arraycopy(offsets, 0, offsets = new int[count], 0, count);
+	sort(jar, offsets, new int[count], 0, count);
+	return new MappedJarIndex(lastModified, size, jar, IntBuffer.wrap(offsets), base, computePackages(jar, offsets));
+}
+
+/* Merge sort of the central directory offsets by entry name */
+private static void sort(ByteBuffer jar, int[] offsets, int[] buffer, int from, int to) {
+	if (to - from < 2)
+		return;
+	int middle = (from + to) >>> 1;
+	sort(jar, offsets, buffer, from, middle);
+	sort(jar, offsets, buffer, middle, to);
+	if (compareNames(jar, offsets[middle - 1], offsets[middle]) <= 0)
+		return; // already in order
+	System.arraycopy(offsets, from, buffer, from, to - from);
+	for (int i = from, left = from, right = middle; i < to; i++) {
+		if (right == to || left < middle && compareNames(jar, buffer[left], buffer[right]) <= 0)
+			offsets[i] = buffer[left++];
+		else
+			offsets[i] = buffer[right++];
+	}
+}
+
+private static int compareNames(ByteBuffer jar, int header1, int header2) {
+	int length1 = u16(jar, header1 + 28);
+	int length2 = u16(jar, header2 + 28);
+	for (int i = 0, length = Math.min(length1, length2); i < length; i++) {
+		int difference = (jar.get(header1 + CENHDR + i) & 0xFF) - (jar.get(header2 + CENHDR + i) & 0xFF);
+		if (difference != 0)
+			return difference;
+	}
+	return length1 - length2;
+}
+
+/* Answers the package names of all entries, including their parent packages and the default package */
+private static Set<String> computePackages(ByteBuffer jar, int[] offsets) {
+	Set<String> packages = new HashSet<>(41);
+	packages.add(Util.EMPTY_STRING);
+	int previousHeader = -1;
+	int previousSlash = -1;
+	for (int header : offsets) {
+		int slash = lastSlash(jar, header);
+		if (slash <= 0)
+			continue;
+		if (slash == previousSlash && regionMatches(jar, header + CENHDR, previousHeader + CENHDR, slash))
+			continue; // entries are sorted, hence grouped by package
+		previousHeader = header;
+		previousSlash = slash;
+		String packageName = decode(jar, header + CENHDR, slash);
+		while (packages.add(packageName)) {
+			int last = packageName.lastIndexOf('/');
+			if (last <= 0)
+				break;
+			packageName = packageName.substring(0, last);
+		}
+	}
+	return packages;
+}
+
+private static int lastSlash(ByteBuffer jar, int header) {
+	for (int i = u16(jar, header + 28) - 1; i >= 0; i--) {
+		if (jar.get(header + CENHDR + i) == '/')
+			return i;
+	}
+	return -1;
+}
+
+private static boolean regionMatches(ByteBuffer jar, int position1, int position2, int length) {
+	for (int i = 0; i < length; i++) {
+		if (jar.get(position1 + i) != jar.get(position2 + i))
+			return false;
+	}
+	return true;
+}
+
+private static MappedJarIndex readCache(ByteBuffer jar, File cacheFile, String path, long lastModified, long size) throws IOException {
+	ByteBuffer cache = map(cacheFile); // big endian, as written by a DataOutputStream
+	if (cache.getInt() != CACHE_MAGIC || cache.getInt() != CACHE_VERSION)
+		return null;
+	if (cache.getLong() != lastModified || cache.getLong() != size || !path.equals(getString(cache)))
+		return null; // stale
+	long base = cache.getLong();
+	int count = cache.getInt();
+	IntBuffer entries = cache.slice().asIntBuffer();
+	entries.limit(count);
+	cache.position(cache.position() + count * 4);
+	int packageCount = cache.getInt();
+	Set<String> packages = new HashSet<>(packageCount * 4 / 3 + 1);
+	for (int i = 0; i < packageCount; i++)
+		packages.add(getString(cache));
+	return new MappedJarIndex(lastModified, size, jar, entries, base, packages);
+}
+
+private static String getString(ByteBuffer buffer) {
+	byte[] bytes = new byte[buffer.getInt()];
+	buffer.get(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+
+private void writeCache(File cacheFile, String path) throws IOException {
+	File directory = cacheFile.getParentFile();
+	if (!directory.isDirectory() && !directory.mkdirs())
+		return;
+	// write a temporary file first, so that concurrent compilers never see a partial side-car file
+	File temporaryFile = File.createTempFile(cacheFile.getName(), ".tmp", directory); //$NON-NLS-1$
+	try {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile.toPath())))) {
+			output.writeInt(CACHE_MAGIC);
+			output.writeInt(CACHE_VERSION);
+			output.writeLong(this.lastModified);
+			output.writeLong(this.size);
+			writeString(output, path);
+			output.writeLong(this.base);
+			int count = this.entries.limit();
+			output.writeInt(count);
+			for (int i = 0; i < count; i++)
+				output.writeInt(this.entries.get(i));
+			output.writeInt(this.packages.size());
+			for (String packageName : this.packages)
+				writeString(output, packageName);
+		}
+		Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	} finally {
+		temporaryFile.delete(); // no-op once moved
+	}
+}
+
+private static void writeString(DataOutputStream output, String string) throws IOException {
+	byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+	output.writeInt(bytes.length);
+	output.write(bytes);
+}
+
+/**
+ * Answers whether the given file still has the modification time and size of the jar this index was built for.
+ */
+public boolean isUpToDate(File file) {
+	return file.lastModified() == this.lastModified && file.length() == this.size;
+}
+
+/**
+ * Answers whether the jar contains an entry in the given package, or any of its sub-packages.
+ * The default package is denoted by the empty string.
+ */
+public boolean isPackage(String qualifiedPackageName) {
+	return this.packages.contains(qualifiedPackageName);
+}
+
+/**
+ * Answers the names of all packages of the jar, including the default package.
+ */
+public Set<String> getPackages() {
+	return this.packages;
+}
+
+/**
+ * Answers whether the jar contains an entry of the given name.
+ */
+public boolean hasEntry(String name) {
+	return find(name.getBytes(StandardCharsets.UTF_8)) >= 0;
+}
+
+/**
+ * Answers the names of the entries directly contained in the given package, that is,
+ * not in its sub-packages, in the order of their names.
+ */
+public List<String> getEntryNames(String qualifiedPackageName) {
+	byte[] prefix = (qualifiedPackageName + '/').getBytes(StandardCharsets.UTF_8);
+	List<String> names = new ArrayList<>();
+	int index = find(prefix);
+	if (index < 0)
+		index = -(index + 1);
+	for (int count = this.entries.limit(); index < count; index++) {
+		int header = this.entries.get(index);
+		int length = u16(this.jar, header + 28);
+		if (length < prefix.length || compare(header, prefix, prefix.length) != 0)
+			break; // past the entries of the package
+		if (length > prefix.length && lastSlash(this.jar, header) == prefix.length - 1)
+			names.add(decode(this.jar, header + CENHDR, length));
+	}
+	return names;
+}
+
+/**
+ * Answers the CRC-32 of the given entry as recorded in the central directory, or <code>-1</code> if there is no such entry.
+ */
+public long getEntryCrc(String name) {
+	int index = find(name.getBytes(StandardCharsets.UTF_8));
+	return index < 0 ? -1 : u32(this.jar, this.entries.get(index) + 16);
+}
+/**
+ * Answers the uncompressed contents of the given entry, or <code>null</code> if the jar has no such entry.
+ *
+ * @throws ZipException if the entry cannot be read
+ */
+public byte[] getEntryBytes(String name) throws ZipException {
+	int index = find(name.getBytes(StandardCharsets.UTF_8));
+	if (index < 0)
+		return null;
+	int header = this.entries.get(index);
+	int method = u16(this.jar, header + 10);
+	long compressedSize = u32(this.jar, header + 20);
+	long uncompressedSize = u32(this.jar, header + 24);
+	long localHeader = u32(this.jar, header + 42);
+	if (compressedSize == 0xFFFFFFFFL || uncompressedSize == 0xFFFFFFFFL || localHeader == 0xFFFFFFFFL) {
+		// actual values are in the zip64 extra field, in this order and only for the fields that overflowed
+		int extra = header + CENHDR + u16(this.jar, header + 28);
+		int extraEnd = extra + u16(this.jar, header + 30);
+		while (extra + 4 <= extraEnd) {
+			int id = u16(this.jar, extra);
+			int length = u16(this.jar, extra + 2);
+			if (id == ZIP64_EXTRA) {
+				int position = extra + 4;
+				if (uncompressedSize == 0xFFFFFFFFL) {
+					uncompressedSize = this.jar.getLong(position);
+					position += 8;
+				}
+				if (compressedSize == 0xFFFFFFFFL) {
+					compressedSize = this.jar.getLong(position);
+					position += 8;
+				}
+				if (localHeader == 0xFFFFFFFFL)
+					localHeader = this.jar.getLong(position);
+				break;
+			}
+			extra += 4 + length;
+		}
+	}
+	long position = this.base + localHeader;
+	if (uncompressedSize < 0 || uncompressedSize > Integer.MAX_VALUE - 8 || compressedSize < 0 || position < 0 || position + LOCHDR > this.jar.limit()
+			|| this.jar.getInt((int) position) != LOCSIG)
+		throw new ZipException("Invalid entry: " + name); //$NON-NLS-1$
+	long data = position + LOCHDR + u16(this.jar, (int) position + 26) + u16(this.jar, (int) position + 28);
+	if (data + compressedSize > this.jar.limit())
+		throw new ZipException("Truncated entry: " + name); //$NON-NLS-1$
+	byte[] bytes = new byte[(int) uncompressedSize];
+	switch (method) {
+		case STORED :
+			if (compressedSize != uncompressedSize)
+				throw new ZipException("Invalid stored entry: " + name); //$NON-NLS-1$
+			this.jar.get((int) data, bytes);
+			return bytes;
+		case DEFLATED :
+			Inflater inflater = this.inflaterCache.getAndSet(null);
+			if (inflater == null)
+				inflater = new Inflater(true);
+			try {
+				inflater.setInput(this.jar.slice((int) data, (int) compressedSize));
+				int inflated = 0;
+				while (inflated < bytes.length) {
+					int count = inflater.inflate(bytes, inflated, bytes.length - inflated);
+					if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+						throw new ZipException("Truncated entry: " + name); //$NON-NLS-1$
+					inflated += count;
+				}
+				return bytes;
+			} catch (DataFormatException e) {
+				throw new ZipException("Invalid deflated entry: " + name); //$NON-NLS-1$
+			} finally {
+				inflater.reset();
+				if (!this.inflaterCache.compareAndSet(null, inflater))
+					inflater.end();
+			}
+		default :
+			throw new ZipException("Unsupported compression method " + method + ": " + name); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
+
+/**
+ * Releases the resources held by this index. The mapped files themselves are unmapped once unreachable.
+ */
+public void close() {
+	Inflater inflater = this.inflaterCache.getAndSet(null);
+	if (inflater != null)
+		inflater.end();
+}
+
+/* Binary search of the given name, answers (-(insertion point) - 1) if not found */
+private int find(byte[] name) {
+	int low = 0;
+	int high = this.entries.limit() - 1;
+	while (low <= high) {
+		int middle = (low + high) >>> 1;
+		int difference = compare(this.entries.get(middle), name, Integer.MAX_VALUE);
+		if (difference < 0)
+			low = middle + 1;
+		else if (difference > 0)
+			high = middle - 1;
+		else
+			return middle;
+	}
+	return -(low + 1);
+}
+
+/* Compares the name of the given header with the given name, limited to their first max bytes */
+private int compare(int header, byte[] name, int max) {
+	int length = Math.min(u16(this.jar, header + 28), max);
+	int nameLength = Math.min(name.length, max);
+	for (int i = 0, common = Math.min(length, nameLength); i < common; i++) {
+		int difference = (this.jar.get(header + CENHDR + i) & 0xFF) - (name[i] & 0xFF);
+		if (difference != 0)
+			return difference;
+	}
+	return length - nameLength;
+}
+
+private static String decode(ByteBuffer jar, int position, int length) {
+	byte[] bytes = new byte[length];
+	jar.get(position, bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+
+private static int u16(ByteBuffer buffer, int position) {
+	return buffer.getShort(position) & 0xFFFF;
+}
+
+private static long u32(ByteBuffer buffer, int position) {
+	return buffer.getInt(position) & 0xFFFFFFFFL;
+}
+}
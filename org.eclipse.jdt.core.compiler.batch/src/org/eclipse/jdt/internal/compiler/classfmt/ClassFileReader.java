@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,17 +19,25 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.classfmt;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.codegen.AnnotationTargetTypeConstants;
 import org.eclipse.jdt.internal.compiler.codegen.AttributeNamesConstants;
+import org.eclipse.jdt.internal.compiler.env.ClassSignature;
+import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
 import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
 import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
 import org.eclipse.jdt.internal.compiler.env.IBinaryField;
@@ -91,6 +99,14 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private int recordComponentsCount;
 	private RecordComponentInfo[] recordComponents;
 	URI path;
+
+	// only consider a portion of the tagbits which indicate a structural change for dependents
+	// e.g. @Override change has no influence outside
+	private static final long STRUCTURAL_TAG_BITS = TagBits.AnnotationTargetMASK // different @Target status ?
+		| TagBits.AnnotationDeprecated // different @Deprecated status ?
+		| TagBits.AnnotationRetentionMASK // different @Retention status ?
+		| TagBits.HierarchyHasProblems; // different hierarchy status ?
+
 private static String printTypeModifiers(int modifiers) {
 	java.io.StringWriter out = new java.io.StringWriter();
 	java.io.PrintWriter print = new java.io.PrintWriter(out);
@@ -1065,69 +1081,8 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 	try {
 		ClassFileReader newClassFile =
 			new ClassFileReader(newBytes, this.classFileName);
-		// type level comparison
-		// modifiers
-		if (getModifiers() != newClassFile.getModifiers())
-			return true;
-
-		// only consider a portion of the tagbits which indicate a structural change for dependents
-		// e.g. @Override change has no influence outside
-		long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
-			| TagBits.AnnotationDeprecated // different @Deprecated status ?
-			| TagBits.AnnotationRetentionMASK // different @Retention status ?
-			| TagBits.HierarchyHasProblems; // different hierarchy status ?
-
-		// meta-annotations
-		if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
-			return true;
-		// annotations
-		if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
-			return true;
-		if (this.version >= ClassFileConstants.JDK1_8
-				&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
-			return true;
-
-		// generic signature
-		if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
-			return true;
-		// superclass
-		if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
+		if (hasStructuralTypeChanges(newClassFile))
 			return true;
-		// interfaces
-		char[][] newInterfacesNames = newClassFile.getInterfaceNames();
-		if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
-			int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
-			if (newInterfacesLength != this.interfacesCount)
-				return true;
-			for (int i = 0, max = this.interfacesCount; i < max; i++)
-				if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
-					return true;
-		}
-
-		// permitted sub-types
-		char[][] newPermittedSubtypeNames = newClassFile.getPermittedSubtypeNames();
-		if (this.permittedSubtypesNames != newPermittedSubtypeNames) {
-			int newPermittedSubtypesLength = newPermittedSubtypeNames == null ? 0 : newPermittedSubtypeNames.length;
-			if (newPermittedSubtypesLength != this.permittedSubtypesCount)
-				return true;
-			for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
-				if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypeNames[i]))
-					return true;
-		}
-
-		// member types
-		IBinaryNestedType[] currentMemberTypes = getMemberTypes();
-		IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
-		if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
-			int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
-			int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
-			if (currentMemberTypeLength != otherMemberTypeLength)
-				return true;
-			for (int i = 0; i < currentMemberTypeLength; i++)
-				if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
-					|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
-						return true;
-		}
 
 		// fields
 		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
@@ -1189,29 +1144,403 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 			}
 		}
 
-		// missing types
+		return false;
+	} catch (ClassFormatException e) {
+		return true;
+	}
+}
+
+/**
+ * Answers the keys of the fields and methods which have structural changes compared to the byte array in argument,
+ * as {@link #hasStructuralChanges(byte[])} compares them, or null if the type itself has structural changes.
+ * <p>
+ * A member changed in place, with the same modifiers and generic signature, is answered as its name and descriptor,
+ * e.g. <code>foo(I)V</code> or <code>count:I</code>, since only the types using or overriding this very member are
+ * affected, e.g. by its thrown exceptions, its deprecation or its constant value. Other changes, including added
+ * and removed members, are answered as the name of the member, since they may change which member a lookup of
+ * this name finds. Removed members are also answered as their name and descriptor, for the types inheriting them.
+ * Constructors are always answered as <code>&lt;init&gt;</code>, and synthetic members are ignored.
+ * </p><p>
+ * Null is also answered when the changes of the members may affect types which never look them up by name: the
+ * changes of the members of interfaces, annotations, enums and records, the changes of abstract methods, and the
+ * changes of annotated members or of the annotations of members.
+ * </p>
+ * @param newBytes the bytes of the .class file we want to compare the receiver to
+ * @return the keys of the changed members, an empty array if there is no structural change, or null
+ */
+public char[][] getStructurallyChangedMembers(byte[] newBytes) {
+	try {
+		return getStructurallyChangedMembers(new ClassFileReader(newBytes, this.classFileName));
+	} catch (ClassFormatException e) {
+		return null;
+	}
+}
+
+/**
+ * Answers the keys of the fields and methods which have structural changes compared to the given class file, as
+ * {@link #getStructurallyChangedMembers(byte[])} does, so that a class file already read is not read again.
+ *
+ * @param newClassFile the .class file we want to compare the receiver to
+ * @return the keys of the changed members, an empty array if there is no structural change, or null
+ */
+public char[][] getStructurallyChangedMembers(ClassFileReader newClassFile) {
+	if (hasStructuralTypeChanges(newClassFile))
+		return null;
+	if ((getModifiers() & (ClassFileConstants.AccInterface | ClassFileConstants.AccEnum)) != 0 || isRecord())
+		return null; // the members of annotations are also those of an interface
+
+	Set<String> changedNames = new HashSet<>();
+	Map<String, FieldInfo> currentFields = new HashMap<>();
+	for (int i = 0; i < this.fieldsCount; i++)
+		if (!this.fields[i].isSynthetic())
+			currentFields.put(new String(this.fields[i].getName()), this.fields[i]);
+	FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
+	for (int i = 0, l = otherFieldInfos == null ? 0 : otherFieldInfos.length; i < l; i++) {
+		FieldInfo otherField = otherFieldInfos[i];
+		if (otherField.isSynthetic()) continue;
+		String name = new String(otherField.getName());
+		FieldInfo currentField = currentFields.remove(name);
+		if (currentField == null ? hasAnnotations(otherField) : hasAnnotationChanges(currentField, otherField))
+			return null;
+		if (currentField == null)
+			changedNames.add(name);
+		else if (hasStructuralFieldChanges(currentField, otherField))
+			changedNames.add(isChangedInPlace(currentField, otherField)
+					? name + ':' + new String(otherField.getTypeName())
+					: name);
+	}
+	for (FieldInfo removedField : currentFields.values()) {
+		if (hasAnnotations(removedField))
+			return null;
+		String name = new String(removedField.getName());
+		changedNames.add(name);
+		changedNames.add(name + ':' + new String(removedField.getTypeName())); // for the types inheriting it
+	}
+
+	Map<String, MethodInfo> currentMethods = new HashMap<>();
+	for (int i = 0; i < this.methodsCount; i++) {
+		MethodInfo method = this.methods[i];
+		if (!method.isSynthetic() && !method.isClinit())
+			currentMethods.put(new String(CharOperation.concat(method.getSelector(), method.getMethodDescriptor())), method);
+	}
+	MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
+	for (int i = 0, l = otherMethodInfos == null ? 0 : otherMethodInfos.length; i < l; i++) {
+		MethodInfo otherMethod = otherMethodInfos[i];
+		if (otherMethod.isSynthetic() || otherMethod.isClinit()) continue;
+		MethodInfo currentMethod = currentMethods.remove(new String(CharOperation.concat(otherMethod.getSelector(), otherMethod.getMethodDescriptor())));
+		if (currentMethod == null ? hasAnnotations(otherMethod) : hasAnnotationChanges(currentMethod, otherMethod))
+			return null;
+		if (currentMethod == null || hasStructuralMethodChanges(currentMethod, otherMethod)) {
+			if ((otherMethod.getModifiers() & ClassFileConstants.AccAbstract) != 0
+					|| (currentMethod != null && (currentMethod.getModifiers() & ClassFileConstants.AccAbstract) != 0))
+				return null; // subtypes may have to implement it
+			changedNames.add(currentMethod != null && !otherMethod.isConstructor() && isChangedInPlace(currentMethod, otherMethod)
+					? new String(CharOperation.concat(otherMethod.getSelector(), otherMethod.getMethodDescriptor()))
+					: new String(otherMethod.getSelector()));
+		}
+	}
+	for (MethodInfo removedMethod : currentMethods.values()) {
+		if ((removedMethod.getModifiers() & ClassFileConstants.AccAbstract) != 0 || hasAnnotations(removedMethod))
+			return null;
+		changedNames.add(new String(removedMethod.getSelector()));
+		if (!removedMethod.isConstructor())
+			changedNames.add(new String(CharOperation.concat(removedMethod.getSelector(), removedMethod.getMethodDescriptor()))); // for the types inheriting it
+	}
+
+	char[][] result = new char[changedNames.size()][];
+	int index = 0;
+	for (String name : changedNames)
+		result[index++] = name.toCharArray();
+	return result;
+}
+
+/*
+ * Answers whether the given member kept its modifiers and generic signature, so that its changes cannot change
+ * which member a lookup of its name finds.
+ */
+private static boolean isChangedInPlace(FieldInfo currentMember, FieldInfo otherMember) {
+	return currentMember.getModifiers() == otherMember.getModifiers()
+			&& CharOperation.equals(currentMember.getGenericSignature(), otherMember.getGenericSignature());
+}
+private static boolean isChangedInPlace(MethodInfo currentMember, MethodInfo otherMember) {
+	return currentMember.getModifiers() == otherMember.getModifiers()
+			&& CharOperation.equals(currentMember.getGenericSignature(), otherMember.getGenericSignature());
+}
+
+/**
+ * Answers a fingerprint of what {@link #hasStructuralChanges(byte[])} compares, so that a class file can be known to
+ * have no structural changes without reading the previous class file: class files with the same fingerprint have no
+ * structural changes compared to each other. Two class files with structural changes have different fingerprints,
+ * except for hash collisions of 64 bit values.
+ * <p>
+ * Some changes which {@link #hasStructuralChanges(byte[])} ignores also change the fingerprint, e.g. the order of
+ * type annotations or a change from <code>0.0</code> to <code>-0.0</code> of a constant. A different fingerprint
+ * only means that the class files have to be compared.
+ * </p>
+ */
+public long getStructuralFingerprint() {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+	DataOutputStream out = new DataOutputStream(bytes);
+	try {
+		// as compared by hasStructuralTypeChanges()
+		out.writeInt(getModifiers());
+		out.writeLong(getTagBits() & STRUCTURAL_TAG_BITS);
+		writeAnnotations(out, getAnnotations());
+		if (this.version >= ClassFileConstants.JDK1_8)
+			writeTypeAnnotations(out, getTypeAnnotations());
+		writeChars(out, getGenericSignature());
+		writeChars(out, getSuperclassName());
+		writeNames(out, getInterfaceNames());
+		writeNames(out, getPermittedSubtypeNames());
+		IBinaryNestedType[] memberTypes = getMemberTypes();
+		out.writeInt(memberTypes == null ? 0 : memberTypes.length);
+		for (int i = 0, l = memberTypes == null ? 0 : memberTypes.length; i < l; i++) {
+			writeChars(out, memberTypes[i].getName());
+			out.writeInt(memberTypes[i].getModifiers());
+		}
 		char[][][] missingTypes = getMissingTypeNames();
-		char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
-		if (missingTypes != null) {
-			if (newMissingTypes == null) {
+		out.writeInt(missingTypes == null ? -1 : missingTypes.length);
+		for (int i = 0, l = missingTypes == null ? 0 : missingTypes.length; i < l; i++)
+			writeNames(out, missingTypes[i]);
+
+		// as compared by hasNonSyntheticFieldChanges() and hasNonSyntheticMethodChanges(), in the same order
+		FieldInfo[] sortedFields = new FieldInfo[this.fieldsCount];
+		int fieldsLength = 0;
+		for (int i = 0; i < this.fieldsCount; i++)
+			if (!this.fields[i].isSynthetic())
+				sortedFields[fieldsLength++] = this.fields[i];
+		Arrays.sort(sortedFields, 0, fieldsLength);
+		out.writeInt(fieldsLength);
+		for (int i = 0; i < fieldsLength; i++)
+			writeField(out, sortedFields[i]);
+		MethodInfo[] sortedMethods = new MethodInfo[this.methodsCount];
+		int methodsLength = 0;
+		for (int i = 0; i < this.methodsCount; i++)
+			if (!this.methods[i].isSynthetic() && !this.methods[i].isClinit())
+				sortedMethods[methodsLength++] = this.methods[i];
+		Arrays.sort(sortedMethods, 0, methodsLength);
+		out.writeInt(methodsLength);
+		for (int i = 0; i < methodsLength; i++)
+			writeMethod(out, sortedMethods[i]);
+		out.flush();
+	} catch (IOException e) {
+		// cannot happen when writing to an array
+	}
+	return Util.hash(bytes.toByteArray());
+}
+private void writeField(DataOutputStream out, FieldInfo fieldInfo) throws IOException {
+	// as compared by hasStructuralFieldChanges()
+	writeChars(out, fieldInfo.getName());
+	writeChars(out, fieldInfo.getTypeName());
+	writeChars(out, fieldInfo.getGenericSignature());
+	out.writeInt(fieldInfo.getModifiers());
+	out.writeBoolean((fieldInfo.getTagBits() & TagBits.AnnotationDeprecated) != 0);
+	writeAnnotations(out, fieldInfo.getAnnotations());
+	if (this.version >= ClassFileConstants.JDK1_8)
+		writeTypeAnnotations(out, fieldInfo.getTypeAnnotations());
+	out.writeBoolean(fieldInfo.hasConstant());
+	if (fieldInfo.hasConstant())
+		writeConstant(out, fieldInfo.getConstant());
+}
+private void writeMethod(DataOutputStream out, MethodInfo methodInfo) throws IOException {
+	// as compared by hasStructuralMethodChanges()
+	writeChars(out, methodInfo.getSelector());
+	writeChars(out, methodInfo.getMethodDescriptor());
+	writeChars(out, methodInfo.getGenericSignature());
+	out.writeInt(methodInfo.getModifiers());
+	out.writeBoolean((methodInfo.getTagBits() & TagBits.AnnotationDeprecated) != 0);
+	writeAnnotations(out, methodInfo.getAnnotations());
+	int annotatedParametersCount = methodInfo.getAnnotatedParametersCount();
+	out.writeInt(annotatedParametersCount);
+	for (int i = 0; i < annotatedParametersCount; i++)
+		writeAnnotations(out, methodInfo.getParameterAnnotations(i, this.classFileName));
+	if (this.version >= ClassFileConstants.JDK1_8)
+		writeTypeAnnotations(out, methodInfo.getTypeAnnotations());
+	writeNames(out, methodInfo.getExceptionTypeNames());
+}
+private static void writeAnnotations(DataOutputStream out, IBinaryAnnotation[] annotations) throws IOException {
+	out.writeInt(annotations == null ? 0 : annotations.length);
+	for (int i = 0, l = annotations == null ? 0 : annotations.length; i < l; i++)
+		writeAnnotation(out, annotations[i]);
+}
+private static void writeAnnotation(DataOutputStream out, IBinaryAnnotation annotation) throws IOException {
+	writeChars(out, annotation.getTypeName());
+	IBinaryElementValuePair[] pairs = annotation.getElementValuePairs();
+	out.writeInt(pairs == null ? 0 : pairs.length);
+	for (int i = 0, l = pairs == null ? 0 : pairs.length; i < l; i++) {
+		writeChars(out, pairs[i].getName());
+		writeElementValue(out, pairs[i].getValue());
+	}
+}
+private static void writeElementValue(DataOutputStream out, Object value) throws IOException {
+	if (value instanceof Object[]) {
+		Object[] values = (Object[]) value;
+		out.writeByte('[');
+		out.writeInt(values.length);
+		for (Object element : values)
+			writeElementValue(out, element);
+	} else if (value instanceof Constant) {
+		out.writeByte('C');
+		writeConstant(out, (Constant) value);
+	} else if (value instanceof ClassSignature) {
+		out.writeByte('c');
+		writeChars(out, ((ClassSignature) value).getTypeName());
+	} else if (value instanceof EnumConstantSignature) {
+		out.writeByte('e');
+		writeChars(out, ((EnumConstantSignature) value).getTypeName());
+		writeChars(out, ((EnumConstantSignature) value).getEnumConstantName());
+	} else if (value instanceof IBinaryAnnotation) {
+		out.writeByte('@');
+		writeAnnotation(out, (IBinaryAnnotation) value);
+	} else {
+		out.writeByte('?');
+		out.writeUTF(String.valueOf(value));
+	}
+}
+private void writeTypeAnnotations(DataOutputStream out, IBinaryTypeAnnotation[] binaryTypeAnnotations) throws IOException {
+	int count = 0;
+	for (int i = 0, l = binaryTypeAnnotations == null ? 0 : binaryTypeAnnotations.length; i < l; i++)
+		if (affectsSignature(binaryTypeAnnotations[i]))
+			count++;
+	out.writeInt(count);
+	for (int i = 0, l = binaryTypeAnnotations == null ? 0 : binaryTypeAnnotations.length; i < l; i++) {
+		if (affectsSignature(binaryTypeAnnotations[i])) {
+			out.writeInt(binaryTypeAnnotations[i].getTargetType());
+			writeAnnotation(out, binaryTypeAnnotations[i].getAnnotation());
+		}
+	}
+}
+private static void writeConstant(DataOutputStream out, Constant constant) throws IOException {
+	out.writeInt(constant.typeID());
+	out.writeUTF(constant.getClass().getName());
+	out.writeUTF(constant.stringValue());
+}
+private static void writeNames(DataOutputStream out, char[][] names) throws IOException {
+	out.writeInt(names == null ? -1 : names.length);
+	for (int i = 0, l = names == null ? 0 : names.length; i < l; i++)
+		writeChars(out, names[i]);
+}
+private static void writeChars(DataOutputStream out, char[] chars) throws IOException {
+	out.writeInt(chars == null ? -1 : chars.length);
+	for (int i = 0, l = chars == null ? 0 : chars.length; i < l; i++)
+		out.writeChar(chars[i]);
+}
+
+/*
+ * Annotations of members are also read by annotation processors and the null analysis of the types using the
+ * declaring type, so their changes are not tracked per member.
+ */
+private boolean hasAnnotations(FieldInfo fieldInfo) {
+	return fieldInfo.getAnnotations() != null || fieldInfo.getTypeAnnotations() != null;
+}
+private boolean hasAnnotations(MethodInfo methodInfo) {
+	return methodInfo.getAnnotations() != null || methodInfo.getAnnotatedParametersCount() != 0
+			|| methodInfo.getTypeAnnotations() != null;
+}
+private boolean hasAnnotationChanges(FieldInfo currentFieldInfo, FieldInfo otherFieldInfo) {
+	if ((currentFieldInfo.getTagBits() & TagBits.AnnotationDeprecated) != (otherFieldInfo.getTagBits() & TagBits.AnnotationDeprecated))
+		return true;
+	if (hasStructuralAnnotationChanges(currentFieldInfo.getAnnotations(), otherFieldInfo.getAnnotations()))
+		return true;
+	return this.version >= ClassFileConstants.JDK1_8
+			&& hasStructuralTypeAnnotationChanges(currentFieldInfo.getTypeAnnotations(), otherFieldInfo.getTypeAnnotations());
+}
+private boolean hasAnnotationChanges(MethodInfo currentMethodInfo, MethodInfo otherMethodInfo) {
+	if ((currentMethodInfo.getTagBits() & TagBits.AnnotationDeprecated) != (otherMethodInfo.getTagBits() & TagBits.AnnotationDeprecated))
+		return true;
+	if (hasStructuralAnnotationChanges(currentMethodInfo.getAnnotations(), otherMethodInfo.getAnnotations()))
+		return true;
+	int currentAnnotatedParamsCount = currentMethodInfo.getAnnotatedParametersCount();
+	if (currentAnnotatedParamsCount != otherMethodInfo.getAnnotatedParametersCount())
+		return true;
+	for (int i = 0; i < currentAnnotatedParamsCount; i++) {
+		if (hasStructuralAnnotationChanges(currentMethodInfo.getParameterAnnotations(i, this.classFileName), otherMethodInfo.getParameterAnnotations(i, this.classFileName)))
+			return true;
+	}
+	return this.version >= ClassFileConstants.JDK1_8
+			&& hasStructuralTypeAnnotationChanges(currentMethodInfo.getTypeAnnotations(), otherMethodInfo.getTypeAnnotations());
+}
+
+/*
+ * Answers whether the type itself has structural changes, rather than its fields and methods.
+ */
+private boolean hasStructuralTypeChanges(ClassFileReader newClassFile) {
+	// modifiers
+	if (getModifiers() != newClassFile.getModifiers())
+		return true;
+
+	// meta-annotations
+	if ((getTagBits() & STRUCTURAL_TAG_BITS) != (newClassFile.getTagBits() & STRUCTURAL_TAG_BITS))
+		return true;
+	// annotations
+	if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
+		return true;
+	if (this.version >= ClassFileConstants.JDK1_8
+			&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
+		return true;
+
+	// generic signature
+	if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
+		return true;
+	// superclass
+	if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
+		return true;
+	// interfaces
+	char[][] newInterfacesNames = newClassFile.getInterfaceNames();
+	if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
+		int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
+		if (newInterfacesLength != this.interfacesCount)
+			return true;
+		for (int i = 0, max = this.interfacesCount; i < max; i++)
+			if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
 				return true;
-			}
-			int length = missingTypes.length;
-			if (length != newMissingTypes.length) {
+	}
+
+	// permitted sub-types
+	char[][] newPermittedSubtypeNames = newClassFile.getPermittedSubtypeNames();
+	if (this.permittedSubtypesNames != newPermittedSubtypeNames) {
+		int newPermittedSubtypesLength = newPermittedSubtypeNames == null ? 0 : newPermittedSubtypeNames.length;
+		if (newPermittedSubtypesLength != this.permittedSubtypesCount)
+			return true;
+		for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
+			if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypeNames[i]))
 				return true;
-			}
-			for (int i = 0; i < length; i++) {
-				if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
+	}
+
+	// member types
+	IBinaryNestedType[] currentMemberTypes = getMemberTypes();
+	IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
+	if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
+		int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
+		int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
+		if (currentMemberTypeLength != otherMemberTypeLength)
+			return true;
+		for (int i = 0; i < currentMemberTypeLength; i++)
+			if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
+				|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
 					return true;
-				}
-			}
-		} else if (newMissingTypes != null) {
+	}
+
+	// missing types
+	char[][][] missingTypes = getMissingTypeNames();
+	char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
+	if (missingTypes != null) {
+		if (newMissingTypes == null) {
 			return true;
 		}
-		return false;
-	} catch (ClassFormatException e) {
+		int length = missingTypes.length;
+		if (length != newMissingTypes.length) {
+			return true;
+		}
+		for (int i = 0; i < length; i++) {
+			if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
+				return true;
+			}
+		}
+	} else if (newMissingTypes != null) {
 		return true;
 	}
+	return false;
 }
 
 private boolean hasStructuralAnnotationChanges(IBinaryAnnotation[] currentAnnotations, IBinaryAnnotation[] otherAnnotations) {
@@ -1402,7 +1731,7 @@ private boolean affectsSignature(IBinaryTypeAnnotation typeAnnotation) {
  * This method is used to fully initialize the contents of the receiver. All methodinfos, fields infos
  * will be therefore fully initialized and we can get rid of the bytes.
  */
-private void initialize() throws ClassFormatException {
+void initialize() throws ClassFormatException {
 	try {
 		for (int i = 0, max = this.fieldsCount; i < max; i++) {
 			this.fields[i].initialize();
@@ -1420,6 +1749,14 @@ private void initialize() throws ClassFormatException {
 				this.annotations[i].initialize();
 			}
 		}
+		if (this.typeAnnotations != null) {
+			for (int i = 0, max = this.typeAnnotations.length; i < max; i++) {
+				this.typeAnnotations[i].initialize();
+			}
+		}
+		for (int i = 0, max = this.recordComponentsCount; i < max; i++) {
+			this.recordComponents[i].initialize();
+		}
 		this.getEnclosingMethod();
 		reset();
 	} catch(RuntimeException e) {
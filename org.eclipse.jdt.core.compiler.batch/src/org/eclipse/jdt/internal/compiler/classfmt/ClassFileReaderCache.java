@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A cache of the class file readers of the class path, shared by all the lookup environments of the VM.
+ * <p>
+ * Compilations that run in the same VM - annotation processing rounds, batches of the AST parser, reconciles,
+ * requests to a compiler daemon - otherwise parse the class files of the JDK and of the libraries again and again.
+ * Readers are cached fully initialized, so that they do not refer to the bytes of the class file anymore and
+ * do not change once cached: they may be used by several environments at the same time. The bindings created
+ * from the readers still belong to a single lookup environment.
+ * </p><p>
+ * Readers are keyed by their class path entry and file name, and checked against a hash of the contents of the
+ * class file, the CRC-32 of the entry for a jar, so that a changed class file is read again. The cache is bounded
+ * by the total size of the cached class files, the least recently used readers are evicted first.
+ * </p><p>
+ * The cache is disabled by default. The <code>jdt.compiler.classFileCache</code> system property sets the maximum
+ * size of the cached class files in megabytes, long running clients may also call {@link #setShared(long)}.
+ * </p>
+ */
+public class ClassFileReaderCache {
+
+	public static final String SIZE_PROPERTY = "jdt.compiler.classFileCache"; //$NON-NLS-1$
+
+	private static ClassFileReaderCache shared = create(Long.getLong(SIZE_PROPERTY, 0) * 1024 * 1024);
+
+	/**
+	 * Reads a class file on a cache miss.
+	 */
+	public interface Loader {
+		ClassFileReader load() throws ClassFormatException, IOException;
+	}
+
+	private static class Entry {
+		final long contentHash;
+		final ClassFileReader reader;
+		final int size;
+		Entry(long contentHash, ClassFileReader reader, int size) {
+			this.contentHash = contentHash;
+			this.reader = reader;
+			this.size = size;
+		}
+	}
+
+	private final long maximumSize;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true); // in access order
+	private long size;
+	private long hits;
+	private long misses;
+
+public ClassFileReaderCache(long maximumSize) {
+	this.maximumSize = maximumSize;
+}
+
+private static ClassFileReaderCache create(long maximumSize) {
+	return maximumSize > 0 ? new ClassFileReaderCache(maximumSize) : null;
+}
+
+/**
+ * Answers the cache shared by all lookup environments, or <code>null</code> if the cache is disabled.
+ */
+public static synchronized ClassFileReaderCache getShared() {
+	return shared;
+}
+
+/**
+ * Replaces the shared cache by an empty one.
+ *
+ * @param maximumSize the maximum size of the cached class files in bytes, <code>0</code> disables the cache
+ */
+public static synchronized void setShared(long maximumSize) {
+	shared = create(maximumSize);
+}
+
+/**
+ * Answers the CRC-32 of the given class file contents, as used for the hash of the entries of a jar.
+ */
+public static long contentHash(byte[] classFileBytes) {
+	CRC32 crc = new CRC32();
+	crc.update(classFileBytes);
+	return crc.getValue();
+}
+
+/**
+ * Answers the reader cached for the given class file, or reads it with the given loader when the class file is
+ * not cached or its contents changed. Answers <code>null</code> when the loader finds no class file.
+ *
+ * @param classpathEntry the path of the class path entry containing the class file
+ * @param fileName the name of the class file within the class path entry
+ * @param contentHash the hash of the contents of the class file
+ * @param loader the loader reading the class file
+ */
+public ClassFileReader get(String classpathEntry, String fileName, long contentHash, Loader loader) throws ClassFormatException, IOException {
+	String key = classpathEntry + '|' + fileName;
+	synchronized (this) {
+		Entry entry = this.entries.get(key);
+		if (entry != null && entry.contentHash == contentHash) {
+			this.hits++;
+			return entry.reader;
+		}
+		this.misses++;
+	}
+	// read outside of the lock, another thread may read the same class file meanwhile and both readers are valid
+	ClassFileReader reader = loader.load();
+	if (reader == null)
+		return null;
+	int readerSize = reader.reference.length;
+	reader.initialize();
+	synchronized (this) {
+		Entry previous = this.entries.put(key, new Entry(contentHash, reader, readerSize));
+		if (previous != null)
+			this.size -= previous.size;
+		this.size += readerSize;
+		Iterator<Entry> iterator = this.entries.values().iterator();
+		while (this.size > this.maximumSize && iterator.hasNext()) {
+			this.size -= iterator.next().size;
+			iterator.remove();
+		}
+	}
+	return reader;
+}
+
+public synchronized void clear() {
+	this.entries.clear();
+	this.size = 0;
+}
+
+public synchronized long getHits() {
+	return this.hits;
+}
+
+public synchronized long getMisses() {
+	return this.misses;
+}
+
+/**
+ * Answers the total size of the cached class files in bytes.
+ */
+public synchronized long getSize() {
+	return this.size;
+}
+
+@Override
+public synchronized String toString() {
+	return "Class file reader cache: " + this.entries.size() + " readers, " + this.size + " bytes, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			+ this.hits + " hits, " + this.misses + " misses"; //$NON-NLS-1$ //$NON-NLS-2$
+}
+}
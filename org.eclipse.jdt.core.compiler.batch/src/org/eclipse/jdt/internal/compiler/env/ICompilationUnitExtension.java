@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.env;
+
+import org.eclipse.jdt.internal.compiler.util.SourceReader;
+
+/**
+ * A compilation unit backed by a source file, whose contents can be read ahead of time by the threads of the
+ * {@link org.eclipse.jdt.internal.compiler.ReadManager}.
+ *
+ * This compilation unit adds methods to answer the size of its file, and to read its contents with a
+ * {@link SourceReader} which reuses its buffers from one unit to the next.
+ */
+public interface ICompilationUnitExtension extends ICompilationUnit {
+	/**
+	 * Answer the size of the source file in bytes, or <code>-1</code> if it is unknown.
+	 * Only used to bound the amount of contents read ahead, need not be accurate.
+	 */
+	long getContentsSize();
+
+	/**
+	 * Answer the contents of the compilation unit as {@link #getContents()} does, reading the source file
+	 * with the given reader.
+	 */
+	char[] getContents(SourceReader reader);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+
 @SuppressWarnings("rawtypes")
 public class CompilerStats implements Comparable {
 
@@ -28,6 +38,129 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// source reading, done ahead of the parser by the read manager
+	public long readStallTime; // in nanoseconds
+	public long readStallCount;
+	public long unitsReadAhead;
+
+	// counts, updated concurrently by the lookup environment
+	public final AtomicLong binaryTypesLoaded = new AtomicLong();
+	public final AtomicLong inferenceInvocations = new AtomicLong();
+	public long unitCount;
+	public long problemCount;
+
+	// detailed metrics of the compile phases, only measured when detailed is set
+	public static final int PARSE = 0;
+	public static final int RESOLVE = 1;
+	public static final int ANALYZE = 2;
+	public static final int GENERATE = 3;
+	private static final String[] PHASE_NAMES = { "parse", "resolve", "analyze", "generate" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	public boolean detailed;
+	private final Metrics[] phases = newMetrics();
+	private final Map<String, Metrics[]> units = new LinkedHashMap<>(); // per compilation unit, in order of first measure
+
+/**
+ * Wall time, CPU time and allocated bytes of a compile phase, either for the whole compilation or for a single unit.
+ * Times are in nanoseconds. CPU time and allocated bytes are <code>-1</code> when the VM cannot measure them.
+ */
+public static class Metrics {
+	public long wallTime;
+	public long cpuTime;
+	public long allocatedBytes;
+	public int count;
+
+	void add(long wall, long cpu, long allocated) {
+		this.wallTime += wall;
+		this.cpuTime = cpu < 0 ? -1 : this.cpuTime + cpu;
+		this.allocatedBytes = allocated < 0 ? -1 : this.allocatedBytes + allocated;
+		this.count++;
+	}
+}
+
+/*
+ * Clocks of the current thread, in a separate class so that the management classes are only loaded
+ * once detailed metrics are requested.
+ */
+private static class Clocks {
+	static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+	static final com.sun.management.ThreadMXBean ALLOCATIONS = allocations();
+
+	private static com.sun.management.ThreadMXBean allocations() {
+		try {
+			if (THREADS instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+				if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+					return threads;
+			}
+		} catch (LinkageError e) {
+			// not a HotSpot based VM
+		}
+		return null;
+	}
+
+	static long cpuTime() {
+		return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : -1;
+	}
+
+	static long allocatedBytes() {
+		return ALLOCATIONS != null ? ALLOCATIONS.getCurrentThreadAllocatedBytes() : -1;
+	}
+}
+
+private static Metrics[] newMetrics() {
+	Metrics[] metrics = new Metrics[PHASE_NAMES.length];
+	for (int i = 0; i < metrics.length; i++)
+		metrics[i] = new Metrics();
+	return metrics;
+}
+
+/**
+ * Answers a sample of the clocks of the current thread, to be given back to {@link #record(int, char[], long[])}
+ * at the end of a phase, or <code>null</code> if metrics are not detailed.
+ */
+public long[] sample() {
+	if (!this.detailed)
+		return null;
+	return new long[] { System.nanoTime(), Clocks.cpuTime(), Clocks.allocatedBytes() };
+}
+
+/**
+ * Records the metrics of a phase run on the current thread since the given sample was taken.
+ * May be called concurrently by several threads.
+ *
+ * @param phase one of {@link #PARSE}, {@link #RESOLVE}, {@link #ANALYZE} or {@link #GENERATE}
+ * @param fileName the file name of the compilation unit, or <code>null</code> for a phase spanning all units
+ * @param sample the sample taken at the start of the phase, nothing is recorded if <code>null</code>
+ */
+public void record(int phase, char[] fileName, long[] sample) {
+	if (sample == null)
+		return;
+	long wall = System.nanoTime() - sample[0];
+	long cpu = sample[1] < 0 ? -1 : Clocks.cpuTime() - sample[1];
+	long allocated = sample[2] < 0 ? -1 : Clocks.allocatedBytes() - sample[2];
+	synchronized (this) {
+		this.phases[phase].add(wall, cpu, allocated);
+		if (fileName != null)
+			this.units.computeIfAbsent(new String(fileName), k -> newMetrics())[phase].add(wall, cpu, allocated);
+	}
+}
+
+/**
+ * Answers the metrics of the given phase over the whole compilation.
+ */
+public synchronized Metrics getMetrics(int phase) {
+	return this.phases[phase];
+}
+
+/**
+ * Answers the metrics of each phase of each compilation unit, indexed by phase.
+ */
+public synchronized Map<String, Metrics[]> getUnitMetrics() {
+	return new LinkedHashMap<>(this.units);
+}
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
@@ -36,6 +169,51 @@ public long elapsedTime() {
 	return this.overallTime;
 }
 
+/**
+ * Writes the receiver as a JSON object.
+ */
+public synchronized void writeJson(Writer writer) throws IOException {
+	StringBuilder json = new StringBuilder();
+	json.append("{\n"); //$NON-NLS-1$
+	json.append("  \"overallMillis\": ").append(this.overallTime).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"lineCount\": ").append(this.lineCount).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"unitCount\": ").append(this.unitCount).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"binaryTypesLoaded\": ").append(this.binaryTypesLoaded.get()).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"inferenceInvocations\": ").append(this.inferenceInvocations.get()).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"problemCount\": ").append(this.problemCount).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"readStallNanos\": ").append(this.readStallTime).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"readStalls\": ").append(this.readStallCount).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"unitsReadAhead\": ").append(this.unitsReadAhead).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	json.append("  \"phases\": "); //$NON-NLS-1$
+	appendJson(json, this.phases);
+	json.append(",\n  \"units\": ["); //$NON-NLS-1$
+	String separator = "\n"; //$NON-NLS-1$
+	for (Map.Entry<String, Metrics[]> unit : this.units.entrySet()) {
+		json.append(separator).append("    { \"fileName\": "); //$NON-NLS-1$
+		Util.appendJsonString(json, unit.getKey());
+		json.append(", \"phases\": "); //$NON-NLS-1$
+		appendJson(json, unit.getValue());
+		json.append(" }"); //$NON-NLS-1$
+		separator = ",\n"; //$NON-NLS-1$
+	}
+	json.append("\n  ]\n}\n"); //$NON-NLS-1$
+	writer.write(json.toString());
+}
+
+private static void appendJson(StringBuilder json, Metrics[] metrics) {
+	json.append('{');
+	for (int i = 0; i < metrics.length; i++) {
+		if (i > 0)
+			json.append(", "); //$NON-NLS-1$
+		Metrics phase = metrics[i];
+		json.append('"').append(PHASE_NAMES[i]).append("\": { \"wallNanos\": ").append(phase.wallTime) //$NON-NLS-1$
+			.append(", \"cpuNanos\": ").append(phase.cpuTime) //$NON-NLS-1$
+			.append(", \"allocatedBytes\": ").append(phase.allocatedBytes) //$NON-NLS-1$
+			.append(", \"count\": ").append(phase.count).append(" }"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	json.append('}');
+}
+
 @Override
 public int compareTo(Object o) {
 	CompilerStats otherStats = (CompilerStats) o;
@@ -1310,6 +1310,16 @@ private TypeVariableBinding[] createTypeVariables(SignatureWrapper wrapper, bool
 */
 @Override
 public ReferenceBinding enclosingType() {  // should not delegate to prototype.
+	if ((this.tagBits & TagBits.HasUnresolvedEnclosingType) == 0)
+		return this.enclosingType;
+	Object lock = this.environment.lookupLock(); // completed lazily, possibly by concurrent code generation workers, see Compiler#processingThreads
+	if (lock == null)
+		return enclosingType0();
+	synchronized (lock) {
+		return enclosingType0();
+	}
+}
+private ReferenceBinding enclosingType0() {
 	if ((this.tagBits & TagBits.HasUnresolvedEnclosingType) == 0)
 		return this.enclosingType;
 
@@ -1341,6 +1351,16 @@ public FieldBinding[] fields() {
 		return this.fields = this.prototype.fields();
 	}
 
+	if ((this.tagBits & TagBits.AreFieldsComplete) != 0)
+		return this.fields;
+	Object lock = this.environment.lookupLock();
+	if (lock == null)
+		return fields0();
+	synchronized (lock) {
+		return fields0();
+	}
+}
+private FieldBinding[] fields0() {
 	if ((this.tagBits & TagBits.AreFieldsComplete) != 0)
 		return this.fields;
 
@@ -1863,6 +1883,16 @@ public MethodBinding[] methods() {
 		return this.methods = this.prototype.methods();
 	}
 
+	if ((this.tagBits & TagBits.AreMethodsComplete) != 0)
+		return this.methods;
+	Object lock = this.environment.lookupLock();
+	if (lock == null)
+		return methods0();
+	synchronized (lock) {
+		return methods0();
+	}
+}
+private MethodBinding[] methods0() {
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0)
 		return this.methods;
 
@@ -2459,6 +2489,16 @@ public ReferenceBinding superclass() {
 		return this.superclass = this.prototype.superclass();
 	}
 
+	if ((this.tagBits & TagBits.HasUnresolvedSuperclass) == 0)
+		return this.superclass;
+	Object lock = this.environment.lookupLock();
+	if (lock == null)
+		return superclass0();
+	synchronized (lock) {
+		return superclass0();
+	}
+}
+private ReferenceBinding superclass0() {
 	if ((this.tagBits & TagBits.HasUnresolvedSuperclass) == 0)
 		return this.superclass;
 
@@ -2542,6 +2582,16 @@ public ReferenceBinding[] superInterfaces() {
 	if (!isPrototype()) {
 		return this.superInterfaces = this.prototype.superInterfaces();
 	}
+	if ((this.tagBits & TagBits.HasUnresolvedSuperinterfaces) == 0)
+		return this.superInterfaces;
+	Object lock = this.environment.lookupLock();
+	if (lock == null)
+		return superInterfaces0();
+	synchronized (lock) {
+		return superInterfaces0();
+	}
+}
+private ReferenceBinding[] superInterfaces0() {
 	if ((this.tagBits & TagBits.HasUnresolvedSuperinterfaces) == 0)
 		return this.superInterfaces;
 
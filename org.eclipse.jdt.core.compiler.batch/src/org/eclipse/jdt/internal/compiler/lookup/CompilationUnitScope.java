@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,7 @@ public class CompilationUnitScope extends Scope {
 	private SortedCompoundNameVector qualifiedReferences;
 	private SortedSimpleNameVector simpleNameReferences;
 	private SortedSimpleNameVector rootReferences;
+	private SortedSimpleNameVector memberReferences;
 	private LinkedHashSet<ReferenceBindingSetWrapper> referencedTypes;
 	private Set<ReferenceBindingSetWrapper> referencedSuperTypesSet;
 	private ObjectVector referencedSuperTypes;
@@ -88,6 +89,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = new SortedCompoundNameVector();
 		this.simpleNameReferences = new SortedSimpleNameVector();
 		this.rootReferences = new SortedSimpleNameVector();
+		this.memberReferences = new SortedSimpleNameVector();
 		this.referencedTypes = new LinkedHashSet<>();
 		this.referencedSuperTypesSet = new HashSet<>();
 		this.referencedSuperTypes = new ObjectVector();
@@ -95,6 +97,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = null; // used to test if dependencies should be recorded
 		this.simpleNameReferences = null;
 		this.rootReferences = null;
+		this.memberReferences = null;
 		this.referencedTypes = null;
 		this.referencedSuperTypesSet = null;
 		this.referencedSuperTypes = null;
@@ -711,6 +714,7 @@ private Binding findSingleStaticImport(char[][] compoundName, int mask) {
 
 	// look to see if its a static field first
 	ReferenceBinding type = (ReferenceBinding) binding;
+	recordMemberReference(type, name);
 	FieldBinding field = (mask & Binding.FIELD) != 0 ? findField(type, name, null, true) : null;
 	if (field != null) {
 		if (field.problemId() == ProblemReasons.Ambiguous && ((ProblemFieldBinding) field).closestMatch.isStatic())
@@ -866,6 +870,193 @@ OR 'a' -> 'a' in the simple name collection
 -> As long as each single char[] is interned, we should not have a space problem
  and can handle collision cases.
 */
+/*
+Along with the names of the types, the fields and methods are kept as keys of the types which declare them, using
+the names of their class files, e.g. 'p/X$M':
+- when a field or method named 'foo' is looked up in a type, whether it is found or not, 'p/X.foo' is kept for the
+ type and each of its supertypes, since a member added to, removed from or changed in any of them may change the
+ result of the lookup. Constructors are kept as 'p/X.<init>', for the type only.
+- when the field or method is found, its declaring type, name and descriptor are kept too, e.g. 'p/X.foo(I)V' or
+ 'p/X.count:I', since changes which do not affect the lookup, such as the thrown exceptions, the deprecation or the
+ constant value of the member, only affect the units using it.
+- for each type of the unit, the names of its fields and methods, which may hide, override or implement those of its
+ supertypes, and the names of the members of its superinterfaces, which may clash with those the superclasses get,
+ are kept for each of its supertypes. The keys with descriptors of all the members of its supertypes are kept too.
+THEN when the fields or methods of a type named 'p/X' change but not the type itself, only the units which
+reference 'p/X' as above AND one of the keys of the changed members need to be recompiled.
+Members of local types, and members whose descriptor refers to local types, are not kept, since only their own unit
+may reference them.
+*/
+void recordMemberReference(TypeBinding receiverType, char[] memberName) {
+	if (this.memberReferences == null) return; // not recording dependencies
+
+	recordMemberName(receiverType, memberName);
+}
+void recordConstructorReference(TypeBinding allocatedType) {
+	if (this.memberReferences == null) return; // not recording dependencies
+	if (!(allocatedType instanceof ReferenceBinding) || !allocatedType.isValidBinding()) return;
+
+	char[] typeName = memberKeyTypeName((ReferenceBinding) allocatedType);
+	if (typeName != null)
+		this.memberReferences.add(CharOperation.concat(typeName, TypeConstants.INIT, '.'));
+}
+void recordMemberReference(Binding member) {
+	if (this.memberReferences == null) return; // not recording dependencies
+	if (member == null || !member.isValidBinding()) return;
+
+	Binding original;
+	ReferenceBinding declaringClass;
+	char[] name;
+	if (member instanceof FieldBinding) {
+		FieldBinding field = ((FieldBinding) member).original();
+		original = field;
+		declaringClass = field.declaringClass;
+		name = field.name;
+	} else if (member instanceof MethodBinding) {
+		MethodBinding method = ((MethodBinding) member).original();
+		if (method.isConstructor()) return; // kept by name only
+		original = method;
+		declaringClass = method.declaringClass;
+		name = method.selector;
+	} else {
+		return;
+	}
+	if (declaringClass == null) return; // e.g. the length of arrays
+	recordMemberName(declaringClass, name);
+	recordMemberKey(declaringClass, original);
+}
+/*
+ * Keeps the key of the given member name for the given type and its supertypes, unless it was already kept.
+ */
+private void recordMemberName(TypeBinding type, char[] memberName) {
+	if (!(type instanceof ReferenceBinding) || !type.isValidBinding()) return; // e.g. an array or a base type
+	ReferenceBinding referenceType = (ReferenceBinding) type;
+	char[] typeName = memberKeyTypeName(referenceType);
+	if (typeName != null && !this.memberReferences.add(CharOperation.concat(typeName, memberName, '.')))
+		return; // kept along with the keys of its supertypes
+
+	// type variables, wildcards and intersection types have no key but their bounds have
+	recordMemberName(referenceType.superclass(), memberName);
+	ReferenceBinding[] superInterfaces = referenceType.superInterfaces();
+	if (superInterfaces != null)
+		for (ReferenceBinding superInterface : superInterfaces)
+			recordMemberName(superInterface, memberName);
+}
+/*
+ * Keeps the key of the given field or method with its descriptor, for the given type which declares it.
+ */
+private void recordMemberKey(ReferenceBinding declaringClass, Binding member) {
+	char[] typeName = memberKeyTypeName(declaringClass);
+	if (typeName == null) return;
+
+	StringBuilder key = new StringBuilder(typeName.length + 32).append(typeName).append('.');
+	if (member instanceof FieldBinding) {
+		FieldBinding field = (FieldBinding) member;
+		key.append(field.name).append(':');
+		if (!appendDescriptor(key, field.type)) return;
+	} else {
+		MethodBinding method = (MethodBinding) member;
+		key.append(method.selector).append('(');
+		for (TypeBinding parameter : method.parameters)
+			if (!appendDescriptor(key, parameter)) return;
+		key.append(')');
+		if (!appendDescriptor(key, method.returnType)) return;
+	}
+	char[] chars = new char[key.length()];
+	key.getChars(0, chars.length, chars, 0);
+	this.memberReferences.add(chars);
+}
+/*
+ * Appends the descriptor of the erasure of the given type, as written in class files, answering false if it is not
+ * known, e.g. for a local type.
+ * The descriptor is not taken from signature() since it is cached and must not be computed for local types before
+ * their constant pool names are.
+ */
+private static boolean appendDescriptor(StringBuilder descriptor, TypeBinding type) {
+	TypeBinding erasure = type == null ? null : type.erasure();
+	if (erasure == null) return false;
+	if (erasure.isArrayType()) {
+		for (int i = erasure.dimensions(); --i >= 0;)
+			descriptor.append('[');
+		erasure = erasure.leafComponentType();
+	}
+	if (erasure.isBaseType()) {
+		descriptor.append(erasure.constantPoolName());
+		return true;
+	}
+	if (!(erasure instanceof ReferenceBinding)) return false;
+	char[] typeName = memberKeyTypeName((ReferenceBinding) erasure);
+	if (typeName == null) return false;
+	descriptor.append('L').append(typeName).append(';');
+	return true;
+}
+/*
+ * Answers the name of the class file of the given type, e.g. 'p/X$M', or null if the type is local, nested in a local
+ * type or not a class type, e.g. a type variable.
+ * The name is not taken from constantPoolName() since it is cached and must not be computed for local types before
+ * code generation.
+ */
+private static char[] memberKeyTypeName(ReferenceBinding type) {
+	if (type.isParameterizedType() || type.isRawType())
+		type = (ReferenceBinding) type.erasure();
+	else if (!TypeBinding.equalsEquals(type, type.erasure()))
+		return null; // e.g. a type variable
+	for (ReferenceBinding enclosingType = type; enclosingType != null; enclosingType = enclosingType.enclosingType())
+		if (enclosingType.isLocalType())
+			return null;
+	return type.compoundName == null ? null : CharOperation.concatWith(type.compoundName, '/');
+}
+private void recordDeclaredMembers(ReferenceBinding type, Set<ReferenceBinding> recordedTypes) {
+	Set<ReferenceBinding> superTypes = new LinkedHashSet<>();
+	collectSuperTypes(type, superTypes);
+	Set<String> names = new HashSet<>();
+	for (FieldBinding field : type.fields())
+		names.add(new String(field.name));
+	for (MethodBinding method : type.methods())
+		if (!method.isConstructor())
+			names.add(new String(method.selector));
+	for (ReferenceBinding superType : superTypes) {
+		boolean isInterface = superType.isInterface();
+		boolean record = recordedTypes.add(superType);
+		for (FieldBinding field : superType.unResolvedFields()) {
+			if (isInterface)
+				names.add(new String(field.name));
+			if (record)
+				recordMemberKey(superType, field);
+		}
+		for (MethodBinding method : superType.unResolvedMethods()) {
+			if (method.isConstructor() || method.isSynthetic()) continue;
+			if (isInterface)
+				names.add(new String(method.selector));
+			if (record)
+				recordMemberKey(superType, method);
+		}
+	}
+	// e.g. a method inherited from the superclass may implement the one of an interface
+	ReferenceBinding[] superInterfaces = type.superInterfaces();
+	for (String name : names) {
+		char[] memberName = name.toCharArray();
+		recordMemberName(type.superclass(), memberName);
+		if (superInterfaces != null)
+			for (ReferenceBinding superInterface : superInterfaces)
+				recordMemberName(superInterface, memberName);
+	}
+	for (ReferenceBinding memberType : type.memberTypes())
+		recordDeclaredMembers(memberType, recordedTypes);
+}
+private static void collectSuperTypes(ReferenceBinding type, Set<ReferenceBinding> superTypes) {
+	collectSuperType(type.superclass(), superTypes);
+	ReferenceBinding[] superInterfaces = type.superInterfaces();
+	if (superInterfaces != null)
+		for (ReferenceBinding superInterface : superInterfaces)
+			collectSuperType(superInterface, superTypes);
+}
+private static void collectSuperType(ReferenceBinding superType, Set<ReferenceBinding> superTypes) {
+	if (superType == null || !superType.isValidBinding()) return;
+	superType = (ReferenceBinding) superType.erasure();
+	if (superTypes.add(superType))
+		collectSuperTypes(superType, superTypes);
+}
 void recordQualifiedReference(char[][] qualifiedName) {
 	if (this.qualifiedReferences == null) return; // not recording dependencies
 
@@ -1001,6 +1192,17 @@ public void storeDependencyInfo() {
 	for (int i = 0; i < size; i++)
 		rootRefs[i] = this.rootReferences.elementAt(i);
 	this.referenceContext.compilationResult.rootReferences = rootRefs;
+
+	Set<ReferenceBinding> recordedTypes = new HashSet<>();
+	for (SourceTypeBinding type : this.topLevelTypes)
+		recordDeclaredMembers(type, recordedTypes);
+	for (LocalTypeBinding localType : this.referenceContext.localTypes.values())
+		recordDeclaredMembers(localType, recordedTypes);
+	size = this.memberReferences.size;
+	char[][] memberRefs = new char[size][];
+	for (int i = 0; i < size; i++)
+		memberRefs[i] = this.memberReferences.elementAt(i);
+	this.referenceContext.compilationResult.memberReferences = memberRefs;
 }
 @Override
 public String toString() {
@@ -37,6 +37,7 @@ import org.eclipse.jdt.internal.compiler.ast.RecordPattern;
 import org.eclipse.jdt.internal.compiler.ast.ReferenceExpression;
 import org.eclipse.jdt.internal.compiler.ast.SwitchExpression;
 import org.eclipse.jdt.internal.compiler.ast.Wildcard;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants.BoundCheckStatus;
 import org.eclipse.jdt.internal.compiler.util.Sorting;
 
@@ -220,6 +221,9 @@ public class InferenceContext18 {
 		this.outerContext = outerContext;
 		if (site instanceof Invocation)
 			scope.compilationUnitScope().registerInferredInvocation((Invocation) site);
+		CompilerStats stats = this.environment.root.stats;
+		if (stats != null)
+			stats.inferenceInvocations.incrementAndGet();
 	}
 
 	public InferenceContext18(Scope scope) {
@@ -57,6 +57,7 @@ import org.eclipse.jdt.internal.compiler.ast.Wildcard;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.ITypeRequestor;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
@@ -111,6 +112,8 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 	public HashtableOfModule knownModules;		// SHARED
 
 	public CompilationUnitDeclaration unitBeingCompleted = null; // only set while completing units -- ROOT_ONLY
+	public int processingThreads = 1; // the code of units is generated by concurrent workers when greater than 1 -- ROOT_ONLY
+	public CompilerStats stats; // counts of the compilation, may be null -- ROOT_ONLY
 	public Object missingClassFileLocation = null; // only set when resolving certain references, to help locating problems
 	private CompilationUnitDeclaration[] units = new CompilationUnitDeclaration[4]; // ROOT_ONLY
 	private MethodVerifier verifier;
@@ -253,12 +256,29 @@ public ModuleBinding getModule(char[] name) {
 	return moduleBinding;
 }
 
+/**
+ * Answer the monitor serializing the lookups of concurrent workers, or null when the compiler runs on a single thread
+ * and lookups need not be locked.
+ * @see org.eclipse.jdt.internal.compiler.Compiler#processingThreads
+ */
+public Object lookupLock() {
+	return this.root.processingThreads > 1 ? this.root : null;
+}
+
 /**
  * Ask the name environment for a type which corresponds to the compoundName.
  * Answer null if the name cannot be found.
  */
 
 public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBinding clientModule) {
+	Object lock = lookupLock();
+	if (lock == null)
+		return askForType0(compoundName, clientModule);
+	synchronized (lock) {
+		return askForType0(compoundName, clientModule);
+	}
+}
+private ReferenceBinding askForType0(char[][] compoundName, ModuleBinding clientModule) {
 	assert clientModule != null : "lookup needs a module"; //$NON-NLS-1$
 	NameEnvironmentAnswer[] answers = null;
 	if (this.useModuleSystem) {
@@ -314,6 +334,14 @@ public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBind
 * Answer null if the name cannot be found.
 */
 ReferenceBinding askForType(PackageBinding packageBinding, char[] name, ModuleBinding clientModule) {
+	Object lock = lookupLock();
+	if (lock == null)
+		return askForType0(packageBinding, name, clientModule);
+	synchronized (lock) {
+		return askForType0(packageBinding, name, clientModule);
+	}
+}
+private ReferenceBinding askForType0(PackageBinding packageBinding, char[] name, ModuleBinding clientModule) {
 	assert clientModule != null : "lookup needs a module"; //$NON-NLS-1$
 	if (packageBinding == null) {
 		packageBinding = this.defaultPackage;
@@ -1022,11 +1050,21 @@ public AnnotationBinding createUnresolvedAnnotation(ReferenceBinding annotationT
  *  Used to guarantee array type identity.
  */
 public ArrayBinding createArrayType(TypeBinding leafComponentType, int dimensionCount) {
-	return this.typeSystem.getArrayType(leafComponentType, dimensionCount);
+	Object lock = lookupLock(); // stack map frames may ask for array types concurrently
+	if (lock == null)
+		return this.typeSystem.getArrayType(leafComponentType, dimensionCount);
+	synchronized (lock) {
+		return this.typeSystem.getArrayType(leafComponentType, dimensionCount);
+	}
 }
 
 public ArrayBinding createArrayType(TypeBinding leafComponentType, int dimensionCount, AnnotationBinding [] annotations) {
-	return this.typeSystem.getArrayType(leafComponentType, dimensionCount, annotations);
+	Object lock = lookupLock();
+	if (lock == null)
+		return this.typeSystem.getArrayType(leafComponentType, dimensionCount, annotations);
+	synchronized (lock) {
+		return this.typeSystem.getArrayType(leafComponentType, dimensionCount, annotations);
+	}
 }
 
 public TypeBinding createIntersectionType18(ReferenceBinding[] intersectingTypes) {
@@ -1063,6 +1101,8 @@ public BinaryTypeBinding createBinaryTypeFrom(IBinaryType binaryType, PackageBin
 	packageBinding.addType(binaryBinding);
 	setAccessRestriction(binaryBinding, accessRestriction);
 	binaryBinding.cachePartsFrom(binaryType, needFieldsAndMethods);
+	if (this.root.stats != null)
+		this.root.stats.binaryTypesLoaded.incrementAndGet();
 	return binaryBinding;
 }
 
@@ -1755,6 +1795,14 @@ public ReferenceBinding getResolvedType(char[][] compoundName, Scope scope) {
 public ReferenceBinding getResolvedType(char[][] compoundName, ModuleBinding moduleBinding, Scope scope, boolean implicitAnnotationUse) {
 	if (this.module != moduleBinding)
 		return moduleBinding.environment.getResolvedType(compoundName, moduleBinding, scope, implicitAnnotationUse);
+	Object lock = lookupLock(); // well known types may be requested concurrently during code generation
+	if (lock == null)
+		return getResolvedType0(compoundName, moduleBinding, scope, implicitAnnotationUse);
+	synchronized (lock) {
+		return getResolvedType0(compoundName, moduleBinding, scope, implicitAnnotationUse);
+	}
+}
+private ReferenceBinding getResolvedType0(char[][] compoundName, ModuleBinding moduleBinding, Scope scope, boolean implicitAnnotationUse) {
 	ReferenceBinding type = getType(compoundName, moduleBinding);
 	if (type != null) return type;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1323,8 +1323,10 @@ public abstract class Scope {
 	// Internal use only
 	public MethodBinding findExactMethod(ReferenceBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 		CompilationUnitScope unitScope = compilationUnitScope();
+		unitScope.recordMemberReference(receiverType, selector);
 		unitScope.recordTypeReferences(argumentTypes);
 		MethodBinding exactMethod = receiverType.getExactMethod(selector, argumentTypes, unitScope);
+		unitScope.recordMemberReference(exactMethod);
 		if (exactMethod != null && exactMethod.typeVariables == Binding.NO_TYPE_VARIABLES && !exactMethod.isBridge()) {
 			// in >= 1.5 mode, ensure the exactMatch did not match raw types
 			if (compilerOptions().sourceLevel >= ClassFileConstants.JDK1_5)
@@ -1392,9 +1394,16 @@ public abstract class Scope {
 		If no visible field is discovered, null is answered.
 	*/
 	public FieldBinding findField(TypeBinding receiverType, char[] fieldName, InvocationSite invocationSite, boolean needResolve, boolean invisibleFieldsOk) {
+		FieldBinding field = findField0(receiverType, fieldName, invocationSite, needResolve, invisibleFieldsOk);
+		compilationUnitScope().recordMemberReference(field);
+		return field;
+	}
+
+	private FieldBinding findField0(TypeBinding receiverType, char[] fieldName, InvocationSite invocationSite, boolean needResolve, boolean invisibleFieldsOk) {
 
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReference(receiverType);
+		unitScope.recordMemberReference(receiverType, fieldName);
 
 		checkArrayField: {
 			TypeBinding leafType;
@@ -1652,6 +1661,7 @@ public abstract class Scope {
 	// Internal use only - use findMethod()
 	public MethodBinding findMethod(ReferenceBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite, boolean inStaticContext) {
 		MethodBinding method = findMethod0(receiverType, selector, argumentTypes, invocationSite, inStaticContext);
+		compilationUnitScope().recordMemberReference(method);
 		if (method != null && method.isValidBinding() && method.isVarargs()) {
 			TypeBinding elementType = method.parameters[method.parameters.length - 1].leafComponentType();
 			if (elementType instanceof ReferenceBinding) {
@@ -1668,6 +1678,7 @@ public abstract class Scope {
 		boolean receiverTypeIsInterface = receiverType.isInterface();
 		ObjectVector found = new ObjectVector(3);
 		CompilationUnitScope unitScope = compilationUnitScope();
+		unitScope.recordMemberReference(receiverType, selector);
 		unitScope.recordTypeReferences(argumentTypes);
 		List<TypeBinding> visitedTypes = new ArrayList<>();
 		if (receiverTypeIsInterface) {
@@ -2368,6 +2379,8 @@ public abstract class Scope {
 				return null;
 			currentType = getJavaLangObject();
 		}
+		CompilationUnitScope unitScope = compilationUnitScope();
+		unitScope.recordMemberReference(currentType, selector);
 
 		MethodBinding exactMethod = null;
 		try {
@@ -2375,6 +2388,7 @@ public abstract class Scope {
 		} catch (MethodClashException e) {
 			return null;
 		}
+		unitScope.recordMemberReference(exactMethod);
 		if (exactMethod == null || !exactMethod.canBeSeenBy(invocationSite, this))
 			return null;
 
@@ -2406,6 +2420,7 @@ public abstract class Scope {
 	public MethodBinding getExactConstructor(TypeBinding receiverType, InvocationSite invocationSite) {
 		if (receiverType == null || !receiverType.isValidBinding() || !receiverType.canBeInstantiated() || receiverType.isBaseType())
 			return null;
+		compilationUnitScope().recordConstructorReference(receiverType);
 		if (receiverType.isArrayType()) {
 			TypeBinding leafType = receiverType.leafComponentType();
 			if (!leafType.canBeSeenBy(this) || !leafType.isReifiable())
@@ -2448,6 +2463,7 @@ public abstract class Scope {
 	}
 
 	public MethodBinding getConstructor(ReferenceBinding receiverType, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		compilationUnitScope().recordConstructorReference(receiverType);
 		MethodBinding method = getConstructor0(receiverType, argumentTypes, invocationSite);
 		if (method != null && method.isValidBinding() && method.isVarargs()) {
 			TypeBinding elementType = method.parameters[method.parameters.length - 1].leafComponentType();
@@ -2599,6 +2615,7 @@ public abstract class Scope {
 	 */
 	public MethodBinding getImplicitMethod(char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 
+		// the enclosing types and the statically imported types are kept by findMethod() and findExactMethod()
 		boolean insideStaticContext = false;
 		boolean insideConstructorCall = false;
 		boolean insideTypeAnnotation = false;
@@ -3116,6 +3133,7 @@ public abstract class Scope {
 
 	public MethodBinding getMethod(TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 		CompilationUnitScope unitScope = compilationUnitScope();
+		unitScope.recordMemberReference(receiverType, selector);
 		LookupEnvironment env = unitScope.environment;
 		try {
 			env.missingClassFileLocation = invocationSite;
@@ -3305,6 +3323,15 @@ public abstract class Scope {
 	* from the binding & not assume the problem applies to the entire compoundName.
 	*/
 	public final TypeBinding getType(char[][] compoundName, int typeNameLength) {
+		Object lock = environment().lookupLock(); // code generation workers may ask concurrently
+		if (lock == null)
+			return getType0(compoundName, typeNameLength);
+		synchronized (lock) {
+			return getType0(compoundName, typeNameLength);
+		}
+	}
+
+	private TypeBinding getType0(char[][] compoundName, int typeNameLength) {
 		if (typeNameLength == 1) {
 			// Would like to remove this test and require senders to specially handle base types
 			TypeBinding binding = getBaseType(compoundName[0]);
@@ -3673,6 +3700,15 @@ public abstract class Scope {
 	// when it may actually mean the type B in the package A
 	// use CompilationUnitScope.getImport(char[][]) instead
 	public final Binding getTypeOrPackage(char[][] compoundName) {
+		Object lock = environment().lookupLock(); // stack map frames are computed concurrently by code generation workers
+		if (lock == null)
+			return getTypeOrPackage0(compoundName);
+		synchronized (lock) {
+			return getTypeOrPackage0(compoundName);
+		}
+	}
+
+	private Binding getTypeOrPackage0(char[][] compoundName) {
 		int nameLength = compoundName.length;
 		if (nameLength == 1) {
 			TypeBinding binding = getBaseType(compoundName[0]);
@@ -5285,6 +5321,7 @@ public abstract class Scope {
 		boolean isInterface = allocationType.isInterface();
 		ReferenceBinding typeToSearch = isInterface ? getJavaLangObject() : allocationType;
 
+		compilationUnitScope().recordConstructorReference(allocationType);
 		MethodBinding[] methods = typeToSearch.getMethods(TypeConstants.INIT, argumentTypes.length);
 		MethodBinding [] staticFactories = new MethodBinding[methods.length];
 		int sfi = 0;
@@ -834,7 +834,11 @@ public class EclipseFileManager implements StandardJavaFileManager {
 					}
 				case "-d": //$NON-NLS-1$
 					if (remaining.hasNext()) {
-						final Iterable<? extends File> outputDir = getOutputDir(remaining.next());
+						String destinationPath = remaining.next();
+						if (Main.isJarDestination(destinationPath)) {
+							return true; // the class output of processors goes where it would without -d
+						}
+						final Iterable<? extends File> outputDir = getOutputDir(destinationPath);
 						if (outputDir != null) {
 							setLocation(StandardLocation.CLASS_OUTPUT, outputDir);
 						}
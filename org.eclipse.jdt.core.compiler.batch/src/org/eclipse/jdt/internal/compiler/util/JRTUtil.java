@@ -46,6 +46,7 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 
@@ -670,13 +671,19 @@ class JrtFileSystem {
 		} else {
 			content = JRTUtil.classCache.getClassBytes(this.jdk, path);
 		}
-		if (content != null) {
-			ClassFileReader reader = new ClassFileReader(path.toUri(), content, fileName.toCharArray());
-			reader.moduleName = module.toCharArray();
-			return reader;
-		} else {
+		if (content == null)
 			return null;
-		}
+		ClassFileReaderCache cache = ClassFileReaderCache.getShared();
+		if (cache == null)
+			return newClassFileReader(path, content, fileName, module);
+		final byte[] bytes = content;
+		return cache.get(this.jdk.path + '/' + module, fileName, ClassFileReaderCache.contentHash(content),
+				() -> newClassFileReader(path, bytes, fileName, module));
+	}
+	private static ClassFileReader newClassFileReader(Path path, byte[] content, String fileName, String module) throws ClassFormatException {
+		ClassFileReader reader = new ClassFileReader(path.toUri(), content, fileName.toCharArray());
+		reader.moduleName = module.toCharArray();
+		return reader;
 	}
 	public ClassFileReader getClassfile(String fileName, String module, Predicate<String> moduleNameFilter) throws IOException, ClassFormatException {
 		ClassFileReader reader = null;
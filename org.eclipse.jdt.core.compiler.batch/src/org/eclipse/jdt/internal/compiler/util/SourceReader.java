@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads source files through a {@link FileChannel}, decoding them into a buffer which is reused from one file to
+ * the next, so that reading a file only allocates the array of its characters.
+ * <p>
+ * Produces the same characters as {@link Util#getFileCharContent(File, String)}. Not thread safe: each reading
+ * thread owns its reader.
+ * </p>
+ */
+public class SourceReader {
+
+	static final int MAX_POOLED_BYTES = 4 * 1024 * 1024; // larger buffers are dropped after use, not kept for the next file
+
+	private ByteBuffer bytes = ByteBuffer.allocate(16 * 1024);
+	private CharBuffer chars = CharBuffer.allocate(16 * 1024);
+	private Charset charset;
+	private CharsetDecoder decoder;
+
+/**
+ * Answers the contents of the given file, decoded with the given encoding or the default one if the encoding
+ * is not supported.
+ */
+public char[] read(File file, String encoding) throws IOException {
+	ByteBuffer in;
+	try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+		in = readFully(channel);
+	}
+	CharsetDecoder charsetDecoder = getDecoder(encoding);
+	byte[] bom = Util.getBOM(this.charset);
+	if (bom != null && startsWith(in, bom))
+		in.position(bom.length);
+	CharBuffer out = decode(charsetDecoder, in);
+	char[] result = Arrays.copyOf(out.array(), out.position());
+	release();
+	return result;
+}
+private ByteBuffer readFully(FileChannel channel) throws IOException {
+	long size = channel.size();
+	if (size > Integer.MAX_VALUE - 8)
+		throw new IOException("File too large: " + size); //$NON-NLS-1$
+	ByteBuffer buffer = this.bytes;
+	if (buffer.capacity() < size + 1) // one more byte to detect the end of the file in a single read
+		buffer = ByteBuffer.allocate((int) size + 1);
+	buffer.clear();
+	while (channel.read(buffer) >= 0) {
+		if (!buffer.hasRemaining()) { // the file grew since its size was read
+			ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+			buffer.flip();
+			larger.put(buffer);
+			buffer = larger;
+		}
+	}
+	this.bytes = buffer;
+	buffer.flip();
+	return buffer;
+}
+private CharsetDecoder getDecoder(String encoding) {
+	Charset requested;
+	try {
+		requested = Charset.forName(encoding);
+	} catch (IllegalArgumentException e) {
+		// encoding is not supported
+		requested = Charset.defaultCharset();
+	}
+	if (!requested.equals(this.charset)) {
+		this.charset = requested;
+		this.decoder = requested.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+	return this.decoder.reset();
+}
+/*
+ * Decodes as Charset#decode(ByteBuffer) does, into the pooled char buffer.
+ */
+private CharBuffer decode(CharsetDecoder charsetDecoder, ByteBuffer in) {
+	int expected = (int) Math.min(Integer.MAX_VALUE - 8, (long) (in.remaining() * (double) charsetDecoder.averageCharsPerByte()) + 16);
+	CharBuffer out = this.chars;
+	if (out.capacity() < expected)
+		out = CharBuffer.allocate(expected);
+	out.clear();
+	boolean flushing = false;
+	while (true) {
+		CoderResult result = flushing ? charsetDecoder.flush(out) : charsetDecoder.decode(in, out, true);
+		if (result.isUnderflow()) {
+			if (flushing)
+				break;
+			flushing = true;
+		} else if (result.isOverflow()) {
+			CharBuffer larger = CharBuffer.allocate(2 * out.capacity() + 1);
+			out.flip();
+			larger.put(out);
+			out = larger;
+		} else {
+			try {
+				result.throwException(); // cannot happen with REPLACE actions
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+	this.chars = out;
+	return out;
+}
+private void release() {
+	if (this.bytes.capacity() > MAX_POOLED_BYTES)
+		this.bytes = ByteBuffer.allocate(16 * 1024);
+	if (this.chars.capacity() > MAX_POOLED_BYTES / 2)
+		this.chars = CharBuffer.allocate(16 * 1024);
+}
+private static boolean startsWith(ByteBuffer buffer, byte[] start) {
+	if (buffer.remaining() < start.length)
+		return false;
+	for (int i = 0; i < start.length; i++) {
+		if (buffer.get(buffer.position() + i) != start[i])
+			return false;
+	}
+	return true;
+}
+}
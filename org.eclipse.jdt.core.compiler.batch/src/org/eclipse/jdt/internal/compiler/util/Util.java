@@ -15,7 +15,6 @@
 package org.eclipse.jdt.internal.compiler.util;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -27,6 +26,8 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -364,9 +365,63 @@ public class Util implements SuffixConstants {
 	 * Returns the given bytes as a char array using a given encoding (null means platform default).
 	 */
 	public static char[] bytesToChar(byte[] bytes, String encoding) throws IOException {
+		Charset charset;
+		try {
+			charset = Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			// encoding is not supported
+			charset = Charset.defaultCharset();
+		}
 
-		return getInputStreamAsCharArray(new ByteArrayInputStream(bytes), encoding);
+		// check for BOM in encoded byte content
+		// (instead of after decoding to avoid array copy after decoding):
+		byte[] bom = bomByEncoding.get(charset.name());
+		int start;
+		if (bom != null && startsWith(bytes, bom)) {
+			start = bom.length; // skip BOM
+		} else {
+			start = 0;
+		}
 
+		return decode(bytes, start, bytes.length - start, charset);
+	}
+
+	/**
+	 * Appends the given string to the given JSON text, quoted and escaped.
+	 */
+	public static void appendJsonString(StringBuilder json, String string) {
+		json.append('"');
+		for (int i = 0, length = string.length(); i < length; i++) {
+			char c = string.charAt(i);
+			switch (c) {
+				case '"' :
+				case '\\' :
+					json.append('\\').append(c);
+					break;
+				default :
+					if (c < 0x20)
+						json.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					else
+						json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	/**
+	 * Returns the first 64 bits of the SHA-256 digest of the given bytes.
+	 */
+	public static long hash(byte[] bytes) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes); //$NON-NLS-1$
+			long hash = 0;
+			for (int i = 0; i < 8; i++)
+				hash = (hash << 8) | (digest[i] & 0xFF);
+			return hash;
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is available on every Java platform
+			throw new IllegalStateException(e);
+		}
 	}
 
 	/**
@@ -468,6 +523,13 @@ public class Util implements SuffixConstants {
 		// @see org.eclipse.core.runtime.content.IContentDescription.BOM_UTF_16BE ,..
 	}
 
+	/**
+	 * Returns the byte order mark which starts the contents encoded with the given charset, if any.
+	 */
+	static byte[] getBOM(Charset charset) {
+		return bomByEncoding.get(charset.name());
+	}
+
 	/**
 	 * Returns the given input stream's contents as a character array.
 	 * Note this doesn't close the stream.
@@ -475,27 +537,7 @@ public class Util implements SuffixConstants {
 	 */
 	public static char[] getInputStreamAsCharArray(InputStream stream,  String encoding)
 			throws IOException {
-		byte[] byteContents =  getInputStreamAsByteArray(stream);
-
-		Charset charset;
-		try {
-			charset = Charset.forName(encoding);
-		} catch (IllegalArgumentException e) {
-			// encoding is not supported
-			charset = Charset.defaultCharset();
-		}
-
-		// check for BOM in encoded byte content
-		// (instead of after decoding to avoid array copy after decoding):
-		byte[] bom = bomByEncoding.get(charset.name());
-		int start;
-		if (bom != null && startsWith(byteContents, bom)) {
-			start = bom.length; // skip BOM
-		} else {
-			start = 0;
-		}
-
-		return decode(byteContents, start, byteContents.length - start, charset);
+		return bytesToChar(getInputStreamAsByteArray(stream), encoding);
 	}
 
 	/**
@@ -1028,6 +1070,24 @@ public class Util implements SuffixConstants {
 			classFile.recordInnerClasses(typeBinding, onBottomForBug445231);
 		}
 	}
+	/**
+	 * Answers the number of threads the compiler should use to generate code, as set by the
+	 * <code>jdt.compiler.processingThreads</code> system property (<code>0</code> means one per available processor).
+	 * Answers 1, i.e. no code generation worker, if the property is not set or invalid.
+	 */
+	public static int getProcessingThreads() {
+		String setting = System.getProperty("jdt.compiler.processingThreads"); //$NON-NLS-1$
+		if (setting == null)
+			return 1;
+		try {
+			int threads = Integer.parseInt(setting.trim());
+			if (threads == 0)
+				return Runtime.getRuntime().availableProcessors();
+			return threads > 0 ? threads : 1;
+		} catch (NumberFormatException e) {
+			return 1;
+		}
+	}
 	/*
 	 * External API
 	 */
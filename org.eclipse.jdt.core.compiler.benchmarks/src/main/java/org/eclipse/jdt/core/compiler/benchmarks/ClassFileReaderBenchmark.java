@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.compiler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the parsing of the JDK class files of the corpus by fully initialized {@link ClassFileReader}s,
+ * as the compiler reads binary types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassFileReaderBenchmark {
+
+	private byte[][] classFiles;
+	private char[][] fileNames;
+
+	@Setup
+	public void setup() {
+		this.classFiles = Corpus.jdkClassFiles();
+		this.fileNames = new char[Corpus.JDK_TYPES.length][];
+		for (int i = 0; i < this.fileNames.length; i++)
+			this.fileNames[i] = (Corpus.JDK_TYPES[i] + ".class").toCharArray(); //$NON-NLS-1$
+	}
+
+	@Benchmark
+	public void read(Blackhole blackhole) throws ClassFormatException {
+		for (int i = 0; i < this.classFiles.length; i++)
+			blackhole.consume(new ClassFileReader(this.classFiles[i], this.fileNames[i], true));
+	}
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.compiler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.codegen.CodeStream;
+import org.eclipse.jdt.internal.compiler.codegen.StackMapFrameCodeStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the code generation of the branch heavy unit of the corpus, once resolved and analyzed. Targets 1.7
+ * and above generate with a {@link StackMapFrameCodeStream} (a TypeAnnotationCodeStream from 1.8 on), target 1.5
+ * with the plain {@link CodeStream}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodeGenerationBenchmark {
+
+	@Param({ "1.5", "1.7", "17" })
+	public String target;
+
+	private char[] source;
+	private FileSystem environment;
+	private CompilationUnitDeclaration declaration;
+
+	@Setup
+	public void setup() {
+		this.source = Corpus.source(Corpus.LEDGER);
+		this.environment = Corpus.newNameEnvironment();
+	}
+
+	@Setup(Level.Invocation)
+	public void analyze() {
+		this.declaration = Corpus.newCompiler(this.environment, this.target).resolve(
+				Corpus.unit(Corpus.LEDGER, this.source), true, true, false);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.environment.cleanup();
+	}
+
+	@Benchmark
+	public Object generate() {
+		this.declaration.generateCode();
+		return this.declaration.compilationResult.getClassFiles();
+	}
+}
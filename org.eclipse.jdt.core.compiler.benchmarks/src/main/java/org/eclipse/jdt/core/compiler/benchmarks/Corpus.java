@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.compiler.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+
+/**
+ * The fixed corpus shared by the benchmarks: the Java sources of the corpus folder of the resources, and a fixed
+ * set of class files of the running JDK.
+ */
+final class Corpus {
+
+	/** General purpose code. */
+	static final String INVENTORY = "Inventory.java"; //$NON-NLS-1$
+	/** Stream heavy code, dominated by type inference. */
+	static final String REPORTS = "Reports.java"; //$NON-NLS-1$
+	/** Branch heavy Java 5 code, which compiles at every target. */
+	static final String LEDGER = "Ledger.java"; //$NON-NLS-1$
+	static final String[] SOURCES = { INVENTORY, REPORTS, LEDGER };
+
+	/** JDK types read by the lookup environment and class file reader benchmarks, all in java.base. */
+	static final String[] JDK_TYPES = {
+		"java/lang/Object", //$NON-NLS-1$
+		"java/lang/String", //$NON-NLS-1$
+		"java/lang/StringBuilder", //$NON-NLS-1$
+		"java/lang/Integer", //$NON-NLS-1$
+		"java/lang/Math", //$NON-NLS-1$
+		"java/lang/Thread", //$NON-NLS-1$
+		"java/util/ArrayList", //$NON-NLS-1$
+		"java/util/HashMap", //$NON-NLS-1$
+		"java/util/TreeMap", //$NON-NLS-1$
+		"java/util/Collections", //$NON-NLS-1$
+		"java/util/concurrent/ConcurrentHashMap", //$NON-NLS-1$
+		"java/util/function/Function", //$NON-NLS-1$
+		"java/util/stream/Collectors", //$NON-NLS-1$
+		"java/util/stream/Stream", //$NON-NLS-1$
+		"java/util/stream/ReferencePipeline", //$NON-NLS-1$
+		"java/time/LocalDateTime", //$NON-NLS-1$
+	};
+
+	private Corpus() {
+	}
+
+	static char[] source(String name) {
+		try (InputStream stream = Corpus.class.getResourceAsStream("corpus/" + name)) { //$NON-NLS-1$
+			if (stream == null)
+				throw new IllegalStateException("Missing corpus source " + name); //$NON-NLS-1$
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8).toCharArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static CompilationUnit unit(String name) {
+		return unit(name, source(name));
+	}
+
+	/**
+	 * Answers a new unit on the given source. A unit caches the module binding of the first lookup environment
+	 * which resolves it, so a unit must not be resolved by two compilers.
+	 */
+	static CompilationUnit unit(String name, char[] source) {
+		return new CompilationUnit(source, "corpus/" + name, null); //$NON-NLS-1$
+	}
+
+	static CompilationUnit[] units() {
+		CompilationUnit[] units = new CompilationUnit[SOURCES.length];
+		for (int i = 0; i < units.length; i++)
+			units[i] = unit(SOURCES[i]);
+		return units;
+	}
+
+	static char[][] compoundName(String type) {
+		return CharOperation.splitOn('/', type.toCharArray());
+	}
+
+	/**
+	 * Answers the bytes of the class files of {@link #JDK_TYPES}.
+	 */
+	static byte[][] jdkClassFiles() {
+		java.nio.file.FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/")); //$NON-NLS-1$
+		byte[][] classFiles = new byte[JDK_TYPES.length][];
+		try {
+			for (int i = 0; i < classFiles.length; i++)
+				classFiles[i] = Files.readAllBytes(jrt.getPath("modules", "java.base", JDK_TYPES[i] + ".class")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return classFiles;
+	}
+
+	/**
+	 * Answers a name environment on the system modules of the running JDK.
+	 */
+	static FileSystem newNameEnvironment() {
+		Path jrtFs = Paths.get(System.getProperty("java.home"), "lib", "jrt-fs.jar"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return new FileSystem(new String[] { jrtFs.toString() }, null, null);
+	}
+
+	static CompilerOptions options(String level) {
+		Map<String, String> settings = new HashMap<>();
+		settings.put(CompilerOptions.OPTION_Compliance, level);
+		settings.put(CompilerOptions.OPTION_Source, level);
+		settings.put(CompilerOptions.OPTION_TargetPlatform, level);
+		settings.put(CompilerOptions.OPTION_LineNumberAttribute, CompilerOptions.GENERATE);
+		settings.put(CompilerOptions.OPTION_LocalVariableAttribute, CompilerOptions.GENERATE);
+		settings.put(CompilerOptions.OPTION_SourceFileAttribute, CompilerOptions.GENERATE);
+		return new CompilerOptions(settings);
+	}
+
+	/**
+	 * Answers a new compiler, with a fresh lookup environment, which drops the results and problems.
+	 */
+	static Compiler newCompiler(INameEnvironment environment, String level) {
+		return new Compiler(environment, DefaultErrorHandlingPolicies.proceedWithAllProblems(), options(level),
+				result -> { /* dropped */ }, new DefaultProblemFactory(Locale.ENGLISH));
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.compiler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of the stream heavy unit of the corpus, where most of the time goes to
+ * {@link InferenceContext18}. Each invocation resolves a new unit with a fresh compiler, the class files of the
+ * JDK being read through a name environment shared by all invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InferenceBenchmark {
+
+	private char[] source;
+	private FileSystem environment;
+	private Compiler compiler;
+	private CompilationUnit unit;
+
+	@Setup
+	public void setup() {
+		this.source = Corpus.source(Corpus.REPORTS);
+		this.environment = Corpus.newNameEnvironment();
+	}
+
+	@Setup(Level.Invocation)
+	public void newCompiler() {
+		this.compiler = Corpus.newCompiler(this.environment, "17"); //$NON-NLS-1$
+		this.unit = Corpus.unit(Corpus.REPORTS, this.source);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.environment.cleanup();
+	}
+
+	@Benchmark
+	public Object resolve() {
+		return this.compiler.resolve(this.unit, true, false, false);
+	}
+}
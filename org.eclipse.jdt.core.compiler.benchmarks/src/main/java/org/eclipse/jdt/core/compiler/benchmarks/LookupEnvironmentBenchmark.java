@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.compiler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the creation and completion of the binary type bindings of the JDK types of the corpus, and of
+ * their members, in a fresh {@link LookupEnvironment}. The name environment is shared by all invocations,
+ * so that reading the class files out of the JDK image is mostly amortized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LookupEnvironmentBenchmark {
+
+	private char[][][] compoundNames;
+	private FileSystem environment;
+
+	@Setup
+	public void setup() {
+		this.compoundNames = new char[Corpus.JDK_TYPES.length][][];
+		for (int i = 0; i < this.compoundNames.length; i++)
+			this.compoundNames[i] = Corpus.compoundName(Corpus.JDK_TYPES[i]);
+		this.environment = Corpus.newNameEnvironment();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.environment.cleanup();
+	}
+
+	@Benchmark
+	public void completeBinaryTypes(Blackhole blackhole) {
+		Compiler compiler = Corpus.newCompiler(this.environment, "17"); //$NON-NLS-1$
+		LookupEnvironment lookupEnvironment = compiler.lookupEnvironment;
+		for (char[][] compoundName : this.compoundNames) {
+			ReferenceBinding type = lookupEnvironment.getType(compoundName);
+			blackhole.consume(type.superclass());
+			blackhole.consume(type.superInterfaces());
+			blackhole.consume(type.fields());
+			blackhole.consume(type.methods());
+		}
+	}
+}
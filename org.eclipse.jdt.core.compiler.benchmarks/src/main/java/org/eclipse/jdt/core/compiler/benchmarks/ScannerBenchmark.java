@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.compiler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Scanner#getNextToken()} over all the sources of the corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScannerBenchmark {
+
+	private char[][] sources;
+	private Scanner scanner;
+
+	@Setup
+	public void setup() {
+		this.sources = new char[Corpus.SOURCES.length][];
+		for (int i = 0; i < this.sources.length; i++)
+			this.sources[i] = Corpus.source(Corpus.SOURCES[i]);
+		this.scanner = new Scanner(false, false, false, ClassFileConstants.JDK17, ClassFileConstants.JDK17, null, null, true, false);
+	}
+
+	/**
+	 * Answers the number of tokens, so that the scan cannot be eliminated.
+	 */
+	@Benchmark
+	public int scan() throws InvalidInputException {
+		int tokens = 0;
+		for (char[] source : this.sources) {
+			this.scanner.setSource(source);
+			while (this.scanner.getNextToken() != TerminalTokens.TokenNameEOF)
+				tokens++;
+		}
+		return tokens;
+	}
+}
@@ -0,0 +1,208 @@
+package corpus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Plain object oriented code: classes, interfaces, generics, loops, switches and exceptions.
+ */
+public class Inventory implements Iterable<Inventory.Item> {
+
+	public enum Category {
+		FOOD, TOOL, BOOK, TOY;
+
+		boolean isTaxed() {
+			switch (this) {
+				case FOOD:
+				case BOOK:
+					return false;
+				default:
+					return true;
+			}
+		}
+	}
+
+	public interface Priced {
+		long price();
+
+		default long priceWithTax(int rate) {
+			return price() + price() * rate / 100;
+		}
+	}
+
+	public static final class Item implements Priced, Comparable<Item> {
+		private final String name;
+		private final Category category;
+		private final long price;
+		private int quantity;
+
+		public Item(String name, Category category, long price, int quantity) {
+			this.name = Objects.requireNonNull(name);
+			this.category = category;
+			this.price = price;
+			this.quantity = quantity;
+		}
+
+		public String name() {
+			return this.name;
+		}
+
+		public Category category() {
+			return this.category;
+		}
+
+		@Override
+		public long price() {
+			return this.price;
+		}
+
+		public int quantity() {
+			return this.quantity;
+		}
+
+		void remove(int count) throws OutOfStockException {
+			if (count > this.quantity)
+				throw new OutOfStockException(this, count - this.quantity);
+			this.quantity -= count;
+		}
+
+		@Override
+		public int compareTo(Item other) {
+			int result = this.category.compareTo(other.category);
+			if (result == 0)
+				result = this.name.compareTo(other.name);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Item))
+				return false;
+			Item other = (Item) object;
+			return this.name.equals(other.name) && this.category == other.category && this.price == other.price;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.name, this.category, Long.valueOf(this.price));
+		}
+
+		@Override
+		public String toString() {
+			return this.name + " (" + this.category + ") x" + this.quantity + " @" + this.price;
+		}
+	}
+
+	public static class OutOfStockException extends Exception {
+		private static final long serialVersionUID = 1L;
+		final transient Item item;
+		final int missing;
+
+		OutOfStockException(Item item, int missing) {
+			super("Missing " + missing + " of " + item.name());
+			this.item = item;
+			this.missing = missing;
+		}
+	}
+
+	private final Map<String, Item> items = new HashMap<>();
+	private final List<String> log = new ArrayList<>();
+	private int taxRate = 20;
+
+	public void add(Item item) {
+		Item existing = this.items.get(item.name());
+		if (existing != null) {
+			existing.quantity += item.quantity();
+		} else {
+			this.items.put(item.name(), item);
+		}
+		this.log.add("added " + item);
+	}
+
+	public boolean take(String name, int count) {
+		Item item = this.items.get(name);
+		if (item == null)
+			return false;
+		try {
+			item.remove(count);
+			this.log.add("took " + count + " of " + name);
+			return true;
+		} catch (OutOfStockException e) {
+			this.log.add(e.getMessage());
+			return false;
+		} finally {
+			if (item.quantity() == 0)
+				this.items.remove(name);
+		}
+	}
+
+	public long value() {
+		long total = 0;
+		for (Item item : this) {
+			long price = item.category().isTaxed() ? item.priceWithTax(this.taxRate) : item.price();
+			total += price * item.quantity();
+		}
+		return total;
+	}
+
+	public Map<Category, List<Item>> byCategory() {
+		Map<Category, List<Item>> result = new HashMap<>();
+		for (Iterator<Item> iterator = iterator(); iterator.hasNext();) {
+			Item item = iterator.next();
+			List<Item> list = result.get(item.category());
+			if (list == null) {
+				list = new ArrayList<>();
+				result.put(item.category(), list);
+			}
+			list.add(item);
+		}
+		for (List<Item> list : result.values())
+			list.sort(null);
+		return result;
+	}
+
+	public int[] histogram(int buckets) {
+		int[] histogram = new int[buckets];
+		long max = 1;
+		for (Item item : this.items.values())
+			max = Math.max(max, item.price());
+		for (Item item : this.items.values()) {
+			int bucket = (int) (item.price() * (buckets - 1) / max);
+			histogram[bucket] += item.quantity();
+		}
+		return histogram;
+	}
+
+	public String describe(Item item) {
+		String kind;
+		switch (item.category()) {
+			case FOOD -> kind = "edible";
+			case TOOL -> kind = "useful";
+			case BOOK -> kind = "readable";
+			default -> kind = "fun";
+		}
+		StringBuilder builder = new StringBuilder(kind);
+		for (int i = 0; i < item.quantity() && i < 3; i++)
+			builder.append('*');
+		return builder.toString();
+	}
+
+	public void setTaxRate(int taxRate) {
+		if (taxRate < 0 || taxRate > 100)
+			throw new IllegalArgumentException(String.valueOf(taxRate));
+		this.taxRate = taxRate;
+	}
+
+	public List<String> log() {
+		return this.log;
+	}
+
+	@Override
+	public Iterator<Item> iterator() {
+		return this.items.values().iterator();
+	}
+}
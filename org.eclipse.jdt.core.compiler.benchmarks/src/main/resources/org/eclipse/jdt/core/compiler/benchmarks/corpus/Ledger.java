@@ -0,0 +1,203 @@
+package corpus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Branch heavy code restricted to Java 5, so that it compiles at every target level, and so that code generation
+ * can be measured both with and without stack map frames.
+ */
+public class Ledger {
+
+	public static final int DEBIT = 0;
+	public static final int CREDIT = 1;
+
+	public static class Entry {
+		final String account;
+		final int kind;
+		final long amount;
+		final long time;
+
+		public Entry(String account, int kind, long amount, long time) {
+			this.account = account;
+			this.kind = kind;
+			this.amount = amount;
+			this.time = time;
+		}
+
+		public long signedAmount() {
+			return this.kind == DEBIT ? -this.amount : this.amount;
+		}
+
+		public String toString() {
+			return (this.kind == DEBIT ? "D " : "C ") + this.account + ' ' + this.amount + " @" + this.time;
+		}
+	}
+
+	static class Balance implements Comparable<Balance> {
+		final String account;
+		long value;
+		long min = Long.MAX_VALUE;
+		long max = Long.MIN_VALUE;
+		int entries;
+
+		Balance(String account) {
+			this.account = account;
+		}
+
+		void add(long amount) {
+			this.value += amount;
+			if (this.value < this.min)
+				this.min = this.value;
+			if (this.value > this.max)
+				this.max = this.value;
+			this.entries++;
+		}
+
+		public int compareTo(Balance other) {
+			if (this.value != other.value)
+				return this.value < other.value ? -1 : 1;
+			return this.account.compareTo(other.account);
+		}
+	}
+
+	private final List<Entry> entries = new ArrayList<Entry>();
+	private final Map<String, Balance> balances = new HashMap<String, Balance>();
+	private long overdraftLimit = 1000;
+
+	public synchronized void post(Entry entry) {
+		if (entry == null)
+			throw new IllegalArgumentException("null entry");
+		Balance balance = this.balances.get(entry.account);
+		if (balance == null) {
+			balance = new Balance(entry.account);
+			this.balances.put(entry.account, balance);
+		}
+		if (entry.kind == DEBIT && balance.value - entry.amount < -this.overdraftLimit)
+			throw new IllegalStateException("overdraft on " + entry.account);
+		balance.add(entry.signedAmount());
+		this.entries.add(entry);
+	}
+
+	public int postAll(Entry[] toPost) {
+		int posted = 0;
+		for (int i = 0; i < toPost.length; i++) {
+			try {
+				post(toPost[i]);
+				posted++;
+			} catch (IllegalStateException e) {
+				continue;
+			} catch (IllegalArgumentException e) {
+				break;
+			}
+		}
+		return posted;
+	}
+
+	public long balance(String account) {
+		Balance balance = this.balances.get(account);
+		return balance == null ? 0 : balance.value;
+	}
+
+	public List<Balance> sortedBalances(final boolean descending) {
+		List<Balance> result = new ArrayList<Balance>(this.balances.values());
+		Collections.sort(result, new Comparator<Balance>() {
+			public int compare(Balance b1, Balance b2) {
+				int comparison = b1.compareTo(b2);
+				return descending ? -comparison : comparison;
+			}
+		});
+		return result;
+	}
+
+	public long[] dailyTotals(long dayLength, int days) {
+		long[] totals = new long[days];
+		long start = Long.MAX_VALUE;
+		for (Entry entry : this.entries)
+			if (entry.time < start)
+				start = entry.time;
+		for (Entry entry : this.entries) {
+			int day = (int) ((entry.time - start) / dayLength);
+			if (day < 0 || day >= days)
+				continue;
+			totals[day] += entry.signedAmount();
+		}
+		return totals;
+	}
+
+	public String classify(long amount) {
+		int magnitude = 0;
+		long value = amount < 0 ? -amount : amount;
+		while (value >= 10) {
+			value /= 10;
+			magnitude++;
+		}
+		switch (magnitude) {
+			case 0:
+			case 1:
+				return "small";
+			case 2:
+				return "medium";
+			case 3:
+			case 4:
+				return amount < 0 ? "large debit" : "large credit";
+			default:
+				return "huge";
+		}
+	}
+
+	public int removeOlderThan(long time) {
+		int removed = 0;
+		for (Iterator<Entry> iterator = this.entries.iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			if (entry.time >= time)
+				continue;
+			iterator.remove();
+			Balance balance = this.balances.get(entry.account);
+			balance.value -= entry.signedAmount();
+			if (--balance.entries == 0)
+				this.balances.remove(entry.account);
+			removed++;
+		}
+		return removed;
+	}
+
+	public String report() {
+		StringBuffer buffer = new StringBuffer();
+		outer: for (Balance balance : sortedBalances(true)) {
+			buffer.append(balance.account).append(": ").append(balance.value);
+			for (int i = 0; i < 3; i++) {
+				if (balance.entries <= i)
+					continue outer;
+				buffer.append(i == 0 ? " [" : ", ").append(classify(balance.value >> i));
+			}
+			buffer.append(balance.min < 0 && balance.max > 0 ? "] mixed" : "]");
+			buffer.append('\n');
+		}
+		return buffer.toString();
+	}
+
+	public void setOverdraftLimit(long overdraftLimit) {
+		synchronized (this) {
+			this.overdraftLimit = overdraftLimit < 0 ? 0 : overdraftLimit;
+		}
+	}
+
+	public static void main(String[] args) {
+		Ledger ledger = new Ledger();
+		String[] accounts = { "alice", "bob", "carol" };
+		Entry[] entries = new Entry[30];
+		for (int i = 0; i < entries.length; i++)
+			entries[i] = new Entry(accounts[i % accounts.length], i % 4 == 0 ? DEBIT : CREDIT, i * 37L % 500, i * 3600000L);
+		System.out.println(ledger.postAll(entries));
+		System.out.println(ledger.report());
+		long[] totals = ledger.dailyTotals(86400000L, 2);
+		System.out.println(totals[0] + " " + totals[1]);
+		System.out.println(ledger.removeOlderThan(36000000L));
+	}
+}
@@ -0,0 +1,106 @@
+package corpus;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Stream heavy code, where most of the resolution time goes to type inference.
+ */
+public class Reports {
+
+	public record Sale(String region, String product, int quantity, double amount, List<String> tags) {}
+
+	public record Summary<K>(K key, long count, double total, Optional<String> best) {}
+
+	public static Map<String, Map<String, Double>> amountByRegionAndProduct(List<Sale> sales) {
+		return sales.stream()
+				.collect(Collectors.groupingBy(Sale::region, TreeMap::new,
+						Collectors.groupingBy(Sale::product, TreeMap::new, Collectors.summingDouble(Sale::amount))));
+	}
+
+	public static List<Summary<String>> summaries(List<Sale> sales) {
+		return sales.stream()
+				.collect(Collectors.groupingBy(Sale::region))
+				.entrySet().stream()
+				.map(e -> new Summary<>(e.getKey(),
+						e.getValue().size(),
+						e.getValue().stream().mapToDouble(Sale::amount).sum(),
+						e.getValue().stream().max(Comparator.comparingDouble(Sale::amount)).map(Sale::product)))
+				.sorted(Comparator.comparing((Summary<String> s) -> s.total()).reversed().thenComparing(Summary::key))
+				.collect(Collectors.toList());
+	}
+
+	public static Map<String, Long> tagCounts(List<Sale> sales) {
+		return sales.stream()
+				.flatMap(s -> s.tags().stream())
+				.map(String::toLowerCase)
+				.filter(t -> !t.isBlank())
+				.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+	}
+
+	public static Map<Boolean, DoubleSummaryStatistics> bigAndSmall(List<Sale> sales, double threshold) {
+		return sales.stream()
+				.collect(Collectors.partitioningBy(s -> s.amount() >= threshold,
+						Collectors.summarizingDouble(Sale::amount)));
+	}
+
+	public static Optional<Map.Entry<String, Integer>> bestProduct(List<Sale> sales) {
+		return sales.stream()
+				.collect(Collectors.toMap(Sale::product, Sale::quantity, Integer::sum))
+				.entrySet().stream()
+				.max(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+	}
+
+	public static String table(List<Sale> sales) {
+		return amountByRegionAndProduct(sales).entrySet().stream()
+				.map(region -> region.getValue().entrySet().stream()
+						.map(product -> String.format("%-10s %-10s %10.2f", region.getKey(), product.getKey(), product.getValue()))
+						.collect(Collectors.joining("\n")))
+				.collect(Collectors.joining("\n", "region     product        amount\n", "\n"));
+	}
+
+	public static List<List<Sale>> pages(List<Sale> sales, int size) {
+		return IntStream.range(0, (sales.size() + size - 1) / size)
+				.mapToObj(i -> sales.subList(i * size, Math.min(sales.size(), (i + 1) * size)))
+				.collect(Collectors.toList());
+	}
+
+	public static double[] movingAverage(double[] values, int window) {
+		return IntStream.rangeClosed(0, values.length - window)
+				.mapToDouble(i -> Arrays.stream(values, i, i + window).average().orElse(0))
+				.toArray();
+	}
+
+	public static <T, K extends Comparable<K>> Map<K, List<T>> index(Stream<T> elements, Function<? super T, ? extends K> key) {
+		return elements.collect(Collectors.groupingBy(key, TreeMap::new, Collectors.mapping(Function.identity(), Collectors.toList())));
+	}
+
+	public static List<Sale> sample() {
+		return Stream.of("north", "south", "east", "west")
+				.flatMap(region -> Stream.of("apple", "pear", "plum")
+						.map(product -> new Sale(region, product, region.length() * product.length(),
+								region.length() * 10.5 + product.length(), List.of(region, product, "fruit"))))
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	public static void main(String[] args) {
+		List<Sale> sales = sample();
+		System.out.println(table(sales));
+		summaries(sales).forEach(System.out::println);
+		System.out.println(tagCounts(sales));
+		System.out.println(bigAndSmall(sales, 50));
+		bestProduct(sales).ifPresent(System.out::println);
+		System.out.println(pages(sales, 5).size());
+		System.out.println(Arrays.toString(movingAverage(new double[] { 1, 2, 3, 4, 5 }, 2)));
+		System.out.println(index(sales.stream(), Sale::product).keySet());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,8 +20,11 @@ import java.util.Hashtable;
 import junit.framework.*;
 
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -687,4 +690,130 @@ public class BasicBuildTests extends BuilderTests {
 			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.MAX_AT_ONCE = save;
 		}
 	}
+
+	public void testParallelCompilationGroups() throws JavaModelException {
+		int save = org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.PARALLEL_GROUPS;
+		try {
+			IPath projectPath = env.addProject("Project");
+			env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+			// remove old package fragment root so that names don't collide
+			env.removePackageFragmentRoot(projectPath, "");
+
+			IPath root = env.addPackageFragmentRoot(projectPath, "src");
+			env.setOutputFolder(projectPath, "bin");
+
+			env.addClass(root, "p1", "A",
+				"package p1;\n" +
+				"public class A {\n" +
+				"	p2.B b;\n" +
+				"	public int m() { return p2.B.C + new Helper().n; }\n" +
+				"}"
+			);
+			env.addClass(root, "p1", "H",
+				"package p1;\n" +
+				"public class H {}\n" +
+				"class Helper { int n; }"
+			);
+			env.addClass(root, "p2", "B",
+				"package p2;\n" +
+				"public class B {\n" +
+				"	public static final int C = 1;\n" +
+				"	p1.A a;\n" +
+				"	q.D d;\n" +
+				"}"
+			);
+			env.addClass(root, "q", "D",
+				"package q;\n" +
+				"public class D extends p1.A {}"
+			);
+			IPath pathToE = env.addClass(root, "r", "E",
+				"package r;\n" +
+				"public class E {\n" +
+				"	q.D d = new q.D();\n" +
+				"	Missing m;\n" +
+				"}"
+			);
+
+			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.PARALLEL_GROUPS = 3;
+
+			fullBuild(projectPath);
+			expectingOnlySpecificProblemFor(pathToE, new Problem("E", "Missing cannot be resolved to a type", pathToE, 49, 56, CategorizedProblem.CAT_TYPE, IMarker.SEVERITY_ERROR));
+			expectingUniqueCompiledClasses(new String[] {"p1.A", "p1.H", "p1.Helper", "p2.B", "q.D", "r.E"});
+			IPath bin = projectPath.append("bin");
+			expectingPresenceOf(new IPath[] {
+				bin.append("p1/A.class"),
+				bin.append("p1/Helper.class"),
+				bin.append("p2/B.class"),
+				bin.append("q/D.class"),
+				bin.append("r/E.class")
+			});
+		} finally {
+			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.PARALLEL_GROUPS = save;
+		}
+	}
+
+	public void testParallelCompilationGroupsCancel() throws JavaModelException {
+		int save = org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.PARALLEL_GROUPS;
+		try {
+			IPath projectPath = env.addProject("Project");
+			env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+			// remove old package fragment root so that names don't collide
+			env.removePackageFragmentRoot(projectPath, "");
+
+			IPath root = env.addPackageFragmentRoot(projectPath, "src");
+			env.setOutputFolder(projectPath, "bin");
+
+			// the units of each package reference the units of other packages, compiled by other groups
+			int packages = 6, units = 10;
+			for (int p = 0; p < packages; p++) {
+				for (int u = 0; u < units; u++) {
+					env.addClass(root, "p" + p, "X" + u,
+						"package p" + p + ";\n" +
+						"public class X" + u + " {\n" +
+						"	public p" + (p + 1) % packages + ".X" + u + " next;\n" +
+						"	public int m() { return new p" + (p + 3) % packages + ".X" + (u + 1) % units + "().hashCode(); }\n" +
+						"}"
+					);
+				}
+			}
+
+			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.PARALLEL_GROUPS = 3;
+
+			// cancel once a few units are compiled
+			NullProgressMonitor monitor = new NullProgressMonitor() {
+				private boolean compiling;
+				private int compiled;
+				@Override
+				public void subTask(String name) {
+					if (name.contains("src/p"))
+						this.compiling = true;
+				}
+				@Override
+				public void worked(int work) {
+					if (this.compiling && ++this.compiled == 5)
+						setCanceled(true);
+				}
+			};
+			try {
+				env.getProject(projectPath).build(IncrementalProjectBuilder.FULL_BUILD, monitor);
+			} catch (OperationCanceledException e) {
+				// expected
+			} catch (CoreException e) {
+				e.printStackTrace();
+				fail("Build should be cancelled without failing: " + e.getStatus());
+			}
+			assertTrue("Build should be cancelled", monitor.isCanceled());
+
+			fullBuild(projectPath);
+			expectingNoProblems();
+			IPath bin = projectPath.append("bin");
+			for (int p = 0; p < packages; p++)
+				for (int u = 0; u < units; u++)
+					expectingPresenceOf(bin.append("p" + p + "/X" + u + ".class"));
+		} finally {
+			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.PARALLEL_GROUPS = save;
+		}
+	}
 }
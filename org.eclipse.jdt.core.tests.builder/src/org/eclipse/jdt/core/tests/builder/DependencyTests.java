@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1255,4 +1255,219 @@ public void test0100() throws JavaModelException {
 		new Problem("",	"The method foo() from the type N1.N2.N3 is deprecated",
 			M1Path, 217, 222, CategorizedProblem.CAT_DEPRECATION, IMarker.SEVERITY_WARNING));
 }
+
+// changing the signature of a method only recompiles the units referencing this method
+public void testMemberDependency() throws JavaModelException {
+	IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+	env.addExternalJars(projectPath, Util.getJavaClassLibs());
+	env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+	IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+	env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+	env.addClass(root, "p1", "U", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class U {\n" + //$NON-NLS-1$
+		"	public static final int K = 1;\n" + //$NON-NLS-1$
+		"	public static int add(int a, int b) { return a + b; }\n" + //$NON-NLS-1$
+		"	public static int mul(int a, int b) { return a * b; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	int foo() { return p1.U.add(1, 2); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "M", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class M {\n" + //$NON-NLS-1$
+		"	int foo() { return p1.U.mul(1, 2); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "K", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class K {\n" + //$NON-NLS-1$
+		"	int foo() { return p1.U.K; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	fullBuild(projectPath);
+	expectingNoProblems();
+
+	// change the return type of mul()
+	env.addClass(root, "p1", "U", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class U {\n" + //$NON-NLS-1$
+		"	public static final int K = 1;\n" + //$NON-NLS-1$
+		"	public static int add(int a, int b) { return a + b; }\n" + //$NON-NLS-1$
+		"	public static long mul(int a, int b) { return a * b; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingOnlyProblemsFor(root.append("p2/M.java")); //$NON-NLS-1$
+	expectingUniqueCompiledClasses(new String[] {"p1.U", "p2.M"}); //$NON-NLS-1$ //$NON-NLS-2$
+
+	// change the value of the constant K, and mul() back
+	env.addClass(root, "p1", "U", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class U {\n" + //$NON-NLS-1$
+		"	public static final int K = 2;\n" + //$NON-NLS-1$
+		"	public static int add(int a, int b) { return a + b; }\n" + //$NON-NLS-1$
+		"	public static int mul(int a, int b) { return a * b; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingNoProblems();
+	expectingUniqueCompiledClasses(new String[] {"p1.U", "p2.M", "p2.K"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+
+// changing a method only inherited by a class recompiles the class, which may implement an interface with it
+public void testInheritedMemberDependency() throws JavaModelException {
+	IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+	env.addExternalJars(projectPath, Util.getJavaClassLibs());
+	env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+	IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+	env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public void m() {}\n" + //$NON-NLS-1$
+		"	public void n() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p1", "I", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public interface I {\n" + //$NON-NLS-1$
+		"	void m();\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class B extends p1.A {}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "C", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class C extends B implements p1.I {}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "D", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class D {\n" + //$NON-NLS-1$
+		"	void foo(p1.A a) { a.n(); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	fullBuild(projectPath);
+	expectingNoProblems();
+
+	// change the return type of m()
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public int m() { return 0; }\n" + //$NON-NLS-1$
+		"	public void n() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingOnlyProblemsFor(root.append("p2/C.java")); //$NON-NLS-1$
+	expectingUniqueCompiledClasses(new String[] {"p1.A", "p2.B", "p2.C"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	// make m() protected
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	protected void m() {}\n" + //$NON-NLS-1$
+		"	public void n() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingOnlyProblemsFor(root.append("p2/C.java")); //$NON-NLS-1$
+
+	// remove m()
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public void n() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingOnlyProblemsFor(root.append("p2/C.java")); //$NON-NLS-1$
+
+	// add m() back
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public void m() {}\n" + //$NON-NLS-1$
+		"	public void n() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingNoProblems();
+}
+
+// the changes of a member only recompile the units referencing this member of this type, or all the members of its name
+// when the change may affect which member is found
+public void testQualifiedMemberDependency() throws JavaModelException {
+	IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+	env.addExternalJars(projectPath, Util.getJavaClassLibs());
+	env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+	IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+	env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+	env.addClass(root, "p1", "U", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class U {\n" + //$NON-NLS-1$
+		"	public static int add(int a, int b) { return a + b; }\n" + //$NON-NLS-1$
+		"	public static long add(long a, long b) { return a + b; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p1", "V", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class V {\n" + //$NON-NLS-1$
+		"	public static int add(int a, int b) { return a + b; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	int foo() { return p1.U.add(1, 2) + p1.V.add(1, 2); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "L", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class L {\n" + //$NON-NLS-1$
+		"	long foo() { return p1.U.add(1L, 2L); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "W", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class W {\n" + //$NON-NLS-1$
+		"	int foo() { return p1.V.add(1, 2); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	fullBuild(projectPath);
+	expectingNoProblems();
+
+	// add an exception to add(long, long): only its callers are affected
+	env.addClass(root, "p1", "U", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class U {\n" + //$NON-NLS-1$
+		"	public static int add(int a, int b) { return a + b; }\n" + //$NON-NLS-1$
+		"	public static long add(long a, long b) throws Exception { return a + b; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingOnlyProblemsFor(root.append("p2/L.java")); //$NON-NLS-1$
+	expectingUniqueCompiledClasses(new String[] {"p1.U", "p2.L"}); //$NON-NLS-1$ //$NON-NLS-2$
+
+	// make add(long, long) private: the callers of any add() of U may find another method
+	env.addClass(root, "p1", "U", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class U {\n" + //$NON-NLS-1$
+		"	public static int add(int a, int b) { return a + b; }\n" + //$NON-NLS-1$
+		"	private static long add(long a, long b) throws Exception { return a + b; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingOnlyProblemsFor(root.append("p2/L.java")); //$NON-NLS-1$
+	expectingUniqueCompiledClasses(new String[] {"p1.U", "p2.A", "p2.L"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
 }
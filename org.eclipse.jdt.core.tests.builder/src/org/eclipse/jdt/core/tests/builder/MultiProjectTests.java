@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -172,6 +172,60 @@ public class MultiProjectTests extends BuilderTests {
 		env.removeProject(project3Path);
 	}
 
+	// a full build of a required project only affects dependent projects if its class files have structural changes
+	public void testFullBuildOfRequiredProject() throws JavaModelException {
+		IPath project1Path = env.addProject("Project1"); //$NON-NLS-1$
+		env.addExternalJars(project1Path, Util.getJavaClassLibs());
+		IPath root1 = env.getPackageFragmentRootPath(project1Path, ""); //$NON-NLS-1$
+		env.addClass(root1, "", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"public class A {\n"+ //$NON-NLS-1$
+			"   public int foo() { return 1; }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath project2Path = env.addProject("Project2"); //$NON-NLS-1$
+		env.addExternalJars(project2Path, Util.getJavaClassLibs());
+		env.addRequiredProject(project2Path, project1Path);
+		IPath root2 = env.getPackageFragmentRootPath(project2Path, ""); //$NON-NLS-1$
+		env.addClass(root2, "", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"public class B extends A {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.waitForManualRefresh();
+		fullBuild();
+		env.waitForAutoBuild();
+		expectingNoProblems();
+
+		// rebuild Project1 from scratch with a non-structural change
+		env.addClass(root1, "", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"public class A {\n"+ //$NON-NLS-1$
+			"   public int foo() { return 2; }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.waitForManualRefresh();
+		fullBuild(project1Path);
+		incrementalBuild(project2Path);
+		env.waitForAutoBuild();
+		expectingNoProblems();
+		expectingCompiledClasses(new String[0]);
+
+		// rebuild Project1 from scratch with a structural change
+		env.addClass(root1, "", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"public class A {\n"+ //$NON-NLS-1$
+			"   public long foo() { return 2; }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.waitForManualRefresh();
+		fullBuild(project1Path);
+		incrementalBuild(project2Path);
+		env.waitForAutoBuild();
+		expectingNoProblems();
+		expectingCompiledClasses(new String[]{"B"}); //$NON-NLS-1$
+		env.removeProject(project1Path);
+		env.removeProject(project2Path);
+	}
+
 	public void testRemoveField() throws JavaModelException {
 		Hashtable options = JavaCore.getOptions();
 		options.put(JavaCore.COMPILER_PB_UNUSED_LOCAL, JavaCore.IGNORE);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Sebastian Zarnekow and others.
+ * Copyright (c) 2019, 2026 Sebastian Zarnekow and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,6 @@ package org.eclipse.jdt.core.tests.builder;
 
 import static org.junit.Assert.assertArrayEquals;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -35,46 +34,10 @@ public class ReferenceCollectionTest extends BuilderTests {
 	}
 
 	private static class TestableReferenceCollection extends ReferenceCollection {
-		/*
-		    Make the package visible fields reflectively available for testing
-			char[][][] qualifiedNameReferences;
-			char[][] simpleNameReferences;
-			char[][] rootReferences;
-		 */
 		protected TestableReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences,
 				char[][] rootReferences) {
 			super(qualifiedNameReferences, simpleNameReferences, rootReferences);
 		}
-
-		char[][][] getQualifiedNameReferences() {
-			try {
-				Field fld = ReferenceCollection.class.getDeclaredField("qualifiedNameReferences");
-				fld.setAccessible(true);
-				return (char[][][]) fld.get(this);
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				throw new RuntimeException(e);
-			}
-		}
-
-		char[][] getSimpleNameReferences() {
-			try {
-				Field fld = ReferenceCollection.class.getDeclaredField("simpleNameReferences");
-				fld.setAccessible(true);
-				return (char[][]) fld.get(this);
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				throw new RuntimeException(e);
-			}
-		}
-
-		char[][] getRootReferences() {
-			try {
-				Field fld = ReferenceCollection.class.getDeclaredField("rootReferences");
-				fld.setAccessible(true);
-				return (char[][]) fld.get(this);
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				throw new RuntimeException(e);
-			}
-		}
 	}
 
 	public void testInternQualifiedNamesSorts_01() {
@@ -316,6 +279,42 @@ public class ReferenceCollectionTest extends BuilderTests {
 		}, CharOperation.toStrings(rootReferences));
 	}
 
+	public void testNamesAreShared() {
+		TestableReferenceCollection refColl = new TestableReferenceCollection(null, null, null);
+		refColl.addDependencies(new String[] {"a.b.c.D", "a.b.E"});
+
+		TestableReferenceCollection other = new TestableReferenceCollection(null, null, null);
+		other.addDependencies(new String[] {"a.b.E", "a.b.c.D"});
+
+		assertEquals(refColl, other);
+		char[][][] qualifiedNameReferences = refColl.getQualifiedNameReferences();
+		char[][][] otherQualifiedNameReferences = other.getQualifiedNameReferences();
+		assertEquals(qualifiedNameReferences.length, otherQualifiedNameReferences.length);
+		for (int i = 0; i < qualifiedNameReferences.length; i++)
+			assertSame(qualifiedNameReferences[i], otherQualifiedNameReferences[i]);
+		assertTrue(other.includes(qualifiedNameReferences[0]));
+		assertFalse(other.includes(CharOperation.splitOn('.', "a.b.F".toCharArray())));
+	}
+
+	public void testDecodedNamesAreUpdated() {
+		TestableReferenceCollection refColl = new TestableReferenceCollection(null, null, null);
+		refColl.addDependencies(new String[] {"a.B"});
+		char[][] simpleNameReferences = refColl.getSimpleNameReferences();
+		assertSame(simpleNameReferences, refColl.getSimpleNameReferences());
+
+		refColl.addDependencies(new String[] {"a.C"});
+		assertArrayEquals(new String[] {
+			"B",
+			"C",
+			"a"
+		}, CharOperation.toStrings(refColl.getSimpleNameReferences()));
+		assertArrayEquals(new String[] {
+			"a.B",
+			"a.C",
+			"a"
+		}, toStringArray(refColl.getQualifiedNameReferences()));
+	}
+
 	private static String[] toStringArray(char[][][] qualifiedNameReferences) {
 		return Arrays.stream(qualifiedNameReferences).map(CharOperation::toString).toArray(String[]::new);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Sebastian Zarnekow and others.
+ * Copyright (c) 2019, 2026 Sebastian Zarnekow and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,8 +19,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +50,7 @@ import org.eclipse.jdt.internal.core.builder.ClasspathLocation;
 import org.eclipse.jdt.internal.core.builder.JavaBuilder;
 import org.eclipse.jdt.internal.core.builder.ReferenceCollection;
 import org.eclipse.jdt.internal.core.builder.State;
+import org.eclipse.jdt.internal.core.util.ByteBufferInputStream;
 
 import junit.framework.Test;
 
@@ -100,6 +105,147 @@ public class StateTest extends BuilderTests {
 	}
 
 
+	public void testWriteStateReadButNotUsed() throws JavaModelException, Exception {
+		IPath projectPath = env.addProject("Unused"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		env.addClass(projectPath, "a", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"public class A {\n" +
+			"	B b;\n" +
+			"}" //$NON-NLS-1$
+		);
+		env.addClass(projectPath, "a", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"public class B {\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		IProject project = env.getProject(projectPath);
+		PerProjectInfo info = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(project);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		State savedState = (State) info.savedState;
+		JavaBuilder.writeState(savedState, new DataOutputStream(outputStream));
+		byte[] bytes = outputStream.toByteArray();
+		State readState = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(bytes)));
+
+		// the sections which were not used are written as they were read
+		outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(readState, new DataOutputStream(outputStream));
+		assertArrayEquals(bytes, outputStream.toByteArray());
+
+		assertEqualLookupTables(savedState.getReferences(), readState.getReferences());
+		assertEqualTypeLocators(savedState.typeLocators, readState.typeLocators);
+		assertEquals(readState, savedState);
+	}
+
+	// a corrupt section is reported when the state is read, not once used by a caller which does not expect it
+	public void testReadCorruptState() throws JavaModelException, Exception {
+		IPath projectPath = env.addProject("Corrupt"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		env.addClass(projectPath, "a", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"public class A {\n" +
+			"	B b;\n" +
+			"}" //$NON-NLS-1$
+		);
+		env.addClass(projectPath, "a", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"public class B {\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		IProject project = env.getProject(projectPath);
+		PerProjectInfo info = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(project);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(info.savedState, new DataOutputStream(outputStream));
+		byte[] bytes = outputStream.toByteArray();
+
+		byte[] corrupt = bytes.clone();
+		corrupt[corrupt.length - 8] ^= 0x10; // in the last section
+		try {
+			JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(corrupt)));
+			fail("Should report the corrupt section"); //$NON-NLS-1$
+		} catch (IOException e) {
+			// expected
+		}
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 2);
+		try {
+			JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(truncated)));
+			fail("Should report the truncated section"); //$NON-NLS-1$
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	// the sections of a mapped state file are read in place, once used
+	public void testReadMappedState() throws JavaModelException, Exception {
+		IPath projectPath = env.addProject("Mapped"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		env.addClass(projectPath, "a", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"public class A {\n" +
+			"	B b;\n" +
+			"}" //$NON-NLS-1$
+		);
+		env.addClass(projectPath, "a", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"public class B {\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		IProject project = env.getProject(projectPath);
+		PerProjectInfo info = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(project);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		State savedState = (State) info.savedState;
+		JavaBuilder.writeState(savedState, new DataOutputStream(outputStream));
+		byte[] bytes = outputStream.toByteArray();
+
+		File file = File.createTempFile("state", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			Files.write(file.toPath(), bytes);
+			State readState = readMappedState(project, file);
+			outputStream = new ByteArrayOutputStream();
+			JavaBuilder.writeState(readState, new DataOutputStream(outputStream));
+			assertArrayEquals(bytes, outputStream.toByteArray());
+			assertEqualLookupTables(savedState.getReferences(), readState.getReferences());
+			assertEqualTypeLocators(savedState.typeLocators, readState.typeLocators);
+			assertEquals(readState, savedState);
+
+			byte[] corrupt = bytes.clone();
+			corrupt[corrupt.length - 8] ^= 0x10; // in the last section
+			Files.write(file.toPath(), corrupt);
+			try {
+				readMappedState(project, file);
+				fail("Should report the corrupt section"); //$NON-NLS-1$
+			} catch (IOException e) {
+				// expected
+			}
+			Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 2));
+			try {
+				readMappedState(project, file);
+				fail("Should report the truncated section"); //$NON-NLS-1$
+			} catch (IOException e) {
+				// expected
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static State readMappedState(IProject project, File file) throws IOException, CoreException {
+		ByteBuffer mapping;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		return JavaBuilder.readState(project, new DataInputStream(new ByteBufferInputStream(mapping)), mapping);
+	}
+
 	public void testBug563546() throws JavaModelException, Exception {
 		IPath project = env.addProject("Bug563546"); //$NON-NLS-1$
 		env.addExternalJars(project, Util.getJavaClassLibs());
@@ -300,18 +446,18 @@ public class StateTest extends BuilderTests {
 	private void assertEqualReferenceCollections(ReferenceCollection expectedReferenceCollection,
 			ReferenceCollection actualReferenceCollection) {
 		{
-			char[][] expected = getSimpleNameReferences(expectedReferenceCollection);
-			char[][] actual = getSimpleNameReferences(actualReferenceCollection);
+			char[][] expected = expectedReferenceCollection.getSimpleNameReferences();
+			char[][] actual = actualReferenceCollection.getSimpleNameReferences();
 			assertArrayEquals(toStringArray(expected), toStringArray(actual));
 		}
 		{
-			char[][] expected = getRootReferences(expectedReferenceCollection);
-			char[][] actual = getRootReferences(actualReferenceCollection);
+			char[][] expected = expectedReferenceCollection.getRootReferences();
+			char[][] actual = actualReferenceCollection.getRootReferences();
 			assertArrayEquals(toStringArray(expected), toStringArray(actual));
 		}
 		{
-			char[][][] expected = getQualifiedNameReferences(expectedReferenceCollection);
-			char[][][] actual = getQualifiedNameReferences(actualReferenceCollection);
+			char[][][] expected = expectedReferenceCollection.getQualifiedNameReferences();
+			char[][][] actual = actualReferenceCollection.getQualifiedNameReferences();
 			assertArrayEquals(toStringArray(expected), toStringArray(actual));
 		}
 	}
@@ -324,34 +470,4 @@ public class StateTest extends BuilderTests {
 		return Arrays.stream(qualifiedNameReferences).map(CharOperation::charToString).toArray(String[]::new);
 	}
 
-	char[][][] getQualifiedNameReferences(ReferenceCollection collection) {
-		try {
-			Field fld = ReferenceCollection.class.getDeclaredField("qualifiedNameReferences");
-			fld.setAccessible(true);
-			return (char[][][]) fld.get(collection);
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
-	char[][] getSimpleNameReferences(ReferenceCollection collection) {
-		try {
-			Field fld = ReferenceCollection.class.getDeclaredField("simpleNameReferences");
-			fld.setAccessible(true);
-			return (char[][]) fld.get(collection);
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
-	char[][] getRootReferences(ReferenceCollection collection) {
-		try {
-			Field fld = ReferenceCollection.class.getDeclaredField("rootReferences");
-			fld.setAccessible(true);
-			return (char[][]) fld.get(collection);
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
 }
@@ -44,9 +44,20 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.MessageFormat;
+import java.time.LocalDateTime;
+import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 
 import javax.lang.model.SourceVersion;
 
@@ -56,16 +67,26 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.ReadManager;
+import org.eclipse.jdt.internal.compiler.batch.ClassFileWriter;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathDirectory;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathJar;
+import org.eclipse.jdt.internal.compiler.batch.ClasspathMappedJar;
+import org.eclipse.jdt.internal.compiler.batch.CompilerDaemon;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.batch.MappedJarIndex;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
+import org.eclipse.jdt.internal.compiler.util.SourceReader;
 
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class BatchCompilerTest extends AbstractBatchCompilerTest {
@@ -641,6 +662,8 @@ public void test012(){
         "                       created); this option can be overridden per source\n" +
         "                       directory\n" +
         "    -d none            generate no .class files\n" +
+        "    -d <file>.jar      write the .class files into a jar or zip file, in the\n" +
+        "                       order of the sources and with a fixed time stamp\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" +
         "                       file/directory can override it when suffixed with\n" +
         "                       ''[''<enc>'']'' (e.g. X.java[utf8]).\n" +
@@ -766,6 +789,8 @@ public void test012(){
         "    -referenceInfo     compute reference info\n" +
         "    -progress          show progress (only in -log mode)\n" +
         "    -time              display speed information \n" +
+        "    -metrics <file>    write the time, CPU time and allocated bytes of each\n" +
+        "                       compile phase and unit to a JSON file\n" +
         "    -noExit            do not call System.exit(n) at end of compilation (n==0\n" +
         "                       if no error)\n" +
         "    -repeat <n>        repeat compilation process <n> times for perf analysis\n" +
@@ -13518,4 +13543,425 @@ public void testGitHub1122(){
 		+ "",
 		true);
 }
+// code generation on worker threads must not change the order in which results are accepted
+public void testProcessingThreads() {
+	String setting = System.getProperty("jdt.compiler.processingThreads");
+	try {
+		System.setProperty("jdt.compiler.processingThreads", "2");
+		this.runConformTest(
+			new String[] {
+					"X.java",
+					"/** */\n" +
+					"public class X {\n" +
+					"	OK1 ok1;\n" +
+					"}",
+					"OK1.java",
+					"/** */\n" +
+					"public class OK1 {\n" +
+					"	// empty\n" +
+					"}"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+			+ " -1.5 -g -preserveAllLocals"
+			+ " -cp \"" + OUTPUT_DIR + "\""
+			+ " -verbose -proceedOnError -referenceInfo"
+			+ " -d \"" + OUTPUT_DIR + "\"",
+			"[parsing    ---OUTPUT_DIR_PLACEHOLDER---/X.java - #1/1]\n" +
+			"[reading    java/lang/Object.class]\n" +
+			"[analyzing  ---OUTPUT_DIR_PLACEHOLDER---/X.java - #1/1]\n" +
+			"[parsing    ---OUTPUT_DIR_PLACEHOLDER---/OK1.java - #2/2]\n" +
+			"[analyzing  ---OUTPUT_DIR_PLACEHOLDER---/OK1.java - #2/2]\n" +
+			"[writing    X.class - #1]\n" +
+			"[completed  ---OUTPUT_DIR_PLACEHOLDER---/X.java - #1/2]\n" +
+			"[writing    OK1.class - #2]\n" +
+			"[completed  ---OUTPUT_DIR_PLACEHOLDER---/OK1.java - #2/2]\n" +
+			"[2 units compiled]\n" +
+			"[2 .class files generated]\n",
+			"",
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.processingThreads");
+		else
+			System.setProperty("jdt.compiler.processingThreads", setting);
+	}
+}
+// fields and methods of units compiled on several threads must report their problems against their own unit
+public void testProcessingThreads_completion() {
+	String setting = System.getProperty("jdt.compiler.processingThreads");
+	try {
+		System.setProperty("jdt.compiler.processingThreads", "2");
+		this.runNegativeTest(
+			new String[] {
+					"X.java",
+					"public class X {\n" +
+					"	int f;\n" +
+					"	String f;\n" +
+					"}",
+					"Y.java",
+					"public class Y {\n" +
+					"	abstract void foo();\n" +
+					"}"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+			+ " -1.5 -proc:none -d none",
+			"",
+			"----------\n" +
+			"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 2)\n" +
+			"	int f;\n" +
+			"	    ^\n" +
+			"Duplicate field X.f\n" +
+			"----------\n" +
+			"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 3)\n" +
+			"	String f;\n" +
+			"	       ^\n" +
+			"Duplicate field X.f\n" +
+			"----------\n" +
+			"----------\n" +
+			"3. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/Y.java (at line 1)\n" +
+			"	public class Y {\n" +
+			"	             ^\n" +
+			"The type Y must be an abstract class to define abstract methods\n" +
+			"----------\n" +
+			"4. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/Y.java (at line 2)\n" +
+			"	abstract void foo();\n" +
+			"	              ^^^^^\n" +
+			"The abstract method foo in type Y can only be defined by an abstract class\n" +
+			"----------\n" +
+			"4 problems (4 errors)\n",
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.processingThreads");
+		else
+			System.setProperty("jdt.compiler.processingThreads", setting);
+	}
+}
+// white-box test for internal API: a mapped jar answers as the jar it replaces, with or without side-car index
+public void testClasspathMappedJar() throws IOException {
+	String libPath = OUTPUT_DIR + File.separator + "lib.jar";
+	File cacheDirectory = new File(OUTPUT_DIR, "index");
+	Util.createJar(
+		new String[] {
+			"p/q/A.java",
+			"package p.q;\n" +
+			"public class A {\n" +
+			"}",
+			"p/q/r/B.java",
+			"package p.q.r;\n" +
+			"public class B {\n" +
+			"}",
+		},
+		new String[] {
+			"META-INF/MANIFEST.MF",
+			"Manifest-Version: 1.0\n",
+		},
+		libPath,
+		JavaCore.VERSION_1_4);
+	try {
+		for (int i = 0; i < 2; i++) { // second iteration reads the side-car index
+			MappedJarIndex index = MappedJarIndex.open(new File(libPath), cacheDirectory);
+			assertTrue("should be a package", index.isPackage("p"));
+			assertTrue("should be a package", index.isPackage("p/q/r"));
+			assertFalse("should not be a package", index.isPackage("p/q/A.class"));
+			assertTrue("should have entry", index.hasEntry("p/q/A.class"));
+			assertNull("should not have entry", index.getEntryBytes("p/q/X.class"));
+			assertEquals("unexpected entries", "[p/q/A.class]", index.getEntryNames("p/q").toString());
+			index.close();
+		}
+		assertEquals("unexpected side-car index files", 1, cacheDirectory.list().length);
+
+		ClasspathMappedJar jar = new ClasspathMappedJar(new File(libPath), true, null, null);
+		jar.initialize();
+		assertTrue("should be a package", jar.isPackage("p/q", null));
+		NameEnvironmentAnswer answer = jar.findClass("A".toCharArray(), "p/q", null, "p/q/A.class");
+		assertNotNull("should find class", answer);
+		assertEquals("unexpected class name", "p/q/A", new String(answer.getBinaryType().getName()));
+		assertNull("should not find class", jar.findClass("X".toCharArray(), "p/q", null, "p/q/X.class"));
+		assertEquals("unexpected type names", "p.q.r.B", CharOperation.toString(jar.findTypeNames("p/q/r", null)[0]));
+		assertEquals("unexpected linked jars", 0, jar.fetchLinkedJars(null).size());
+		jar.reset();
+
+		// a central directory header whose name runs past the end of the file is answered as a zip exception
+		byte[] bytes = Files.readAllBytes(Paths.get(libPath));
+		for (int i = bytes.length - 4; i >= 0; i--) {
+			if (bytes[i] == 'P' && bytes[i + 1] == 'K' && bytes[i + 2] == 1 && bytes[i + 3] == 2) {
+				bytes[i + 28] = (byte) 0xFF;
+				bytes[i + 29] = (byte) 0xFF;
+				break;
+			}
+		}
+		File corruptFile = new File(OUTPUT_DIR, "corrupt.jar");
+		Files.write(corruptFile.toPath(), bytes);
+		try {
+			MappedJarIndex.open(corruptFile, null);
+			fail("should not index a corrupt jar");
+		} catch (ZipException e) {
+			// expected
+		} finally {
+			corruptFile.delete();
+		}
+	} finally {
+		Util.delete(cacheDirectory);
+		new File(libPath).delete();
+	}
+}
+// white-box test for internal API: requests are compiled by the daemon, which keeps serving until shut down
+public void testCompilerDaemon() throws Exception {
+	Util.createFile(OUTPUT_DIR + File.separator + "X.java",
+		"public class X {\n" +
+		"	Zork z;\n" +
+		"}");
+	Util.createFile(OUTPUT_DIR + File.separator + "Y.java",
+		"public class Y {\n" +
+		"}");
+	ServerSocketChannel channel = CompilerDaemon.open(CompilerDaemon.loopbackAddress(0)); // any free port
+	SocketAddress address = channel.getLocalAddress();
+	final CompilerDaemon daemon = new CompilerDaemon(channel);
+	Path tokenFile = CompilerDaemon.tokenFile(address);
+	Path directory = Paths.get(OUTPUT_DIR);
+	Thread server = new Thread(() -> {
+		try {
+			daemon.serve();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	});
+	server.start();
+	try {
+		for (int i = 0; i < 2; i++) {
+			StringWriter out = new StringWriter();
+			StringWriter err = new StringWriter();
+			assertTrue("should compile", CompilerDaemon.compile(address, tokenFile, directory,
+				new String[] { "Y.java", "-1.5", "-proc:none", "-d", "." }, // relative to the directory of the client
+				new PrintWriter(out), new PrintWriter(err)));
+			assertEquals("unexpected errors", "", err.toString());
+			assertTrue("should have written class file", new File(OUTPUT_DIR, "Y.class").exists());
+			new File(OUTPUT_DIR, "Y.class").delete();
+		}
+		StringWriter out = new StringWriter();
+		StringWriter err = new StringWriter();
+		assertFalse("should not compile", CompilerDaemon.compile(address, tokenFile, directory,
+			new String[] { "X.java", "-1.5", "-proc:none", "-d", "none" },
+			new PrintWriter(out), new PrintWriter(err)));
+		assertTrue("unexpected errors: " + err, err.toString().indexOf("Zork cannot be resolved to a type") != -1);
+		// requests without the secret of the daemon are rejected
+		Path wrongTokenFile = Paths.get(OUTPUT_DIR, "wrong.token");
+		Files.write(wrongTokenFile, new byte[32]);
+		err = new StringWriter();
+		assertFalse("should be rejected", CompilerDaemon.compile(address, wrongTokenFile, directory,
+			new String[] { "Y.java", "-1.5", "-proc:none", "-d", "." },
+			new PrintWriter(new StringWriter()), new PrintWriter(err)));
+		assertEquals("unexpected errors", "Unauthorized request\n", err.toString());
+		assertFalse("should not have written class file", new File(OUTPUT_DIR, "Y.class").exists());
+	} finally {
+		CompilerDaemon.compile(address, tokenFile, directory, new String[] { CompilerDaemon.SHUTDOWN },
+			new PrintWriter(new StringWriter()), new PrintWriter(new StringWriter()));
+		server.join(10000);
+		ClasspathMappedJar.shareIndexes(0);
+		ClassFileReaderCache.setShared(0);
+	}
+	assertFalse("should have stopped", server.isAlive());
+	assertFalse("should have deleted the token file", Files.exists(tokenFile));
+}
+// white-box test for internal API: readers are shared across class path entries of the same jar until the jar changes
+public void testClassFileReaderCache() throws IOException {
+	String libPath = OUTPUT_DIR + File.separator + "lib.jar";
+	String[] defaultClassLibs = new String[] { "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n" };
+	Util.createJar(
+		new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"}",
+		},
+		defaultClassLibs,
+		libPath,
+		JavaCore.VERSION_1_4);
+	ClassFileReaderCache.setShared(1024 * 1024);
+	try {
+		ClasspathJar jar1 = new ClasspathJar(new File(libPath), true, null, null);
+		jar1.initialize();
+		ClasspathJar jar2 = new ClasspathJar(new File(libPath), true, null, null);
+		jar2.initialize();
+		IBinaryType type = jar1.findClass("A".toCharArray(), "p", null, "p/A.class").getBinaryType();
+		assertSame("should share reader", type, jar2.findClass("A".toCharArray(), "p", null, "p/A.class").getBinaryType());
+		assertEquals("unexpected hits", 1, ClassFileReaderCache.getShared().getHits());
+		// the same jar as an automatic module gets readers of its own, the shared reader keeps no module
+		ClasspathJar moduleJar = new ClasspathJar(new File(libPath), true, null, null);
+		moduleJar.initialize();
+		moduleJar.acceptModule(IModule.createAutomatic("lib".toCharArray(), false));
+		NameEnvironmentAnswer answer = moduleJar.findClass("A".toCharArray(), "p", "lib", "p/A.class");
+		assertNotSame("should not share reader", type, answer.getBinaryType());
+		assertEquals("unexpected module", "lib", String.valueOf(answer.moduleName()));
+		assertEquals("unexpected module", "lib", String.valueOf(answer.getBinaryType().getModule()));
+		answer = jar2.findClass("A".toCharArray(), "p", null, "p/A.class");
+		assertSame("should share reader", type, answer.getBinaryType());
+		assertNull("unexpected module", answer.moduleName());
+		assertNull("unexpected module", type.getModule());
+		jar1.reset();
+		jar2.reset();
+		moduleJar.reset();
+
+		Util.createJar(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"	int f;\n" +
+				"}",
+			},
+			defaultClassLibs,
+			libPath,
+			JavaCore.VERSION_1_4);
+		ClasspathJar jar3 = new ClasspathJar(new File(libPath), true, null, null);
+		jar3.initialize();
+		IBinaryType changedType = jar3.findClass("A".toCharArray(), "p", null, "p/A.class").getBinaryType();
+		assertNotSame("should read changed class file", type, changedType);
+		assertEquals("unexpected fields", 1, changedType.getFields().length);
+		jar3.reset();
+	} finally {
+		ClassFileReaderCache.setShared(0);
+		new File(libPath).delete();
+	}
+}
+// -metrics writes the metrics of each phase and unit as JSON
+public void testMetrics() {
+	String metricsFileName = OUTPUT_DIR + File.separator + "metrics.json";
+	this.runNegativeTest(new String[] {
+			"X.java",
+			"import java.util.*;\n" +
+			"public class X {\n" +
+			"	List<String> l = Collections.singletonList(\"\");\n" +
+			"	Zork z;\n" +
+			"}", },
+			"\"" + OUTPUT_DIR + File.separator + "X.java\""
+			+ " -1.8 -proc:none -metrics \"" + metricsFileName + "\" -d \"" + OUTPUT_DIR + "\"",
+			"",
+			"----------\n" +
+			"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 4)\n" +
+			"	Zork z;\n" +
+			"	^^^^\n" +
+			"Zork cannot be resolved to a type\n" +
+			"----------\n" +
+			"1 problem (1 error)",
+			true);
+	String metrics = Util.fileContent(metricsFileName);
+	assertTrue("unexpected unit count: " + metrics, metrics.indexOf("\"unitCount\": 1,") != -1);
+	assertTrue("unexpected problem count: " + metrics, metrics.indexOf("\"problemCount\": 1,") != -1);
+	assertTrue("unexpected inference count: " + metrics, metrics.indexOf("\"inferenceInvocations\": 0,") == -1);
+	assertTrue("unexpected binary type count: " + metrics, metrics.indexOf("\"binaryTypesLoaded\": 0,") == -1);
+	assertTrue("should have unit: " + metrics, metrics.indexOf("X.java\", \"phases\": {\"parse\": { \"wallNanos\": ") != -1);
+	assertTrue("should have generated: " + metrics, metrics.indexOf("\"generate\": { \"wallNanos\": ") != -1);
+}
+
+// class files are written in the background, write errors are answered at the end
+public void testClassFileWriter() throws IOException {
+	String outputPath = OUTPUT_DIR + File.separator + "out";
+	String filePath = OUTPUT_DIR + File.separator + "f";
+	Util.writeToFile("", filePath);
+	byte[] bytes = new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE };
+	String aName = "p" + File.separator + "A.class";
+	ClassFileWriter writer = new ClassFileWriter(2);
+	writer.write(true, outputPath, aName, bytes);
+	writer.write(true, outputPath, "p" + File.separator + "B.class", bytes);
+	writer.write(true, filePath, "C.class", bytes);
+	writer.write(false, outputPath, "q" + File.separator + "D.class", bytes);
+	List<ClassFileWriter.WriteError> errors = writer.close();
+	assertEquals("unexpected errors", 1, errors.size());
+	assertEquals("unexpected failed class file", "C.class", errors.get(0).relativeName);
+	assertEquals("unexpected class file", 4, new File(outputPath, aName).length());
+	assertTrue("missing class file", new File(outputPath, "p" + File.separator + "B.class").exists());
+	assertTrue("missing class file", new File(outputPath, "D.class").exists());
+
+	String jarPath = OUTPUT_DIR + File.separator + "out.jar";
+	writer = new ClassFileWriter(2, jarPath);
+	writer.write(true, jarPath, aName, bytes);
+	writer.write(true, jarPath, aName, bytes);
+	writer.write(true, outputPath, "E.class", bytes);
+	errors = writer.close();
+	assertEquals("unexpected errors", 1, errors.size());
+	assertTrue("missing class file", new File(outputPath, "E.class").exists());
+	File jarFile = new File(jarPath);
+	try (ZipFile zipFile = new ZipFile(jarFile)) {
+		assertEquals("unexpected entries", 1, zipFile.size());
+		assertEquals("unexpected entry", 4, zipFile.getEntry("p/A.class").getSize());
+	}
+
+	// an unexpected failure is answered as a write error, and does not stop the writer
+	writer = new ClassFileWriter(1);
+	writer.write(true, outputPath, "F.class", null);
+	for (int i = 0; i < 4; i++)
+		writer.write(true, outputPath, "G" + i + ".class", bytes);
+	errors = writer.close();
+	assertEquals("unexpected errors", 1, errors.size());
+	assertEquals("unexpected failed class file", "F.class", errors.get(0).relativeName);
+	for (int i = 0; i < 4; i++)
+		assertTrue("missing class file", new File(outputPath, "G" + i + ".class").exists());
+}
+
+// -d into a jar writes the entries in the order of the sources, by class name within a source, with a fixed time stamp
+public void testJarDestination() throws IOException {
+	String jarPath = OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar";
+	this.runConformTest(
+		new String[] {
+			"q/X.java",
+			"package q;\n" +
+			"public class X { class I {} }",
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y extends q.X {}",
+		},
+		"\"" + OUTPUT_DIR + File.separator + "q/X.java\""
+		+ " \"" + OUTPUT_DIR + File.separator + "p/Y.java\""
+		+ " -1.8 -proc:none -d \"" + jarPath + "\"",
+		"",
+		"",
+		true);
+	try (ZipFile zipFile = new ZipFile(jarPath)) {
+		StringBuilder names = new StringBuilder();
+		for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+			ZipEntry entry = entries.nextElement();
+			names.append(entry.getName()).append('\n');
+			assertEquals("unexpected time", LocalDateTime.of(1980, 2, 1, 0, 0), entry.getTimeLocal());
+		}
+		assertEquals("unexpected entries",
+			"q/X.class\n" +
+			"q/X$I.class\n" +
+			"p/Y.class\n",
+			names.toString());
+	}
+}
+
+// sources read ahead through a source reader decode as the other sources do, without the byte order mark
+public void testSourceReader() throws IOException {
+	File file = new File(OUTPUT_DIR, "X.java");
+	file.getParentFile().mkdirs();
+	try (FileOutputStream output = new FileOutputStream(file)) {
+		output.write(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF });
+		output.write("class X { String s = \"\u00e9\u20ac\"; }".getBytes("UTF-8"));
+	}
+	SourceReader reader = new SourceReader();
+	char[] expected = org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, "UTF-8");
+	assertEquals("unexpected contents", new String(expected), new String(reader.read(file, "UTF-8")));
+	assertEquals("unexpected contents", "class X { String s = \"\u00e9\u20ac\"; }", new String(reader.read(file, "UTF-8")));
+	expected = org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, "ISO-8859-1");
+	assertEquals("unexpected contents", new String(expected), new String(reader.read(file, "ISO-8859-1")));
+}
+// units asked for again after their contents were handed to the compiler are read again
+public void testReadManagerContentsAskedAgain() {
+	ICompilationUnit[] units = new ICompilationUnit[20];
+	for (int i = 0; i < units.length; i++)
+		units[i] = new org.eclipse.jdt.internal.compiler.batch.CompilationUnit(("class X" + i + " {}").toCharArray(), "X" + i + ".java", null);
+	ReadManager readManager = new ReadManager(units, units.length);
+	try {
+		for (int i = 0; i < units.length; i++)
+			assertEquals("unexpected contents", "class X" + i + " {}", new String(readManager.getContents(units[i])));
+		for (int i = 0; i < units.length; i++)
+			assertEquals("unexpected contents", "class X" + i + " {}", new String(readManager.getContents(units[i])));
+	} finally {
+		readManager.shutdown();
+	}
+}
 }
\ No newline at end of file
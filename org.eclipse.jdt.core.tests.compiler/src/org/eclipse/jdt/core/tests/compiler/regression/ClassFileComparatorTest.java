@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,18 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 		}
 	}
 
+	private boolean haveSameFingerprint(String classFile1, String classFile2) {
+		try {
+			ClassFileReader reader1 = ClassFileReader.read(EVAL_DIRECTORY + File.separator + classFile1 + ".class");
+			ClassFileReader reader2 = ClassFileReader.read(EVAL_DIRECTORY + File.separator + classFile2 + ".class");
+			return reader1.getStructuralFingerprint() == reader2.getStructuralFingerprint();
+		} catch(IOException e) {
+			return false;
+		} catch(ClassFormatException e) {
+			return false;
+		}
+	}
+
 	public void test001() {
 		try {
 			String sourceA001 =
@@ -471,4 +483,54 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 			removeTempClass("A016");
 		}
 	}
+
+	public void test017() {
+		try {
+			String sourceA017 =
+				"public class A017 {\n" +
+				"  public static final int K = 1;\n" +
+				"  public int foo() {\n" +
+				"    return 2;\n" +
+				"  }\n" +
+				"  public String toString() {\n" +
+				"    return \"hello\";\n" +
+				"  }\n" +
+				"}";
+			compileAndDeploy(sourceA017, "A017");
+			String sourceA017_2 =
+				"public class A017_2 {\n" +
+				"  public String toString() {\n" +
+				"    return \"hello\" + foo();\n" +
+				"  }\n" +
+				"  public int foo() {\n" +
+				"    return 3;\n" +
+				"  }\n" +
+				"  public static final int K = 1;\n" +
+				"}";
+			compileAndDeploy(sourceA017_2, "A017_2");
+			assertTrue(!areStructurallyDifferent("A017", "A017_2", true, true));
+			assertTrue(haveSameFingerprint("A017", "A017_2"));
+		} finally {
+			removeTempClass("A017");
+		}
+	}
+
+	public void test018() {
+		try {
+			String sourceA018 =
+				"public class A018 {\n" +
+				"  public static final int K = 1;\n" +
+				"}";
+			compileAndDeploy(sourceA018, "A018");
+			String sourceA018_2 =
+				"public class A018_2 {\n" +
+				"  public static final int K = 2;\n" +
+				"}";
+			compileAndDeploy(sourceA018_2, "A018_2");
+			assertTrue(areStructurallyDifferent("A018", "A018_2", true, true));
+			assertTrue(!haveSameFingerprint("A018", "A018_2"));
+		} finally {
+			removeTempClass("A018");
+		}
+	}
 }
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.core.tests.util.Util;
+
+/**
+ * Tests of index files written outside of a workspace, into a temporary directory deleted after each test.
+ */
+public abstract class AbstractIndexFileTests extends TestCase {
+
+	protected File directory;
+	protected File indexFile; // an index file of the directory, not created
+
+	public AbstractIndexFileTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.directory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+		this.indexFile = new File(this.directory, "test.index");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		Util.delete(this.directory);
+		super.tearDown();
+	}
+}
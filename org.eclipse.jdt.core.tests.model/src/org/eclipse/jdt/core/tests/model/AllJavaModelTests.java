@@ -69,6 +69,11 @@ private static Class[] getAllTestClasses() {
 		RunJavaSearchTests.class,
 
 		IndexManagerTests.class,
+		JobManagerTests.class,
+		IndexDeltaLogTests.class,
+		IndexGramTableTests.class,
+		MappedIndexTests.class,
+		SharedIndexStoreTests.class,
 
 		// Tests for the new index - disabled because the index is not used anymore
 		// See bug 572976 and bug 544898
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class IndexDeltaLogTests extends AbstractIndexFileTests {
+
+	private static final char[] CATEGORY = "typeDecl".toCharArray();
+
+	private File deltaLog;
+
+	public static Test suite() {
+		return new TestSuite(IndexDeltaLogTests.class);
+	}
+
+	public IndexDeltaLogTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.deltaLog = new File(this.indexFile.getPath() + Index.DELTA_LOG_SUFFIX);
+	}
+
+	private Index open(boolean reuseExistingFile) throws IOException {
+		return new Index(new FileIndexLocation(this.indexFile), "/P", reuseExistingFile);
+	}
+
+	/*
+	 * Writes an index file of documents A and B, then saves the removal of A and the addition of C.
+	 */
+	private Index createIndexWithDeltaLog() throws IOException {
+		Index index = open(false);
+		index.addIndexEntry(CATEGORY, "A".toCharArray(), "p/A.java");
+		index.addIndexEntry(CATEGORY, "B".toCharArray(), "p/B.java");
+		assertTrue(index.save());
+		assertFalse("The first save should write the index file", this.deltaLog.exists());
+		index.remove("p/A.java");
+		index.addIndexEntry(CATEGORY, "C".toCharArray(), "p/C.java");
+		return index;
+	}
+
+	private static String documentNames(Index index) throws IOException {
+		String[] names = index.queryDocumentNames(null);
+		Arrays.sort(names);
+		return Arrays.toString(names);
+	}
+
+	private static String words(Index index) throws IOException {
+		EntryResult[] results = index.query(new char[][] {CATEGORY}, null, SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		String[] words = new String[results == null ? 0 : results.length];
+		for (int i = 0; i < words.length; i++)
+			words[i] = new String(results[i].getWord());
+		Arrays.sort(words);
+		return Arrays.toString(words);
+	}
+
+	public void testSaveAppendsToDeltaLog() throws IOException {
+		Index index = createIndexWithDeltaLog();
+		long length = this.indexFile.length();
+		long lastModified = this.indexFile.lastModified();
+		assertTrue(index.save());
+		assertTrue("The changes should be saved in the delta log", this.deltaLog.exists());
+		assertEquals("The index file should not be written", length, this.indexFile.length());
+		assertEquals("The index file should not be written", lastModified, this.indexFile.lastModified());
+		assertFalse(index.hasChanged());
+		assertFalse(index.isMerged());
+		assertEquals("[p/B.java, p/C.java]", documentNames(index));
+		assertEquals("[B, C]", words(index));
+	}
+
+	public void testDeltaLogReadWhenReopened() throws IOException {
+		createIndexWithDeltaLog().save();
+		Index index = open(true);
+		assertFalse("The delta log should be saved already", index.hasChanged());
+		assertFalse(index.isMerged());
+		assertEquals("[p/B.java, p/C.java]", documentNames(index));
+		assertEquals("[B, C]", words(index));
+	}
+
+	public void testCompactMergesDeltaLog() throws IOException {
+		Index index = createIndexWithDeltaLog();
+		index.save();
+		assertTrue(index.compact());
+		assertFalse("The delta log should be deleted", this.deltaLog.exists());
+		assertTrue(index.isMerged());
+		assertEquals("[p/B.java, p/C.java]", documentNames(index));
+		index = open(true);
+		assertTrue(index.isMerged());
+		assertEquals("[p/B.java, p/C.java]", documentNames(index));
+		assertEquals("[B, C]", words(index));
+	}
+
+	public void testDeltaLogOfAnotherIndexFileIgnored() throws IOException {
+		createIndexWithDeltaLog().save();
+		// as if the index file were written again, but the process stopped before deleting the delta log
+		this.indexFile.setLastModified(this.indexFile.lastModified() - 10_000);
+		Index index = open(true);
+		assertTrue(index.isMerged());
+		assertFalse("The delta log should be deleted", this.deltaLog.exists());
+		assertEquals("[p/A.java, p/B.java]", documentNames(index));
+	}
+
+	public void testPartialSaveDropped() throws IOException {
+		Index index = createIndexWithDeltaLog();
+		index.save();
+		long length = this.deltaLog.length();
+		index.addIndexEntry(CATEGORY, "D".toCharArray(), "p/D.java");
+		index.save();
+		// as if the process stopped while writing the second save
+		try (RandomAccessFile log = new RandomAccessFile(this.deltaLog, "rw")) {
+			log.setLength(log.length() - 3);
+		}
+		index = open(true);
+		assertEquals("[p/B.java, p/C.java]", documentNames(index));
+		assertEquals("The partial save should be dropped", length, this.deltaLog.length());
+	}
+
+	public void testResetDeletesDeltaLog() throws IOException {
+		Index index = createIndexWithDeltaLog();
+		index.save();
+		index.reset();
+		assertFalse("The delta log should be deleted", this.deltaLog.exists());
+		assertNull(index.queryDocumentNames(null));
+	}
+
+	public void testShardDocumentsSaved() throws IOException {
+		Index index = createIndexWithDeltaLog();
+		Index shard = index.newShard();
+		shard.addIndexEntry(CATEGORY, "B2".toCharArray(), "p/B.java");
+		shard.addIndexEntry(CATEGORY, "D".toCharArray(), "p/D.java");
+		assertEquals("The shard should not change the index", "[B, C]", words(index));
+		index.addDocuments(shard);
+		assertEquals("[p/B.java, p/C.java, p/D.java]", documentNames(index));
+		assertEquals("[B2, C, D]", words(index));
+		assertTrue(index.save());
+		assertTrue("The changes should be saved in the delta log", this.deltaLog.exists());
+		index = open(true);
+		assertEquals("[p/B.java, p/C.java, p/D.java]", documentNames(index));
+		assertEquals("[B2, C, D]", words(index));
+	}
+}
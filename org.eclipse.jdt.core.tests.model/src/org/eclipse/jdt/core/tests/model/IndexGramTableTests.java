@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Checks that the type declarations found through the gram table of an index file are those matching the key.
+ */
+public class IndexGramTableTests extends AbstractIndexFileTests {
+
+	private static final char[] CATEGORY = "typeDecl".toCharArray();
+	private static final String[] WORDS = {
+		"NullPointerException/java.lang//1",
+		"NumberFormatException/java.lang//1",
+		"NoSuchFieldException/java.lang//1",
+		"nullable/p//1",
+		"NPE/p//1",
+		"Npe/p//1",
+		"HashMap/java.util//1",
+		"ConcurrentHashMap/java.util.concurrent//1",
+		"IdentityHashMap/java.util//1",
+		"Map/java.util//1",
+		"Mapper$Inner/p/Mapper/1",
+		"\u0130nput/p//1",
+		"A/p//1",
+	};
+
+	private Index index;
+
+	public static Test suite() {
+		return new TestSuite(IndexGramTableTests.class);
+	}
+
+	public IndexGramTableTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		Index newIndex = new Index(new FileIndexLocation(this.indexFile), "/P", false);
+		for (int i = 0; i < WORDS.length; i++)
+			newIndex.addIndexEntry(CATEGORY, WORDS[i].toCharArray(), "p/X" + i + ".java");
+		assertTrue(newIndex.save());
+		this.index = new Index(new FileIndexLocation(this.indexFile), "/P", true); // read from the file only
+	}
+
+	/*
+	 * Answers the words found by the index, and checks that they are the words matching the key.
+	 */
+	private String query(String key, int matchRule) throws IOException {
+		EntryResult[] results = this.index.query(new char[][] {CATEGORY}, key.toCharArray(), matchRule);
+		String[] found = new String[results == null ? 0 : results.length];
+		for (int i = 0; i < found.length; i++)
+			found[i] = new String(results[i].getWord());
+		Arrays.sort(found);
+		String[] matching = Arrays.stream(WORDS).filter(word -> Index.isMatch(key.toCharArray(), word.toCharArray(), matchRule)).sorted().toArray(String[]::new);
+		assertEquals("Unexpected words for " + key, Arrays.toString(matching), Arrays.toString(found));
+		return Arrays.toString(found);
+	}
+
+	public void testCamelCase() throws IOException {
+		assertEquals("[NPE/p//1, NullPointerException/java.lang//1]", query("NPE", SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE));
+		assertEquals("[HashMap/java.util//1]", query("HM", SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE));
+		assertEquals("[Mapper$Inner/p/Mapper/1]", query("MI", SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE));
+		query("N", SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		query("NoSuFiEx", SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		query("NuPoExc", SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE);
+	}
+
+	public void testCaseInsensitiveCamelCase() throws IOException {
+		// also matches the words starting with the key, whatever their case
+		assertEquals("[NPE/p//1, Npe/p//1, NullPointerException/java.lang//1]", query("NPE", SearchPattern.R_CAMELCASE_MATCH));
+		query("n", SearchPattern.R_CAMELCASE_MATCH);
+		query("NPE", SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH);
+	}
+
+	public void testCaseInsensitivePrefix() throws IOException {
+		assertEquals("[NullPointerException/java.lang//1, nullable/p//1]", query("NULL", SearchPattern.R_PREFIX_MATCH));
+		assertEquals("[\u0130nput/p//1]", query("in", SearchPattern.R_PREFIX_MATCH));
+		assertEquals("[Map/java.util//1]", query("map/JAVA.util//1", SearchPattern.R_EXACT_MATCH));
+	}
+
+	public void testSubstring() throws IOException {
+		assertEquals("[ConcurrentHashMap/java.util.concurrent//1, HashMap/java.util//1, IdentityHashMap/java.util//1]", query("hashmap", SearchPattern.R_SUBSTRING_MATCH));
+		assertEquals("[ConcurrentHashMap/java.util.concurrent//1, HashMap/java.util//1, IdentityHashMap/java.util//1, Map/java.util//1, Mapper$Inner/p/Mapper/1]", query("Map", SearchPattern.R_SUBSTRING_MATCH));
+		assertEquals("[]", query("xyz", SearchPattern.R_SUBSTRING_MATCH));
+		query("NPE", SearchPattern.R_SUBSTRING_MATCH | SearchPattern.R_CAMELCASE_MATCH);
+		// a key shorter than a gram is matched against every word
+		assertEquals("[A/p//1]", query("A/", SearchPattern.R_SUBSTRING_MATCH));
+	}
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -39,6 +40,7 @@ import org.eclipse.jdt.internal.core.index.Index;
 import org.eclipse.jdt.internal.core.index.MetaIndex;
 import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+import org.eclipse.jdt.internal.core.search.indexing.IndexingMetrics;
 import org.eclipse.jdt.internal.core.search.indexing.ReadWriteMonitor;
 
 import junit.framework.Test;
@@ -133,6 +135,21 @@ public class IndexManagerTests extends ModifyingResourceTests {
 		assertEquals("Expected number of indexes are not found for ArrayList", size + 1, indexNames.get().size());
 	}
 
+	public void testMetrics() throws CoreException {
+		IndexingMetrics metrics = this.indexManager.getMetrics();
+		long documents = ((Long) metrics.snapshot().get("documentsIndexed")).longValue();
+
+		createFile("/IndexProject/src/Q1.java", "public class Q1 {\n" + "}");
+		waitUntilIndexesReady();
+
+		Map<String, Object> snapshot = metrics.snapshot();
+		assertTrue("Document not counted", ((Long) snapshot.get("documentsIndexed")).longValue() > documents);
+		assertTrue("No job counted", !((Map<?, ?>) snapshot.get("jobs")).isEmpty());
+		assertNotNull("No queue depth", snapshot.get("awaitingJobs"));
+		String json = metrics.toJson();
+		assertTrue("Unexpected JSON: " + json, json.startsWith("{") && json.contains("\"indexCacheHitRate\":"));
+	}
+
 	public void testAddJarFile_ShouldUpdate_MetaIndex() throws CoreException {
 		if(SKIP_TESTS) return;
 
@@ -178,6 +195,82 @@ public class IndexManagerTests extends ModifyingResourceTests {
 		assertEquals("No results found", 1, indexNames.get().size());
 	}
 
+	/*
+	 * The index of a jar indexed on several threads is the same as when indexed by the job's thread.
+	 */
+	public void testParallelJarIndexing() throws CoreException, IOException {
+		int classes = 120;
+		String[] pathsAndContents = new String[classes * 2];
+		for (int i = 0; i < classes; i++) {
+			String superclass = i == 0 ? "Object" : "p" + (i - 1) % 4 + ".X" + (i - 1);
+			pathsAndContents[i * 2] = "p" + i % 4 + "/X" + i + ".java";
+			pathsAndContents[i * 2 + 1] =
+				"package p" + i % 4 + ";\n" +
+				"public class X" + i + " extends " + superclass + " implements Runnable {\n" +
+				"	public int f" + i + ";\n" +
+				"	public X" + i + "() {}\n" +
+				"	public void run() { new Thread(this).start(); }\n" +
+				"	public String m" + i % 10 + "(java.util.List<String> l) { return l.get(f" + i + "); }\n" +
+				"	@Deprecated public static class Member {}\n" +
+				"}";
+		}
+		String parallelJar = getExternalPath() + "parallel.jar";
+		String sequentialJar = getExternalPath() + "sequential.jar";
+		int threads = IndexManager.JAR_INDEXING_THREADS;
+		int minClassFiles = IndexManager.MIN_CLASS_FILES_PER_INDEXING_THREAD;
+		try {
+			org.eclipse.jdt.core.tests.util.Util.createJar(pathsAndContents, parallelJar, "1.8");
+			org.eclipse.jdt.core.tests.util.Util.createJar(pathsAndContents, sequentialJar, "1.8");
+
+			IndexManager.JAR_INDEXING_THREADS = 4;
+			IndexManager.MIN_CLASS_FILES_PER_INDEXING_THREAD = 10;
+			addLibraryEntry(this.project, parallelJar, false);
+			waitUntilIndexesReady();
+			IndexManager.JAR_INDEXING_THREADS = 1;
+			addLibraryEntry(this.project, sequentialJar, false);
+			waitUntilIndexesReady();
+
+			String expected = readIndex(sequentialJar);
+			assertTrue("Unexpected index: " + expected, expected.contains("m9(") && expected.contains("X119.class"));
+			assertEquals("Unexpected index", expected, readIndex(parallelJar));
+		} finally {
+			IndexManager.JAR_INDEXING_THREADS = threads;
+			IndexManager.MIN_CLASS_FILES_PER_INDEXING_THREAD = minClassFiles;
+			deleteExternalResource("parallel.jar");
+			deleteExternalResource("sequential.jar");
+		}
+	}
+
+	/*
+	 * Answers the words of every category of the index of the given jar, with the names of their documents.
+	 */
+	private String readIndex(String jarPath) throws IOException {
+		Index index = this.indexManager.getIndex(new Path(jarPath), true, false);
+		assertNotNull("Missing index of " + jarPath, index);
+		char[][] categories = { IIndexConstants.REF, IIndexConstants.ANNOTATION_REF, IIndexConstants.METHOD_REF,
+				IIndexConstants.CONSTRUCTOR_REF, IIndexConstants.SUPER_REF, IIndexConstants.TYPE_DECL,
+				IIndexConstants.METHOD_DECL, IIndexConstants.METHOD_DECL_PLUS, IIndexConstants.CONSTRUCTOR_DECL,
+				IIndexConstants.FIELD_DECL, IIndexConstants.MODULE_DECL, IIndexConstants.MODULE_REF };
+		StringBuilder buffer = new StringBuilder();
+		ReadWriteMonitor monitor = index.monitor;
+		monitor.enterRead();
+		try {
+			for (char[] category : categories) {
+				List<String> entries = new ArrayList<>();
+				for (EntryResult result : safeList(index.query(new char[][] { category }, null, SearchPattern.R_PREFIX_MATCH))) {
+					String[] documentNames = result.getDocumentNames(index);
+					Arrays.sort(documentNames);
+					entries.add(new String(result.getWord()) + " " + Arrays.toString(documentNames));
+				}
+				Collections.sort(entries);
+				buffer.append(category).append(": ").append(entries).append('\n');
+			}
+		} finally {
+			monitor.exitRead();
+		}
+		return buffer.toString();
+	}
+
 	private void changeFile(String path, String content) {
 		IFile file = getFile(path);
 		if (!file.exists()) {
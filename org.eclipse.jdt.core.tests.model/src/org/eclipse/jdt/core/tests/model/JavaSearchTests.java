@@ -25,11 +25,14 @@ import junit.framework.Test;
 
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.search.*;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
 import org.eclipse.jdt.internal.core.JavaModelStatus;
+import org.eclipse.jdt.internal.core.search.matching.MatchLocator;
 
 /**
  * Tests the Java search engine where results are JavaElements and source positions.
@@ -2334,6 +2337,43 @@ public void testSearchTypeInBinaryNoResolution() throws CoreException {
 		JAVA_PROJECT.setRawClasspath(classpath, null);
 	}
 }
+/**
+ * Streamed search test: the matches answered are those reported to a requestor, and the search stops at the limit.
+ */
+public void testSearchResultStream01() throws CoreException {
+	IType type = getCompilationUnit("JavaSearch", "src", "p", "X.java").getType("X");
+	SearchPattern pattern = SearchPattern.createPattern(type, REFERENCES);
+	search(pattern, getJavaSearchScope(), this.resultCollector);
+	assertTrue("Should have several references", this.resultCollector.count > 1);
+	SearchParticipant[] participants = new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
+	int count = 0;
+	try (SearchResultStream<SearchMatch> matches = new SearchEngine().openSearch(pattern, participants, getJavaSearchScope(), 0, null)) {
+		while (matches.next() != null)
+			count++;
+	}
+	assertEquals("Unexpected number of matches", this.resultCollector.count, count);
+	try (SearchResultStream<SearchMatch> matches = new SearchEngine().openSearch(pattern, participants, getJavaSearchScope(), 1, null)) {
+		assertNotNull("Should answer the first match", matches.next());
+		assertNull("Should stop at the limit", matches.next());
+	}
+}
+/**
+ * Streamed search test: type names, and a stream closed before all of its matches are read.
+ */
+public void testSearchResultStream02() throws CoreException {
+	SearchEngine engine = new SearchEngine();
+	try (SearchResultStream<TypeNameMatch> matches = engine.openTypeNameSearch(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH,
+			TYPE, getJavaSearchScope(), 2, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null)) {
+		assertNotNull("Should answer a first type", matches.next());
+		assertNotNull("Should answer a second type", matches.next());
+		assertNull("Should stop at the limit", matches.next());
+	}
+	SearchResultStream<TypeNameMatch> matches = engine.openTypeNameSearch(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH,
+			TYPE, getJavaSearchScope(), 0, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+	assertNotNull("Should answer a first type", matches.next());
+	matches.close();
+	assertNull("Should not answer types once closed", matches.next());
+}
 /**
  * Hierarchy scope test.
  * (regression test for bug 3445 search: type hierarchy scope incorrect (1GLC8VS))
@@ -4687,6 +4727,59 @@ public void testAnonymousTypeMethodReferenceSearchGh432() throws Exception {
 		deleteProject(testProjectName);
 	}
 }
+/*
+ * Matches located on several threads are the same, and reported in the same order, as when located on one thread,
+ * including matches in units of the same name in several source folders and in a hierarchy scope.
+ */
+public void testParallelMatchLocation() throws CoreException {
+	try {
+		IJavaProject project = createJavaProject("ParallelMatchLocation", new String[] {"src", "src2"}, new String[] {"JCL_LIB"}, "bin");
+		createFolder("/ParallelMatchLocation/src/p");
+		createFolder("/ParallelMatchLocation/src2/p");
+		createFile("/ParallelMatchLocation/src/p/Base.java",
+			"package p;\n" +
+			"public class Base {\n" +
+			"	public void foo() {}\n" +
+			"}");
+		for (int i = 0; i < 200; i++) {
+			String contents =
+				"package p;\n" +
+				"public class X" + i + " extends " + (i % 2 == 0 ? "Base" : "Object") + " {\n" +
+				"	void bar(Base b) {\n" +
+				"		b.foo();\n" +
+				(i % 2 == 0 ? "		foo();\n" : "") +
+				"	}\n" +
+				"}";
+			createFile("/ParallelMatchLocation/src/p/X" + i + ".java", contents);
+			if (i % 20 == 0)
+				createFile("/ParallelMatchLocation/src2/p/X" + i + ".java", contents);
+		}
+		waitUntilIndexesReady();
+		IType base = project.findType("p.Base");
+		IMethod foo = base.getMethod("foo", new String[0]);
+		IJavaSearchScope[] scopes = {
+			SearchEngine.createJavaSearchScope(new IJavaElement[] { project }),
+			SearchEngine.createHierarchyScope(base)
+		};
+		IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(JavaCore.PLUGIN_ID);
+		for (IJavaSearchScope scope : scopes) {
+			JavaSearchResultCollector sequential = new JavaSearchResultCollector();
+			search(foo, REFERENCES, EXACT_RULE, scope, sequential);
+			JavaSearchResultCollector parallel = new JavaSearchResultCollector();
+			preferences.putBoolean(MatchLocator.ENABLE_PARALLEL_MATCH_LOCATION, true);
+			try {
+				search(foo, REFERENCES, EXACT_RULE, scope, parallel);
+			} finally {
+				preferences.remove(MatchLocator.ENABLE_PARALLEL_MATCH_LOCATION);
+			}
+			assertTrue("should find matches in " + scope, sequential.count >= 200);
+			assertEquals("unexpected match count in " + scope, sequential.count, parallel.count);
+			assertEquals("unexpected matches in " + scope, sequential.toString(), parallel.toString());
+		}
+	} finally {
+		deleteProject("ParallelMatchLocation");
+	}
+}
 private static String searchForMethodReferences(IMethod testMethod) throws CoreException {
 	class JavaSearchResultCollector extends SearchRequestor {
 		private final StringBuilder result = new StringBuilder();
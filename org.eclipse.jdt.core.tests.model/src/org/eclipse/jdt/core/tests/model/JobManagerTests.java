@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.internal.core.search.processing.IJob;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class JobManagerTests extends TestCase {
+
+	static class TestJobManager extends JobManager {
+		private final int threadCount;
+
+		TestJobManager(int threadCount) {
+			this.threadCount = threadCount;
+		}
+		@Override
+		protected int getThreadCount() {
+			return this.threadCount;
+		}
+		@Override
+		protected void notifyIdle(long idlingMilliSeconds) {
+			// nothing to do
+		}
+		@Override
+		public String processName() {
+			return "Test job manager";
+		}
+		void waitForJobs() throws InterruptedException {
+			long end = System.currentTimeMillis() + 30_000;
+			while (awaitingJobsCount() > 0) {
+				assertTrue("Jobs did not complete: " + this, System.currentTimeMillis() < end);
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	static class TestJob implements IJob {
+		final String name;
+		final Object key;
+		final List<String> log;
+		final Runnable body;
+
+		TestJob(String name, Object key, List<String> log, Runnable body) {
+			this.name = name;
+			this.key = key;
+			this.log = log;
+			this.body = body;
+		}
+		@Override
+		public boolean belongsTo(String jobFamily) {
+			return jobFamily.equals(this.key);
+		}
+		@Override
+		public void cancel() {
+			// not cancellable
+		}
+		@Override
+		public void ensureReadyToRun() {
+			// always ready
+		}
+		@Override
+		public boolean execute(IProgressMonitor progress) {
+			if (this.body != null)
+				this.body.run();
+			this.log.add(this.name);
+			return COMPLETE;
+		}
+		@Override
+		public String getJobFamily() {
+			return String.valueOf(this.key);
+		}
+		@Override
+		public Object getConcurrencyKey() {
+			return this.key;
+		}
+		@Override
+		public String toString() {
+			return this.name;
+		}
+	}
+
+	public static Test suite() {
+		return new TestSuite(JobManagerTests.class);
+	}
+
+	public JobManagerTests(String name) {
+		super(name);
+	}
+
+	public void testJobsOfAKeyRunInOrder() throws InterruptedException {
+		TestJobManager manager = new TestJobManager(4);
+		List<String> log = Collections.synchronizedList(new ArrayList<>());
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Runnable body = () -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				// ignore
+			}
+			running.decrementAndGet();
+		};
+		manager.reset();
+		try {
+			for (int i = 0; i < 10; i++)
+				manager.request(new TestJob("job" + i, "index", log, body));
+			manager.waitForJobs();
+		} finally {
+			manager.shutdown();
+		}
+		assertEquals("Jobs of a key should not run together", 1, maxRunning.get());
+		assertEquals("[job0, job1, job2, job3, job4, job5, job6, job7, job8, job9]", log.toString());
+	}
+
+	public void testJobsOfDifferentKeysRunTogether() throws InterruptedException {
+		TestJobManager manager = new TestJobManager(2);
+		List<String> log = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		List<Boolean> together = Collections.synchronizedList(new ArrayList<>()); // whether each job saw the other one start
+		Runnable body = () -> {
+			bothStarted.countDown();
+			try {
+				together.add(bothStarted.await(10, TimeUnit.SECONDS));
+			} catch (InterruptedException e) {
+				together.add(false);
+			}
+		};
+		manager.reset();
+		try {
+			manager.request(new TestJob("a", "index1", log, body));
+			manager.request(new TestJob("b", "index2", log, body));
+			manager.waitForJobs();
+		} finally {
+			manager.shutdown();
+		}
+		assertEquals("Jobs of different keys should run together", "[true, true]", together.toString());
+		assertEquals(2, log.size());
+	}
+
+	public void testJobWithoutKeyRunsAlone() throws InterruptedException {
+		TestJobManager manager = new TestJobManager(3);
+		List<String> log = Collections.synchronizedList(new ArrayList<>());
+		manager.reset();
+		try {
+			manager.disable();
+			manager.request(new TestJob("a", "index1", log, () -> sleep(20)));
+			manager.request(new TestJob("b", "index2", log, () -> sleep(20)));
+			manager.request(new TestJob("alone", null, log, null));
+			manager.request(new TestJob("c", "index3", log, null));
+			manager.enable();
+			manager.waitForJobs();
+		} finally {
+			manager.shutdown();
+		}
+		assertEquals(4, log.size());
+		assertEquals("alone", log.get(2));
+		assertEquals("c", log.get(3));
+	}
+
+	public void testRequestFirst() throws InterruptedException {
+		TestJobManager manager = new TestJobManager(1);
+		List<String> log = Collections.synchronizedList(new ArrayList<>());
+		manager.reset();
+		try {
+			manager.disable();
+			manager.request(new TestJob("a", "index1", log, null));
+			manager.request(new TestJob("b", "index2", log, null));
+			manager.requestFirst(new TestJob("first", "index3", log, null));
+			manager.requestFirst(new TestJob("second", "index4", log, null));
+			manager.enable();
+			manager.waitForJobs();
+		} finally {
+			manager.shutdown();
+		}
+		assertEquals("[first, second, a, b]", log.toString());
+	}
+
+	static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			// ignore
+		}
+	}
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Checks the queries of an index file read from a memory mapping: binary searches of the sorted words, document
+ * lists of any size, and failures on truncated or corrupt files.
+ */
+public class MappedIndexTests extends AbstractIndexFileTests {
+
+	private static final char[] CATEGORY = "ref".toCharArray();
+	private static final char[] OTHER_CATEGORY = "methodDecl".toCharArray();
+	private static final String COMMON_WORD = "common";
+	private static final int COMMON_DOCUMENTS = 300; // more than the documents of a posting list written in its table
+	private static final int EXACT_RULE = SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+	private static final int PREFIX_RULE = SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE;
+	private static final boolean MAPPED = Boolean.parseBoolean(
+			System.getProperty("org.eclipse.jdt.mappedIndexes", Boolean.toString(File.separatorChar != '\\')));
+
+	private final Map<String, TreeSet<String>> documents = new TreeMap<>(); // word -> names of the documents of the word
+
+	public static Test suite() {
+		return new TestSuite(MappedIndexTests.class);
+	}
+
+	public MappedIndexTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		Index newIndex = new Index(new FileIndexLocation(this.indexFile), "/P", false);
+		for (int i = 0; i < 500; i++) {
+			String word = Integer.toString(i * 7919 % 10007, 36) + (i % 50 == 0 ? "\u00e9\u20ac" : "");
+			add(newIndex, word, "p/X" + (i % 37) + ".java");
+			if (i % 3 == 0)
+				add(newIndex, word, "q/Y" + (i % 11) + ".java");
+			newIndex.addIndexEntry(OTHER_CATEGORY, ("m" + i).toCharArray(), "p/X" + (i % 37) + ".java");
+		}
+		for (int i = 0; i < COMMON_DOCUMENTS; i++)
+			add(newIndex, COMMON_WORD, "r/Z" + i + ".java");
+		assertTrue(newIndex.save());
+	}
+
+	private void add(Index index, String word, String documentName) {
+		index.addIndexEntry(CATEGORY, word.toCharArray(), documentName);
+		this.documents.computeIfAbsent(word, w -> new TreeSet<>()).add(documentName);
+	}
+
+	private Index readIndex() throws IOException {
+		return new Index(new FileIndexLocation(this.indexFile), "/P", true); // read from the file only
+	}
+
+	/*
+	 * Answers the words found for the given key, with the names of their documents.
+	 */
+	private static String query(Index index, String key, int matchRule) throws IOException {
+		EntryResult[] results = index.query(new char[][] {CATEGORY}, key.toCharArray(), matchRule);
+		Map<String, TreeSet<String>> found = new TreeMap<>();
+		if (results != null)
+			for (EntryResult result : results)
+				found.put(new String(result.getWord()), new TreeSet<>(Arrays.asList(result.getDocumentNames(index))));
+		return found.toString();
+	}
+
+	/*
+	 * Answers the words which should be found for the given key, with the names of their documents.
+	 */
+	private String expected(String key, int matchRule) {
+		Map<String, TreeSet<String>> matching = new TreeMap<>();
+		for (Map.Entry<String, TreeSet<String>> entry : this.documents.entrySet())
+			if (Index.isMatch(key.toCharArray(), entry.getKey().toCharArray(), matchRule))
+				matching.put(entry.getKey(), entry.getValue());
+		return matching.toString();
+	}
+
+	public void testExactLookups() throws IOException {
+		Index index = readIndex();
+		for (String word : this.documents.keySet())
+			assertEquals("Unexpected result for " + word, expected(word, EXACT_RULE), query(index, word, EXACT_RULE));
+		// keys before the first word, after the last word, and between words
+		for (String key : new String[] {"0", "~", "zzzz", "a0", "common0", "commo"})
+			assertEquals("Unexpected result for " + key, expected(key, EXACT_RULE), query(index, key, EXACT_RULE));
+		assertEquals("Unexpected result", "{}", query(index, "m1", EXACT_RULE)); // a word of another category
+	}
+
+	public void testPrefixLookups() throws IOException {
+		Index index = readIndex();
+		for (String prefix : new String[] {"", "1", "a", "co", "common", "z", "zz", "~"})
+			assertEquals("Unexpected result for " + prefix, expected(prefix, PREFIX_RULE), query(index, prefix, PREFIX_RULE));
+		for (String prefix : new String[] {"A", "COM"})
+			assertEquals("Unexpected result for " + prefix, expected(prefix, SearchPattern.R_PREFIX_MATCH), query(index, prefix, SearchPattern.R_PREFIX_MATCH));
+	}
+
+	public void testLargeDocumentList() throws IOException {
+		Index index = readIndex();
+		EntryResult[] results = index.query(new char[][] {CATEGORY}, COMMON_WORD.toCharArray(), EXACT_RULE);
+		assertEquals("Unexpected results", 1, results.length);
+		assertEquals("Unexpected documents", COMMON_DOCUMENTS, results[0].getDocumentNames(index).length);
+	}
+
+	public void testClose() throws IOException {
+		Index index = readIndex();
+		String expected = expected("1", PREFIX_RULE);
+		assertEquals("Unexpected result", expected, query(index, "1", PREFIX_RULE));
+		index.close();
+		assertEquals("Unexpected result after close", expected, query(index, "1", PREFIX_RULE)); // the file is mapped again
+		index.close();
+		assertTrue("Index file should be deleted once closed", this.indexFile.delete());
+	}
+
+	public void testTruncatedFile() throws IOException {
+		if (!MAPPED)
+			return;
+		Index index = readIndex();
+		try (RandomAccessFile file = new RandomAccessFile(this.indexFile, "rw")) {
+			file.setLength(file.length() / 2); // the header was read, the tables are mapped on the first query
+		}
+		try {
+			query(index, "1", PREFIX_RULE);
+			fail("Should report the truncated index file");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	/*
+	 * Corrupt bytes make queries answer wrong results or fail with an IOException, but never fail otherwise.
+	 */
+	public void testCorruptFile() throws IOException {
+		if (!MAPPED)
+			return;
+		byte[] contents = Files.readAllBytes(this.indexFile.toPath());
+		List<String> failures = new ArrayList<>();
+		for (int position = 32; position < contents.length * 3 / 4; position += 13) {
+			byte[] corrupt = contents.clone();
+			corrupt[position] = (byte) ~corrupt[position];
+			Files.write(this.indexFile.toPath(), corrupt);
+			Index index = readIndex();
+			try {
+				query(index, "1", PREFIX_RULE);
+				query(index, COMMON_WORD, EXACT_RULE);
+				query(index, "*\u00e9*", SearchPattern.R_PATTERN_MATCH);
+				index.queryDocumentNames(null);
+			} catch (IOException e) {
+				// expected
+			} catch (RuntimeException e) {
+				failures.add(position + ": " + e);
+			} finally {
+				index.close();
+			}
+		}
+		assertEquals("Unexpected failures", "[]", failures.toString());
+	}
+
+	/*
+	 * A three byte char whose last byte is not a continuation byte is reported, even when its second byte is one.
+	 */
+	public void testInvalidContinuationByte() throws IOException {
+		if (!MAPPED)
+			return;
+		byte[] contents = Files.readAllBytes(this.indexFile.toPath());
+		int count = 0;
+		for (int i = 0; i + 2 < contents.length; i++) {
+			if (contents[i] == (byte) 0xE2 && contents[i + 1] == (byte) 0x82 && contents[i + 2] == (byte) 0xAC) { // the euro sign
+				contents[i + 2] = (byte) 0xEC;
+				count++;
+			}
+		}
+		assertTrue("Missing words to corrupt", count > 0);
+		Files.write(this.indexFile.toPath(), contents);
+		Index index = readIndex();
+		try {
+			query(index, "*\u00e9*", SearchPattern.R_PATTERN_MATCH);
+			fail("Should report the invalid char");
+		} catch (IOException e) {
+			// expected
+		} finally {
+			index.close();
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.eclipse.jdt.internal.core.index.IndexLocation;
+import org.eclipse.jdt.internal.core.search.indexing.SharedIndexStore;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class SharedIndexStoreTests extends AbstractIndexFileTests {
+
+	private File storeDirectory; // the indexes of the current index version
+
+	public static Test suite() {
+		return new TestSuite(SharedIndexStoreTests.class);
+	}
+
+	public SharedIndexStoreTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		File store = new File(this.directory, "store");
+		this.storeDirectory = new File(store, DiskIndex.INDEX_VERSION);
+		System.setProperty(SharedIndexStore.SHARED_INDEX_STORE_PROPERTY, store.getPath());
+		System.clearProperty(SharedIndexStore.SHARED_INDEX_STORE_MAX_SIZE_PROPERTY);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		System.clearProperty(SharedIndexStore.SHARED_INDEX_STORE_PROPERTY);
+		System.clearProperty(SharedIndexStore.SHARED_INDEX_STORE_MAX_SIZE_PROPERTY);
+		File[] indexes = this.storeDirectory.listFiles();
+		if (indexes != null)
+			for (File index : indexes)
+				index.setWritable(true); // published read-only
+		super.tearDown();
+	}
+
+	private File createFile(String path, String contents) throws IOException {
+		File file = new File(this.directory, path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), contents.getBytes());
+		return file;
+	}
+
+	/*
+	 * Answers a store of the workspace of the given name, evicting every index no workspace references when the given
+	 * max size is 0.
+	 */
+	private SharedIndexStore createStore(String workspace, long maxSize) {
+		if (maxSize < 0)
+			System.clearProperty(SharedIndexStore.SHARED_INDEX_STORE_MAX_SIZE_PROPERTY);
+		else
+			System.setProperty(SharedIndexStore.SHARED_INDEX_STORE_MAX_SIZE_PROPERTY, Long.toString(maxSize));
+		return SharedIndexStore.create(new File(this.directory, workspace));
+	}
+
+	private boolean isShared(String key) {
+		return new File(this.storeDirectory, key + ".index").isFile();
+	}
+
+	/*
+	 * Makes the references of every workspace to the index of the given key older than their expiry.
+	 */
+	private void expireReferences(String key) {
+		File[] references = new File(this.storeDirectory, key + ".refs").listFiles();
+		assertNotNull("Missing references of " + key, references);
+		for (File reference : references)
+			assertTrue(reference.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(31)));
+	}
+
+	public void testDisabled() {
+		System.clearProperty(SharedIndexStore.SHARED_INDEX_STORE_PROPERTY);
+		assertNull("Unexpected store", SharedIndexStore.create(new File(this.directory, "workspace")));
+	}
+
+	public void testComputeKey() throws IOException {
+		SharedIndexStore store = createStore("workspace", -1);
+		String key = store.computeKey(createFile("a/lib.jar", "contents"));
+		assertEquals("Unexpected key for the same contents", key, store.computeKey(createFile("b/lib.jar", "contents")));
+		assertFalse("Unexpected key for other contents", key.equals(store.computeKey(createFile("c/lib.jar", "other contents"))));
+		assertFalse("Unexpected key for another name", key.equals(store.computeKey(createFile("d/lib2.jar", "contents"))));
+	}
+
+	public void testPublishAndAcquire() throws IOException {
+		SharedIndexStore store = createStore("workspace", -1);
+		String key = store.computeKey(createFile("lib.jar", "contents"));
+		assertNull("Unexpected index before publication", store.acquire(key));
+		store.publish(key, createFile("workspace/1.index", "index"));
+		IndexLocation location = store.acquire(key);
+		assertNotNull("Missing published index", location);
+		assertTrue("Should be an index of the store", store.contains(location));
+		assertEquals("Unexpected index contents", "index", new String(Files.readAllBytes(location.getIndexFile().toPath())));
+
+		store.publish(key, createFile("workspace/2.index", "other index"));
+		assertEquals("Published index should not change", "index", new String(Files.readAllBytes(location.getIndexFile().toPath())));
+		IndexLocation workspaceLocation = IndexLocation.createIndexLocation(new File(this.directory, "workspace/1.index").toURI().toURL());
+		assertFalse("Should not be an index of the store", store.contains(workspaceLocation));
+	}
+
+	public void testEvictUnreferenced() throws IOException {
+		SharedIndexStore store = createStore("workspace", -1);
+		store.publish("referenced", createFile("workspace/1.index", "index 1"));
+		store.publish("unreferenced", createFile("workspace/2.index", "index 2"));
+		assertNotNull(store.acquire("referenced"));
+
+		createStore("workspace2", 0).evict();
+		assertTrue("Referenced index should be kept", isShared("referenced"));
+		assertFalse("Unreferenced index should be evicted", isShared("unreferenced"));
+	}
+
+	public void testEvictUnderMaxSize() throws IOException {
+		SharedIndexStore store = createStore("workspace", -1);
+		store.publish("unreferenced", createFile("workspace/1.index", "index"));
+		store.evict();
+		assertTrue("Index should be kept while the store is small", isShared("unreferenced"));
+	}
+
+	public void testEvictReleased() throws IOException {
+		SharedIndexStore store = createStore("workspace", -1);
+		store.publish("key", createFile("workspace/1.index", "index"));
+		IndexLocation location = store.acquire("key");
+		store.release(location);
+
+		createStore("workspace2", 0).evict();
+		assertFalse("Released index should be evicted", isShared("key"));
+		assertNull("Evicted index should not be acquired", store.acquire("key"));
+	}
+
+	public void testEvictExpiredReferences() throws IOException {
+		SharedIndexStore store = createStore("workspace", -1);
+		store.publish("key", createFile("workspace/1.index", "index"));
+		assertNotNull(store.acquire("key"));
+		expireReferences("key");
+
+		createStore("workspace2", 0).evict();
+		assertFalse("Index referenced long ago should be evicted", isShared("key"));
+	}
+
+	/*
+	 * A workspace reusing an index of the store, e.g. when restarted, references it again.
+	 */
+	public void testReferenceAgain() throws IOException {
+		SharedIndexStore store = createStore("workspace", -1);
+		store.publish("key", createFile("workspace/1.index", "index"));
+		IndexLocation location = store.acquire("key");
+		expireReferences("key");
+		createStore("workspace", -1).reference(location);
+
+		createStore("workspace2", 0).evict();
+		assertTrue("Index referenced again should be kept", isShared("key"));
+	}
+}
@@ -26,6 +26,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.search.PatternSearchJob;
+import org.eclipse.jdt.internal.core.search.matching.MatchLocator;
 
 /**
  * JavaCore eclipse preferences initializer.
@@ -115,6 +116,8 @@ public class JavaCorePreferenceInitializer extends AbstractPreferenceInitializer
 		defaultOptionsMap.put(JavaCore.CODEASSIST_SUBWORD_MATCH, JavaCore.ENABLED);
 		defaultOptionsMap.put(JavaCore.CODEASSIST_SUGGEST_STATIC_IMPORTS, JavaCore.ENABLED);
 		defaultOptionsMap.put(PatternSearchJob.ENABLE_PARALLEL_SEARCH, Boolean.toString(PatternSearchJob.ENABLE_PARALLEL_SEARCH_DEFAULT));
+		defaultOptionsMap.put(MatchLocator.ENABLE_PARALLEL_MATCH_LOCATION, Boolean.toString(MatchLocator.ENABLE_PARALLEL_MATCH_LOCATION_DEFAULT));
+		defaultOptionsMap.put(MatchLocator.PARALLEL_MATCH_LOCATION_THREADS, Integer.toString(MatchLocator.PARALLEL_MATCH_LOCATION_THREADS_DEFAULT));
 
 		// Time out for parameter names
 		defaultOptionsMap.put(JavaCore.TIMEOUT_FOR_PARAMETER_NAME_FROM_ATTACHED_JAVADOC, "50"); //$NON-NLS-1$
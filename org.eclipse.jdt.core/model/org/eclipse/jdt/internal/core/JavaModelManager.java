@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,11 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringReader;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.MessageFormat;
 import java.time.Instant;
 import java.util.ArrayDeque;
@@ -61,6 +66,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
@@ -160,6 +166,7 @@ import org.eclipse.jdt.internal.core.search.JavaWorkspaceScope;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
+import org.eclipse.jdt.internal.core.util.ByteBufferInputStream;
 import org.eclipse.jdt.internal.core.util.DeduplicationUtil;
 import org.eclipse.jdt.internal.core.util.HashtableOfArrayToObject;
 import org.eclipse.jdt.internal.core.util.LRUCache;
@@ -191,6 +198,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	private static final Integer SAVE_THREAD_COUNT = Integer.getInteger("org.eclipse.jdt.model_save_threads"); //$NON-NLS-1$
 	/** should the state.dat be gzip compressed? **/
 	private static final boolean SAVE_ZIPPED = !Boolean.getBoolean("org.eclipse.jdt.disable_gzip"); //$NON-NLS-1$
+	/** should the state.dat be written uncompressed, whatever SAVE_ZIPPED, and read from a mapping of the file? Windows does not replace mapped files **/
+	private static final boolean MAPPED_STATES = Boolean.parseBoolean(
+			System.getProperty("org.eclipse.jdt.mappedStates", Boolean.toString(File.separatorChar != '\\'))); //$NON-NLS-1$
 	private static ServiceRegistration<DebugOptionsListener> DEBUG_REGISTRATION;
 	private static final String NON_CHAINING_JARS_CACHE = "nonChainingJarsCache"; //$NON-NLS-1$
 	private static final String EXTERNAL_FILES_CACHE = "externalFilesCache";  //$NON-NLS-1$
@@ -352,6 +362,12 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	public static final String MAX_COMPILED_UNITS_AT_ONCE = "maxCompiledUnitsAtOnce"; //$NON-NLS-1$
 
+	/**
+	 * Name of the JVM parameter to specify how many groups of compilation units may be compiled in parallel by a full build.
+	 * The default value is represented by <code>AbstractImageBuilder#PARALLEL_GROUPS</code>.
+	 */
+	public static final String PARALLEL_COMPILATION_GROUPS = "parallelCompilationGroups"; //$NON-NLS-1$
+
 	/**
 	 * Special value used for recognizing ongoing initialization and breaking initialization cycles
 	 */
@@ -4250,17 +4266,20 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	private Object readStateTimed(IProject project) throws CoreException {
 		File file = getSerializationFile(project);
 		if (file != null && file.exists()) {
-			try (DataInputStream in = new DataInputStream(createInputStream(file))) {
-				String pluginID = in.readUTF();
-				if (!pluginID.equals(JavaCore.PLUGIN_ID))
-					throw new IOException(Messages.build_wrongFileFormat);
-				String kind = in.readUTF();
-				if (!kind.equals("STATE")) //$NON-NLS-1$
-					throw new IOException(Messages.build_wrongFileFormat);
-				if (in.readBoolean())
-					return JavaBuilder.readState(project, in);
-				if (JavaBuilder.DEBUG) {
-					trace("Saved state thinks last build failed for " + project.getName()); //$NON-NLS-1$
+			try {
+				ByteBuffer mapping = MAPPED_STATES ? mapState(file) : null;
+				try (DataInputStream in = new DataInputStream(mapping == null ? createInputStream(file) : new ByteBufferInputStream(mapping))) {
+					String pluginID = in.readUTF();
+					if (!pluginID.equals(JavaCore.PLUGIN_ID))
+						throw new IOException(Messages.build_wrongFileFormat);
+					String kind = in.readUTF();
+					if (!kind.equals("STATE")) //$NON-NLS-1$
+						throw new IOException(Messages.build_wrongFileFormat);
+					if (in.readBoolean())
+						return mapping == null ? JavaBuilder.readState(project, in) : JavaBuilder.readState(project, in, mapping);
+					if (JavaBuilder.DEBUG) {
+						trace("Saved state thinks last build failed for " + project.getName()); //$NON-NLS-1$
+					}
 				}
 			} catch (Exception e) {
 				if (JavaBuilder.DEBUG) {
@@ -4485,11 +4504,13 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		if (JavaBuilder.DEBUG) {
 			trace(Messages.bind(Messages.build_saveStateProgress, info.project.getName()));
 		}
-		File file = getSerializationFile(info.project);
-		if (file == null) return;
+		File stateFile = getSerializationFile(info.project);
+		if (stateFile == null) return;
+		// a mapped state file is replaced rather than overwritten, the states read from it may still read its mapping
+		File file = MAPPED_STATES ? new File(stateFile.getPath() + ".tmp") : stateFile; //$NON-NLS-1$
 		long t = System.currentTimeMillis();
 		try {
-			try (DataOutputStream out = new DataOutputStream(createOutputStream(file))) {
+			try (DataOutputStream out = new DataOutputStream(MAPPED_STATES ? new BufferedOutputStream(new FileOutputStream(file)) : createOutputStream(file))) {
 				out.writeUTF(JavaCore.PLUGIN_ID);
 				out.writeUTF("STATE"); //$NON-NLS-1$
 				if (info.savedState == null) {
@@ -4499,9 +4520,12 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 					JavaBuilder.writeState(info.savedState, out);
 				}
 			}
+			if (file != stateFile)
+				Files.move(file.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
 		} catch (RuntimeException | IOException e) {
 			try {
 				file.delete();
+				stateFile.delete();
 			} catch(SecurityException se) {
 				// could not delete file: cannot do much more
 			}
@@ -4533,6 +4557,21 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 	}
 
+	/*
+	 * Answers a mapping of the given state file, or null if it is compressed.
+	 */
+	private ByteBuffer mapState(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException(Messages.build_wrongFileFormat);
+			ByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // the mapping remains valid once the channel is closed
+			if (size >= 2 && mapping.get(0) == (byte) GZIPInputStream.GZIP_MAGIC && mapping.get(1) == (byte) (GZIPInputStream.GZIP_MAGIC >> 8))
+				return null;
+			return mapping;
+		}
+	}
+
 	private OutputStream createOutputStream(File file) throws IOException {
 		if (SAVE_ZIPPED) {
 			return new BufferedOutputStream(new java.util.zip.GZIPOutputStream(new FileOutputStream(file), 8192));
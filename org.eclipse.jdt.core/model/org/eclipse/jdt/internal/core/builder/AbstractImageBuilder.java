@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import org.eclipse.jdt.internal.compiler.*;
 import org.eclipse.jdt.internal.compiler.Compiler;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.AnnotationBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
@@ -62,12 +63,16 @@ protected LinkedHashSet<SourceFile> problemSourceFiles;
 protected boolean compiledAllAtOnce;
 
 private boolean inCompiler;
+// whether the structure of the class files written is computed, for the projects depending on this one, see State#recordStructuralFingerprint()
+private boolean fingerprintsStructure;
 
 protected boolean keepStoringProblemMarkers;
 protected Map<SourceFile, AnnotationBinding[]> filesWithAnnotations = null;
 
 //2000 is best compromise between space used and speed
 public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, 2000).intValue();
+//number of groups of units compiled in parallel by a full build, 0 or 1 compiles all units with the same compiler
+public static int PARALLEL_GROUPS = Integer.getInteger(JavaModelManager.PARALLEL_COMPILATION_GROUPS, 0).intValue();
 public final static String[] JAVA_PROBLEM_MARKER_ATTRIBUTE_NAMES = {
 		IMarker.MESSAGE,
 		IMarker.SEVERITY,
@@ -98,6 +103,7 @@ protected AbstractImageBuilder(JavaBuilder javaBuilder, boolean buildStarting, S
 
 	if (buildStarting) {
 		this.newState = newState == null ? new State(javaBuilder) : newState;
+		this.fingerprintsStructure = javaBuilder.currentProject.getReferencingProjects().length > 0;
 		this.compiler = newCompiler();
 		this.workQueue = new WorkQueue();
 		this.problemSourceFiles = new LinkedHashSet(3);
@@ -397,14 +403,7 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 		for (int i = 0; i < toAdd; i++)
 			additionalUnits[length + i] = iterator.next();
 	}
-	String[] initialTypeNames = new String[units.length];
-	for (int i = 0, l = units.length; i < l; i++) {
-		char[] moduleName = units[i].getModuleName();
-		initialTypeNames[i] = (moduleName == null)
-				? units[i].initialTypeName
-				: new StringBuilder(60).append(moduleName).append(':').append(units[i].initialTypeName).toString();
-	}
-	this.nameEnvironment.setNames(initialTypeNames, additionalUnits);
+	this.nameEnvironment.setNames(initialTypeNames(units), additionalUnits);
 	this.notifier.checkCancel();
 	try {
 		this.inCompiler = true;
@@ -420,6 +419,19 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 	this.notifier.checkCancel();
 }
 
+/* Answers the names given to the name environment for the units being compiled.
+*/
+static String[] initialTypeNames(SourceFile[] units) {
+	String[] initialTypeNames = new String[units.length];
+	for (int i = 0, l = units.length; i < l; i++) {
+		char[] moduleName = units[i].getModuleName();
+		initialTypeNames[i] = (moduleName == null)
+				? units[i].initialTypeName
+				: new StringBuilder(60).append(moduleName).append(':').append(units[i].initialTypeName).toString();
+	}
+	return initialTypeNames;
+}
+
 protected void copyResource(IResource source, IResource destination) throws CoreException {
 	IPath destPath = destination.getFullPath();
 	try {
@@ -490,7 +502,7 @@ protected SourceFile findSourceFile(IFile file, boolean mustExist) {
 
 protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
 	if (duplicateTypeNames == null) {
-		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, mainTypeName, definedTypeNames);
+		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 		return;
 	}
 
@@ -554,6 +566,36 @@ protected boolean isExcludedFromProject(IPath childPath) throws JavaModelExcepti
 }
 
 protected Compiler newCompiler() {
+	return newCompiler(this.nameEnvironment, this);
+}
+
+/* Answers a compiler looking up types in the given name environment and giving its results to the given requestor.
+*/
+protected Compiler newCompiler(INameEnvironment environment, ICompilerRequestor requestor) {
+	Compiler newCompiler = new Compiler(
+		environment,
+		DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+		newCompilerOptions(),
+		requestor,
+		ProblemFactory.getProblemFactory(Locale.getDefault()));
+	CompilerOptions options = newCompiler.options;
+	// temporary code to allow the compiler to revert to a single thread
+	String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
+	newCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+	newCompiler.processingThreads = org.eclipse.jdt.internal.compiler.util.Util.getProcessingThreads();
+
+	if (options.complianceLevel >= ClassFileConstants.JDK1_6
+			&& options.processAnnotations) {
+		// support for Java 6 annotation processors
+		initializeAnnotationProcessorManager(newCompiler);
+	}
+
+	return newCompiler;
+}
+
+/* Answers the options of the compilers of the builder, producing the reference info.
+*/
+CompilerOptions newCompilerOptions() {
 	// disable entire javadoc support if not interested in diagnostics
 	Map projectOptions = this.javaBuilder.javaProject.getOptions(true);
 	String option = (String) projectOptions.get(JavaCore.COMPILER_PB_INVALID_JAVADOC);
@@ -574,27 +616,10 @@ protected Compiler newCompiler() {
 	CompilerOptions compilerOptions = new CompilerOptions(projectOptions);
 	compilerOptions.performMethodsFullRecovery = true;
 	compilerOptions.performStatementsRecovery = true;
-	Compiler newCompiler = new Compiler(
-		this.nameEnvironment,
-		DefaultErrorHandlingPolicies.proceedWithAllProblems(),
-		compilerOptions,
-		this,
-		ProblemFactory.getProblemFactory(Locale.getDefault()));
-	CompilerOptions options = newCompiler.options;
-	// temporary code to allow the compiler to revert to a single thread
-	String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
-	newCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
 
 	// enable the compiler reference info support
-	options.produceReferenceInfo = true;
-
-	if (options.complianceLevel >= ClassFileConstants.JDK1_6
-			&& options.processAnnotations) {
-		// support for Java 6 annotation processors
-		initializeAnnotationProcessorManager(newCompiler);
-	}
-
-	return newCompiler;
+	compilerOptions.produceReferenceInfo = true;
+	return compilerOptions;
 }
 
 protected CompilationParticipantResult[] notifyParticipants(SourceFile[] unitsAboutToCompile) {
@@ -912,7 +937,8 @@ protected void writeClassFileContents(ClassFile classFile, IFile file, String qu
 //	InputStream input = new SequenceInputStream(
 //			new ByteArrayInputStream(classFile.header, 0, classFile.headerOffset),
 //			new ByteArrayInputStream(classFile.contents, 0, classFile.contentsOffset));
-	InputStream input = new ByteArrayInputStream(classFile.getBytes());
+	byte[] bytes = classFile.getBytes();
+	InputStream input = new ByteArrayInputStream(bytes);
 	if (file.exists()) {
 		// Deal with shared output folders... last one wins... no collision cases detected
 		if (JavaBuilder.DEBUG) {
@@ -929,5 +955,7 @@ protected void writeClassFileContents(ClassFile classFile, IFile file, String qu
 		}
 		file.create(input, IResource.FORCE | IResource.DERIVED, null);
 	}
+	long structure = this.fingerprintsStructure ? ClassFileFingerprint.structureOf(bytes, classFile.fileName()) : ClassFileFingerprint.UNKNOWN;
+	this.newState.recordClassFileFingerprint(qualifiedFileName, new ClassFileFingerprint(structure, ClassFileFingerprint.checksum(bytes), file.getModificationStamp()));
 }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -207,6 +207,19 @@ protected void cleanUp() {
 	super.cleanUp();
 }
 
+@Override
+protected void compile(SourceFile[] units) {
+	if (PARALLEL_GROUPS > 1 && this.javaBuilder.participants == null && !this.compiler.options.processAnnotations) {
+		// units referencing the secondary types of another group are compiled again once all groups are compiled
+		if (this.secondaryTypes == null)
+			this.secondaryTypes = new ArrayList(7);
+		this.compiledAllAtOnce = false;
+		if (new ParallelCompiler(this, PARALLEL_GROUPS).compile(units))
+			return;
+	}
+	super.compile(units);
+}
+
 @Override
 protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean compilingFirstGroup) {
 	if (additionalUnits != null && this.secondaryTypes == null)
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+
+/**
+ * What the {@link State} remembers of a class file written by the builder, so that the next class file of the type
+ * is compared to it without reading the previous one: the structure of the class file, as compared by
+ * {@link ClassFileReader#hasStructuralChanges(byte[])}, a checksum of its contents, and the modification stamp of the
+ * file once written, which tells whether the file was changed since.
+ * <p>
+ * The structure needs the class file to be parsed, so it is only computed when the class file is compared to the
+ * previous one, or when projects depending on this one compare its structure after a full build. It is
+ * {@link #UNKNOWN} otherwise.
+ * </p>
+ */
+final class ClassFileFingerprint {
+
+/**
+ * The structure of a class file which was not parsed.
+ */
+static final long UNKNOWN = -1;
+
+/**
+ * The fingerprint of the structure of the class file, 0 for local and anonymous types which have no dependents, or
+ * {@link #UNKNOWN}.
+ * @see ClassFileReader#getStructuralFingerprint()
+ */
+final long structure;
+final long contents;
+final long modificationStamp;
+
+ClassFileFingerprint(long structure, long contents, long modificationStamp) {
+	this.structure = structure;
+	this.contents = contents;
+	this.modificationStamp = modificationStamp;
+}
+
+/**
+ * Answers a checksum of the given contents of a class file, computed with two different polynomials so that it is as
+ * unlikely as a 64 bit hash to miss a change, and much cheaper than a digest.
+ */
+static long checksum(byte[] bytes) {
+	CRC32 crc = new CRC32();
+	crc.update(bytes);
+	CRC32C crcC = new CRC32C();
+	crcC.update(bytes);
+	return crc.getValue() << 32 | crcC.getValue();
+}
+
+/**
+ * Answers the fingerprint of the structure of the given class file.
+ */
+static long structureOf(byte[] bytes, char[] fileName) {
+	try {
+		return structureOf(new ClassFileReader(bytes, fileName));
+	} catch (ClassFormatException e) {
+		return checksum(bytes); // any change is structural
+	}
+}
+
+static long structureOf(ClassFileReader reader) {
+	return reader.isLocal() || reader.isAnonymous() ? 0 : reader.getStructuralFingerprint();
+}
+
+ClassFileFingerprint withModificationStamp(long stamp) {
+	return stamp == this.modificationStamp ? this : new ClassFileFingerprint(this.structure, this.contents, stamp);
+}
+
+@Override
+public boolean equals(Object obj) {
+	if (this == obj)
+		return true;
+	if (!(obj instanceof ClassFileFingerprint))
+		return false;
+	ClassFileFingerprint other = (ClassFileFingerprint) obj;
+	return this.structure == other.structure && this.contents == other.contents && this.modificationStamp == other.modificationStamp;
+}
+
+@Override
+public int hashCode() {
+	return Long.hashCode(this.structure) * 31 + Long.hashCode(this.contents);
+}
+}
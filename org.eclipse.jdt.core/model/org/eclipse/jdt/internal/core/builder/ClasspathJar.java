@@ -42,6 +42,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider;
@@ -260,16 +261,11 @@ public NameEnvironmentAnswer findClass(String binaryFileName, String qualifiedPa
 	if (!isPackage(qualifiedPackageName, moduleName)) return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader = readClass(qualifiedBinaryFileName);
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
-			if (reader instanceof ClassFileReader) {
-				ClassFileReader classReader = (ClassFileReader) reader;
-				if (classReader.moduleName == null)
-					classReader.moduleName = modName;
-				else
-					modName = classReader.moduleName;
-				}
+			if (reader instanceof ClassFileReader && ((ClassFileReader) reader).moduleName != null)
+				modName = ((ClassFileReader) reader).moduleName;
 			String fileNameWithoutExtension = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length() - SuffixConstants.SUFFIX_CLASS.length);
 			return createAnswer(fileNameWithoutExtension, reader, modName);
 		}
@@ -278,6 +274,26 @@ public NameEnvironmentAnswer findClass(String binaryFileName, String qualifiedPa
 	return null;
 }
 
+private IBinaryType readClass(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	ClassFileReaderCache cache = ClassFileReaderCache.getShared();
+	if (cache == null)
+		return inModule(ClassFileReader.read(this.zipFile, qualifiedBinaryFileName));
+	ZipEntry entry = this.zipFile.getEntry(qualifiedBinaryFileName);
+	if (entry == null)
+		return null;
+	// readers hold the module of the jar, the readers of each module are cached apart
+	String cacheKey = this.module == null ? this.zipFilename : this.zipFilename + '|' + String.valueOf(this.module.name());
+	return cache.get(cacheKey, qualifiedBinaryFileName, entry.getCrc(),
+			() -> inModule(ClassFileReader.read(this.zipFile, qualifiedBinaryFileName)));
+}
+
+/** Sets the module of this jar on a new reader, cached readers must not be changed. */
+private ClassFileReader inModule(ClassFileReader reader) {
+	if (reader != null && reader.moduleName == null && this.module != null)
+		reader.moduleName = this.module.name();
+	return reader;
+}
+
 @Override
 public IPath getProjectRelativePath() {
 	if (this.resource == null) return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,6 +45,7 @@ protected LinkedHashSet<SourceFile> previousSourceFiles;
 protected Set<String> qualifiedStrings;
 protected Set<String> simpleStrings;
 protected Set<String> rootStrings;
+protected Map<String, Set<String>> memberStrings; // type path 'p1/p2/X' -> keys of its changed fields and methods, e.g. 'p1/p2/X.foo'
 protected SimpleLookupTable secondaryTypesToRemove;
 protected boolean hasStructuralChanges;
 protected boolean makeOutputFolderConsistent;
@@ -223,6 +224,11 @@ protected void buildAfterBatchBuild() {
 }
 
 protected void addAffectedSourceFiles() {
+	if (this.memberStrings.size() > 0) {
+		if (this.testImageBuilder != null)
+			this.testImageBuilder.addMemberAffectedSourceFiles(this.memberStrings);
+		addMemberAffectedSourceFiles(this.memberStrings);
+	}
 	if (this.qualifiedStrings.size() == 0 && this.simpleStrings.size() == 0) return;
 	if(this.testImageBuilder != null) {
 		this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
@@ -246,21 +252,54 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 		String typeLocator = entry.getKey();
 		if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue next;
 		ReferenceCollection refs = entry.getValue();
-		if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
-			IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
-			SourceFile sourceFile = findSourceFile(file, true);
-			if (sourceFile == null) continue next;
-			if (this.sourceFiles.contains(sourceFile)) continue next;
-			if (this.compiledAllAtOnce && this.previousSourceFiles != null && this.previousSourceFiles.contains(sourceFile))
-				continue next; // can skip previously compiled files since already saw hierarchy related problems
+		if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames))
+			addAffectedSourceFile(typeLocator);
+	}
+}
 
-			if (JavaBuilder.DEBUG)
-				System.out.println("  adding affected source file " + typeLocator); //$NON-NLS-1$
-			this.sourceFiles.add(sourceFile);
+/*
+ * Adds the source files which reference both a type whose fields or methods changed and one of these members.
+ */
+protected void addMemberAffectedSourceFiles(Map<String, Set<String>> changedMembers) {
+	for (Entry<String, Set<String>> change : changedMembers.entrySet()) {
+		// same names as addDependentsOf()
+		IPath path = new Path(change.getKey());
+		String typeName = path.lastSegment();
+		int memberIndex = typeName.indexOf('$');
+		if (memberIndex > 0)
+			typeName = typeName.substring(0, memberIndex);
+		Set<String> qualifiedSet = Collections.singleton(path.removeLastSegments(1).toString());
+		char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedSet);
+		if (internedQualifiedNames.length < qualifiedSet.size())
+			internedQualifiedNames = null;
+		Set<String> simpleSet = Collections.singleton(typeName);
+		char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(simpleSet, true);
+		if (internedSimpleNames.length < simpleSet.size())
+			internedSimpleNames = null;
+		char[][] internedRootNames = ReferenceCollection.internSimpleNames(Collections.singleton(path.segment(0)), false);
+		char[][] internedMemberNames = ReferenceCollection.internSimpleNames(change.getValue(), false);
+
+		for (Entry<String, ReferenceCollection> entry : this.newState.references.entrySet()) {
+			ReferenceCollection refs = entry.getValue();
+			if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames) && refs.includesMember(internedMemberNames))
+				addAffectedSourceFile(entry.getKey());
 		}
 	}
 }
 
+private void addAffectedSourceFile(String typeLocator) {
+	IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
+	SourceFile sourceFile = findSourceFile(file, true);
+	if (sourceFile == null) return;
+	if (this.sourceFiles.contains(sourceFile)) return;
+	if (this.compiledAllAtOnce && this.previousSourceFiles != null && this.previousSourceFiles.contains(sourceFile))
+		return; // can skip previously compiled files since already saw hierarchy related problems
+
+	if (JavaBuilder.DEBUG)
+		System.out.println("  adding affected source file " + typeLocator); //$NON-NLS-1$
+	this.sourceFiles.add(sourceFile);
+}
+
 protected void addDependentsOf(IPath path, boolean isStructuralChange) {
 	addDependentsOf(path, isStructuralChange, this.qualifiedStrings, this.simpleStrings, this.rootStrings);
 }
@@ -300,6 +339,25 @@ protected void addDependentsOf(IPath path, boolean isStructuralChange, Set<Strin
 			+ typeName + " in " + packageName); //$NON-NLS-1$
 }
 
+/*
+ * Records that only the given fields and methods of the type changed, so that only the source files which reference
+ * one of them need to be recompiled. The keys of the members, as answered by
+ * ClassFileReader#getStructurallyChangedMembers(), are qualified by the type as CompilationUnitScope records them.
+ */
+protected void addMemberDependentsOf(IPath path, char[][] memberKeys) {
+	if (!this.hasStructuralChanges) {
+		this.newState.tagAsStructurallyChanged();
+		this.hasStructuralChanges = true;
+	}
+	String typePath = path.setDevice(null).toString();
+	Set<String> names = this.memberStrings.computeIfAbsent(typePath, p -> new HashSet<>());
+	for (char[] memberKey : memberKeys)
+		names.add(typePath + '.' + new String(memberKey));
+	if (JavaBuilder.DEBUG)
+		System.out.println("  will look for dependents of " //$NON-NLS-1$
+			+ path + " referencing " + names); //$NON-NLS-1$
+}
+
 protected boolean checkForClassFileChanges(IResourceDelta binaryDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
 	IResource resource = binaryDelta.getResource();
 	// remember that if inclusion & exclusion patterns change then a full build is done
@@ -339,6 +397,7 @@ protected void cleanUp() {
 	this.qualifiedStrings = null;
 	this.simpleStrings = null;
 	this.rootStrings = null;
+	this.memberStrings = null;
 	this.secondaryTypesToRemove = null;
 	this.hasStructuralChanges = false;
 }
@@ -796,6 +855,7 @@ protected void removeClassFile(IPath typePath, IContainer outputFolder) throws C
 			System.out.println("Found removed type " + typePath); //$NON-NLS-1$
 		addDependentsOf(typePath, true); // when member types are removed, their enclosing type is structurally changed
 	}
+	this.newState.removeClassFileFingerprint(typePath.toString());
 	IFile classFile = outputFolder.getFile(typePath.addFileExtension(SuffixConstants.EXTENSION_class));
 	if (classFile.exists()) {
 		if (JavaBuilder.DEBUG)
@@ -829,6 +889,7 @@ protected void resetCollections() {
 		this.qualifiedStrings = new HashSet<>(3);
 		this.simpleStrings = new HashSet<>(3);
 		this.rootStrings = new HashSet<>(3);
+		this.memberStrings = new HashMap<>(3);
 		this.hasStructuralChanges = false;
 	} else {
 		this.previousSourceFiles = this.sourceFiles.isEmpty() ? null : (LinkedHashSet) this.sourceFiles.clone();
@@ -837,6 +898,7 @@ protected void resetCollections() {
 		this.qualifiedStrings.clear();
 		this.simpleStrings.clear();
 		this.rootStrings.clear();
+		this.memberStrings.clear();
 		this.workQueue.clear();
 	}
 }
@@ -890,7 +952,11 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 		} else if (JavaBuilder.DEBUG) {
 			System.out.println("Skipped over unchanged class file " + file.getName());//$NON-NLS-1$
 		}
+		ClassFileFingerprint fingerprint = this.newState.getClassFileFingerprint(qualifiedFileName); // as recorded by writeClassFileCheck()
+		if (fingerprint != null)
+			this.newState.recordClassFileFingerprint(qualifiedFileName, fingerprint.withModificationStamp(file.getModificationStamp()));
 	} else {
+		ClassFileFingerprint fingerprint = new ClassFileFingerprint(ClassFileFingerprint.UNKNOWN, ClassFileFingerprint.checksum(bytes), IResource.NULL_STAMP);
 		if (isTopLevelType)
 			addDependentsOf(new Path(qualifiedFileName), true); // new type
 		if (JavaBuilder.DEBUG)
@@ -926,7 +992,10 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 						} catch (CoreException ignored) {
 							// ignore the second exception
 						}
-						if (success) return;
+						if (success) {
+							this.newState.recordClassFileFingerprint(qualifiedFileName, fingerprint.withModificationStamp(file.getModificationStamp()));
+							return;
+						}
 					}
 				}
 				// catch the case that a type has been renamed and collides on disk with an as-yet-to-be-deleted type
@@ -934,27 +1003,68 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 			}
 			throw e; // rethrow
 		}
+		this.newState.recordClassFileFingerprint(qualifiedFileName, fingerprint.withModificationStamp(file.getModificationStamp()));
 	}
 }
 
+/*
+ * Answers whether the given class file has to be written, adding the dependents of its type if it has structural
+ * changes, and records its fingerprint without a modification stamp, or removes the fingerprint if it is unknown.
+ * The structure of the class file is only computed when its contents changed, using the class file read to look
+ * for structural changes when the previous one has to be read.
+ */
 protected boolean writeClassFileCheck(IFile file, String fileName, byte[] newBytes) throws CoreException {
+	long contents = ClassFileFingerprint.checksum(newBytes);
+	ClassFileFingerprint oldFingerprint = this.newState.getClassFileFingerprint(fileName);
+	ClassFileReader newReader = null;
+	if (oldFingerprint != null && oldFingerprint.modificationStamp == file.getModificationStamp()) {
+		// the class file was not changed since written by the builder, so no need to read it
+		if (oldFingerprint.contents == contents)
+			return false; // bytes are identical so skip them
+		if (oldFingerprint.structure != ClassFileFingerprint.UNKNOWN) {
+			long structure;
+			try {
+				newReader = new ClassFileReader(newBytes, fileName.toCharArray());
+				structure = ClassFileFingerprint.structureOf(newReader);
+			} catch (ClassFormatException e) {
+				structure = contents; // any change is structural
+			}
+			if (oldFingerprint.structure == structure) {
+				this.newState.recordClassFileFingerprint(fileName, new ClassFileFingerprint(structure, contents, IResource.NULL_STAMP));
+				return true; // no structural changes, or a local type
+			}
+		}
+	}
+	this.newState.removeClassFileFingerprint(fileName); // unless known below
 	try {
 		byte[] oldBytes = Util.getResourceContentsAsByteArray(file);
 		notEqual : if (newBytes.length == oldBytes.length) {
 			for (int i = newBytes.length; --i >= 0;)
 				if (newBytes[i] != oldBytes[i]) break notEqual;
+			this.newState.recordClassFileFingerprint(fileName, new ClassFileFingerprint(ClassFileFingerprint.UNKNOWN, contents, IResource.NULL_STAMP));
 			return false; // bytes are identical so skip them
 		}
 		URI location = file.getLocationURI();
 		if (location == null) return false; // unable to determine location of this class file
 		String filePath = location.getSchemeSpecificPart();
 		ClassFileReader reader = new ClassFileReader(oldBytes, filePath.toCharArray());
+		if (newReader == null)
+			newReader = new ClassFileReader(newBytes, filePath.toCharArray());
+		this.newState.recordClassFileFingerprint(fileName, new ClassFileFingerprint(ClassFileFingerprint.structureOf(newReader), contents, IResource.NULL_STAMP));
 		// ignore local types since they're only visible inside a single method
-		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes)) {
-			if (JavaBuilder.DEBUG)
-				System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
-			addDependentsOf(new Path(fileName), true);
-			this.newState.wasStructurallyChanged(fileName);
+		if (!(reader.isLocal() || reader.isAnonymous())) {
+			char[][] changedMembers = reader.getStructurallyChangedMembers(newReader);
+			if (changedMembers == null) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
+				addDependentsOf(new Path(fileName), true);
+				this.newState.wasStructurallyChanged(fileName);
+			} else if (changedMembers.length > 0) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes of its members " + fileName); //$NON-NLS-1$
+				addMemberDependentsOf(new Path(fileName), changedMembers);
+				this.newState.wasStructurallyChanged(fileName);
+			}
 		}
 	} catch (JavaModelException jme) {
 		Throwable e = jme.getCause();
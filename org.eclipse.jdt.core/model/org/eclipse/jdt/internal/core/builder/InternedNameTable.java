@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Numbers the interned names, simple (<code>char[]</code>) and qualified (<code>char[][]</code>), in the order they are
+ * first given, so that a {@link ReferenceCollection} holds the ids of its names rather than the names. The names of
+ * the collections of a {@link State} are numbered by a table of the state, which is dropped with the state.
+ * <p>
+ * A set of names is held as its sorted ids, each written as the difference with the previous one in as few bytes as
+ * possible: 7 bits per byte, the high bit of a byte set if the next byte is part of the same difference. The ids of the
+ * names of a compilation unit are usually close, so most take a byte rather than the 4 or 8 bytes of a reference to
+ * the name. The sets are only compared with sorted ids, which does not need the table.
+ * </p>
+ */
+final class InternedNameTable {
+
+static final byte[] EMPTY_SET = new byte[0];
+
+private Object[] keys; // the names, hashed by contents
+private int[] keyIds; // the ids of the keys
+private Object[] names; // the names, by id
+private int size;
+
+InternedNameTable(int capacity) {
+	this.keys = new Object[capacity * 2];
+	this.keyIds = new int[capacity * 2];
+	this.names = new Object[capacity];
+}
+
+private static int hash(Object name) {
+	if (name instanceof char[])
+		return CharOperation.hashCode((char[]) name);
+	char[][] segments = (char[][]) name;
+	int hash = segments.length;
+	for (char[] segment : segments)
+		hash = hash * 31 + CharOperation.hashCode(segment);
+	return hash & 0x7FFFFFFF;
+}
+
+private static boolean equals(Object name, Object other) {
+	if (name == other)
+		return true;
+	if (name instanceof char[])
+		return other instanceof char[] && CharOperation.equals((char[]) name, (char[]) other);
+	return other instanceof char[][] && CharOperation.equals((char[][]) name, (char[][]) other);
+}
+
+/**
+ * Answers the id of the given name, numbering it if it has none.
+ */
+synchronized int idOf(Object name) {
+	int id = find(name);
+	if (id >= 0)
+		return id;
+	if (this.size == this.names.length)
+		this.names = Arrays.copyOf(this.names, this.size * 2);
+	id = this.size++;
+	this.names[id] = name;
+	if (this.size * 2 > this.keys.length)
+		rehash();
+	else
+		put(name, id);
+	return id;
+}
+
+/**
+ * Answers the id of the given name, or -1 if it has none, in which case no set holds it.
+ */
+synchronized int find(Object name) {
+	int length = this.keys.length;
+	int index = hash(name) % length;
+	Object current;
+	while ((current = this.keys[index]) != null) {
+		if (equals(current, name))
+			return this.keyIds[index];
+		if (++index == length) index = 0;
+	}
+	return -1;
+}
+
+synchronized Object nameOf(int id) {
+	return this.names[id];
+}
+
+synchronized int size() {
+	return this.size;
+}
+
+private void put(Object name, int id) {
+	int length = this.keys.length;
+	int index = hash(name) % length;
+	while (this.keys[index] != null)
+		if (++index == length) index = 0;
+	this.keys[index] = name;
+	this.keyIds[index] = id;
+}
+
+private void rehash() {
+	this.keys = new Object[this.keys.length * 2];
+	this.keyIds = new int[this.keys.length];
+	for (int id = 0; id < this.size; id++)
+		put(this.names[id], id);
+}
+
+/**
+ * Answers the set of the ids of the given names, numbering those which have none.
+ */
+byte[] setOf(Object[] names) {
+	if (names == null || names.length == 0)
+		return EMPTY_SET;
+	int[] ids = new int[names.length];
+	synchronized (this) {
+		for (int i = 0, l = names.length; i < l; i++)
+			ids[i] = idOf(names[i]);
+	}
+	Arrays.sort(ids);
+	return encode(ids);
+}
+
+/**
+ * Answers the sorted ids of the given names, without the names which have none.
+ */
+int[] idsOf(Object[] names) {
+	int[] ids = new int[names.length];
+	int count = 0;
+	synchronized (this) {
+		for (Object name : names) {
+			int id = find(name);
+			if (id >= 0)
+				ids[count++] = id;
+		}
+	}
+	if (count < ids.length)
+		ids = Arrays.copyOf(ids, count);
+	Arrays.sort(ids);
+	return ids;
+}
+
+/**
+ * Copies the names of the given set into the given array, which has the size of the set, in the order of their ids.
+ */
+synchronized <T> T[] namesOf(byte[] set, T[] names) {
+	int[] ids = decode(set);
+	for (int i = 0, l = ids.length; i < l; i++) {
+		@SuppressWarnings("unchecked")
+		T name = (T) this.names[ids[i]];
+		names[i] = name;
+	}
+	return names;
+}
+
+static byte[] encode(int[] sortedIds) {
+	byte[] bytes = new byte[sortedIds.length * 5];
+	int length = 0, previous = 0;
+	for (int i = 0, l = sortedIds.length; i < l; i++) {
+		int id = sortedIds[i];
+		if (i > 0 && id == previous) continue; // already in the set
+		int delta = id - previous;
+		while ((delta & ~0x7F) != 0) {
+			bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+			delta >>>= 7;
+		}
+		bytes[length++] = (byte) delta;
+		previous = id;
+	}
+	return length == 0 ? EMPTY_SET : Arrays.copyOf(bytes, length);
+}
+
+static int size(byte[] set) {
+	int size = 0;
+	for (byte b : set)
+		if (b >= 0) // the last byte of an id
+			size++;
+	return size;
+}
+
+static int[] decode(byte[] set) {
+	int[] ids = new int[size(set)];
+	int id = 0;
+	for (int i = 0, n = 0, l = set.length; i < l; n++) {
+		int delta = 0, shift = 0;
+		byte b;
+		do {
+			b = set[i++];
+			delta |= (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		ids[n] = id += delta;
+	}
+	return ids;
+}
+
+static boolean contains(byte[] set, int id) {
+	if (id < 0)
+		return false;
+	int current = 0;
+	for (int i = 0, l = set.length; i < l;) {
+		int delta = 0, shift = 0;
+		byte b;
+		do {
+			b = set[i++];
+			delta |= (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		current += delta;
+		if (current >= id)
+			return current == id;
+	}
+	return false;
+}
+
+/**
+ * Answers whether the set holds any of the given sorted ids.
+ */
+static boolean intersects(byte[] set, int[] sortedIds) {
+	int k = sortedIds.length;
+	if (k == 0)
+		return false;
+	int current = 0;
+	for (int i = 0, j = 0, l = set.length; i < l;) {
+		int delta = 0, shift = 0;
+		byte b;
+		do {
+			b = set[i++];
+			delta |= (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		current += delta;
+		if (sortedIds[j] < current) {
+			j = Arrays.binarySearch(sortedIds, j, k, current);
+			if (j >= 0)
+				return true;
+			j = -(j + 1);
+			if (j == k)
+				return false;
+		} else if (sortedIds[j] == current) {
+			return true;
+		}
+	}
+	return false;
+}
+}
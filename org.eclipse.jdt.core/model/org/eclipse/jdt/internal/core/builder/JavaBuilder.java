@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
@@ -160,7 +161,15 @@ public static void removeProblemsAndTasksFor(IResource resource) {
 }
 
 public static State readState(IProject project, DataInputStream in) throws IOException, CoreException {
-	return State.read(project, in);
+	return State.read(project, in, null);
+}
+
+/**
+ * Reads a state from the given stream, which reads the given mapping of the state file without reading ahead. The
+ * tables of the state are read in place from the mapping when first used.
+ */
+public static State readState(IProject project, DataInputStream in, ByteBuffer mapping) throws IOException, CoreException {
+	return State.read(project, in, mapping);
 }
 
 public static void writeState(Object state, DataOutputStream out) throws IOException {
@@ -196,6 +205,12 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 						trace("JavaBuilder: Performing full build since last saved state was not found"); //$NON-NLS-1$
 					}
 					buildAll();
+				} else if (!this.lastState.decodeSections()) {
+					if (DEBUG) {
+						trace("JavaBuilder: Performing full build since last saved state could not be read"); //$NON-NLS-1$
+					}
+					this.lastState = null;
+					buildAll();
 				} else if (hasClasspathChanged()) {
 					// if the output location changes, do not delete the binary files from old location
 					// the user may be trying something
@@ -290,6 +305,7 @@ private void buildAll() {
 	} else {
 		testImageBuilder.cleanUp();
 	}
+	imageBuilder.newState.recordStructuralFingerprint();
 	recordNewState(imageBuilder.newState);
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -75,6 +75,20 @@ public NameEnvironment(IJavaProject javaProject, CompilationGroup compilationGro
 	setNames(null, null);
 }
 
+/*
+ * Answers a name environment sharing the class path locations of the given one, with its own initial and additional
+ * units.
+ */
+NameEnvironment(NameEnvironment environment) {
+	this.compilationGroup = environment.compilationGroup;
+	this.isIncrementalBuild = environment.isIncrementalBuild;
+	this.notifier = environment.notifier;
+	this.sourceLocations = environment.sourceLocations;
+	this.binaryLocations = environment.binaryLocations;
+	this.modulePathEntries = environment.modulePathEntries;
+	this.moduleUpdater = environment.moduleUpdater;
+}
+
 /* Some examples of resolved class path entries.
 * Remember to search class path in the order that it was defined.
 *
@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.IModule;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.IUpdatableModule;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilationUnit;
+
+/**
+ * Compiles the units of a full build in groups, each group by a {@link Compiler} of its own on a thread of its own.
+ * <p>
+ * The units of a package are compiled in the same group. Packages referencing each other in the last built state, or
+ * else sharing their parent package, are compiled in the same group where possible. Every unit is compiled by one
+ * group only: a group referencing a type of a unit of another group, whose class file may not be written yet, only
+ * builds the bindings of the types of that unit from their declarations, as a unit to compile is before its methods
+ * are resolved. The compilers of the groups look up types through views of the name environment of the builder,
+ * whose class path locations are shared and read by one compiler at a time. Their results are given to the builder
+ * on its own thread, which writes the class files, records the problems and updates the state as when compiling
+ * with a single compiler.
+ * </p>
+ */
+final class ParallelCompiler {
+
+private final AbstractImageBuilder builder;
+private final int groupCount;
+private volatile boolean stopped; // whether the groups must stop, once the builder failed or was cancelled
+
+ParallelCompiler(AbstractImageBuilder builder, int groupCount) {
+	this.builder = builder;
+	this.groupCount = groupCount;
+}
+
+/**
+ * Compiles the given units, and answers false if they were not compiled since they are all in the same package.
+ */
+boolean compile(SourceFile[] units) {
+	SourceFile[][] groups = partition(units, this.groupCount, this.builder.javaBuilder.lastState);
+	if (groups == null)
+		return false;
+	if (JavaBuilder.DEBUG)
+		trace("Compiling " + units.length + " units in " + groups.length + " groups"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	// every unit of the build is looked up from source by every group, the class files of the units compiled by another
+	// group may not be written yet
+	int problemCount = this.builder.problemSourceFiles.size();
+	SourceFile[] additionalUnits = Arrays.copyOf(units, units.length + problemCount);
+	Iterator<SourceFile> problemSourceFiles = this.builder.problemSourceFiles.iterator();
+	for (int i = 0; i < problemCount; i++)
+		additionalUnits[units.length + i] = problemSourceFiles.next();
+
+	this.builder.notifier.aboutToCompile(units[0]); // just to change the message
+	this.builder.notifier.checkCancel();
+	BlockingQueue<CompilationResult> results = new LinkedBlockingQueue<>();
+	CompletableFuture<?>[] tasks = new CompletableFuture<?>[groups.length];
+	// the groups block on the class path locations and on each other, keep them off the common pool
+	AtomicInteger threadNumber = new AtomicInteger();
+	ExecutorService executor = Executors.newFixedThreadPool(groups.length, runnable -> {
+		Thread thread = new Thread(runnable, "Java builder: " + this.builder.javaBuilder.currentProject.getName() + " #" + threadNumber.incrementAndGet()); //$NON-NLS-1$ //$NON-NLS-2$
+		thread.setDaemon(true);
+		return thread;
+	});
+	try {
+		for (int i = 0; i < groups.length; i++) {
+			SourceFile[] group = groups[i];
+			tasks[i] = CompletableFuture.runAsync(() -> compileGroup(group, additionalUnits, results), executor);
+		}
+		CompletableFuture<Void> all = CompletableFuture.allOf(tasks);
+		while (!all.isDone() || !results.isEmpty()) {
+			CompilationResult result = results.poll(100, TimeUnit.MILLISECONDS);
+			if (result == null)
+				this.builder.notifier.checkCancel();
+			else
+				this.builder.acceptResult(result);
+		}
+		all.join();
+	} catch (AbortCompilation e) {
+		// the build was cancelled while accepting a result, see BuildNotifier.checkCancelWithinCompiler(), or the
+		// builder failed as when its compiler gives it a result
+		if (e.silentException != null)
+			throw e.silentException;
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new OperationCanceledException();
+	} catch (CompletionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof RuntimeException)
+			throw (RuntimeException) cause;
+		if (cause instanceof Error)
+			throw (Error) cause;
+		throw e;
+	} finally {
+		this.stopped = true;
+		// wait for the groups still running, their compilers read the class path locations of the builder
+		for (CompletableFuture<?> task : tasks) {
+			if (task == null) continue;
+			try {
+				task.join();
+			} catch (CompletionException e) {
+				// only the first failure is reported
+			}
+		}
+		executor.shutdown();
+	}
+	this.builder.notifier.checkCancel();
+	return true;
+}
+
+private void compileGroup(SourceFile[] group, SourceFile[] additionalUnits, BlockingQueue<CompilationResult> results) {
+	GroupNameEnvironment environment = new GroupNameEnvironment(this.builder.nameEnvironment);
+	Set<SourceFile> toCompile = new LinkedHashSet<>(Arrays.asList(group));
+	GroupCompiler compiler = new GroupCompiler(environment, this.builder.newCompilerOptions(), result -> {
+		if (this.stopped)
+			throw new AbortCompilation(true, null);
+		results.add(result);
+	}, toCompile);
+	int doNow = AbstractImageBuilder.MAX_AT_ONCE == 0 ? group.length : AbstractImageBuilder.MAX_AT_ONCE;
+	try {
+		while (!toCompile.isEmpty() && !this.stopped) {
+			// the units of the group compiled with the previous units are not compiled again
+			SourceFile[] units = new SourceFile[Math.min(doNow, toCompile.size())];
+			Iterator<SourceFile> iterator = toCompile.iterator();
+			for (int i = 0; i < units.length; i++) {
+				units[i] = iterator.next();
+				iterator.remove();
+			}
+			environment.setNames(AbstractImageBuilder.initialTypeNames(units), additionalUnits);
+			compiler.compile(units);
+		}
+	} catch (AbortCompilation ignored) {
+		// the build was cancelled, or failed
+	} finally {
+		environment.cleanup();
+	}
+}
+
+/**
+ * Answers the units split in at most the given number of groups, or null if they are all in the same package.
+ */
+static SourceFile[][] partition(SourceFile[] units, int groupCount, State lastState) {
+	Map<String, List<SourceFile>> packages = new LinkedHashMap<>();
+	for (SourceFile unit : units)
+		packages.computeIfAbsent(packageName(unit.initialTypeName), p -> new ArrayList<>()).add(unit);
+	groupCount = Math.min(groupCount, packages.size());
+	if (groupCount < 2)
+		return null;
+
+	Map<String, Map<String, Integer>> references = packageReferences(packages, lastState);
+	List<String> packageNames = new ArrayList<>(packages.keySet());
+	packageNames.sort(Comparator.comparingInt((String p) -> packages.get(p).size()).reversed()); // biggest first
+	int capacity = (units.length + groupCount - 1) / groupCount;
+	List<List<String>> groups = new ArrayList<>(groupCount);
+	int[] sizes = new int[groupCount];
+	for (int i = 0; i < groupCount; i++)
+		groups.add(new ArrayList<>());
+	for (String packageName : packageNames) {
+		int size = packages.get(packageName).size();
+		int best = -1, bestAffinity = 0;
+		for (int i = 0; i < groupCount; i++) {
+			if (sizes[i] + size > capacity) continue;
+			int affinity = affinity(packageName, groups.get(i), references);
+			if (best < 0 || affinity > bestAffinity || (affinity == bestAffinity && sizes[i] < sizes[best])) {
+				best = i;
+				bestAffinity = affinity;
+			}
+		}
+		if (best < 0) { // too big for any group
+			best = 0;
+			for (int i = 1; i < groupCount; i++)
+				if (sizes[i] < sizes[best])
+					best = i;
+		}
+		groups.get(best).add(packageName);
+		sizes[best] += size;
+	}
+
+	List<SourceFile[]> result = new ArrayList<>(groupCount);
+	for (int i = 0; i < groupCount; i++) {
+		if (sizes[i] == 0) continue;
+		SourceFile[] group = new SourceFile[sizes[i]];
+		int index = 0;
+		for (String packageName : groups.get(i))
+			for (SourceFile unit : packages.get(packageName))
+				group[index++] = unit;
+		result.add(group);
+	}
+	return result.size() < 2 ? null : result.toArray(new SourceFile[result.size()][]);
+}
+
+/*
+ * Answers the number of references between the units of two packages of the build, as recorded by the last state.
+ */
+private static Map<String, Map<String, Integer>> packageReferences(Map<String, List<SourceFile>> packages, State lastState) {
+	Map<String, Map<String, Integer>> references = new HashMap<>();
+	if (lastState == null)
+		return references;
+	Map<String, ReferenceCollection> collections = lastState.getReferences();
+	for (Map.Entry<String, List<SourceFile>> entry : packages.entrySet()) {
+		String packageName = entry.getKey();
+		for (SourceFile unit : entry.getValue()) {
+			ReferenceCollection collection = collections.get(unit.typeLocator());
+			if (collection == null) continue;
+			for (char[][] qualifiedName : collection.getQualifiedNameReferences()) {
+				String referenced = new String(CharOperation.concatWith(qualifiedName, '/'));
+				if (!referenced.equals(packageName) && packages.containsKey(referenced)) {
+					references.computeIfAbsent(packageName, p -> new HashMap<>()).merge(referenced, 1, Integer::sum);
+					references.computeIfAbsent(referenced, p -> new HashMap<>()).merge(packageName, 1, Integer::sum);
+				}
+			}
+		}
+	}
+	return references;
+}
+
+private static int affinity(String packageName, List<String> group, Map<String, Map<String, Integer>> references) {
+	Map<String, Integer> referenced = references.get(packageName);
+	String parent = packageName(packageName);
+	int affinity = 0;
+	for (String other : group) {
+		if (referenced != null)
+			affinity += referenced.getOrDefault(other, 0);
+		if (parent.equals(packageName(other)))
+			affinity++;
+	}
+	return affinity;
+}
+
+private static String packageName(String qualifiedName) {
+	int index = qualifiedName.lastIndexOf('/');
+	return index < 0 ? "" : qualifiedName.substring(0, index); //$NON-NLS-1$
+}
+
+/**
+ * The compiler of a group, which compiles the units of the group it looks up, and only builds the bindings of the
+ * types of the other units it looks up, from their declarations.
+ */
+private static final class GroupCompiler extends Compiler {
+
+	private final Set<SourceFile> toCompile; // the units of the group not compiled yet
+
+	GroupCompiler(INameEnvironment environment, CompilerOptions options, ICompilerRequestor requestor, Set<SourceFile> toCompile) {
+		super(environment, DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, requestor,
+				ProblemFactory.getProblemFactory(Locale.getDefault()));
+		this.useSingleThread = true; // the groups already use the processors
+		this.toCompile = toCompile;
+	}
+
+	@Override
+	public void accept(ICompilationUnit sourceUnit, AccessRestriction accessRestriction) {
+		if (this.toCompile.remove(sourceUnit)) {
+			super.accept(sourceUnit, accessRestriction);
+			return;
+		}
+		// compiled by another group, or by this group with previous units: its problems are reported there
+		CompilationResult unitResult = new CompilationResult(sourceUnit, this.totalUnits, this.totalUnits, this.options.maxProblemsPerUnit);
+		unitResult.checkSecondaryTypes = true;
+		try {
+			CompilationUnitDeclaration parsedUnit = this.parser.dietParse(sourceUnit, unitResult);
+			this.lookupEnvironment.buildTypeBindings(parsedUnit, accessRestriction);
+			this.lookupEnvironment.completeTypeBindings(parsedUnit);
+		} catch (AbortCompilationUnit e) {
+			if (unitResult.compilationUnit != sourceUnit)
+				throw e; // want to abort enclosing request to compile
+		}
+	}
+}
+
+/**
+ * A view of the name environment of the builder for the compiler of a group, with its own initial and additional
+ * units. The class path locations are shared by all groups, their caches are read and updated by one group at a time.
+ */
+private static final class GroupNameEnvironment extends NameEnvironment {
+
+	private final Object lock;
+
+	GroupNameEnvironment(NameEnvironment environment) {
+		super(environment);
+		this.lock = environment;
+	}
+
+	@Override
+	void setNames(String[] typeNames, SourceFile[] additionalFiles) {
+		synchronized (this.lock) {
+			super.setNames(typeNames, additionalFiles);
+		}
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
+		synchronized (this.lock) {
+			return super.findType(compoundName, moduleName);
+		}
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName, char[] moduleName) {
+		synchronized (this.lock) {
+			return super.findType(typeName, packageName, moduleName);
+		}
+	}
+
+	@Override
+	public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleName) {
+		synchronized (this.lock) {
+			return super.getModulesDeclaringPackage(packageName, moduleName);
+		}
+	}
+
+	@Override
+	public boolean hasCompilationUnit(char[][] qualifiedPackageName, char[] moduleName, boolean checkCUs) {
+		synchronized (this.lock) {
+			return super.hasCompilationUnit(qualifiedPackageName, moduleName, checkCUs);
+		}
+	}
+
+	@Override
+	public boolean isPackage(String qualifiedPackageName, char[] moduleName) {
+		synchronized (this.lock) {
+			return super.isPackage(qualifiedPackageName, moduleName);
+		}
+	}
+
+	@Override
+	public char[][] listPackages(char[] moduleName) {
+		synchronized (this.lock) {
+			return super.listPackages(moduleName);
+		}
+	}
+
+	@Override
+	public IModule getModule(char[] name) {
+		synchronized (this.lock) {
+			return super.getModule(name);
+		}
+	}
+
+	@Override
+	public char[][] getAllAutomaticModules() {
+		synchronized (this.lock) {
+			return super.getAllAutomaticModules();
+		}
+	}
+
+	@Override
+	public void applyModuleUpdates(IUpdatableModule compilerModule, IUpdatableModule.UpdateKind kind) {
+		synchronized (this.lock) {
+			super.applyModuleUpdates(compilerModule, kind);
+		}
+	}
+
+	@Override
+	public void cleanup() {
+		// the class path locations are cleaned up with the name environment of the builder
+		this.initialTypeNames = null;
+		this.additionalUnits = null;
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.builder;
 
+import java.lang.ref.SoftReference;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,16 +28,107 @@ import org.eclipse.jdt.internal.compiler.util.SortedCharArrays;
 
 public class ReferenceCollection {
 
+// the table numbering the simple names, as in root, simple and member names, and the qualified names of the
+// collection, shared by the collections of a state and of the states built from it, see State#names
+final InternedNameTable names;
+
+// the names are held as sets of their ids in the table, see InternedNameTable
 // contains no simple names as in just 'a' which is kept in simpleNameReferences instead
 // TODO after #addDependencies, it will contain simple names, though. See ReferenceCollectionTest
-char[][][] qualifiedNameReferences;
-char[][] simpleNameReferences;
-char[][] rootReferences;
+byte[] qualifiedNameReferences;
+byte[] simpleNameReferences;
+byte[] rootReferences;
+// keys of the fields and methods referenced or declared, e.g. 'p/X.foo', null if unknown, see CompilationUnitScope#recordMemberReference
+byte[] memberReferences;
+
+// the names decoded by the getters, kept until memory is short since the getters are usually called for all the
+// collections of a state at once, as when writing the state
+private SoftReference<DecodedNames> decodedNames;
+
+private static final class DecodedNames {
+	char[][][] qualifiedNames;
+	char[][] simpleNames;
+	char[][] rootNames;
+	char[][] memberNames;
+}
 
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
-	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
-	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
-	this.rootReferences = internSimpleNames(rootReferences, false);
+	this(qualifiedNameReferences, simpleNameReferences, rootReferences, null);
+}
+
+protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences) {
+	this(new InternedNameTable(16), qualifiedNameReferences, simpleNameReferences, rootReferences, memberReferences);
+}
+
+ReferenceCollection(InternedNameTable names, char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences) {
+	this.names = names;
+	this.qualifiedNameReferences = names.setOf(internQualifiedNames(qualifiedNameReferences, false));
+	this.simpleNameReferences = names.setOf(internSimpleNames(simpleNameReferences, true));
+	this.rootReferences = names.setOf(internSimpleNames(rootReferences, false));
+	this.memberReferences = memberReferences == null ? null : names.setOf(internSimpleNames(memberReferences, false));
+}
+
+private DecodedNames decodedNames() {
+	SoftReference<DecodedNames> reference = this.decodedNames;
+	DecodedNames decoded = reference == null ? null : reference.get();
+	if (decoded == null)
+		this.decodedNames = new SoftReference<>(decoded = new DecodedNames());
+	return decoded;
+}
+
+/**
+ * Answers the qualified names referenced, interned and sorted.
+ */
+public char[][][] getQualifiedNameReferences() {
+	DecodedNames decoded = decodedNames();
+	char[][][] names = decoded.qualifiedNames;
+	if (names == null) {
+		names = this.names.namesOf(this.qualifiedNameReferences, new char[InternedNameTable.size(this.qualifiedNameReferences)][][]);
+		Arrays.sort(names, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR);
+		decoded.qualifiedNames = names;
+	}
+	return names;
+}
+
+/**
+ * Answers the simple names referenced, interned and sorted.
+ */
+public char[][] getSimpleNameReferences() {
+	DecodedNames decoded = decodedNames();
+	char[][] names = decoded.simpleNames;
+	if (names == null)
+		decoded.simpleNames = names = simpleNamesOf(this.simpleNameReferences);
+	return names;
+}
+
+/**
+ * Answers the root names referenced, interned and sorted.
+ */
+public char[][] getRootReferences() {
+	DecodedNames decoded = decodedNames();
+	char[][] names = decoded.rootNames;
+	if (names == null)
+		decoded.rootNames = names = simpleNamesOf(this.rootReferences);
+	return names;
+}
+
+/**
+ * Answers the keys of the fields and methods referenced or declared, interned and sorted, or null if unknown.
+ */
+public char[][] getMemberReferences() {
+	if (this.memberReferences == null)
+		return null;
+	DecodedNames decoded = decodedNames();
+	char[][] names = decoded.memberNames;
+	if (names == null)
+		decoded.memberNames = names = simpleNamesOf(this.memberReferences);
+	return names;
+}
+
+private char[][] simpleNamesOf(byte[] set) {
+	char[][] simpleNames = this.names.namesOf(set, new char[InternedNameTable.size(set)][]);
+	Arrays.sort(simpleNames, SortedCharArrays.CHAR_ARR_COMPARATOR);
+	return simpleNames;
 }
 
 /**
@@ -48,6 +139,9 @@ protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpl
  * @see CompilationUnitScope#recordQualifiedReference
  */
 public void addDependencies(String[] typeNameDependencies) {
+	char[][][] qualifiedNames = getQualifiedNameReferences();
+	char[][] simpleNames = getSimpleNameReferences();
+	char[][] rootNames = getRootReferences();
 	// if each qualified type name is already known then all of its subNames can be skipped
 	// and its expected that very few qualified names in typeNameDependencies need to be added
 	// but could always take 'p1.p2.p3.X' and make all qualified names 'p1' 'p1.p2' 'p1.p2.p3' 'p1.p2.p3.X', then intern
@@ -59,13 +153,13 @@ public void addDependencies(String[] typeNameDependencies) {
 			qualifiedTypeName = internSimpleNames(qualifiedTypeName, false, false);
 			qualifiedTypeName = internedNames.add(qualifiedTypeName);
 			int idx;
-			while ((idx = Arrays.binarySearch(this.qualifiedNameReferences, qualifiedTypeName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) < 0) {
-				this.simpleNameReferences = ensureContainedInSortedOrder(this.simpleNameReferences, qualifiedTypeName[qualifiedTypeName.length - 1]);
-				this.rootReferences = ensureContainedInSortedOrder(this.rootReferences, qualifiedTypeName[0]);
+			while ((idx = Arrays.binarySearch(qualifiedNames, qualifiedTypeName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) < 0) {
+				simpleNames = ensureContainedInSortedOrder(simpleNames, qualifiedTypeName[qualifiedTypeName.length - 1]);
+				rootNames = ensureContainedInSortedOrder(rootNames, qualifiedTypeName[0]);
 
-				int length = this.qualifiedNameReferences.length;
+				int length = qualifiedNames.length;
 				idx = -(idx+1);
-				this.qualifiedNameReferences = SortedCharArrays.insertIntoArray(this.qualifiedNameReferences, new char[length + 1][][], qualifiedTypeName, idx, this.qualifiedNameReferences.length);
+				qualifiedNames = SortedCharArrays.insertIntoArray(qualifiedNames, new char[length + 1][][], qualifiedTypeName, idx, qualifiedNames.length);
 
 				qualifiedTypeName = CharOperation.subarray(qualifiedTypeName, 0, qualifiedTypeName.length - 1);
 				char[][][] temp = internQualifiedNames(new char[][][] {qualifiedTypeName}, false);
@@ -75,10 +169,14 @@ public void addDependencies(String[] typeNameDependencies) {
 			}
 		}
 	}
+	this.qualifiedNameReferences = this.names.setOf(qualifiedNames);
+	this.simpleNameReferences = this.names.setOf(simpleNames);
+	this.rootReferences = this.names.setOf(rootNames);
+	this.decodedNames = null;
 }
 
 public boolean includes(char[] simpleName) {
-	boolean result = sortedArrayContains(this.simpleNameReferences, simpleName, SortedCharArrays.CHAR_ARR_COMPARATOR);
+	boolean result = InternedNameTable.contains(this.simpleNameReferences, this.names.find(simpleName));
 	if (REFERENCE_COLLECTION_DEBUG) {
 		assertIncludes(result, simpleName);
 	}
@@ -86,7 +184,7 @@ public boolean includes(char[] simpleName) {
 }
 
 public boolean includes(char[][] qualifiedName) {
-	boolean result = sortedArrayContains(this.qualifiedNameReferences, qualifiedName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR);
+	boolean result = InternedNameTable.contains(this.qualifiedNameReferences, this.names.find(qualifiedName));
 	if (REFERENCE_COLLECTION_DEBUG) {
 		assertIncludes(result, qualifiedName);
 	}
@@ -107,124 +205,124 @@ public boolean includes(char[][][] qualifiedNames, char[][] simpleNames) {
 }
 
 public boolean includes(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
-	boolean result = doIncludes(qualifiedNames, simpleNames, rootNames);
+	boolean result = doIncludes(Query.of(this.names, qualifiedNames, simpleNames, rootNames));
 	if (REFERENCE_COLLECTION_DEBUG) {
 		assertIncludes(result, qualifiedNames, simpleNames, rootNames);
 	}
 	return result;
 }
 
-private boolean doIncludes(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
-	if (rootNames != null) {
-		if (!includesRootName(rootNames))
+/*
+ * The ids of the names of a query in a table, computed once for all the collections of the table queried with the same
+ * names.
+ */
+private static final class Query {
+	// the collections of a state are usually queried with the same names
+	private static volatile Query Last;
+	private static volatile Query LastMembers;
+
+	final InternedNameTable table;
+	final char[][][] qualifiedNames;
+	final char[][] simpleNames;
+	final char[][] rootNames;
+	final int tableSize; // the number of names numbered when the ids were computed
+	final int[] qualifiedIds;
+	final int[] simpleIds;
+	final int[] rootIds;
+	final int[] singleSegmentIds; // the simple name ids of the qualified names made of a single simple name
+
+	private Query(InternedNameTable table, char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames, int tableSize) {
+		this.table = table;
+		this.qualifiedNames = qualifiedNames;
+		this.simpleNames = simpleNames;
+		this.rootNames = rootNames;
+		this.tableSize = tableSize;
+		this.qualifiedIds = qualifiedNames == null ? null : table.idsOf(qualifiedNames);
+		this.simpleIds = simpleNames == null ? null : table.idsOf(simpleNames);
+		this.rootIds = rootNames == null ? null : table.idsOf(rootNames);
+		if (qualifiedNames == null) {
+			this.singleSegmentIds = null;
+		} else {
+			// the qualified names are sorted longest first
+			int count = 0;
+			for (int i = qualifiedNames.length - 1; i >= 0 && qualifiedNames[i].length == 1; i--)
+				count++;
+			char[][] segments = new char[count][];
+			for (int i = 0; i < count; i++)
+				segments[i] = qualifiedNames[qualifiedNames.length - 1 - i][0];
+			this.singleSegmentIds = table.idsOf(segments);
+		}
+	}
+
+	static Query of(InternedNameTable table, char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
+		int tableSize = table.size();
+		Query last = Last;
+		if (last != null && last.table == table && last.qualifiedNames == qualifiedNames && last.simpleNames == simpleNames
+				&& last.rootNames == rootNames && last.tableSize == tableSize)
+			return last;
+		return Last = new Query(table, qualifiedNames, simpleNames, rootNames, tableSize);
+	}
+
+	static Query ofMembers(InternedNameTable table, char[][] memberNames) {
+		int tableSize = table.size();
+		Query last = LastMembers;
+		if (last != null && last.table == table && last.simpleNames == memberNames && last.tableSize == tableSize)
+			return last;
+		return LastMembers = new Query(table, null, memberNames, null, tableSize);
+	}
+}
+
+private boolean doIncludes(Query query) {
+	if (query.rootIds != null) {
+		if (!InternedNameTable.intersects(this.rootReferences, query.rootIds))
 			return false;
 	}
 	// if either collection of names is null, it means it contained a well known name so we know it already has a match
-	if (simpleNames == null || qualifiedNames == null) {
-		if (simpleNames == null && qualifiedNames == null) {
+	if (query.simpleIds == null || query.qualifiedIds == null) {
+		if (query.simpleIds == null && query.qualifiedIds == null) {
 			if (JavaBuilder.DEBUG)
 				System.out.println("Found well known match"); //$NON-NLS-1$
 			return true;
-		} else if (qualifiedNames == null) {
-			return includesSimpleName(simpleNames);
+		} else if (query.qualifiedIds == null) {
+			return InternedNameTable.intersects(this.simpleNameReferences, query.simpleIds);
 		}
-		return includesQualifiedName(qualifiedNames);
+		return includesQualifiedName(query);
 	}
 
-	if (simpleNames.length <= qualifiedNames.length) {
-		return includesSimpleName(simpleNames) && includesQualifiedName(qualifiedNames);
+	if (query.simpleIds.length <= query.qualifiedIds.length) {
+		return InternedNameTable.intersects(this.simpleNameReferences, query.simpleIds) && includesQualifiedName(query);
 	} else {
-		return includesQualifiedName(qualifiedNames) && includesSimpleName(simpleNames);
+		return includesQualifiedName(query) && InternedNameTable.intersects(this.simpleNameReferences, query.simpleIds);
 	}
 }
 
+/**
+ * Answers whether the given sorted and interned keys of fields or methods intersect with the keys of the members
+ * referenced or declared, or whether those are unknown.
+ *
+ * @see #internSimpleNames(char[][], boolean)
+ */
+public boolean includesMember(char[][] memberKeys) {
+	if (this.memberReferences == null)
+		return true;
+	return InternedNameTable.intersects(this.memberReferences, Query.ofMembers(this.names, memberKeys).simpleIds);
+}
+
 public boolean insideRoot(char[] rootName) {
-	boolean result = sortedArrayContains(this.rootReferences, rootName, SortedCharArrays.CHAR_ARR_COMPARATOR);
+	boolean result = InternedNameTable.contains(this.rootReferences, this.names.find(rootName));
 	if (REFERENCE_COLLECTION_DEBUG) {
 		if (result != debugIncludes(rootName)) {
 			String message = "Mismatch: " + String.valueOf(rootName) + (result ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-					+ Arrays.asList(CharOperation.toStrings(this.rootReferences));
+					+ Arrays.asList(CharOperation.toStrings(getRootReferences()));
 			throw new IllegalStateException(message);
 		}
 	}
 	return result;
 }
 
-private static <T> boolean sortedArrayContains(T[] array, T element, Comparator<? super T> comparator) {
-	int l = array.length;
-	if (l < SortedCharArrays.BINARY_SEARCH_THRESHOLD) {
-		for (int i = 0; i < l; i++)
-			if (element == array[i]) return true;
-		return false;
-	}
-	return Arrays.binarySearch(array, element, comparator) >= 0;
-}
-
-private boolean includesSimpleName(char[][] simpleNames) {
-	return intersects(simpleNames, this.simpleNameReferences, SortedCharArrays.CHAR_ARR_COMPARATOR);
-}
-
-private boolean includesQualifiedName(char[][][] qualifiedNames) {
-	if (intersects(qualifiedNames, this.qualifiedNameReferences, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) {
-		return true;
-	}
-	char[][] maybeSimpleName;
-	for(int i = qualifiedNames.length - 1; i >= 0 && (maybeSimpleName = qualifiedNames[i]).length == 1; i--) {
-		if (includes(maybeSimpleName[0])) {
-			return true;
-		}
-	}
-	return false;
-}
-
-private boolean includesRootName(char[][] rootNames) {
-	return intersects(rootNames, this.rootReferences, SortedCharArrays.CHAR_ARR_COMPARATOR);
-}
-
-private static <T> boolean intersects(T[] firstSortedArr, T[] secondSortedArr, Comparator<? super T> comparator) {
-	/*
-	 * Both arrays are sorted, so we can walk them in pairs.
-	 * Using binary search for the remaining array elements to figure the next
-	 * interesting index can greatly reduce the runtime cost for arrays that do
-	 * have more than a few elements.
-	 */
-	for(int i = 0, l = firstSortedArr.length, j = 0, k = secondSortedArr.length; i < l && j < k;) {
-		T firstElement = firstSortedArr[i];
-		T secondElement = secondSortedArr[j];
-		int compare = comparator.compare(firstElement, secondElement);
-		if (compare == 0) {
-			return true;
-		} else if (compare < 0) {
-			/*
-			 * left side is smaller than the right side, but not exactly the right side.
-			 * Take the next element from the left and proceed.
-			 *
-			 * If the number of remaining elements in the first array is sufficiently big,
-			 * attempt a binary search for the second element to possibly skip a few elements.
-			 */
-			i++;
-			if (l - i > SortedCharArrays.BINARY_SEARCH_THRESHOLD) {
-				i = Arrays.binarySearch(firstSortedArr, i, l, secondElement, comparator);
-				if (i >= 0) {
-					return true;
-				}
-				i = -(i + 1);
-			}
-		} else {
-			/*
-			 * the inverse logic is applied here
-			 */
-			j++;
-			if (k - j > SortedCharArrays.BINARY_SEARCH_THRESHOLD) {
-				j = Arrays.binarySearch(secondSortedArr, j, k, firstElement, comparator);
-				if (j >= 0) {
-					return true;
-				}
-				j = -(j + 1);
-			}
-		}
-	}
-	return false;
+private boolean includesQualifiedName(Query query) {
+	return InternedNameTable.intersects(this.qualifiedNameReferences, query.qualifiedIds)
+			|| InternedNameTable.intersects(this.simpleNameReferences, query.singleSegmentIds);
 }
 
 private static char[][] ensureContainedInSortedOrder(char[][] sortedArray, char[] entry) {
@@ -499,7 +597,7 @@ public static boolean REFERENCE_COLLECTION_DEBUG = false;
 private void assertIncludes(boolean expectation, char[] simpleName) {
 	if (expectation != debugIncludes(simpleName)) {
 		String message = "Mismatch: " + String.valueOf(simpleName) + (expectation ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-				+ Arrays.asList(CharOperation.toStrings(this.simpleNameReferences));
+				+ Arrays.asList(CharOperation.toStrings(getSimpleNameReferences()));
 		throw new IllegalStateException(message);
 	}
 }
@@ -507,7 +605,7 @@ private void assertIncludes(boolean expectation, char[] simpleName) {
 private void assertIncludes(boolean expectation, char[][] qualifiedName) {
 	if (expectation != debugIncludes(qualifiedName)) {
 		String message = "Mismatch: " + CharOperation.toString(qualifiedName) + (expectation ? " should not " : " should ") + " be included in "  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-				+ qualifiedNamesToString(this.qualifiedNameReferences);
+				+ qualifiedNamesToString(getQualifiedNameReferences());
 		throw new IllegalStateException(message);
 	}
 }
@@ -515,9 +613,9 @@ private void assertIncludes(boolean expectation, char[][] qualifiedName) {
 private void assertIncludes(boolean expectation, char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
 	if (expectation != debugIncludes(qualifiedNames, simpleNames, rootNames)) {
 		String message = String.format("Mismatched includes(..): ReferenceCollection([%s], %s, %s).includes([%s], %s, %s)", //$NON-NLS-1$
-				qualifiedNamesToString(this.qualifiedNameReferences),
-				Arrays.toString(CharOperation.toStrings(this.simpleNameReferences)),
-				Arrays.toString(CharOperation.toStrings(this.rootReferences)),
+				qualifiedNamesToString(getQualifiedNameReferences()),
+				Arrays.toString(CharOperation.toStrings(getSimpleNameReferences())),
+				Arrays.toString(CharOperation.toStrings(getRootReferences())),
 				qualifiedNamesToString(qualifiedNames),
 				Arrays.toString(CharOperation.toStrings(simpleNames)),
 				Arrays.toString(CharOperation.toStrings(rootNames))
@@ -598,20 +696,23 @@ private boolean debugIncludes(char[][][] qualifiedNames, char[][] simpleNames, c
 }
 
 private boolean debugInsideRoot(char[] rootName) {
-	for (int i = 0, l = this.rootReferences.length; i < l; i++)
-		if (rootName == this.rootReferences[i]) return true;
+	char[][] rootReferences = getRootReferences();
+	for (int i = 0, l = rootReferences.length; i < l; i++)
+		if (rootName == rootReferences[i]) return true;
 	return false;
 }
 
 private boolean debugIncludes(char[] simpleName) {
-	for (int i = 0, l = this.simpleNameReferences.length; i < l; i++)
-		if (simpleName == this.simpleNameReferences[i]) return true;
+	char[][] simpleNameReferences = getSimpleNameReferences();
+	for (int i = 0, l = simpleNameReferences.length; i < l; i++)
+		if (simpleName == simpleNameReferences[i]) return true;
 	return false;
 }
 
 private boolean debugIncludes(char[][] qualifiedName) {
-	for (int i = 0, l = this.qualifiedNameReferences.length; i < l; i++)
-		if (qualifiedName == this.qualifiedNameReferences[i]) return true;
+	char[][][] qualifiedNameReferences = getQualifiedNameReferences();
+	for (int i = 0, l = qualifiedNameReferences.length; i < l; i++)
+		if (qualifiedName == qualifiedNameReferences[i]) return true;
 	return false;
 }
 
@@ -629,9 +730,15 @@ public boolean equals(Object obj) {
 		return false;
 	}
 	ReferenceCollection other = (ReferenceCollection) obj;
-	return Arrays.deepEquals(this.qualifiedNameReferences, other.qualifiedNameReferences)
-			&& Arrays.deepEquals(this.rootReferences, other.rootReferences)
-			&& Arrays.deepEquals(this.simpleNameReferences, other.simpleNameReferences);
+	if (this.names != other.names) // the ids differ from one table to another
+		return Arrays.deepEquals(getQualifiedNameReferences(), other.getQualifiedNameReferences())
+				&& Arrays.deepEquals(getRootReferences(), other.getRootReferences())
+				&& Arrays.deepEquals(getSimpleNameReferences(), other.getSimpleNameReferences())
+				&& Arrays.deepEquals(getMemberReferences(), other.getMemberReferences());
+	return Arrays.equals(this.qualifiedNameReferences, other.qualifiedNameReferences)
+			&& Arrays.equals(this.rootReferences, other.rootReferences)
+			&& Arrays.equals(this.simpleNameReferences, other.simpleNameReferences)
+			&& Arrays.equals(this.memberReferences, other.memberReferences);
 }
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,9 +20,11 @@ package org.eclipse.jdt.internal.core.builder;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -68,12 +70,22 @@ public ClasspathLocation[] binaryLocations;
 public ClasspathLocation[] testBinaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
 Map<String, ReferenceCollection> references;
+// numbers the names of the reference collections, shared with the states built incrementally from this state, so that
+// the names no longer referenced are dropped with the states by the next full build, or when the state is read again
+InternedNameTable names;
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
 public Map<String, String> typeLocators;
 
+// keyed by qualified class file name "p1/p2/A$B", value is what was last written to the class file
+Map<String, ClassFileFingerprint> classFileFingerprints;
+
 int buildNumber;
 long lastStructuralBuildTime;
-SimpleLookupTable structuralBuildTimes;
+Map<String, Long> structuralBuildTimes;
+// fingerprint of the structure of all the class files built by a full build, kept until a structural change, 0 if unknown
+long structuralFingerprint;
+// keyed by prereq project name, value is the structural fingerprint of the prereq project when last built, if known
+Map<String, Long> structuralFingerprints;
 
 private String[] knownPackageNames; // of the form "p1/p2"
 
@@ -81,13 +93,15 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x0026;
+public static final byte VERSION = 0x002C;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
 static final byte EXTERNAL_JAR = 3;
 static final byte INTERNAL_JAR = 4;
 
+private static final int SECTION_COUNT = 5; // see write(DataOutputStream)
+
 /** typical values of accessRule.pattern for encoding hint */
 private static final int[] PROBLEM_IDS = new int[] { 0, IProblem.ForbiddenReference, IProblem.DiscouragedReference,
 		IProblem.ForbiddenReference | AccessRule.IgnoreIfBetter,
@@ -107,11 +121,15 @@ protected State(JavaBuilder javaBuilder) {
 	this.testSourceLocations = javaBuilder.testNameEnvironment.sourceLocations;
 	this.testBinaryLocations = javaBuilder.testNameEnvironment.binaryLocations;
 	this.references = new LinkedHashMap<>(7);
+	this.names = new InternedNameTable(1024);
 	this.typeLocators = new LinkedHashMap<>(7);
+	this.classFileFingerprints = new LinkedHashMap<>(7);
 
 	this.buildNumber = 0; // indicates a full build
 	this.lastStructuralBuildTime = computeStructuralBuildTime(javaBuilder.lastState == null ? 0 : javaBuilder.lastState.lastStructuralBuildTime);
-	this.structuralBuildTimes = new SimpleLookupTable(3);
+	this.structuralBuildTimes = new LinkedHashMap<>(3);
+	this.structuralFingerprint = 0;
+	this.structuralFingerprints = new LinkedHashMap<>(3);
 }
 
 long computeStructuralBuildTime(long previousTime) {
@@ -128,9 +146,13 @@ void copyFrom(State lastState) {
 	this.buildNumber = lastState.buildNumber + 1;
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
+	this.structuralFingerprint = lastState.structuralFingerprint;
+	this.structuralFingerprints = lastState.structuralFingerprints;
 
 	this.references = new LinkedHashMap<>(lastState.references);
+	this.names = lastState.names;
 	this.typeLocators = new LinkedHashMap<>(lastState.typeLocators);
+	this.classFileFingerprints = new LinkedHashMap<>(lastState.classFileFingerprints);
 }
 
 /**
@@ -147,18 +169,21 @@ public boolean equals(Object obj) {
 	State other = (State) obj;
 	return this.buildNumber == other.buildNumber
 			&& this.lastStructuralBuildTime == other.lastStructuralBuildTime
+			&& this.structuralFingerprint == other.structuralFingerprint
 			&& Objects.equals(this.javaProjectName, other.javaProjectName)
 			&& Arrays.equals(this.sourceLocations, other.sourceLocations)
 			&& Arrays.equals(this.binaryLocations, other.binaryLocations)
 			&& Arrays.equals(this.testSourceLocations, other.testSourceLocations)
 			&& Arrays.equals(this.testBinaryLocations, other.testBinaryLocations)
 			&& Objects.equals(this.typeLocators, other.typeLocators)
-			&& Objects.equals(this.references, other.references);
+			&& Objects.equals(this.references, other.references)
+			&& Objects.equals(this.classFileFingerprints, other.classFileFingerprints);
 // Below fields aren't persisted
 //			&& this.previousStructuralBuildTime == other.previousStructuralBuildTime
 //			&& Arrays.equals(this.knownPackageNames, other.knownPackageNames)
 //			&& Objects.equals(this.structurallyChangedTypes, other.structurallyChangedTypes)
 //			&& Objects.equals(this.structuralBuildTimes, other.structuralBuildTimes)
+//			&& Objects.equals(this.structuralFingerprints, other.structuralFingerprints)
 }
 
 @Override
@@ -166,6 +191,10 @@ public int hashCode() {
 	return 31 + Objects.hash(this.javaProjectName);
 }
 
+ClassFileFingerprint getClassFileFingerprint(String qualifiedFileName) {
+	return this.classFileFingerprints.get(qualifiedFileName);
+}
+
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
 	Object c = this.references.get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
@@ -177,6 +206,18 @@ public Map<String, ReferenceCollection> getReferences() {
 	return this.references;
 }
 
+/*
+ * Decodes the tables of a state read from a state file, and answers false if any could not be decoded, in which case
+ * the state cannot be built upon.
+ */
+boolean decodeSections() {
+	boolean decoded = true;
+	for (Map<?, ?> table : new Map<?, ?>[] {this.structuralBuildTimes, this.structuralFingerprints, this.typeLocators, this.references, this.classFileFingerprints})
+		if (table instanceof StateSection && !((StateSection<?, ?>) table).decode())
+			decoded = false;
+	return decoded;
+}
+
 StringSet getStructurallyChangedTypes(State prereqState) {
 	if (prereqState != null && prereqState.previousStructuralBuildTime > 0) {
 		Object o = this.structuralBuildTimes.get(prereqState.javaProjectName);
@@ -229,28 +270,81 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 }
 
 void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+	record(typeLocator, qualifiedRefs, simpleRefs, rootRefs, null, mainTypeName, typeNames);
+}
+
+void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[][] memberRefs, char[] mainTypeName, ArrayList typeNames) {
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		this.references.put(typeLocator, new ReferenceCollection(this.names, qualifiedRefs, simpleRefs, rootRefs, memberRefs));
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		this.references.put(typeLocator, new AdditionalTypeCollection(this.names, definedTypeNames, qualifiedRefs, simpleRefs, rootRefs, memberRefs));
 	}
 }
 
+void recordClassFileFingerprint(String qualifiedFileName, ClassFileFingerprint fingerprint) {
+	this.classFileFingerprints.put(qualifiedFileName, fingerprint);
+}
+
 void recordLocatorForType(String qualifiedTypeName, String typeLocator) {
 	this.knownPackageNames = null;
+	this.typeLocators.put(sharedTypeName(qualifiedTypeName, typeLocator), typeLocator);
+}
+
+private static String sharedTypeName(String qualifiedTypeName, String typeLocator) {
 	// in the common case, the qualifiedTypeName is a substring of the typeLocator so share the char[] by using String.substring()
 	int start = typeLocator.indexOf(qualifiedTypeName, 0);
 	if (start > 0)
-		qualifiedTypeName = typeLocator.substring(start, start + qualifiedTypeName.length());
-	this.typeLocators.put(qualifiedTypeName, typeLocator);
+		return typeLocator.substring(start, start + qualifiedTypeName.length());
+	return qualifiedTypeName;
 }
 
 void recordStructuralDependency(IProject prereqProject, State prereqState) {
-	if (prereqState != null)
+	if (prereqState != null) {
 		if (prereqState.lastStructuralBuildTime > 0) // can skip if 0 (full build) since its assumed to be 0 if unknown
 			this.structuralBuildTimes.put(prereqProject.getName(), Long.valueOf(prereqState.lastStructuralBuildTime));
+		if (prereqState.structuralFingerprint != 0)
+			this.structuralFingerprints.put(prereqProject.getName(), Long.valueOf(prereqState.structuralFingerprint));
+		else
+			this.structuralFingerprints.remove(prereqProject.getName());
+	}
+}
+
+/*
+ * Computes the fingerprint of the structure of all the class files, once built from scratch, so that a project
+ * depending on this one can tell whether this project has structural changes compared to when it was last built,
+ * even though all its class files were written again. The fingerprint is unknown when the structure of some class
+ * files was not computed, e.g. when no project depended on this one.
+ */
+void recordStructuralFingerprint() {
+	String[] names = new String[this.classFileFingerprints.size()];
+	int length = 0;
+	for (Entry<String, ClassFileFingerprint> entry : this.classFileFingerprints.entrySet()) {
+		long structure = entry.getValue().structure;
+		if (structure == ClassFileFingerprint.UNKNOWN) {
+			this.structuralFingerprint = 0;
+			return;
+		}
+		if (structure != 0) // local and anonymous types have no dependents
+			names[length++] = entry.getKey();
+	}
+	Arrays.sort(names, 0, length);
+	try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(length * 32); DataOutputStream out = new DataOutputStream(bytes)) {
+		for (int i = 0; i < length; i++) {
+			out.writeUTF(names[i]);
+			out.writeLong(this.classFileFingerprints.get(names[i]).structure);
+		}
+		out.flush();
+		long fingerprint = Util.hash(bytes.toByteArray());
+		this.structuralFingerprint = fingerprint == 0 ? 1 : fingerprint; // 0 means unknown
+	} catch (IOException e) {
+		this.structuralFingerprint = 0; // cannot happen when writing to an array
+	}
+}
+
+void removeClassFileFingerprint(String qualifiedFileName) {
+	this.classFileFingerprints.remove(qualifiedFileName);
 }
 
 void removeLocator(String typeLocatorToRemove) {
@@ -279,7 +373,11 @@ void removeQualifiedTypeName(String qualifiedTypeNameToRemove) {
 	this.typeLocators.remove(qualifiedTypeNameToRemove);
 }
 
-static State read(IProject project, DataInputStream input) throws IOException, CoreException {
+/*
+ * Reads a state from the given stream, which reads the given mapping of the state file without reading ahead, if any,
+ * in which case the sections are read in place from the mapping.
+ */
+static State read(IProject project, DataInputStream input, ByteBuffer mapping) throws IOException, CoreException {
 	CompressedReader in = new CompressedReader(input);
 	if (JavaBuilder.DEBUG) {
 		trace("About to read state " + project.getName()); //$NON-NLS-1$
@@ -301,6 +399,7 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	}
 	newState.buildNumber = in.readInt();
 	newState.lastStructuralBuildTime = in.readLong();
+	newState.structuralFingerprint = in.readLong();
 
 	ArrayList<ClasspathLocation> allLocationsForEEA = null;
 	if (JavaCore.ENABLED.equals(JavaCore.create(project).getOption(JavaCore.CORE_JAVA_BUILD_EXTERNAL_ANNOTATIONS_FROM_ALL_LOCATIONS, true))) {
@@ -313,20 +412,45 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	newState.testSourceLocations = readSourceLocations(project, in, allLocationsForEEA);
 	newState.testBinaryLocations = readBinaryLocations(project, in, newState.testSourceLocations, allLocationsForEEA);
 
-	int length;
-	newState.structuralBuildTimes = new SimpleLookupTable(length = in.readInt());
+	ByteBuffer[] sections = StateSection.read(input, mapping, SECTION_COUNT);
+	newState.structuralBuildTimes = new StateSection<>(newState.javaProjectName, sections[0], State::readStructuralTable);
+	newState.structuralFingerprints = new StateSection<>(newState.javaProjectName, sections[1], State::readStructuralTable);
+	newState.typeLocators = new StateSection<>(newState.javaProjectName, sections[2], State::readTypeLocators);
+	InternedNameTable names = newState.names = new InternedNameTable(1024);
+	newState.references = new StateSection<>(newState.javaProjectName, sections[3], in -> readReferences(in, names));
+	newState.classFileFingerprints = new StateSection<>(newState.javaProjectName, sections[4], State::readClassFileFingerprints);
+	if (JavaBuilder.DEBUG) {
+		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	}
+	return newState;
+}
+
+private static Map<String, Long> readStructuralTable(CompressedReader in) throws IOException {
+	int length = in.readInt();
+	Map<String, Long> table = new LinkedHashMap<>((int) (length / 0.75 + 1));
 	for (int i = 0; i < length; i++)
-		newState.structuralBuildTimes.put(in.readStringUsingDictionary(), Long.valueOf(in.readLong()));
+		table.put(in.readStringUsingDictionary(), Long.valueOf(in.readLong()));
+	return table;
+}
 
+private static Map<String, String> readTypeLocators(CompressedReader in) throws IOException {
+	int length;
 	String[] internedTypeLocators = new String[length = in.readInt()];
 	for (int i = 0; i < length; i++)
 		internedTypeLocators[i] = in.readStringUsingLast();
 
 	length = in.readInt();
-	newState.typeLocators = new LinkedHashMap<>((int) (length / 0.75 + 1));
-	for (int i = 0; i < length; i++)
-		newState.recordLocatorForType(in.readStringUsingLast(), internedTypeLocators[in.readIntInRange(internedTypeLocators.length)]);
+	Map<String, String> typeLocators = new LinkedHashMap<>((int) (length / 0.75 + 1));
+	for (int i = 0; i < length; i++) {
+		String qualifiedTypeName = in.readStringUsingLast();
+		String typeLocator = internedTypeLocators[in.readIntInRange(internedTypeLocators.length)];
+		typeLocators.put(sharedTypeName(qualifiedTypeName, typeLocator), typeLocator);
+	}
+	return typeLocators;
+}
 
+private static Map<String, ReferenceCollection> readReferences(CompressedReader in, InternedNameTable names) throws IOException {
+	int length;
 	/*
 	 * Here we read global arrays of names for the entire project - do not mess up the ordering while interning
 	 */
@@ -343,9 +467,9 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false /* drop well known */, false /* do not sort */);
 
 	length = in.readInt();
-	newState.references = new LinkedHashMap((int) (length / 0.75 + 1));
+	Map<String, ReferenceCollection> references = new LinkedHashMap<>((int) (length / 0.75 + 1));
 	for (int i = 0; i < length; i++) {
-		String typeLocator = internedTypeLocators[in.readInt()];
+		String typeLocator = in.readStringUsingLast();
 		ReferenceCollection collection = null;
 		switch (in.readByte()) {
 			case 1 :
@@ -359,7 +483,8 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 				char[][] rootNames = new char[in.readInt()][];
 				for (int j = 0, m = rootNames.length; j < m; j++)
 					rootNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
+				char[][] memberNames = readMemberNames(in, internedSimpleNames);
+				collection = new AdditionalTypeCollection(names, additionalTypeNames, qualifiedNames, simpleNames, rootNames, memberNames);
 				break;
 			case 2 :
 				char[][][] qNames = new char[in.readInt()][][];
@@ -371,14 +496,20 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 				char[][] rNames = new char[in.readInt()][];
 				for (int j = 0, m = rNames.length; j < m; j++)
 					rNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
+				char[][] mNames = readMemberNames(in, internedSimpleNames);
+				collection = new ReferenceCollection(names, qNames, sNames, rNames, mNames);
 		}
-		newState.references.put(typeLocator, collection);
+		references.put(typeLocator, collection);
 	}
-	if (JavaBuilder.DEBUG) {
-		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
-	}
-	return newState;
+	return references;
+}
+
+private static Map<String, ClassFileFingerprint> readClassFileFingerprints(CompressedReader in) throws IOException {
+	int length = in.readInt();
+	Map<String, ClassFileFingerprint> classFileFingerprints = new LinkedHashMap<>((int) (length / 0.75 + 1));
+	for (int i = 0; i < length; i++)
+		classFileFingerprints.put(in.readStringUsingLast(), new ClassFileFingerprint(in.readLong(), in.readLong(), in.readLong()));
+	return classFileFingerprints;
 }
 
 private static ClasspathMultiDirectory[] readSourceLocations(IProject project, CompressedReader in, List<ClasspathLocation> allLocationsForEEA) throws IOException {
@@ -501,6 +632,7 @@ boolean wasNoopBuild() {
 }
 
 void tagAsStructurallyChanged() {
+	this.structuralFingerprint = 0; // only known for full builds
 	this.previousStructuralBuildTime = this.lastStructuralBuildTime;
 	this.structurallyChangedTypes = new StringSet(7);
 	this.lastStructuralBuildTime = computeStructuralBuildTime(this.previousStructuralBuildTime);
@@ -511,6 +643,11 @@ boolean wasStructurallyChanged(IProject prereqProject, State prereqState) {
 		Object o = this.structuralBuildTimes.get(prereqProject.getName());
 		long previous = o == null ? 0 : ((Long) o).longValue();
 		if (previous == prereqState.lastStructuralBuildTime) return false;
+		if (prereqState.structuralFingerprint != 0) {
+			// rebuilt from scratch since, but with the same structure, e.g. after a clean
+			o = this.structuralFingerprints.get(prereqProject.getName());
+			if (o != null && ((Long) o).longValue() == prereqState.structuralFingerprint) return false;
+		}
 	}
 	return true;
 }
@@ -526,20 +663,19 @@ void wasStructurallyChanged(String typeName) {
 
 void write(DataOutputStream output) throws IOException {
 	CompressedWriter out=new CompressedWriter(output);
-	int length;
-	Object[] keyTable;
-	Object[] valueTable;
 
 /*
  * byte		VERSION
  * String		project name
  * int			build number
  * int			last structural build number
+ * long		structural fingerprint
 */
 	out.writeByte(VERSION);
 	out.writeStringUsingDictionary(this.javaProjectName);
 	out.writeInt(this.buildNumber);
 	out.writeLong(this.lastStructuralBuildTime);
+	out.writeLong(this.structuralFingerprint);
 
 /*
  * ClasspathMultiDirectory[]
@@ -570,44 +706,51 @@ void write(DataOutputStream output) throws IOException {
 	writeBinaryLocations(out, this.testBinaryLocations, this.testSourceLocations);
 
 /*
- * Structural build numbers table
+ * The tables are written as sections decoded when first used, after the table of the sections
+ * int			number of sections
+ * int			offset of the section from the end of the table
+ * int			length of the deflated section
+ * int			CRC-32 of the deflated section
+ * byte[]		deflated sections: structural build numbers, structural fingerprints, type locators, references
+ * 				and class file fingerprints
+ */
+	StateSection.write(output,
+			new Map<?, ?>[] {this.structuralBuildTimes, this.structuralFingerprints, this.typeLocators, this.references, this.classFileFingerprints},
+			new StateSection.Writer[] {o -> writeStructuralTable(o, this.structuralBuildTimes), o -> writeStructuralTable(o, this.structuralFingerprints),
+					this::writeTypeLocators, this::writeReferences, this::writeClassFileFingerprints});
+}
+
+/*
+ * Structural build numbers table, or structural fingerprints table
  * String		prereq project name
- * int			last structural build number
-*/
-	out.writeInt(length = this.structuralBuildTimes.elementSize);
-	if (length > 0) {
-		keyTable = this.structuralBuildTimes.keyTable;
-		valueTable = this.structuralBuildTimes.valueTable;
-		for (int i = 0, l = keyTable.length; i < l; i++) {
-			if (keyTable[i] != null) {
-				length--;
-				out.writeStringUsingDictionary((String) keyTable[i]);
-				out.writeLong(((Long) valueTable[i]).longValue());
-			}
-		}
-		if (JavaBuilder.DEBUG && length != 0) {
-			trace("structuralBuildNumbers table is inconsistent"); //$NON-NLS-1$
-		}
+ * long		last structural build number, or structural fingerprint
+ */
+private static void writeStructuralTable(CompressedWriter out, Map<String, Long> table) throws IOException {
+	out.writeInt(table.size());
+	for (Entry<String, Long> entry : table.entrySet()) {
+		out.writeStringUsingDictionary(entry.getKey());
+		out.writeLong(entry.getValue().longValue());
 	}
+}
 
+private void writeTypeLocators(CompressedWriter out) throws IOException {
+	int length;
 /*
  * String[]	Interned type locators
  */
-	out.writeInt(length = this.references.size());
-	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
-	if (length > 0) {
-		Set<String> keys = this.references.keySet();
-		for (String key : keys) {
-			if (key != null) {
-				length--;
-				out.writeStringUsingLast(key);
-				internedTypeLocators.put(key, Integer.valueOf(internedTypeLocators.elementSize));
-			}
-		}
-		if (JavaBuilder.DEBUG && length != 0) {
-			trace("references table is inconsistent"); //$NON-NLS-1$
-		}
-	}
+	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(this.typeLocators.size());
+	for (String value : this.typeLocators.values())
+		if (!internedTypeLocators.containsKey(value))
+			internedTypeLocators.put(value, Integer.valueOf(internedTypeLocators.elementSize));
+	String[] typeLocatorArray = new String[internedTypeLocators.elementSize];
+	Object[] keyTable = internedTypeLocators.keyTable;
+	Object[] valueTable = internedTypeLocators.valueTable;
+	for (int i = keyTable.length; --i >= 0; )
+		if (keyTable[i] != null)
+			typeLocatorArray[((Integer) valueTable[i]).intValue()] = (String) keyTable[i];
+	out.writeInt(typeLocatorArray.length);
+	for (String typeLocator : typeLocatorArray)
+		out.writeStringUsingLast(typeLocator);
 
 /*
  * Type locators table
@@ -631,7 +774,10 @@ void write(DataOutputStream output) throws IOException {
 			trace("typeLocators table is inconsistent"); //$NON-NLS-1$
 		}
 	}
+}
 
+private void writeReferences(CompressedWriter out) throws IOException {
+	int length;
 /*
  * char[][]	Interned root names
  * char[][][]	Interned qualified names
@@ -641,13 +787,13 @@ void write(DataOutputStream output) throws IOException {
 	SimpleLookupTable internedQualifiedNames = new SimpleLookupTable(31);
 	SimpleLookupTable internedSimpleNames = new SimpleLookupTable(31);
 	for (ReferenceCollection collection : this.references.values()) {
-		char[][] rNames = collection.rootReferences;
+		char[][] rNames = collection.getRootReferences();
 		for (int j = 0, m = rNames.length; j < m; j++) {
 			char[] rName = rNames[j];
 			if (!internedRootNames.containsKey(rName)) // remember the names have been interned
 				internedRootNames.put(rName, Integer.valueOf(internedRootNames.elementSize));
 		}
-		char[][][] qNames = collection.qualifiedNameReferences;
+		char[][][] qNames = collection.getQualifiedNameReferences();
 		for (int j = 0, m = qNames.length; j < m; j++) {
 			char[][] qName = qNames[j];
 			if (!internedQualifiedNames.containsKey(qName)) { // remember the names have been interned
@@ -659,12 +805,18 @@ void write(DataOutputStream output) throws IOException {
 				}
 			}
 		}
-		char[][] sNames = collection.simpleNameReferences;
+		char[][] sNames = collection.getSimpleNameReferences();
 		for (int j = 0, m = sNames.length; j < m; j++) {
 			char[] sName = sNames[j];
 			if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
 				internedSimpleNames.put(sName, Integer.valueOf(internedSimpleNames.elementSize));
 		}
+		char[][] mNames = collection.getMemberReferences();
+		for (int j = 0, m = mNames == null ? 0 : mNames.length; j < m; j++) {
+			char[] mName = mNames[j];
+			if (!internedSimpleNames.containsKey(mName)) // member names are interned with the simple names
+				internedSimpleNames.put(mName, Integer.valueOf(internedSimpleNames.elementSize));
+		}
 	}
 	char[][] internedArray = new char[internedRootNames.elementSize][];
 	Object[] rootNames = internedRootNames.keyTable;
@@ -710,16 +862,15 @@ void write(DataOutputStream output) throws IOException {
 
 /*
  * References table
- * int		interned locator id
+ * String		type locator
  * ReferenceCollection
 */
 	out.writeInt(length = this.references.size());
 	if (length > 0) {
 		for (Entry<String, ReferenceCollection> entry : this.references.entrySet()) {
-			String key = entry.getKey();
 			length--;
-			Integer index = (Integer) internedTypeLocators.get(key);
-			out.writeInt(index.intValue());
+			out.writeStringUsingLast(entry.getKey());
+			Integer index;
 			ReferenceCollection collection = entry.getValue();
 			if (collection instanceof AdditionalTypeCollection) {
 				out.writeByte(1);
@@ -728,27 +879,38 @@ void write(DataOutputStream output) throws IOException {
 			} else {
 				out.writeByte(2);
 			}
-			char[][][] qNames = collection.qualifiedNameReferences;
+			char[][][] qNames = collection.getQualifiedNameReferences();
 			int qLength = qNames.length;
 			out.writeInt(qLength);
 			for (int j = 0; j < qLength; j++) {
 				index = (Integer) internedQualifiedNames.get(qNames[j]);
 				out.writeIntInRange(index.intValue(), internedQualifiedNames.elementSize);
 			}
-			char[][] sNames = collection.simpleNameReferences;
+			char[][] sNames = collection.getSimpleNameReferences();
 			int sLength = sNames.length;
 			out.writeInt(sLength);
 			for (int j = 0; j < sLength; j++) {
 				index = (Integer) internedSimpleNames.get(sNames[j]);
 				out.writeIntInRange(index.intValue(), internedSimpleNames.elementSize);
 			}
-			char[][] rNames = collection.rootReferences;
+			char[][] rNames = collection.getRootReferences();
 			int rLength = rNames.length;
 			out.writeInt(rLength);
 			for (int j = 0; j < rLength; j++) {
 				index = (Integer) internedRootNames.get(rNames[j]);
 				out.writeIntInRange(index.intValue(), internedRootNames.elementSize);
 			}
+			char[][] mNames = collection.getMemberReferences();
+			if (mNames == null) {
+				out.writeInt(-1); // unknown
+			} else {
+				int mLength = mNames.length;
+				out.writeInt(mLength);
+				for (int j = 0; j < mLength; j++) {
+					index = (Integer) internedSimpleNames.get(mNames[j]);
+					out.writeIntInRange(index.intValue(), internedSimpleNames.elementSize);
+				}
+			}
 		}
 		if (JavaBuilder.DEBUG && length != 0) {
 			trace("references table is inconsistent"); //$NON-NLS-1$
@@ -756,6 +918,24 @@ void write(DataOutputStream output) throws IOException {
 	}
 }
 
+private void writeClassFileFingerprints(CompressedWriter out) throws IOException {
+/*
+ * Class file fingerprints table
+ * String		qualified class file name
+ * long		structure
+ * long		contents
+ * long		modification stamp
+*/
+	out.writeInt(this.classFileFingerprints.size());
+	for (Entry<String, ClassFileFingerprint> entry : this.classFileFingerprints.entrySet()) {
+		ClassFileFingerprint fingerprint = entry.getValue();
+		out.writeStringUsingLast(entry.getKey());
+		out.writeLong(fingerprint.structure);
+		out.writeLong(fingerprint.contents);
+		out.writeLong(fingerprint.modificationStamp);
+	}
+}
+
 private void writeSourceLocations(CompressedWriter out, ClasspathMultiDirectory[] srcLocations) throws IOException {
 	int length;
 	out.writeInt(length = srcLocations.length);
@@ -891,6 +1071,15 @@ private static char[][] readNames(CompressedReader in) throws IOException {
 	return names;
 }
 
+private static char[][] readMemberNames(CompressedReader in, char[][] internedSimpleNames) throws IOException {
+	int length = in.readInt();
+	if (length < 0) return null; // unknown
+	char[][] names = new char[length][];
+	for (int i = 0; i < length; i++)
+		names[i] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
+	return names;
+}
+
 private void writeNullablePath(String path, CompressedWriter out) throws IOException {
 	out.writeStringUsingDictionary(path != null ? path : ""); //$NON-NLS-1$
 }
@@ -967,13 +1156,13 @@ void dump() {
 			if (keyTable[i] != null) {
 				System.out.print("\n\t\t" + keyTable[i].toString());
 				ReferenceCollection c = (ReferenceCollection) valueTable[i];
-				char[][][] qRefs = c.qualifiedNameReferences;
+				char[][][] qRefs = c.getQualifiedNameReferences();
 				System.out.print("\n\t\t\tqualified:");
 				if (qRefs.length == 0)
 					System.out.print(" <empty>");
 				else for (int j = 0, m = qRefs.length; j < m; j++)
 						System.out.print("  '" + CharOperation.toString(qRefs[j]) + "'");
-				char[][] sRefs = c.simpleNameReferences;
+				char[][] sRefs = c.getSimpleNameReferences();
 				System.out.print("\n\t\t\tsimple:");
 				if (sRefs.length == 0)
 					System.out.print(" <empty>");
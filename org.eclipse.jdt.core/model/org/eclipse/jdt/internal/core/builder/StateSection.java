@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.jdt.internal.core.util.ByteBufferInputStream;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * A table of a {@link State} read from a state file, kept as the deflated bytes of its section of the file until first
+ * used. The state of a project which is not built again during the session is then never decoded, and is written back
+ * to the state file as it was read.
+ * <p>
+ * The sections of a state follow a table of their offsets, lengths and checksums. When the state file is mapped, the
+ * sections are read in place from the mapping, only once used. Their checksums are checked when the state is read, so
+ * that a corrupt state file is not read; a section which still cannot be decoded is logged, answered as an empty table
+ * and never written back, and the builder builds the project from scratch, see {@link State#decodeSections()}.
+ * </p>
+ */
+final class StateSection<K, V> extends AbstractMap<K, V> {
+
+interface Reader<K, V> {
+	Map<K, V> read(CompressedReader in) throws IOException;
+}
+
+interface Writer {
+	void write(CompressedWriter out) throws IOException;
+}
+
+private final String projectName;
+private Reader<K, V> reader;
+private ByteBuffer bytes; // the deflated section, possibly in the mapping of the state file, null once decoded
+private volatile Map<K, V> map;
+private boolean corrupt; // whether the section could not be decoded
+
+StateSection(String projectName, ByteBuffer bytes, Reader<K, V> reader) {
+	this.projectName = projectName;
+	this.bytes = bytes;
+	this.reader = reader;
+}
+
+/**
+ * Reads the table of the given number of sections written by {@link #write(DataOutputStream, Map[], Writer[])}, and
+ * answers the sections, whose checksums are checked now. The sections follow the table in the given mapping of the
+ * state file, from the position the given stream reached in it, or else in the stream.
+ */
+static ByteBuffer[] read(DataInputStream in, ByteBuffer mapping, int count) throws IOException {
+	if (in.readInt() != count)
+		throw new IOException("Invalid number of state sections"); //$NON-NLS-1$
+	int[] offsets = new int[count];
+	int[] lengths = new int[count];
+	int[] checksums = new int[count];
+	long size = 0;
+	for (int i = 0; i < count; i++) {
+		offsets[i] = in.readInt();
+		lengths[i] = in.readInt();
+		checksums[i] = in.readInt();
+		if (offsets[i] < 0 || lengths[i] < 0)
+			throw new IOException("Invalid offset or length of state section: " + offsets[i] + ", " + lengths[i]); //$NON-NLS-1$ //$NON-NLS-2$
+		size = Math.max(size, (long) offsets[i] + lengths[i]);
+	}
+	ByteBuffer sections;
+	if (mapping != null) {
+		if (size > mapping.remaining())
+			throw new EOFException();
+		sections = mapping.slice(mapping.position(), (int) size);
+		mapping.position(mapping.position() + (int) size);
+	} else {
+		if (size > Integer.MAX_VALUE)
+			throw new IOException("Invalid length of state sections: " + size); //$NON-NLS-1$
+		byte[] bytes = in.readNBytes((int) size); // not allocated at once, the length may be corrupt
+		if (bytes.length < size)
+			throw new EOFException();
+		sections = ByteBuffer.wrap(bytes);
+	}
+	ByteBuffer[] result = new ByteBuffer[count];
+	for (int i = 0; i < count; i++) {
+		result[i] = sections.slice(offsets[i], lengths[i]);
+		if (checksum(result[i]) != checksums[i])
+			throw new IOException("Invalid checksum of state section " + i); //$NON-NLS-1$
+	}
+	return result;
+}
+
+private static int checksum(ByteBuffer bytes) {
+	CRC32 checksum = new CRC32();
+	checksum.update(bytes.duplicate());
+	return (int) checksum.getValue();
+}
+
+/**
+ * Writes the table of the sections of the given tables, then the sections, those of the tables not decoded since they
+ * were read as they were read.
+ */
+static void write(DataOutputStream out, Map<?, ?>[] tables, Writer[] writers) throws IOException {
+	ByteBuffer[] sections = new ByteBuffer[tables.length];
+	for (int i = 0; i < tables.length; i++) {
+		ByteBuffer bytes = null;
+		if (tables[i] instanceof StateSection) {
+			StateSection<?, ?> section = (StateSection<?, ?>) tables[i];
+			if (section.isCorrupt()) // not written as an empty table
+				throw new IOException("Corrupt state section of project " + section.projectName); //$NON-NLS-1$
+			bytes = section.encoded();
+		}
+		if (bytes == null) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+			try (DataOutputStream section = new DataOutputStream(new DeflaterOutputStream(buffer, deflater))) {
+				writers[i].write(new CompressedWriter(section));
+			} finally {
+				deflater.end();
+			}
+			bytes = ByteBuffer.wrap(buffer.toByteArray());
+		}
+		sections[i] = bytes;
+	}
+	out.writeInt(sections.length);
+	int offset = 0;
+	for (ByteBuffer section : sections) {
+		out.writeInt(offset);
+		out.writeInt(section.remaining());
+		out.writeInt(checksum(section));
+		offset += section.remaining();
+	}
+	byte[] chunk = null;
+	for (ByteBuffer section : sections) {
+		if (section.hasArray()) {
+			out.write(section.array(), section.arrayOffset() + section.position(), section.remaining());
+			continue;
+		}
+		if (chunk == null)
+			chunk = new byte[8192];
+		while (section.hasRemaining()) { // a duplicate of the mapping
+			int length = Math.min(chunk.length, section.remaining());
+			section.get(chunk, 0, length);
+			out.write(chunk, 0, length);
+		}
+	}
+}
+
+private synchronized boolean isCorrupt() {
+	return this.corrupt;
+}
+
+private synchronized ByteBuffer encoded() {
+	return this.bytes == null ? null : this.bytes.duplicate();
+}
+
+/**
+ * Decodes the section if not done yet, and answers false if it could not be decoded.
+ */
+boolean decode() {
+	map();
+	return !isCorrupt();
+}
+
+private Map<K, V> map() {
+	Map<K, V> result = this.map;
+	if (result == null) {
+		synchronized (this) {
+			if ((result = this.map) == null) {
+				try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteBufferInputStream(this.bytes.duplicate())))) {
+					result = this.reader.read(new CompressedReader(in));
+				} catch (IOException | RuntimeException e) {
+					// the state cannot be built upon, let the builder build from scratch
+					Util.log(e, "Error reading last build state for project " + this.projectName); //$NON-NLS-1$
+					result = new LinkedHashMap<>();
+					this.corrupt = true;
+				}
+				this.map = result;
+				this.bytes = null;
+				this.reader = null;
+			}
+		}
+	}
+	return result;
+}
+
+@Override
+public int size() {
+	return map().size();
+}
+
+@Override
+public boolean isEmpty() {
+	return map().isEmpty();
+}
+
+@Override
+public boolean containsKey(Object key) {
+	return map().containsKey(key);
+}
+
+@Override
+public V get(Object key) {
+	return map().get(key);
+}
+
+@Override
+public V put(K key, V value) {
+	return map().put(key, value);
+}
+
+@Override
+public V remove(Object key) {
+	return map().remove(key);
+}
+
+@Override
+public Set<K> keySet() {
+	return map().keySet();
+}
+
+@Override
+public Collection<V> values() {
+	return map().values();
+}
+
+@Override
+public Set<Entry<K, V>> entrySet() {
+	return map().entrySet();
+}
+}
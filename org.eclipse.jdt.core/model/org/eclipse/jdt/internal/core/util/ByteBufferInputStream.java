@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An input stream reading a byte buffer, e.g. a mapping of a file, from its position, which it advances. The stream
+ * does not read ahead, so the position of the buffer is always the position of the next byte to read.
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+	private final ByteBuffer buffer;
+
+	public ByteBufferInputStream(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	public int read() {
+		return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) {
+		if (length == 0)
+			return 0;
+		int remaining = this.buffer.remaining();
+		if (remaining == 0)
+			return -1;
+		length = Math.min(length, remaining);
+		this.buffer.get(bytes, offset, length);
+		return length;
+	}
+
+	@Override
+	public long skip(long n) {
+		int skipped = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+		this.buffer.position(this.buffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return this.buffer.remaining();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
 import org.eclipse.jdt.internal.core.search.*;
 import org.eclipse.jdt.internal.core.search.matching.*;
+import org.eclipse.jdt.internal.core.util.Messages;
 
 /**
  * A {@link SearchEngine} searches for Java elements following a search pattern.
@@ -669,6 +670,33 @@ public class SearchEngine {
 		this.basicEngine.search(pattern, participants, scope, requestor, monitor);
 	}
 
+	/**
+	 * Starts searching for matches of a given search pattern, and answers a stream of the matches found, as
+	 * {@link #search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, IProgressMonitor)} does.
+	 * <p>
+	 * The search runs in the background, finding matches only as far ahead as the stream is read, and stops once the
+	 * given number of matches is found or the stream is closed. The stream must be closed once it is no longer read.
+	 * </p>
+	 *
+	 * @param pattern the pattern to search
+	 * @param participants the participants in the search
+	 * @param scope the search scope
+	 * @param limit the maximum number of matches to find, or <code>0</code> to find all of them
+	 * @param monitor the progress monitor used to report progress from the thread of the search, or <code>null</code>
+	 * 				if no progress monitor is provided. Canceling it stops the search.
+	 * @return the stream of the matches
+	 * @since 3.37
+	 */
+	public SearchResultStream<SearchMatch> openSearch(SearchPattern pattern, SearchParticipant[] participants, IJavaSearchScope scope, int limit, IProgressMonitor monitor) {
+		return new SearchResultStream<>(Messages.engine_searching, limit, monitor, (sink, searchMonitor) ->
+			this.basicEngine.search(pattern, participants, scope, new SearchRequestor() {
+				@Override
+				public void acceptSearchMatch(SearchMatch match) {
+					sink.accept(match);
+				}
+			}, searchMonitor));
+	}
+
 	/**
 	 * Searches for all method declarations in the given scope. Accepted matches will be returned by
 	 * {@link MethodNameRequestor#acceptMethod}.
@@ -1209,6 +1237,60 @@ public class SearchEngine {
 			progressMonitor);
 	}
 
+	/**
+	 * Starts searching for all top-level types and member types in the given scope, and answers a stream of the
+	 * {@link TypeNameMatch matches} found, as {@link #searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * does.
+	 * <p>
+	 * The search runs in the background, finding types only as far ahead as the stream is read, and stops once the
+	 * given number of types is found or the stream is closed. The stream must be closed once it is no longer read.
+	 * </p>
+	 *
+	 * @param packageName the full name of the package of the searched types, or a prefix for this
+	 *						package, or a wild-carded string for this package.
+	 *						May be <code>null</code>, then any package name is accepted.
+	 * @param packageMatchRule the match rule of the package name, as for
+	 * 				{@link #searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * @param typeName the dot-separated qualified name of the searched type, or a prefix for this type,
+	 * 				or a wild-carded string for this type. May be <code>null</code>, then any type name is accepted.
+	 * @param typeMatchRule the match rule of the type name, as for
+	 * 				{@link #searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * @param searchFor determines the nature of the searched elements, e.g. {@link IJavaSearchConstants#TYPE}
+	 * @param scope the scope to search in
+	 * @param limit the maximum number of types to find, or <code>0</code> to find all of them
+	 * @param waitingPolicy one of
+	 * <ul>
+	 *		<li>{@link IJavaSearchConstants#FORCE_IMMEDIATE_SEARCH} if the search should start immediately</li>
+	 *		<li>{@link IJavaSearchConstants#CANCEL_IF_NOT_READY_TO_SEARCH} if the search should be cancelled if the
+	 *			underlying indexer has not finished indexing the workspace</li>
+	 *		<li>{@link IJavaSearchConstants#WAIT_UNTIL_READY_TO_SEARCH} if the search should wait for the
+	 *			underlying indexer to finish indexing the workspace</li>
+	 * </ul>
+	 * @param progressMonitor the progress monitor used to report progress from the thread of the search, or
+	 * 				<code>null</code> if no progress monitor is provided. Canceling it stops the search.
+	 * @return the stream of the matches
+	 * @since 3.37
+	 */
+	public SearchResultStream<TypeNameMatch> openTypeNameSearch(
+		final char[] packageName,
+		final int packageMatchRule,
+		final char[] typeName,
+		final int typeMatchRule,
+		int searchFor,
+		IJavaSearchScope scope,
+		int limit,
+		int waitingPolicy,
+		IProgressMonitor progressMonitor) {
+
+		return new SearchResultStream<>(Messages.engine_searching, limit, progressMonitor, (sink, searchMonitor) ->
+			searchAllTypeNames(packageName, packageMatchRule, typeName, typeMatchRule, searchFor, scope, new TypeNameMatchRequestor() {
+				@Override
+				public void acceptTypeNameMatch(TypeNameMatch match) {
+					sink.accept(match);
+				}
+			}, waitingPolicy, searchMonitor));
+	}
+
 	/**
 	 * Searches for all top-level types and member types in the given scope matching any of the given qualifications
 	 * and type names in a case sensitive way.
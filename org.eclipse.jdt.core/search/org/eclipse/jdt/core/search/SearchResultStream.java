@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.search;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * The results of a search, answered one at a time as the search finds them.
+ * <p>
+ * The search runs in the background as soon as the stream is opened, and holds at most a few results which were not
+ * answered yet: it waits for {@link #next()} to be called before finding more. It stops as soon as the stream is
+ * closed or the given number of results is found, without reading the remaining indexes or locating the remaining
+ * matches. A stream must be closed once its results are no longer needed, e.g. with a try-with-resources statement:
+ * </p>
+ * <pre>
+ * try (SearchResultStream&lt;TypeNameMatch&gt; matches = engine.openTypeNameSearch(..., 50, ...)) {
+ *     for (TypeNameMatch match; (match = matches.next()) != null;) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * Streams are opened with {@link SearchEngine#openSearch(SearchPattern, SearchParticipant[], IJavaSearchScope, int, IProgressMonitor)}
+ * or {@link SearchEngine#openTypeNameSearch(char[], int, char[], int, int, IJavaSearchScope, int, int, IProgressMonitor)}.
+ * </p>
+ *
+ * @param <T> the type of the results
+ * @since 3.37
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public final class SearchResultStream<T> implements AutoCloseable {
+
+	/**
+	 * Runs a search, giving its results to the sink.
+	 */
+	interface Search<T> {
+		void run(Consumer<T> sink, IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * The number of results found ahead of those answered.
+	 */
+	static final int BUFFER_SIZE = 64;
+
+	private static final Object END = new Object();
+
+	private final BlockingQueue<Object> results = new LinkedBlockingQueue<>(); // the results found, then END
+	private final Semaphore space; // the number of results which may be found before some are answered
+	private final int limit;
+	private int found; // only updated by the search
+	private volatile boolean stopped; // whether the search must stop
+	private volatile boolean closed;
+	private volatile Throwable failure;
+	private boolean ended;
+
+	SearchResultStream(String name, int limit, IProgressMonitor monitor, Search<T> search) {
+		this.limit = limit;
+		this.space = new Semaphore(limit > 0 ? Math.min(limit, BUFFER_SIZE) : BUFFER_SIZE);
+		IProgressMonitor searchMonitor = new ProgressMonitorWrapper(monitor == null ? new NullProgressMonitor() : monitor) {
+			@Override
+			public boolean isCanceled() {
+				return SearchResultStream.this.stopped || super.isCanceled();
+			}
+		};
+		Job job = Job.createSystem(name, jobMonitor -> run(search, searchMonitor));
+		job.schedule();
+	}
+
+	private void run(Search<T> search, IProgressMonitor monitor) {
+		try {
+			search.run(this::add, monitor);
+		} catch (OperationCanceledException e) {
+			// closed, enough results were found, or canceled by the monitor
+		} catch (CoreException | RuntimeException | Error e) {
+			this.failure = e;
+		} finally {
+			this.results.add(END);
+		}
+	}
+
+	private void add(T result) {
+		if (this.stopped)
+			throw new OperationCanceledException();
+		// waits outside of the read locks of the indexes, the search job accepts the matches of an index once it is read
+		this.space.acquireUninterruptibly();
+		if (this.stopped)
+			throw new OperationCanceledException();
+		this.results.add(result);
+		if (++this.found == this.limit) {
+			// enough results, let the search stop here rather than find the next ones
+			this.stopped = true;
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Answers the next result, waiting for the search to find it, or <code>null</code> once all results were answered
+	 * or the stream is closed.
+	 *
+	 * @return the next result, or <code>null</code> if there is none
+	 * @exception CoreException if the search failed
+	 * @exception OperationCanceledException if the thread was interrupted while waiting
+	 */
+	@SuppressWarnings("unchecked")
+	public T next() throws CoreException {
+		if (this.ended || this.closed)
+			return null;
+		Object result;
+		try {
+			result = this.results.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		if (result == END) {
+			this.ended = true;
+			Throwable e = this.failure;
+			if (e instanceof CoreException)
+				throw (CoreException) e;
+			if (e instanceof RuntimeException)
+				throw (RuntimeException) e;
+			if (e instanceof Error)
+				throw (Error) e;
+			return null;
+		}
+		this.space.release();
+		return (T) result;
+	}
+
+	/**
+	 * Stops the search, and drops the results found but not answered yet.
+	 */
+	@Override
+	public void close() {
+		if (this.closed)
+			return;
+		this.closed = true;
+		this.stopped = true;
+		this.results.clear();
+		this.space.release(BUFFER_SIZE); // let the search see it must stop if it is waiting for space
+	}
+}
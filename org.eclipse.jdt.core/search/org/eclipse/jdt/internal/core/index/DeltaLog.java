@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.core.util.SimpleWordSet;
+
+/**
+ * The documents of an {@link Index} saved since its {@link DiskIndex} file was last written, appended to a file next
+ * to it.
+ * <p>
+ * Writing the index file merges all of its documents with the changed ones, at a cost proportional to the size of
+ * the index. Appending the documents changed by a save to this log costs in proportion to the change instead. When
+ * the index is opened again, the documents of the log are read back into its {@link MemoryIndex}, which overrides the
+ * index file for them until they are merged into it.
+ * </p>
+ * <p>
+ * The log starts with the signature of the index format, then the length and time stamp of the index file it applies
+ * to, so a log left by a crash after the index file was written again is ignored. Then each save appends the number
+ * of documents it changed, and for each of them its name followed by its words by category, or a deletion mark. A
+ * save cut short by a crash is dropped when the log is read.
+ * </p>
+ */
+class DeltaLog {
+
+private static final int DELETED = -1;
+
+final File file;
+
+DeltaLog(File indexFile) {
+	this.file = new File(indexFile.getPath() + Index.DELTA_LOG_SUFFIX);
+}
+void delete() {
+	this.file.delete();
+}
+boolean exists() {
+	return this.file.exists();
+}
+long lastModified() {
+	return this.file.lastModified();
+}
+/**
+ * Appends the documents of the memory index changed since it was last saved.
+ */
+void append(File indexFile, MemoryIndex memoryIndex) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+	DataOutputStream out = new DataOutputStream(bytes);
+	boolean newLog = this.file.length() == 0;
+	if (newLog) {
+		out.writeUTF(DiskIndex.SIGNATURE);
+		out.writeLong(indexFile.length());
+		out.writeLong(indexFile.lastModified());
+	}
+	Object[] names = memoryIndex.unsavedDocuments.values;
+	out.writeInt(memoryIndex.unsavedDocuments.elementSize);
+	for (int i = 0, l = names.length; i < l; i++) {
+		String documentName = (String) names[i];
+		if (documentName == null) continue;
+		out.writeUTF(documentName);
+		HashtableOfObject categoryToWords = (HashtableOfObject) memoryIndex.docsToReferences.get(documentName);
+		if (categoryToWords == null) {
+			out.writeInt(DELETED);
+			continue;
+		}
+		out.writeInt(categoryToWords.elementSize);
+		char[][] categories = categoryToWords.keyTable;
+		Object[] wordSets = categoryToWords.valueTable;
+		for (int j = 0, m = categories.length; j < m; j++) {
+			if (categories[j] == null) continue;
+			SimpleWordSet wordSet = (SimpleWordSet) wordSets[j];
+			out.writeUTF(new String(categories[j]));
+			out.writeInt(wordSet.elementSize);
+			char[][] words = wordSet.words;
+			for (int k = 0, n = words.length; k < n; k++)
+				if (words[k] != null)
+					out.writeUTF(new String(words[k]));
+		}
+	}
+	out.flush();
+	// a single write, so that a crash leaves at most one partial save at the end of the log
+	try (FileOutputStream stream = new FileOutputStream(this.file, !newLog)) {
+		bytes.writeTo(stream);
+	}
+}
+/**
+ * Reads the documents of the log into the memory index, and answers whether there were any. A log which does not
+ * apply to the given index file is deleted.
+ */
+boolean read(File indexFile, MemoryIndex memoryIndex) throws IOException {
+	if (!this.file.exists()) return false;
+	byte[] contents = Files.readAllBytes(this.file.toPath());
+	DataInputStream in = new DataInputStream(new ByteArrayInputStream(contents));
+	int validLength = 0;
+	boolean changed = false;
+	try {
+		if (!DiskIndex.SIGNATURE.equals(in.readUTF()) || in.readLong() != indexFile.length() || in.readLong() != indexFile.lastModified()) {
+			delete();
+			return false;
+		}
+		validLength = contents.length - in.available();
+		List<Object[]> documents = new ArrayList<>();
+		while (in.available() > 0) {
+			// read a whole save before applying it
+			documents.clear();
+			for (int i = 0, size = in.readInt(); i < size; i++) {
+				String documentName = in.readUTF();
+				int categoryCount = in.readInt();
+				if (categoryCount == DELETED) {
+					documents.add(new Object[] {documentName, null});
+					continue;
+				}
+				HashtableOfObject categoryToWords = new HashtableOfObject(categoryCount);
+				for (int j = 0; j < categoryCount; j++) {
+					char[] category = in.readUTF().toCharArray();
+					int wordCount = in.readInt();
+					char[][] words = new char[wordCount][];
+					for (int k = 0; k < wordCount; k++)
+						words[k] = in.readUTF().toCharArray();
+					categoryToWords.put(category, words);
+				}
+				documents.add(new Object[] {documentName, categoryToWords});
+			}
+			validLength = contents.length - in.available();
+			for (Object[] document : documents) {
+				String documentName = (String) document[0];
+				memoryIndex.remove(documentName);
+				HashtableOfObject categoryToWords = (HashtableOfObject) document[1];
+				if (categoryToWords == null) continue;
+				char[][] categories = categoryToWords.keyTable;
+				Object[] words = categoryToWords.valueTable;
+				for (int j = 0, m = categories.length; j < m; j++)
+					if (categories[j] != null)
+						for (char[] word : (char[][]) words[j])
+							memoryIndex.addIndexEntry(categories[j], word, documentName);
+			}
+			changed |= !documents.isEmpty();
+		}
+	} catch (EOFException e) {
+		// the last save was cut short, drop it so that the next ones are appended after the complete ones
+		if (validLength == 0) {
+			delete();
+		} else {
+			try (RandomAccessFile log = new RandomAccessFile(this.file, "rw")) { //$NON-NLS-1$
+				log.setLength(validLength);
+			}
+		}
+	}
+	return changed;
+}
+}
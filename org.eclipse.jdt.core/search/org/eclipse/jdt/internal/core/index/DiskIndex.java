@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 package org.eclipse.jdt.internal.core.index;
 
 import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.regex.Pattern;
@@ -36,14 +38,14 @@ private int headerInfoOffset;
 private int numberOfChunks;
 private int sizeOfLastChunk;
 private int[] chunkOffsets;
-private int documentReferenceSize; // 1, 2 or more bytes... depends on # of document names
 private int startOfCategoryTables;
 private HashtableOfIntValues categoryOffsets, categoryEnds;
 
 private int cacheUserCount;
 private String[][] cachedChunks; // decompressed chunks of document names
-private HashtableOfObject categoryTables; // category name -> HashtableOfObject(words -> int[] of document #'s) or offset if not read yet
+private HashtableOfObject categoryTables; // category name -> HashtableOfObject(words -> int[] or PostingList of document #'s) or offset if not read yet
 private char[] cachedCategoryName;
+private volatile MappedIndexReader mappedReader; // reads the index file when mapped, created on the first query
 
 private static final int DEFAULT_BUFFER_SIZE = 2048;
 private static int BUFFER_READ_SIZE = DEFAULT_BUFFER_SIZE;
@@ -53,7 +55,10 @@ private int bufferIndex, bufferEnd; // used when reading from the file into the
 private int streamEnd; // used when writing data from the streamBuffer to the file
 char separator = Index.DEFAULT_SEPARATOR;
 
-public static final String INDEX_VERSION = "1.134"; //$NON-NLS-1$
+// 1.135: the words of the category tables are sorted
+// 1.136: the arrays of document numbers are encoded as posting lists
+// 1.137: the type declarations table is followed by its gram table
+public static final String INDEX_VERSION = "1.137"; //$NON-NLS-1$
 public static final String SIGNATURE = "INDEX VERSION " + INDEX_VERSION; //$NON-NLS-1$
 private static final char[] SIGNATURE_CHARS = SIGNATURE.toCharArray();
 public static boolean DEBUG = false;
@@ -61,10 +66,14 @@ public static boolean DEBUG = false;
 private static final int RE_INDEXED = -1;
 private static final int DELETED = -2;
 
-private static final int CHUNK_SIZE = 100;
+static final int CHUNK_SIZE = 100;
+
+// whether index files are read from a memory mapping, not on Windows by default where a mapped file cannot be deleted until unmapped
+private static final boolean MAPPED_INDEXES = Boolean.parseBoolean(
+		System.getProperty("org.eclipse.jdt.mappedIndexes", Boolean.toString(File.separatorChar != '\\'))); //$NON-NLS-1$
 
 private static final SimpleSetOfCharArray INTERNED_CATEGORY_NAMES = new SimpleSetOfCharArray(20);
-private static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
+static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
 
 static class IntList {
 
@@ -96,7 +105,6 @@ DiskIndex() {
 	this.numberOfChunks = -1;
 	this.sizeOfLastChunk = -1;
 	this.chunkOffsets = null;
-	this.documentReferenceSize = -1;
 	this.cacheUserCount = -1;
 	this.cachedChunks = null;
 	this.categoryTables = null;
@@ -156,9 +164,9 @@ private HashtableOfObject addQueryResult(HashtableOfObject results, char[] word,
 	} else {
 		SimpleLookupTable docsToRefs = memoryIndex.docsToReferences;
 		if (result == null) result = new EntryResult(word, null);
-		int[] docNumbers = readDocumentNumbers(docs);
-		for (int i = 0, l = docNumbers.length; i < l; i++) {
-			String docName = readDocumentName(docNumbers[i]);
+		PostingList.Cursor docNumbers = readPostingList(docs).cursor();
+		for (int docNumber; (docNumber = docNumbers.next()) != PostingList.Cursor.END;) {
+			String docName = readDocumentName(docNumber);
 			if (!docsToRefs.containsKey(docName))
 				result.addDocumentName(docName);
 		}
@@ -171,6 +179,10 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 	// assumes sender has called startQuery() & will call stopQuery() when finished
 	if (this.categoryOffsets == null) return null; // file is empty
 
+	MappedIndexReader reader = getMappedReader();
+	if (reader != null)
+		return addMappedQueryResults(reader, categories, key, matchRule, memoryIndex);
+
 	HashtableOfObject results = null; // initialized if needed
 
 	// No need to check the results table for duplicates while processing the
@@ -253,6 +265,107 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 
 	return results;
 }
+/*
+ * Same as addQueryResults() on the memory mapping of the index file: the words of the category tables are searched
+ * in place rather than read into tables, and only the matching entries are decoded.
+ */
+private HashtableOfObject addMappedQueryResults(MappedIndexReader reader, char[][] categories, char[] key, int matchRule, MemoryIndex memoryIndex) throws IOException {
+	HashtableOfObject results = null; // initialized if needed
+	boolean prevResults = false;
+	Pattern pattern = key != null && matchRule == SearchPattern.R_REGEXP_MATCH ? Pattern.compile(new String(key)) : null;
+	try {
+		for (int i = 0, l = categories.length; i < l; i++) {
+			int offset = this.categoryOffsets.get(categories[i]);
+			if (offset != HashtableOfIntValues.NO_VALUE) {
+				int[] entries = reader.getEntries(offset);
+				if (key == null) {
+					for (int j = 0, m = entries.length; j < m; j++)
+						results = addQueryResult(results, reader.readWord(entries[j]), reader.readDocumentTable(entries[j]), memoryIndex, prevResults);
+				} else {
+					switch (matchRule) {
+						case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE:
+							int index = reader.find(entries, key);
+							if (index >= 0)
+								results = addQueryResult(results, key, reader.readDocumentTable(entries[index]), memoryIndex, prevResults);
+							break;
+						case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE:
+							// the words starting with the key follow where the key would be
+							index = reader.find(entries, key);
+							for (int j = index < 0 ? -index - 1 : index, m = entries.length; j < m && reader.startsWith(entries[j], key); j++)
+								results = addQueryResult(results, reader.readWord(entries[j]), reader.readDocumentTable(entries[j]), memoryIndex, prevResults);
+							break;
+						case SearchPattern.R_REGEXP_MATCH:
+							for (int j = 0, m = entries.length; j < m; j++) {
+								char[] word = reader.readWord(entries[j]);
+								if (pattern.matcher(new String(word)).matches())
+									results = addQueryResult(results, word, reader.readDocumentTable(entries[j]), memoryIndex, prevResults);
+							}
+							break;
+						default:
+							PostingList.Cursor candidates = getGramCandidates(reader, categories[i], key, matchRule);
+							if (candidates != null) {
+								for (int j; (j = candidates.next()) != PostingList.Cursor.END;) {
+									char[] word = reader.readWord(entries[j]);
+									if (Index.isMatch(key, word, matchRule))
+										results = addQueryResult(results, word, reader.readDocumentTable(entries[j]), memoryIndex, prevResults);
+								}
+								break;
+							}
+							for (int j = 0, m = entries.length; j < m; j++) {
+								char[] word = reader.readWord(entries[j]);
+								if (Index.isMatch(key, word, matchRule))
+									results = addQueryResult(results, word, reader.readDocumentTable(entries[j]), memoryIndex, prevResults);
+							}
+					}
+				}
+			}
+			prevResults = results != null;
+		}
+	} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+		throw corrupted(e);
+	}
+	return results;
+}
+/*
+ * Answers the ordinals of the words of the category table which may match the key, as found in its gram table, or
+ * null if the category has no gram table or the key cannot be looked up in it.
+ */
+private PostingList.Cursor getGramCandidates(MappedIndexReader reader, char[] categoryName, char[] key, int matchRule) throws IOException {
+	if (!GramTable.hasGrams(categoryName)) return null;
+	int offset = this.categoryOffsets.get(GramTable.tableName(categoryName));
+	if (offset == HashtableOfIntValues.NO_VALUE) return null;
+	return GramTable.candidates(reader, reader.getEntries(offset), key, matchRule);
+}
+IOException corrupted(RuntimeException e) {
+	return new IOException("Index file is corrupted " + this.indexLocation, e); //$NON-NLS-1$
+}
+/**
+ * Releases the memory mapping of the index file, if any. A later query maps the file again.
+ */
+public synchronized void close() {
+	MappedIndexReader reader = this.mappedReader;
+	if (reader != null) {
+		this.mappedReader = null;
+		reader.close();
+	}
+}
+/*
+ * Answers the reader of the memory mapping of the index file, or null if the index file is not read from a mapping.
+ */
+private MappedIndexReader getMappedReader() throws IOException {
+	MappedIndexReader reader = this.mappedReader;
+	if (reader == null && MAPPED_INDEXES && this.numberOfChunks > 0 && this.indexLocation instanceof FileIndexLocation) {
+		synchronized (this) {
+			reader = this.mappedReader;
+			if (reader == null) {
+				reader = MappedIndexReader.map(this.indexLocation.getIndexFile(), this.numberOfChunks, this.sizeOfLastChunk,
+						this.chunkOffsets);
+				this.mappedReader = reader;
+			}
+		}
+	}
+	return reader;
+}
 private synchronized void cacheDocumentNames() throws IOException {
 	// will need all document names so get them now
 	this.cachedChunks = new String[this.numberOfChunks][];
@@ -276,6 +389,9 @@ private synchronized void cacheDocumentNames() throws IOException {
 		BUFFER_READ_SIZE = DEFAULT_BUFFER_SIZE;
 	}
 }
+int documentCount() {
+	return this.numberOfChunks <= 0 ? 0 : (this.numberOfChunks - 1) * CHUNK_SIZE + this.sizeOfLastChunk;
+}
 private String[] computeDocumentNames(String[] onDiskNames, int[] positions, SimpleLookupTable indexedDocuments, MemoryIndex memoryIndex) {
 	int onDiskLength = onDiskNames.length;
 	Object[] docNames = memoryIndex.docsToReferences.keyTable;
@@ -395,6 +511,7 @@ private void copyQueryResults(HashtableOfObject categoryToWords, int newPosition
 	}
 }
 void initialize(boolean reuseExistingFile) throws IOException {
+	close(); // the header is read again, or the file is written again
 	if (this.indexLocation.exists()) {
 		if (reuseExistingFile) {
 			try (InputStream stream = this.indexLocation.getInputStream()) {
@@ -465,7 +582,8 @@ private void mergeCategories(DiskIndex onDisk, int[] positions, FileOutputStream
 	char[][] oldNames = onDisk.categoryOffsets.keyTable;
 	for (int i = 0, l = oldNames.length; i < l; i++) {
 		char[] oldName = oldNames[i];
-		if (oldName != null && !this.categoryTables.containsKey(oldName))
+		// gram tables are written again with the tables of their categories
+		if (oldName != null && !GramTable.isGramTable(oldName) && !this.categoryTables.containsKey(oldName))
 			this.categoryTables.put(oldName, null);
 	}
 
@@ -487,7 +605,7 @@ private void mergeCategory(char[] categoryName, DiskIndex onDisk, int[] position
 		nextWord: for (int i = 0, l = oldWords.length; i < l; i++) {
 			char[] oldWord = oldWords[i];
 			if (oldWord != null) {
-				int[] oldDocNumbers = (int[]) oldArrayOffsets[i];
+				int[] oldDocNumbers = onDisk.readDocumentNumbers(oldArrayOffsets[i]);
 				int length = oldDocNumbers.length;
 				int[] mappedNumbers = new int[length];
 				int count = 0;
@@ -536,6 +654,7 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 		if (previousLength == 0) return this; // nothing to do... memory index contained deleted documents that had never been saved
 
 		// index is now empty since all the saved documents were removed
+		close();
 		DiskIndex newDiskIndex = new DiskIndex(this.indexLocation);
 		newDiskIndex.initialize(false);
 		return newDiskIndex;
@@ -583,6 +702,7 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 		newDiskIndex.writeOffsetToHeader(offsetToHeader);
 
 		// rename file by deleting previous index file & renaming temp one
+		close();
 		try {
 			Files.deleteIfExists(oldIndexFile.toPath());
 		} catch (Exception e2) {
@@ -619,7 +739,18 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 		newDiskIndex.indexLocation = this.indexLocation;
 	return newDiskIndex;
 }
-private synchronized String[] readAllDocumentNames() throws IOException {
+private String[] readAllDocumentNames() throws IOException {
+	MappedIndexReader reader = getMappedReader();
+	if (reader != null) {
+		try {
+			return reader.readAllDocumentNames();
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw corrupted(e);
+		}
+	}
+	return readStreamDocumentNames();
+}
+private synchronized String[] readStreamDocumentNames() throws IOException {
 	if (this.numberOfChunks <= 0)
 		return CharOperation.NO_STRINGS;
 
@@ -656,7 +787,7 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 				Object[] arrayOffsets = cachedTable.valueTable;
 				for (int i = 0, l = arrayOffsets.length; i < l; i++)
 					if (arrayOffsets[i] instanceof Integer)
-						arrayOffsets[i] = readDocumentNumbers(arrayOffsets[i]);
+						arrayOffsets[i] = readPostingList(arrayOffsets[i]);
 			}
 			return cachedTable;
 		}
@@ -685,12 +816,12 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 			int arrayOffset = readStreamInt(stream);
 			// if arrayOffset is:
 			//		<= 0 then the array size == 1 with the value -> -arrayOffset
-			//		> 1 & < 256 then the size of the array is > 1 & < 256, the document array follows immediately
+			//		> 1 & < 256 then the size of the array is > 1 & < 256, the posting list of the array follows immediately
 			//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
 			if (arrayOffset <= 0) {
 				categoryTable.putUnsafely(word, new int[] {-arrayOffset}); // store 1 element array by negating documentNumber
 			} else if (arrayOffset < largeArraySize) {
-				categoryTable.putUnsafely(word, readStreamDocumentArray(stream, arrayOffset)); // read in-lined array providing size
+				categoryTable.putUnsafely(word, readStreamPostingList(stream, arrayOffset)); // read in-lined array providing size
 			} else {
 				arrayOffset = readStreamInt(stream); // read actual offset
 				if (readDocNumbers) {
@@ -720,7 +851,7 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 			this.bufferIndex = 0;
 			this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
 			for (int i = 0; i < count; i++) { // each array follows the previous one
-				categoryTable.put(matchingWords[i], readStreamDocumentArray(stream, readStreamInt(stream)));
+				categoryTable.put(matchingWords[i], readStreamPostingList(stream, readStreamInt(stream)));
 			}
 		} catch (IOException ioe) {
 			this.streamBuffer = null;
@@ -760,7 +891,18 @@ private void readChunk(String[] docNames, InputStream stream, int index, int siz
 		current = next;
 	}
 }
-synchronized String readDocumentName(int docNumber) throws IOException {
+String readDocumentName(int docNumber) throws IOException {
+	MappedIndexReader reader = getMappedReader();
+	if (reader != null) {
+		try {
+			return reader.readDocumentName(docNumber);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw corrupted(e);
+		}
+	}
+	return readStreamDocumentName(docNumber);
+}
+private synchronized String readStreamDocumentName(int docNumber) throws IOException {
 	if (this.cachedChunks == null)
 		this.cachedChunks = new String[this.numberOfChunks][];
 
@@ -798,11 +940,34 @@ synchronized String readDocumentName(int docNumber) throws IOException {
 	this.streamBuffer = null;
 	return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
 }
-synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
-	// arrayOffset is either a cached array of docNumbers or an Integer offset in the file
+int[] readDocumentNumbers(Object arrayOffset) throws IOException {
+	// arrayOffset is either a cached array of docNumbers, a posting list or an Integer offset in the file
 	if (arrayOffset instanceof int[])
 		return (int[]) arrayOffset;
+	PostingList list = readPostingList(arrayOffset);
+	try {
+		return list.toArray();
+	} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+		throw corrupted(e);
+	}
+}
+PostingList readPostingList(Object arrayOffset) throws IOException {
+	if (arrayOffset instanceof PostingList)
+		return (PostingList) arrayOffset;
+	if (arrayOffset instanceof int[])
+		return PostingList.of((int[]) arrayOffset);
 
+	MappedIndexReader reader = getMappedReader();
+	if (reader != null) {
+		try {
+			return reader.readPostingList(((Integer) arrayOffset).intValue());
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw corrupted(e);
+		}
+	}
+	return readStreamPostingList(arrayOffset);
+}
+private synchronized PostingList readStreamPostingList(Object arrayOffset) throws IOException {
 	InputStream stream = this.indexLocation.getInputStream();
 	try (stream) {
 		int offset = ((Integer) arrayOffset).intValue();
@@ -810,7 +975,7 @@ synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
 		this.streamBuffer = new byte[BUFFER_READ_SIZE];
 		this.bufferIndex = 0;
 		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
-		return readStreamDocumentArray(stream, readStreamInt(stream));
+		return readStreamPostingList(stream, readStreamInt(stream));
 	} finally {
 		this.indexLocation.close();
 		this.streamBuffer = null;
@@ -821,7 +986,6 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 	// must be same order as writeHeaderInfo()
 	this.numberOfChunks = readStreamInt(stream);
 	this.sizeOfLastChunk = this.streamBuffer[this.bufferIndex++] & 0xFF;
-	this.documentReferenceSize = this.streamBuffer[this.bufferIndex++] & 0xFF;
 	this.separator = (char) (this.streamBuffer[this.bufferIndex++] & 0xFF);
 	long length = this.indexLocation.length();
 	if (length != -1 && this.numberOfChunks > length) {
@@ -980,46 +1144,27 @@ private char[] readStreamChars(InputStream stream) throws IOException {
 	}
 	return word;
 }
-private int[] readStreamDocumentArray(InputStream stream, int arraySize) throws IOException {
-	int[] indexes = new int[arraySize];
-	if (arraySize == 0) return indexes;
-
-	int i = 0;
-	switch (this.documentReferenceSize) {
-		case 1 :
-			while (i < arraySize) {
-				// how many bytes without refilling the buffer?
-				int bytesInBuffer = i + this.bufferEnd - this.bufferIndex;
-				if (bytesInBuffer > arraySize)
-					bytesInBuffer = arraySize;
-				while (i < bytesInBuffer) {
-					indexes[i++] = this.streamBuffer[this.bufferIndex++] & 0xFF;
-				}
-				if (i < arraySize && stream != null)
-					readStreamBuffer(stream);
-			}
-			break;
-		case 2 :
-			while (i < arraySize) {
-				// how many shorts without refilling the buffer?
-				int shortsInBuffer = i + ((this.bufferEnd - this.bufferIndex) / 2);
-				if (shortsInBuffer > arraySize)
-					shortsInBuffer = arraySize;
-				while (i < shortsInBuffer) {
-					int val = (this.streamBuffer[this.bufferIndex++] & 0xFF) << 8;
-					indexes[i++] = val + (this.streamBuffer[this.bufferIndex++] & 0xFF);
-				}
-				if (i < arraySize && stream != null)
-					readStreamBuffer(stream);
-			}
-			break;
-		default :
-			while (i < arraySize) {
-				indexes[i++] = readStreamInt(stream);
-			}
-			break;
+private PostingList readStreamPostingList(InputStream stream, int size) throws IOException {
+	// copy the bytes of the list as they are, up to the last byte of its last number
+	byte[] bytes = new byte[size]; // a number takes one byte at least
+	int length = 0;
+	for (int count = 0; count < size;) {
+		if (this.bufferIndex >= this.bufferEnd) {
+			if (stream != null)
+				readStreamBuffer(stream);
+			if (this.bufferIndex >= this.bufferEnd)
+				throw new IOException("Index file is corrupted " + this.indexLocation); //$NON-NLS-1$
+		}
+		byte b = this.streamBuffer[this.bufferIndex++];
+		if (length == bytes.length)
+			System.arraycopy(bytes, 0, bytes = new byte[Math.max(length * 2, length + size - count)], 0, length);
+		bytes[length++] = b;
+		if ((b & 0x80) == 0)
+			count++;
 	}
-	return indexes;
+	if (length < bytes.length)
+		System.arraycopy(bytes, 0, bytes = new byte[length], 0, length);
+	return new PostingList(ByteBuffer.wrap(bytes), size);
 }
 private int readStreamInt(InputStream stream) throws IOException {
 	if (this.bufferIndex + 4 >= this.bufferEnd) {
@@ -1051,7 +1196,6 @@ private void writeAllDocumentNames(String[] sortedDocNames, FileOutputStream str
 		this.numberOfChunks--;
 		this.sizeOfLastChunk = CHUNK_SIZE;
 	}
-	this.documentReferenceSize = size <= 0x7F ? 1 : (size <= 0x7FFF ? 2 : 4); // number of bytes used to encode a reference
 
 	this.chunkOffsets = new int[this.numberOfChunks];
 	int lastIndex = this.numberOfChunks - 1;
@@ -1105,12 +1249,21 @@ private void writeCategories(FileOutputStream stream) throws IOException {
 	this.categoryTables = null;
 }
 private void writeCategoryTable(char[] categoryName, HashtableOfObject wordsToDocs, FileOutputStream stream) throws IOException {
+	this.categoryTables.put(categoryName, null); // flush cached table
+	char[][] words = writeTable(categoryName, wordsToDocs, stream);
+	if (GramTable.hasGrams(categoryName))
+		writeTable(GramTable.tableName(categoryName), GramTable.build(words), stream);
+}
+/*
+ * Writes the table and answers its words, in the order written.
+ */
+private char[][] writeTable(char[] categoryName, HashtableOfObject wordsToDocs, FileOutputStream stream) throws IOException {
 	// the format of a category table is as follows:
 	// any document number arrays with >= 256 elements are written before the table (the offset to each array is remembered)
 	// then the number of word->int[] pairs in the table is written
 	// for each word -> int[] pair, the word is written followed by:
 	//		an int <= 0 if the array size == 1
-	//		an int > 1 & < 256 for the size of the array if its > 1 & < 256, the document array follows immediately
+	//		an int > 1 & < 256 for the size of the array if its > 1 & < 256, the posting list of the array follows immediately
 	//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
 
 	int largeArraySize = 256;
@@ -1129,11 +1282,19 @@ private void writeCategoryTable(char[] categoryName, HashtableOfObject wordsToDo
 	}
 
 	this.categoryOffsets.put(categoryName, this.streamEnd); // remember the offset to the start of the table
-	this.categoryTables.put(categoryName, null); // flush cached table
 	writeStreamInt(stream, wordsToDocs.elementSize);
-	char[][] words = wordsToDocs.keyTable;
+	// write the words sorted, so that a word can be found by a binary search of a mapped table
+	char[][] words = new char[wordsToDocs.elementSize][];
+	int count = 0;
+	char[][] keys = wordsToDocs.keyTable;
+	for (int i = 0, l = keys.length; i < l; i++)
+		if (keys[i] != null && values[i] != null)
+			words[count++] = keys[i];
+	if (count < words.length)
+		System.arraycopy(words, 0, words = new char[count][], 0, count);
+	Util.sort(words);
 	for (int i = 0, l = words.length; i < l; i++) {
-		Object o = values[i];
+		Object o = wordsToDocs.get(words[i]);
 		if (o != null) {
 			writeStreamChars(stream, words[i]);
 			if (o instanceof int[]) {
@@ -1148,63 +1309,40 @@ private void writeCategoryTable(char[] categoryName, HashtableOfObject wordsToDo
 			}
 		}
 	}
+	return words;
 }
 private void writeDocumentNumbers(int[] documentNumbers, FileOutputStream stream) throws IOException {
 	// must store length as a positive int to detect in-lined array of 1 element
 	int length = documentNumbers.length;
 	writeStreamInt(stream, length);
 	Util.sort(documentNumbers);
-	int start = 0;
-	switch (this.documentReferenceSize) {
-		case 1 :
-			while ((this.bufferIndex + length - start) >= BUFFER_WRITE_SIZE) {
-				// when documentNumbers is large, write BUFFER_WRITE_SIZE parts & fall thru to write the last part
-				int bytesLeft = BUFFER_WRITE_SIZE - this.bufferIndex;
-				for (int i=0; i < bytesLeft; i++) {
-					this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-				}
-				stream.write(this.streamBuffer, 0, this.bufferIndex);
-				this.bufferIndex = 0;
-			}
-			while (start < length) {
-				this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-			}
-			this.streamEnd += length;
-			break;
-		case 2 :
-			while ((this.bufferIndex + ((length - start) * 2)) >= BUFFER_WRITE_SIZE) {
-				// when documentNumbers is large, write BUFFER_WRITE_SIZE parts & fall thru to write the last part
-				int shortsLeft = (BUFFER_WRITE_SIZE - this.bufferIndex) / 2;
-				for (int i=0; i < shortsLeft; i++) {
-					this.streamBuffer[this.bufferIndex++] = (byte) (documentNumbers[start] >> 8);
-					this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-				}
-				stream.write(this.streamBuffer, 0, this.bufferIndex);
-				this.bufferIndex = 0;
-			}
-			while (start < length) {
-				this.streamBuffer[this.bufferIndex++] = (byte) (documentNumbers[start] >> 8);
-				this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-			}
-			this.streamEnd += length * 2;
-			break;
-		default :
-			while (start < length) {
-				writeStreamInt(stream, documentNumbers[start++]);
-			}
-			break;
+	// then the numbers as a posting list, see PostingList
+	int previous = 0;
+	for (int i = 0; i < length; i++) {
+		if ((this.bufferIndex + 5) >= BUFFER_WRITE_SIZE) {
+			stream.write(this.streamBuffer, 0, this.bufferIndex);
+			this.bufferIndex = 0;
+		}
+		int gap = documentNumbers[i] - previous;
+		int start = this.bufferIndex;
+		while ((gap & ~0x7F) != 0) {
+			this.streamBuffer[this.bufferIndex++] = (byte) ((gap & 0x7F) | 0x80);
+			gap >>>= 7;
+		}
+		this.streamBuffer[this.bufferIndex++] = (byte) gap;
+		this.streamEnd += this.bufferIndex - start;
+		previous = documentNumbers[i];
 	}
 }
 private void writeHeaderInfo(FileOutputStream stream) throws IOException {
 	writeStreamInt(stream, this.numberOfChunks);
-	if ((this.bufferIndex + 3) >= BUFFER_WRITE_SIZE)  {
+	if ((this.bufferIndex + 2) >= BUFFER_WRITE_SIZE)  {
 		stream.write(this.streamBuffer, 0, this.bufferIndex);
 		this.bufferIndex = 0;
 	}
 	this.streamBuffer[this.bufferIndex++] = (byte) this.sizeOfLastChunk;
-	this.streamBuffer[this.bufferIndex++] = (byte) this.documentReferenceSize;
 	this.streamBuffer[this.bufferIndex++] = (byte) this.separator;
-	this.streamEnd += 3;
+	this.streamEnd += 2;
 
 	// apend the file with chunk offsets
 	for (int i = 0; i < this.numberOfChunks; i++) {
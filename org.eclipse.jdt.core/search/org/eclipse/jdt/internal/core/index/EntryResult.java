@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.index;
 
+import java.nio.BufferUnderflowException;
+
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 
@@ -47,20 +49,25 @@ public char[] getWord() {
 public String[] getDocumentNames(Index index) throws java.io.IOException {
 	if (this.documentTables != null) {
 		int length = this.documentTables.length;
-		if (length == 1 && this.documentNames == null) { // have a single table
-			Object offset = this.documentTables[0];
-			int[] numbers = index.diskIndex.readDocumentNumbers(offset);
-			String[] names = new String[numbers.length];
-			for (int i = 0, l = numbers.length; i < l; i++)
-				names[i] = index.diskIndex.readDocumentName(numbers[i]);
-			return names;
-		}
+		PostingList[] lists = new PostingList[length];
+		for (int i = 0; i < length; i++)
+			lists[i] = index.diskIndex.readPostingList(this.documentTables[i]);
+		// lists read from a memory mapping are decoded here, past the checks of the disk index
+		try {
+			if (length == 1 && this.documentNames == null) { // have a single table
+				PostingList.Cursor numbers = lists[0].cursor();
+				String[] names = new String[lists[0].size()];
+				for (int i = 0, l = names.length; i < l; i++)
+					names[i] = index.diskIndex.readDocumentName(numbers.next());
+				return names;
+			}
 
-		for (int i = 0; i < length; i++) {
-			Object offset = this.documentTables[i];
-			int[] numbers = index.diskIndex.readDocumentNumbers(offset);
-			for (int j = 0, k = numbers.length; j < k; j++)
-				addDocumentName(index.diskIndex.readDocumentName(numbers[j]));
+			// each document once, even when in several tables
+			PostingList.Cursor numbers = PostingList.union(lists);
+			for (int number; (number = numbers.next()) != PostingList.Cursor.END;)
+				addDocumentName(index.diskIndex.readDocumentName(number));
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw index.diskIndex.corrupted(e);
 		}
 	}
 
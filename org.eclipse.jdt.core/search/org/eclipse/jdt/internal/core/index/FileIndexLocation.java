@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2022 IBM Corporation and others.
+ * Copyright (c) 2011, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -55,6 +55,7 @@ public class FileIndexLocation extends IndexLocation {
 
 	@Override
 	public boolean delete() {
+		new DeltaLog(this.indexFile).delete();
 		return this.indexFile.delete();
 	}
 
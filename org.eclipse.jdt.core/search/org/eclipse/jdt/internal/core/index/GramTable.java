@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.io.IOException;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+
+/**
+ * The grams of the words of a category table of a {@link DiskIndex}, so that the words matching a camel case or
+ * substring key are found without matching every word of the table.
+ * <p>
+ * The gram table is written as a category table of its own, right after the table of its category and named after it.
+ * Its words are grams, and the posting list of a gram holds the ordinals, in the sorted category table, of the words
+ * having this gram rather than document numbers. A gram starts with its kind:
+ * <ul>
+ * <li>{@link #PREFIX}: the first {@link #GRAM_LENGTH} chars of the word, lower cased, for case insensitive prefix
+ * and exact matches, which camel case matches also accept.</li>
+ * <li>{@link #HUMPS}: the first char of the word followed by its next upper case chars, up to the first char which
+ * is not part of an identifier, {@link #GRAM_LENGTH} chars at most. A camel case key only matches words whose humps
+ * start with its own first char and upper case chars.</li>
+ * <li>{@link #TRIGRAM}: any {@link #GRAM_LENGTH} consecutive chars of the word, lower cased. A substring key only
+ * matches words having all of its trigrams.</li>
+ * </ul>
+ * <p>
+ * The words found with the grams are candidates only, which are then matched as when scanning the whole table.
+ * </p>
+ */
+class GramTable {
+
+// whether the tables of the categories searched by camel case and substring keys are written with a gram table
+static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.indexGrams", "true")); //$NON-NLS-1$//$NON-NLS-2$
+
+private static final char[][] CATEGORIES = { IIndexConstants.TYPE_DECL };
+private static final char[] SUFFIX = "/grams".toCharArray(); //$NON-NLS-1$
+
+static final int GRAM_LENGTH = 3;
+static final char PREFIX = 'P';
+static final char HUMPS = 'H';
+static final char TRIGRAM = 'T';
+
+/**
+ * Answers whether the table of the given category is written with a gram table.
+ */
+static boolean hasGrams(char[] categoryName) {
+	if (!ENABLED) return false;
+	for (char[] category : CATEGORIES)
+		if (CharOperation.equals(category, categoryName))
+			return true;
+	return false;
+}
+static char[] tableName(char[] categoryName) {
+	return CharOperation.concat(categoryName, SUFFIX);
+}
+static boolean isGramTable(char[] categoryName) {
+	return CharOperation.endsWith(categoryName, SUFFIX);
+}
+/**
+ * Answers the table of the grams of the given sorted words to the {@link DiskIndex.IntList} of the ordinals of the
+ * words having them.
+ */
+static HashtableOfObject build(char[][] sortedWords) {
+	HashtableOfObject grams = new HashtableOfObject(sortedWords.length);
+	for (int i = 0, l = sortedWords.length; i < l; i++) {
+		char[] word = sortedWords[i];
+		if (word.length == 0) continue;
+		add(grams, prefix(word), i);
+		add(grams, humps(word), i);
+		for (int j = 0, m = word.length - GRAM_LENGTH; j <= m; j++)
+			add(grams, trigram(word, j), i);
+	}
+	return grams;
+}
+private static void add(HashtableOfObject grams, char[] gram, int ordinal) {
+	DiskIndex.IntList ordinals = (DiskIndex.IntList) grams.get(gram);
+	if (ordinals == null)
+		grams.putUnsafely(gram, new DiskIndex.IntList(new int[] {ordinal}));
+	else if (ordinals.elements[ordinals.size - 1] != ordinal) // a trigram may occur more than once in a word
+		ordinals.add(ordinal);
+}
+private static char[] prefix(char[] word) {
+	int length = Math.min(word.length, GRAM_LENGTH);
+	char[] gram = new char[length + 1];
+	gram[0] = PREFIX;
+	for (int i = 0; i < length; i++)
+		gram[i + 1] = Character.toLowerCase(word[i]);
+	return gram;
+}
+private static char[] humps(char[] word) {
+	char[] gram = new char[GRAM_LENGTH + 1];
+	gram[0] = HUMPS;
+	gram[1] = word[0];
+	int length = 2;
+	for (int i = 1, l = word.length; i < l && length <= GRAM_LENGTH; i++) {
+		char c = word[i];
+		if (!Character.isJavaIdentifierPart(c)) break;
+		if (Character.isUpperCase(c))
+			gram[length++] = c;
+	}
+	return length == gram.length ? gram : CharOperation.subarray(gram, 0, length);
+}
+private static char[] trigram(char[] word, int start) {
+	char[] gram = new char[GRAM_LENGTH + 1];
+	gram[0] = TRIGRAM;
+	for (int i = 0; i < GRAM_LENGTH; i++)
+		gram[i + 1] = Character.toLowerCase(word[start + i]);
+	return gram;
+}
+/**
+ * Answers the ordinals of the words of the category table which may match the key, or null if any word may match.
+ *
+ * @param gramEntries the entries of the gram table of the category
+ * @param matchRule the match rule of the query, as given to {@link Index#isMatch(char[], char[], int)}
+ */
+static PostingList.Cursor candidates(MappedIndexReader reader, int[] gramEntries, char[] key, int matchRule) throws IOException {
+	if (key.length == 0 || (matchRule & SearchPattern.R_SUBWORD_MATCH) != 0)
+		return null;
+	if ((matchRule & SearchPattern.R_SUBSTRING_MATCH) != 0) {
+		if (key.length < GRAM_LENGTH)
+			return null;
+		PostingList.Cursor others = candidates(reader, gramEntries, key, matchRule & ~SearchPattern.R_SUBSTRING_MATCH);
+		if (others == null)
+			return null;
+		PostingList.Cursor[] trigrams = new PostingList.Cursor[key.length - GRAM_LENGTH + 1];
+		for (int i = 0, l = trigrams.length; i < l; i++) {
+			trigrams[i] = find(reader, gramEntries, trigram(key, i));
+			if (trigrams[i] == null) // no word has this trigram
+				return others;
+		}
+		return PostingList.union(new PostingList.Cursor[] {PostingList.intersection(trigrams), others});
+	}
+	switch (matchRule) {
+		case SearchPattern.R_EXACT_MATCH :
+		case SearchPattern.R_PREFIX_MATCH :
+			return startingWith(reader, gramEntries, prefix(key));
+		case SearchPattern.R_CAMELCASE_MATCH :
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH :
+			// case insensitive camel case also matches case insensitive prefixes
+			PostingList.Cursor humps = humpsCandidates(reader, gramEntries, key);
+			return humps == null ? null : PostingList.union(new PostingList.Cursor[] {humps, startingWith(reader, gramEntries, prefix(key))});
+		case SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE :
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH | SearchPattern.R_CASE_SENSITIVE :
+			return humpsCandidates(reader, gramEntries, key);
+	}
+	return null;
+}
+private static PostingList.Cursor humpsCandidates(MappedIndexReader reader, int[] gramEntries, char[] key) throws IOException {
+	for (char c : key)
+		if (!Character.isJavaIdentifierPart(c)) // the humps of such a key are not those of CharOperation.camelCaseMatch()
+			return null;
+	return startingWith(reader, gramEntries, humps(key));
+}
+/*
+ * Answers the ordinals of the words having the given gram, or any gram starting with it if it is shorter than a full gram.
+ */
+private static PostingList.Cursor startingWith(MappedIndexReader reader, int[] gramEntries, char[] gram) throws IOException {
+	if (gram.length > GRAM_LENGTH) {
+		PostingList.Cursor ordinals = find(reader, gramEntries, gram);
+		return ordinals == null ? PostingList.EMPTY.cursor() : ordinals;
+	}
+	int index = reader.find(gramEntries, gram);
+	int start = index < 0 ? -index - 1 : index;
+	int end = start;
+	while (end < gramEntries.length && reader.startsWith(gramEntries[end], gram))
+		end++;
+	if (start == end)
+		return PostingList.EMPTY.cursor();
+	PostingList.Cursor[] ordinals = new PostingList.Cursor[end - start];
+	for (int i = start; i < end; i++)
+		ordinals[i - start] = cursor(reader, reader.readDocumentTable(gramEntries[i]));
+	return PostingList.union(ordinals);
+}
+private static PostingList.Cursor find(MappedIndexReader reader, int[] gramEntries, char[] gram) throws IOException {
+	int index = reader.find(gramEntries, gram);
+	return index < 0 ? null : cursor(reader, reader.readDocumentTable(gramEntries[index]));
+}
+private static PostingList.Cursor cursor(MappedIndexReader reader, Object ordinals) throws IOException {
+	if (ordinals instanceof int[])
+		return PostingList.of((int[]) ordinals).cursor();
+	if (ordinals instanceof PostingList)
+		return ((PostingList) ordinals).cursor();
+	return reader.readPostingList(((Integer) ordinals).intValue()).cursor();
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,11 @@ import org.eclipse.jdt.internal.core.search.indexing.ReadWriteMonitor;
  * Queries can search a single category or several at the same time.
  * </p>
  * Indexes are not synchronized structures and should only be queried/updated one at a time.
+ * <p>
+ * A save appends the documents changed since the last save to the {@link DeltaLog} of the index file, until the
+ * documents changed since the index file was written exceed a fraction of its documents: they are then all merged
+ * into a new index file, as {@link #compact()} does when the index manager is idle.
+ * </p>
  */
 public class Index {
 
@@ -44,7 +49,16 @@ public char separator = DEFAULT_SEPARATOR;
 static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.charAt(0);
 
 protected DiskIndex diskIndex;
-protected MemoryIndex memoryIndex;
+protected MemoryIndex memoryIndex; // the documents saved in the delta log, then the ones changed since
+
+/**
+ * Saves append to the delta log while the documents changed since the index file was written are no more than its
+ * documents divided by this ratio, at least {@link MemoryIndex#NUM_CHANGES} and at most {@link #MAX_DELTA_DOCUMENTS}.
+ */
+static final int DELTA_RATIO = 10;
+static final int MAX_DELTA_DOCUMENTS = 10000; // bounds the memory used by the documents of the delta log
+// appended to the path of the index file to name its delta log
+public static final String DELTA_LOG_SUFFIX = ".delta"; //$NON-NLS-1$
 
 /**
  * Mask used on match rule for indexing.
@@ -118,7 +132,37 @@ public Index(IndexLocation location, String containerPath, boolean reuseExisting
 	this.memoryIndex = new MemoryIndex();
 	this.diskIndex = new DiskIndex(location);
 	this.diskIndex.initialize(reuseExistingFile);
-	if (reuseExistingFile) this.separator = this.diskIndex.separator;
+	DeltaLog deltaLog = getDeltaLog();
+	if (reuseExistingFile) {
+		this.separator = this.diskIndex.separator;
+		if (deltaLog != null && deltaLog.read(this.diskIndex.indexLocation.getIndexFile(), this.memoryIndex))
+			this.memoryIndex.markSaved();
+	} else if (deltaLog != null) {
+		deltaLog.delete();
+	}
+}
+/*
+ * A shard, see newShard().
+ */
+private Index(String containerPath, char separator) {
+	this.containerPath = containerPath;
+	this.separator = separator;
+	this.memoryIndex = new MemoryIndex();
+}
+/**
+ * Answers an index of the same container which only holds documents in memory, so that documents can be indexed into
+ * it by another thread than the one writing this index. The documents of the shard are then added to this index with
+ * {@link #addDocuments(Index)}.
+ */
+public Index newShard() {
+	return new Index(this.containerPath, this.separator);
+}
+/**
+ * Adds the documents of the given shard to this index, replacing any documents of the same names. The shard must no
+ * longer be used afterwards.
+ */
+public void addDocuments(Index shard) {
+	this.memoryIndex.addDocuments(shard.memoryIndex);
 }
 public void addIndexEntry(char[] category, char[] key, String containerRelativePath) {
 	this.memoryIndex.addIndexEntry(category, key, containerRelativePath);
@@ -139,10 +183,31 @@ public IndexLocation getIndexLocation() {
 	return this.diskIndex == null ? null : this.diskIndex.indexLocation;
 }
 public long getIndexLastModified() {
-	return this.diskIndex == null? -1 : this.diskIndex.indexLocation.lastModified();
+	if (this.diskIndex == null) return -1;
+	long lastModified = this.diskIndex.indexLocation.lastModified();
+	DeltaLog deltaLog = getDeltaLog();
+	return deltaLog == null ? lastModified : Math.max(lastModified, deltaLog.lastModified());
 }
+/*
+ * Answers the delta log of the index file, or null if the index file cannot have one.
+ */
+private DeltaLog getDeltaLog() {
+	File indexFile = this.diskIndex.indexLocation.getIndexFile();
+	if (indexFile == null || indexFile.getPath().endsWith(DiskIndex.TMP_EXT)) // the index file could not be renamed, it is written again at each save
+		return null;
+	return new DeltaLog(indexFile);
+}
+/**
+ * Answers whether the index has changes not saved yet.
+ */
 public boolean hasChanged() {
-	return this.memoryIndex.hasChanged();
+	return this.memoryIndex.hasUnsavedChanges();
+}
+/**
+ * Answers whether the index file has all the documents of the index, none being in its delta log or not saved yet.
+ */
+public boolean isMerged() {
+	return !this.memoryIndex.hasChanged();
 }
 /**
  * Returns the entries containing the given key in a group of categories, or null if no matches are found.
@@ -212,8 +277,12 @@ public void remove(String containerRelativePath) {
  */
 public void reset() throws IOException {
 	this.memoryIndex = new MemoryIndex();
+	this.diskIndex.close();
 	this.diskIndex = new DiskIndex(this.diskIndex.indexLocation);
 	this.diskIndex.initialize(false/*do not reuse the index file*/);
+	DeltaLog deltaLog = getDeltaLog();
+	if (deltaLog != null)
+		deltaLog.delete();
 }
 public boolean save() throws IOException {
 	ReadWriteMonitor readWriteMonitor = this.monitor;
@@ -224,10 +293,51 @@ public boolean save() throws IOException {
 	// must own the write lock of the monitor
 	if (!hasChanged()) return false;
 
+	DeltaLog deltaLog = getDeltaLog();
+	int diskDocuments = this.diskIndex.documentCount();
+	if (deltaLog != null && diskDocuments > 0
+			&& this.memoryIndex.docsToReferences.elementSize <= Math.min(MAX_DELTA_DOCUMENTS, Math.max(this.memoryIndex.NUM_CHANGES, diskDocuments / DELTA_RATIO))) {
+		try {
+			deltaLog.append(this.diskIndex.indexLocation.getIndexFile(), this.memoryIndex);
+			this.memoryIndex.markSaved();
+			return true;
+		} catch (IOException e) {
+			// merge the changes into the index file instead, which deletes the delta log
+		}
+	}
+	merge();
+	return true;
+}
+/**
+ * Merges the documents of the delta log into the index file, and answers whether there were any.
+ */
+public boolean compact() throws IOException {
+	ReadWriteMonitor readWriteMonitor = this.monitor;
+	if(readWriteMonitor == null) {
+		// index got deleted since acquired
+		return false;
+	}
+	// must own the write lock of the monitor
+	if (isMerged()) return false;
+
+	merge();
+	return true;
+}
+private void merge() throws IOException {
+	DeltaLog deltaLog = getDeltaLog();
 	this.diskIndex.separator = this.separator;
 	this.diskIndex = this.diskIndex.mergeWith(this.memoryIndex);
 	this.memoryIndex = new MemoryIndex();
-	return true;
+	// a crash before the delta log is deleted leaves a log of another index file, which is ignored
+	if (deltaLog != null)
+		deltaLog.delete();
+}
+/**
+ * Releases the memory mapping of the index file, once the index is discarded.
+ */
+public void close() {
+	if (this.diskIndex != null)
+		this.diskIndex.close();
 }
 public void startQuery() {
 	if (this.diskIndex != null)
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Reads the category tables and document names of a {@link DiskIndex} from a memory mapping of its file.
+ * <p>
+ * The words of a category table are written sorted, so a word is found by a binary search of the table, and the
+ * posting lists of document numbers are read in place from the mapping. The mapping is only read with buffers of its own to
+ * each call, so any number of queries read at once without a lock. The only state kept is the offset of each
+ * entry of the category tables searched so far and the document names decoded so far, both shared by all queries.
+ * </p><p>
+ * Java offers no way to unmap a file while other threads may still read it, so {@link #close()} drops the mapping,
+ * which is unmapped once the posting lists read from it are not used anymore either.
+ * </p>
+ */
+class MappedIndexReader {
+
+private static final int LARGE_ARRAY_SIZE = 256; // document arrays of this size or more are written before the table
+
+private volatile ByteBuffer mapping; // never read with relative gets, which would change its position; null once closed
+private final int numberOfChunks;
+private final int sizeOfLastChunk;
+private final int[] chunkOffsets;
+private final ConcurrentHashMap<Integer, int[]> entryOffsets = new ConcurrentHashMap<>(); // offset of a category table -> offsets of its entries
+private final AtomicReferenceArray<String[]> chunks; // decoded chunks of document names
+
+private MappedIndexReader(ByteBuffer mapping, int numberOfChunks, int sizeOfLastChunk, int[] chunkOffsets) {
+	this.mapping = mapping;
+	this.numberOfChunks = numberOfChunks;
+	this.sizeOfLastChunk = sizeOfLastChunk;
+	this.chunkOffsets = chunkOffsets;
+	this.chunks = new AtomicReferenceArray<>(numberOfChunks);
+}
+static MappedIndexReader map(File file, int numberOfChunks, int sizeOfLastChunk, int[] chunkOffsets) throws IOException {
+	try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE)
+			throw new IOException("Index file is corrupted " + file); //$NON-NLS-1$
+		ByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // the mapping remains valid once the channel is closed
+		return new MappedIndexReader(mapping, numberOfChunks, sizeOfLastChunk, chunkOffsets);
+	}
+}
+/**
+ * Drops the mapping, later reads fail with an <code>IOException</code>.
+ */
+void close() {
+	this.mapping = null;
+}
+/**
+ * Answers the offsets of the entries of the category table at the given offset, in the order of their words.
+ */
+int[] getEntries(int tableOffset) throws IOException {
+	int[] entries = this.entryOffsets.get(tableOffset);
+	if (entries == null) {
+		ByteBuffer in = reader(tableOffset);
+		int size = in.getInt();
+		if (size < 0 || size > in.remaining())
+			throw new IOException("Index file is corrupted at offset " + tableOffset); //$NON-NLS-1$
+		entries = new int[size];
+		for (int i = 0; i < size; i++) {
+			entries[i] = in.position();
+			skipChars(in);
+			int arrayOffset = in.getInt();
+			if (arrayOffset >= LARGE_ARRAY_SIZE)
+				in.getInt(); // offset to the array
+			else if (arrayOffset > 0)
+				in.position(in.position() + PostingList.encodedLength(in, in.position(), arrayOffset));
+		}
+		int[] existing = this.entryOffsets.putIfAbsent(tableOffset, entries);
+		if (existing != null)
+			entries = existing;
+	}
+	return entries;
+}
+/**
+ * Answers the index of the entry whose word is the given key, or <code>-(insertion point) - 1</code> if there is
+ * none, as {@link java.util.Arrays#binarySearch(int[], int)} does.
+ */
+int find(int[] entries, char[] key) throws IOException {
+	int low = 0;
+	int high = entries.length - 1;
+	while (low <= high) {
+		int middle = (low + high) >>> 1;
+		int comparison = compareWord(entries[middle], key);
+		if (comparison < 0)
+			low = middle + 1;
+		else if (comparison > 0)
+			high = middle - 1;
+		else
+			return middle;
+	}
+	return -(low + 1);
+}
+/**
+ * Compares the word of the given entry with the given key, as {@link org.eclipse.jdt.internal.core.util.Util#compare(char[], char[])}
+ * does, which sorted the words of the table.
+ */
+int compareWord(int entry, char[] key) throws IOException {
+	ByteBuffer in = reader(entry);
+	int length = in.getShort() & 0xFFFF;
+	int n = Math.min(length, key.length);
+	for (int i = 0; i < n; i++) {
+		char c = readChar(in);
+		if (c != key[i])
+			return c - key[i];
+	}
+	return length - key.length;
+}
+/**
+ * Answers whether the word of the given entry starts with the given prefix.
+ */
+boolean startsWith(int entry, char[] prefix) throws IOException {
+	ByteBuffer in = reader(entry);
+	int length = in.getShort() & 0xFFFF;
+	if (length < prefix.length)
+		return false;
+	for (int i = 0, l = prefix.length; i < l; i++)
+		if (readChar(in) != prefix[i])
+			return false;
+	return true;
+}
+char[] readWord(int entry) throws IOException {
+	return readChars(reader(entry));
+}
+/**
+ * Answers the document numbers of the given entry, as a posting list when written in the table, or as the
+ * <code>Integer</code> offset of the list otherwise, as {@link DiskIndex} does.
+ */
+Object readDocumentTable(int entry) throws IOException {
+	ByteBuffer in = reader(entry);
+	skipChars(in);
+	int arrayOffset = in.getInt();
+	if (arrayOffset <= 0)
+		return new int[] {-arrayOffset}; // an array of 1 element is stored by negating the document number
+	if (arrayOffset < LARGE_ARRAY_SIZE)
+		return postingList(in.position(), arrayOffset);
+	return Integer.valueOf(in.getInt());
+}
+PostingList readPostingList(int arrayOffset) throws IOException {
+	ByteBuffer in = reader(arrayOffset);
+	int size = in.getInt();
+	if (size < 0 || size > in.remaining())
+		throw new IOException("Index file is corrupted at offset " + arrayOffset); //$NON-NLS-1$
+	return postingList(in.position(), size);
+}
+/*
+ * Answers the posting list of the given size at the given offset, which reads the mapping rather than a copy.
+ */
+private PostingList postingList(int offset, int size) throws IOException {
+	ByteBuffer bytes = reader(offset);
+	int length = PostingList.encodedLength(bytes, offset, size);
+	bytes.limit(offset + length);
+	return new PostingList(bytes.slice(), size);
+}
+String readDocumentName(int docNumber) throws IOException {
+	int chunkNumber = docNumber / DiskIndex.CHUNK_SIZE;
+	return getChunk(chunkNumber)[docNumber - chunkNumber * DiskIndex.CHUNK_SIZE];
+}
+String[] readAllDocumentNames() throws IOException {
+	if (this.numberOfChunks <= 0)
+		return CharOperation.NO_STRINGS;
+	int lastIndex = this.numberOfChunks - 1;
+	String[] docNames = new String[lastIndex * DiskIndex.CHUNK_SIZE + this.sizeOfLastChunk];
+	for (int i = 0; i < this.numberOfChunks; i++) {
+		String[] chunk = getChunk(i);
+		System.arraycopy(chunk, 0, docNames, i * DiskIndex.CHUNK_SIZE, chunk.length);
+	}
+	return docNames;
+}
+private String[] getChunk(int chunkNumber) throws IOException {
+	String[] chunk = this.chunks.get(chunkNumber);
+	if (chunk == null) {
+		// decoding the same chunk twice in parallel is harmless
+		chunk = readChunk(chunkNumber);
+		this.chunks.set(chunkNumber, chunk);
+	}
+	return chunk;
+}
+private String[] readChunk(int chunkNumber) throws IOException {
+	// same encoding as DiskIndex.readChunk()
+	ByteBuffer in = reader(this.chunkOffsets[chunkNumber]);
+	String[] docNames = new String[chunkNumber == this.numberOfChunks - 1 ? this.sizeOfLastChunk : DiskIndex.CHUNK_SIZE];
+	String current = new String(readChars(in));
+	docNames[0] = current;
+	for (int i = 1, l = docNames.length; i < l; i++) {
+		int start = in.get() & 0xFF;
+		int end = in.get() & 0xFF;
+		String next = new String(readChars(in));
+		if (start > 0) {
+			if (end > 0) {
+				int length = current.length();
+				next = current.substring(0, start) + next + current.substring(length - end, length);
+			} else {
+				next = current.substring(0, start) + next;
+			}
+		} else if (end > 0) {
+			int length = current.length();
+			next = next + current.substring(length - end, length);
+		}
+		docNames[i] = next;
+		current = next;
+	}
+	return docNames;
+}
+/*
+ * Answers a buffer of the mapping positioned at the given offset, for the use of a single call.
+ */
+private ByteBuffer reader(int offset) throws IOException {
+	ByteBuffer buffer = this.mapping;
+	if (buffer == null)
+		throw new IOException("Index file is closed"); //$NON-NLS-1$
+	if (offset < 0 || offset >= buffer.limit())
+		throw new IOException("Index file is corrupted at offset " + offset); //$NON-NLS-1$
+	ByteBuffer in = buffer.duplicate();
+	in.position(offset);
+	return in;
+}
+/*
+ * Reads chars written by DiskIndex.writeStreamChars(): the number of chars, then each char in modified UTF-8.
+ */
+private static char[] readChars(ByteBuffer in) throws IOException {
+	int length = in.getShort() & 0xFFFF;
+	char[] chars = new char[length];
+	for (int i = 0; i < length; i++)
+		chars[i] = readChar(in);
+	return chars;
+}
+private static char readChar(ByteBuffer in) throws IOException {
+	try {
+		int b = in.get();
+		switch (b & 0xF0) {
+			case 0x00 :
+			case 0x10 :
+			case 0x20 :
+			case 0x30 :
+			case 0x40 :
+			case 0x50 :
+			case 0x60 :
+			case 0x70 :
+				return (char) b;
+			case 0xC0 :
+			case 0xD0 :
+				int next = in.get();
+				if ((next & 0xC0) != 0x80)
+					throw new UTFDataFormatException();
+				return (char) (((b & 0x1F) << 6) | (next & 0x3F));
+			case 0xE0 :
+				int first = in.get();
+				int second = in.get();
+				if ((first & 0xC0) != 0x80 || (second & 0xC0) != 0x80)
+					throw new UTFDataFormatException();
+				return (char) (((b & 0x0F) << 12) | ((first & 0x3F) << 6) | (second & 0x3F));
+			default :
+				throw new UTFDataFormatException();
+		}
+	} catch (BufferUnderflowException e) {
+		throw new UTFDataFormatException();
+	}
+}
+private static void skipChars(ByteBuffer in) {
+	int length = in.getShort() & 0xFFFF;
+	for (int i = 0; i < length; i++) {
+		int b = in.get() & 0xF0;
+		if (b == 0xE0)
+			in.position(in.position() + 2);
+		else if (b == 0xC0 || b == 0xD0)
+			in.position(in.position() + 1);
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ public class MemoryIndex {
 public int NUM_CHANGES = 100; // number of separate document changes... used to decide when to merge
 
 SimpleLookupTable docsToReferences; // document paths -> HashtableOfObject(category names -> set of words)
+SimpleSet unsavedDocuments; // document paths changed since the last save, the others are saved in the delta log of the index
 SimpleWordSet allWords; // save space by locally interning the referenced words, since an indexer can generate numerous duplicates
 String lastDocumentName;
 HashtableOfObject lastReferenceTable;
@@ -31,6 +32,7 @@ HashtableOfObject lastReferenceTable;
 MemoryIndex() {
 	this.docsToReferences = new SimpleLookupTable(7);
 	this.allWords = new SimpleWordSet(7);
+	this.unsavedDocuments = new SimpleSet(7);
 }
 void addDocumentNames(String substring, SimpleSet results) {
 	// assumed the disk index already skipped over documents which have been added/changed/deleted
@@ -55,6 +57,7 @@ void addIndexEntry(char[] category, char[] key, String documentName) {
 		referenceTable = (HashtableOfObject) this.docsToReferences.get(documentName);
 		if (referenceTable == null)
 			this.docsToReferences.put(documentName, referenceTable = new HashtableOfObject(3));
+		this.unsavedDocuments.add(documentName);
 		this.lastDocumentName = documentName;
 		this.lastReferenceTable = referenceTable;
 	}
@@ -65,6 +68,32 @@ void addIndexEntry(char[] category, char[] key, String documentName) {
 
 	existingWords.add(this.allWords.add(key));
 }
+void addDocuments(MemoryIndex shard) {
+	Object[] paths = shard.docsToReferences.keyTable;
+	Object[] referenceTables = shard.docsToReferences.valueTable;
+	for (int i = 0, l = paths.length; i < l; i++) {
+		String documentName = (String) paths[i];
+		if (documentName == null) continue;
+		HashtableOfObject referenceTable = (HashtableOfObject) referenceTables[i];
+		if (referenceTable != null) {
+			// intern the words of the shard with those of this index, in place since equal words have the same slots
+			Object[] wordSets = referenceTable.valueTable;
+			for (int j = 0, m = wordSets.length; j < m; j++) {
+				if (wordSets[j] == null) continue;
+				char[][] words = ((SimpleWordSet) wordSets[j]).words;
+				for (int k = 0, n = words.length; k < n; k++)
+					if (words[k] != null)
+						words[k] = this.allWords.add(words[k]);
+			}
+		}
+		if (documentName.equals(this.lastDocumentName)) {
+			this.lastDocumentName = null;
+			this.lastReferenceTable = null;
+		}
+		this.docsToReferences.put(documentName, referenceTable);
+		this.unsavedDocuments.add(documentName);
+	}
+}
 HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule, HashtableOfObject results) {
 	// assumed the disk index already skipped over documents which have been added/changed/deleted
 	// results maps a word -> EntryResult
@@ -117,14 +146,23 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 boolean hasChanged() {
 	return this.docsToReferences.elementSize > 0;
 }
+boolean hasUnsavedChanges() {
+	return this.unsavedDocuments.elementSize > 0;
+}
+void markSaved() {
+	this.unsavedDocuments = new SimpleSet(7);
+	this.lastDocumentName = null; // so that the next entries of the last document mark it unsaved again
+	this.lastReferenceTable = null;
+}
 void remove(String documentName) {
 	if (documentName.equals(this.lastDocumentName)) {
 		this.lastDocumentName = null;
 		this.lastReferenceTable = null;
 	}
 	this.docsToReferences.put(documentName, null);
+	this.unsavedDocuments.add(documentName);
 }
 boolean shouldMerge() {
-	return this.docsToReferences.elementSize >= this.NUM_CHANGES;
+	return this.unsavedDocuments.elementSize >= this.NUM_CHANGES;
 }
 }
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The sorted document numbers of a word of a {@link DiskIndex}, kept encoded as written in the index file.
+ * <p>
+ * The first number, then the gap from each number to the next, are written as variable length ints: 7 bits per
+ * byte, low bits first, the high bit set on every byte but the last one of a number. Since the gaps are small, most
+ * numbers take a single byte, whatever the number of documents of the index. The end of a list is found by counting
+ * the bytes whose high bit is clear.
+ * </p>
+ * <p>
+ * The numbers are decoded as iterated by a {@link Cursor}, so a list read from a memory mapping of the index file is
+ * never copied, and a list read from a stream takes a byte or two per document rather than an int.
+ * </p>
+ */
+final class PostingList {
+
+static final PostingList EMPTY = new PostingList(ByteBuffer.allocate(0), 0);
+
+private final ByteBuffer bytes; // the encoded numbers, from position 0, only read with absolute gets
+private final int size;
+
+PostingList(ByteBuffer bytes, int size) {
+	this.bytes = bytes;
+	this.size = size;
+}
+/**
+ * Answers a list of the given numbers, sorted.
+ */
+static PostingList of(int[] sortedNumbers) {
+	byte[] bytes = new byte[encodedLength(sortedNumbers)];
+	int index = 0;
+	int previous = 0;
+	for (int number : sortedNumbers) {
+		int gap = number - previous;
+		while ((gap & ~0x7F) != 0) {
+			bytes[index++] = (byte) ((gap & 0x7F) | 0x80);
+			gap >>>= 7;
+		}
+		bytes[index++] = (byte) gap;
+		previous = number;
+	}
+	return new PostingList(ByteBuffer.wrap(bytes), sortedNumbers.length);
+}
+/**
+ * Answers the number of bytes encoding the given numbers, sorted.
+ */
+static int encodedLength(int[] sortedNumbers) {
+	int length = 0;
+	int previous = 0;
+	for (int number : sortedNumbers) {
+		int gap = number - previous;
+		do {
+			length++;
+			gap >>>= 7;
+		} while (gap != 0);
+		previous = number;
+	}
+	return length;
+}
+/**
+ * Answers the number of bytes encoding a list of the given size, starting at the given offset of the buffer.
+ */
+static int encodedLength(ByteBuffer in, int offset, int size) {
+	int index = offset;
+	for (int count = 0; count < size; index++)
+		if ((in.get(index) & 0x80) == 0)
+			count++;
+	return index - offset;
+}
+int size() {
+	return this.size;
+}
+int[] toArray() {
+	int[] numbers = new int[this.size];
+	Cursor cursor = cursor();
+	for (int i = 0; i < this.size; i++)
+		numbers[i] = cursor.next();
+	return numbers;
+}
+Cursor cursor() {
+	return new Cursor(this.bytes, this.size);
+}
+/**
+ * Answers the numbers of any of the given lists, each once, in order, without decoding the lists beforehand.
+ */
+static Cursor union(PostingList[] lists) {
+	if (lists.length == 1)
+		return lists[0].cursor();
+	Cursor[] cursors = new Cursor[lists.length];
+	for (int i = 0, l = lists.length; i < l; i++)
+		cursors[i] = lists[i].cursor();
+	return union(cursors);
+}
+static Cursor union(Cursor[] cursors) {
+	return cursors.length == 1 ? cursors[0] : new Union(cursors);
+}
+/**
+ * Answers the numbers found in all of the given cursors, in order.
+ */
+static Cursor intersection(Cursor[] cursors) {
+	return cursors.length == 1 ? cursors[0] : new Intersection(cursors);
+}
+
+/**
+ * Iterates the numbers of a list in order.
+ */
+static class Cursor {
+	static final int END = -1;
+
+	private final ByteBuffer bytes;
+	private int remaining;
+	private int index;
+	private int current;
+
+	Cursor(ByteBuffer bytes, int size) {
+		this.bytes = bytes;
+		this.remaining = size;
+	}
+	/**
+	 * Answers the next number, or {@link #END} once all have been answered.
+	 */
+	int next() {
+		if (this.remaining == 0)
+			return END;
+		this.remaining--;
+		int gap = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = this.bytes.get(this.index++);
+			gap |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return this.current += gap;
+	}
+}
+
+private static class Union extends Cursor {
+	private final Cursor[] cursors;
+	private final int[] heads; // the next number of each cursor
+
+	Union(Cursor[] cursors) {
+		super(null, 0);
+		this.cursors = cursors;
+		this.heads = new int[cursors.length];
+		for (int i = 0, l = cursors.length; i < l; i++)
+			this.heads[i] = cursors[i].next();
+	}
+	@Override
+	int next() {
+		// few lists are merged, one per category of a query or per gram of a key, so the smallest head is found by a scan
+		int min = END;
+		for (int head : this.heads)
+			if (head != END && (min == END || head < min))
+				min = head;
+		if (min != END)
+			for (int i = 0, l = this.heads.length; i < l; i++)
+				if (this.heads[i] == min)
+					this.heads[i] = this.cursors[i].next();
+		return min;
+	}
+}
+
+private static class Intersection extends Cursor {
+	private final Cursor[] cursors;
+	private final int[] heads; // the next number of each cursor
+
+	Intersection(Cursor[] cursors) {
+		super(null, 0);
+		this.cursors = cursors;
+		this.heads = new int[cursors.length];
+		for (int i = 0, l = cursors.length; i < l; i++)
+			this.heads[i] = cursors[i].next();
+	}
+	@Override
+	int next() {
+		// move every cursor up to the greatest head until all heads are equal
+		int max = END;
+		for (int i = 0, l = this.heads.length; i < l; i++) {
+			if (this.heads[i] == END)
+				return END;
+			if (this.heads[i] > max) {
+				max = this.heads[i];
+				i = -1; // check the previous cursors again
+				continue;
+			}
+			while (this.heads[i] != END && this.heads[i] < max)
+				this.heads[i] = this.cursors[i].next();
+			if (this.heads[i] != max)
+				i--; // the head is END or past the max, check it again
+		}
+		for (int i = 0, l = this.heads.length; i < l; i++)
+			this.heads[i] = this.cursors[i].next();
+		return max;
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.internal.core.search;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.io.IOException;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -32,6 +34,7 @@ public class JavaSearchDocument extends SearchDocument {
 	private IFile file;
 	protected byte[] byteContents;
 	protected char[] charContents;
+	private int contentsRead; // length of the contents last read from the file
 
 	public JavaSearchDocument(String documentPath, SearchParticipant participant) {
 		super(documentPath, participant);
@@ -49,7 +52,9 @@ public class JavaSearchDocument extends SearchDocument {
 	public byte[] getByteContents() {
 		if (this.byteContents != null) return this.byteContents;
 		try {
-			return Util.getResourceContentsAsByteArray(getFile());
+			byte[] contents = Util.getResourceContentsAsByteArray(getFile());
+			this.contentsRead = contents.length;
+			return contents;
 		} catch (JavaModelException e) {
 			if (BasicSearchEngine.VERBOSE || JobManager.VERBOSE) { // used during search and during indexing
 				trace("", e); //$NON-NLS-1$
@@ -60,8 +65,24 @@ public class JavaSearchDocument extends SearchDocument {
 	@Override
 	public char[] getCharContents() {
 		if (this.charContents != null) return this.charContents;
+		IFile resource = getFile();
+		String encoding;
 		try {
-			return Util.getResourceContentsAsCharArray(getFile());
+			encoding = resource.getCharset();
+		} catch (CoreException ce) {
+			// do not use any encoding
+			encoding = null;
+		}
+		try {
+			// read the bytes first, so that the size of the file is known
+			byte[] bytes = Util.getResourceContentsAsByteArray(resource);
+			this.contentsRead = bytes.length;
+			return org.eclipse.jdt.internal.compiler.util.Util.bytesToChar(bytes, encoding);
+		} catch (IOException e) {
+			if (BasicSearchEngine.VERBOSE || JobManager.VERBOSE) { // used during search and during indexing
+				trace("", e); //$NON-NLS-1$
+			}
+			return null;
 		} catch (JavaModelException e) {
 			if (BasicSearchEngine.VERBOSE || JobManager.VERBOSE) { // used during search and during indexing
 				trace("", e); //$NON-NLS-1$
@@ -69,6 +90,14 @@ public class JavaSearchDocument extends SearchDocument {
 			return null;
 		}
 	}
+	/**
+	 * Answers the length of the contents of this document, as last read, in bytes, or in chars if given as chars.
+	 */
+	public int getContentsLength() {
+		if (this.byteContents != null) return this.byteContents.length;
+		if (this.charContents != null) return this.charContents.length;
+		return this.contentsRead;
+	}
 	@Override
 	public String getEncoding() {
 		// Return the encoding of the associated file
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -117,7 +117,11 @@ public boolean execute(IProgressMonitor progressMonitor) {
 			isComplete = performParallelSearch(indexes, loopMonitor);
 		} else {
 			for (int i = 0; i < max; i++) {
-				isComplete &= search(indexes[i], this.requestor, loopMonitor.split(1));
+				// the matches of an index are accepted once it is read, so that a requestor which waits, e.g. for the
+				// consumer of a search result stream, does not hold the read lock of the index meanwhile
+				IndexResult result = search(indexes[i], loopMonitor.split(1));
+				accept(result.matches);
+				isComplete &= result.complete;
 			}
 		}
 
@@ -155,12 +159,7 @@ private boolean performParallelSearch(Index[] indexes, SubMonitor loopMonitor) {
 			try {
 				IndexResult result = future.get();
 				isComplete &= result.complete;
-				result.matches.forEach(m -> {
-					boolean continueSearch = this.requestor.acceptIndexMatch(m.documentPath, m.indexRecord, this.participant, m.access);
-					if(!continueSearch) {
-						throw new OperationCanceledException();
-					}
-				});
+				accept(result.matches);
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
 				throw new OperationCanceledException();
@@ -180,6 +179,14 @@ private boolean performParallelSearch(Index[] indexes, SubMonitor loopMonitor) {
 	}
 	return isComplete;
 }
+private void accept(List<IndexMatch> matches) {
+	matches.forEach(m -> {
+		boolean continueSearch = this.requestor.acceptIndexMatch(m.documentPath, m.indexRecord, this.participant, m.access);
+		if(!continueSearch) {
+			throw new OperationCanceledException();
+		}
+	});
+}
 public Index[] getIndexes(IProgressMonitor progressMonitor) {
 	// acquire the in-memory indexes on the fly
 	IndexLocation[] indexLocations;
@@ -223,7 +230,9 @@ public boolean search(Index index, IndexQueryRequestor queryRequestor, IProgress
 	ReadWriteMonitor monitor = index.monitor;
 	if (monitor == null) return COMPLETE; // index got deleted since acquired
 	try {
+		long waitStart = System.nanoTime();
 		monitor.enterRead(); // ask permission to read
+		JavaModelManager.getIndexManager().getMetrics().readWaited(System.nanoTime() - waitStart);
 		long start = System.currentTimeMillis();
 		SearchPattern searchPattern = this.pattern;
 		IJavaSearchScope searchScope = this.scope;
@@ -260,7 +269,7 @@ public boolean search(Index index, IndexQueryRequestor queryRequestor, IProgress
 	}
 }
 
-private static IJavaSearchScope clone(IJavaSearchScope searchScope) {
+public static IJavaSearchScope clone(IJavaSearchScope searchScope) {
 	if (searchScope instanceof AbstractSearchScope) {
 		try {
 			searchScope = ((AbstractSearchScope)searchScope).clone();
@@ -272,7 +281,7 @@ private static IJavaSearchScope clone(IJavaSearchScope searchScope) {
 	return searchScope;
 }
 
-private static SearchPattern clone(SearchPattern searchPattern) {
+public static SearchPattern clone(SearchPattern searchPattern) {
 	if(searchPattern instanceof Cloneable) {
 		try {
 			searchPattern = searchPattern.clone();
@@ -338,7 +347,7 @@ static class IndexMatch {
 	}
 }
 
-static class ParallelSearchMonitor extends NullProgressMonitor {
+public static class ParallelSearchMonitor extends NullProgressMonitor {
 	private volatile boolean canceled;
 	private final IProgressMonitor original;
 
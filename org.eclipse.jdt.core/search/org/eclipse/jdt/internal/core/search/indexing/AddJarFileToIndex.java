@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,10 +17,18 @@ import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipError;
 import java.util.zip.ZipFile;
@@ -50,9 +58,11 @@ import org.eclipse.jdt.internal.core.search.processing.JobManager;
 class AddJarFileToIndex extends BinaryContainer {
 
 	private static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.charAt(0);
+
 	IFile resource;
 	private IndexLocation indexFileURL;
 	private final boolean forceIndexUpdate;
+	private boolean ignoreSharedIndex; // the shared index of the jar is not consistent with it
 
 	public AddJarFileToIndex(IFile resource, IndexLocation indexFile, IndexManager manager) {
 		this(resource, indexFile, manager, false);
@@ -90,6 +100,18 @@ class AddJarFileToIndex extends BinaryContainer {
 			return this.containerPath.hashCode();
 		return -1;
 	}
+	private File getJarFile(IProgressMonitor progressMonitor) {
+		if (this.resource == null)
+			return this.containerPath.toFile(); // external file
+		URI location = this.resource.getLocationURI();
+		if (location == null)
+			return null;
+		try {
+			return org.eclipse.jdt.internal.core.util.Util.toLocalFile(location, progressMonitor);
+		} catch (CoreException e) {
+			return null;
+		}
+	}
 	@Override
 	public boolean execute(IProgressMonitor progressMonitor) {
 
@@ -111,6 +133,30 @@ class AddJarFileToIndex extends BinaryContainer {
 				return true;
 			}
 
+			// the workspace has no index for the jar, use the one of the shared store if any
+			SharedIndexStore store = this.manager.getSharedIndexStore();
+			String sharedKey = null;
+			if (store != null && !this.forceIndexUpdate && !this.ignoreSharedIndex && !this.manager.computeIndexLocation(this.containerPath).exists()) {
+				File jarFile = getJarFile(progressMonitor);
+				if (jarFile != null) {
+					try {
+						sharedKey = store.computeKey(jarFile);
+					} catch (IOException e) {
+						if (JobManager.VERBOSE)
+							trace("-> failed to compute the shared index key of " + jarFile, e); //$NON-NLS-1$
+					}
+				}
+				IndexLocation sharedLocation = sharedKey == null ? null : store.acquire(sharedKey);
+				if (sharedLocation != null) {
+					if (this.manager.addIndex(this.containerPath, sharedLocation)) {
+						if (JobManager.VERBOSE)
+							trace("-> no indexing required (shared index exists) for " + this.containerPath); //$NON-NLS-1$
+						return true;
+					}
+					store.release(sharedLocation);
+				}
+			}
+
 			index = this.manager.getIndexForUpdate(this.containerPath, true, /*reuse index file*/ true /*create if none*/);
 			if (index == null) {
 				if (JobManager.VERBOSE)
@@ -126,12 +172,14 @@ class AddJarFileToIndex extends BinaryContainer {
 			index.separator = JAR_SEPARATOR;
 			@SuppressWarnings("resource")
 			ZipFile zip = null;
+			boolean writing = false;
 			try {
 				// this path will be a relative path to the workspace in case the zipfile in the workspace otherwise it will be a path in the
 				// local file system
 				Path zipFilePath = null;
 
 				monitor.enterWrite(); // ask permission to write
+				writing = true;
 				if (this.resource != null) {
 					URI location = this.resource.getLocationURI();
 					if (location == null) return false;
@@ -210,11 +258,26 @@ class AddJarFileToIndex extends BinaryContainer {
 								+ zip.getName() + " (" //$NON-NLS-1$
 								+ (System.currentTimeMillis() - initialTime) + "ms)"); //$NON-NLS-1$
 							this.manager.saveIndex(index); // to ensure its placed into the saved state
+							if (store != null && store.contains(index.getIndexLocation()))
+								store.reference(index.getIndexLocation());
 							return true;
 						}
 					}
 				}
 
+				if (store != null && store.contains(index.getIndexLocation())) {
+					// never rewrite a shared index: forget it, and index the jar again into an index of the workspace
+					if (JobManager.VERBOSE)
+						trace("-> shared index is not consistent with library " + zip.getName()); //$NON-NLS-1$
+					this.manager.removeIndex(this.containerPath);
+					AddJarFileToIndex request = this.resource != null
+							? new AddJarFileToIndex(this.resource, null, this.manager)
+							: new AddJarFileToIndex(this.containerPath, null, this.manager);
+					request.ignoreSharedIndex = true;
+					this.manager.request(request);
+					return true;
+				}
+
 				// Index the jar for the first time or reindex the jar in case the previous index file has been corrupted
 				// index already existed: recreate it so that we forget about previous entries
 				SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
@@ -230,13 +293,8 @@ class AddJarFileToIndex extends BinaryContainer {
 					indexPath = new Path(indexLocation.getCanonicalFilePath());
 				}
 				boolean hasModuleInfoClass = false;
+				List<ZipEntry> classFiles = new ArrayList<>();
 				for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
-					if (this.isCancelled) {
-						if (JobManager.VERBOSE)
-							trace("-> indexing of " + zip.getName() + " has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$
-						return false;
-					}
-
 					// iterate each entry to index it
 					ZipEntry ze = e.nextElement();
 					String zipEntryName = ze.getName();
@@ -244,6 +302,58 @@ class AddJarFileToIndex extends BinaryContainer {
 							isValidPackageNameForClassOrisModule(zipEntryName)) {
 						hasModuleInfoClass |= zipEntryName.contains(TypeConstants.MODULE_INFO_NAME_STRING);
 						// index only classes coming from valid packages - https://bugs.eclipse.org/bugs/show_bug.cgi?id=293861
+						classFiles.add(ze);
+					}
+				}
+				int threads = Math.min(IndexManager.JAR_INDEXING_THREADS, classFiles.size() / Math.max(1, IndexManager.MIN_CLASS_FILES_PER_INDEXING_THREAD));
+				if (threads > 1) {
+					// parsing the class files is CPU bound: index them into shards on several threads, without blocking
+					// the queries of the index, then add the shards to the index
+					monitor.exitWrite();
+					writing = false;
+					Index[] shards = indexInParallel(classFiles, zip, zipFilePath, participant, index, indexPath, threads);
+					monitor.enterWrite();
+					writing = true;
+					if (shards == null) {
+						if (JobManager.VERBOSE)
+							trace("-> indexing of " + zip.getName() + " has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$
+						return false;
+					}
+					// the index may have been removed or replaced while not locked: add the shards to the one registered now
+					Index registered;
+					while ((registered = this.manager.getIndex(this.manager.computeIndexLocation(this.containerPath))) != index) {
+						monitor.exitWrite();
+						writing = false;
+						if (registered == null || registered.monitor == null) {
+							if (JobManager.VERBOSE)
+								trace("-> index for " + this.containerPath + " just got deleted"); //$NON-NLS-1$//$NON-NLS-2$
+							return true;
+						}
+						if (JobManager.VERBOSE)
+							trace("-> index for " + this.containerPath + " got replaced, indexing again"); //$NON-NLS-1$//$NON-NLS-2$
+						index = registered;
+						monitor = index.monitor;
+						monitor.enterWrite();
+						writing = true;
+						if (!this.manager.resetIndex(this.containerPath)) {
+							this.manager.removeIndex(this.containerPath);
+							return false;
+						}
+						index.separator = JAR_SEPARATOR;
+						indexPath = null;
+						if ((indexLocation = index.getIndexLocation()) != null) {
+							indexPath = new Path(indexLocation.getCanonicalFilePath());
+						}
+					}
+					for (Index shard : shards)
+						index.addDocuments(shard);
+				} else {
+					for (ZipEntry ze : classFiles) {
+						if (this.isCancelled) {
+							if (JobManager.VERBOSE)
+								trace("-> indexing of " + zip.getName() + " has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$
+							return false;
+						}
 						final byte[] classFileBytes = org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(ze, zip);
 						JavaSearchDocument entryDocument = new JavaSearchDocument(ze, zipFilePath, classFileBytes, participant);
 						this.manager.indexDocument(entryDocument, participant, index, indexPath);
@@ -271,6 +381,8 @@ class AddJarFileToIndex extends BinaryContainer {
 				}
 				else {
 					this.manager.saveIndex(index);
+					if (sharedKey != null && index.isMerged())
+						store.publish(sharedKey, index.getIndexFile());
 				}
 				if (JobManager.VERBOSE)
 					trace("-> done indexing of " //$NON-NLS-1$
@@ -283,7 +395,8 @@ class AddJarFileToIndex extends BinaryContainer {
 					}
 					zip.close();
 				}
-				monitor.exitWrite(); // free write lock
+				if (writing)
+					monitor.exitWrite(); // free write lock
 			}
 		} catch (IOException | ZipError e) {
 			if (e instanceof NoSuchFileException) {
@@ -297,6 +410,74 @@ class AddJarFileToIndex extends BinaryContainer {
 		}
 		return true;
 	}
+	/*
+	 * Indexes the class files into shards of the index, on the given number of threads, and answers the shards, or null
+	 * if the job was cancelled.
+	 */
+	private Index[] indexInParallel(List<ZipEntry> classFiles, ZipFile zip, Path zipFilePath, SearchParticipant participant,
+			Index index, IPath indexPath, int threads) throws IOException {
+		AtomicInteger next = new AtomicInteger();
+		List<CompletableFuture<Index>> tasks = new ArrayList<>(threads);
+		IndexingMetrics metrics = this.manager.getMetrics();
+		IndexingMetrics.JobCounters counters = metrics.currentJob(); // the documents of the tasks are counted as this job's
+		// reading the zip entries blocks on the file system, keep the tasks off the common pool
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "Java indexing: " + this.containerPath.lastSegment() + " #" + threadNumber.incrementAndGet()); //$NON-NLS-1$ //$NON-NLS-2$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			for (int i = 0; i < threads; i++) {
+				tasks.add(CompletableFuture.supplyAsync(() -> {
+					IndexingMetrics.JobCounters previous = metrics.setCurrentJob(counters);
+					try {
+						Index shard = index.newShard();
+						for (int j; !this.isCancelled && (j = next.getAndIncrement()) < classFiles.size();) {
+							ZipEntry ze = classFiles.get(j);
+							byte[] classFileBytes;
+							try {
+								classFileBytes = org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(ze, zip);
+							} catch (IOException e) {
+								throw new UncheckedIOException(e);
+							}
+							JavaSearchDocument entryDocument = new JavaSearchDocument(ze, zipFilePath, classFileBytes, participant);
+							this.manager.indexDocument(entryDocument, participant, shard, indexPath);
+						}
+						return shard;
+					} finally {
+						metrics.setCurrentJob(previous);
+					}
+				}, executor));
+			}
+			Index[] shards = new Index[threads];
+			try {
+				for (int i = 0; i < threads; i++)
+					shards[i] = tasks.get(i).join();
+			} catch (CompletionException e) {
+				// stop the other tasks, and wait for them since the zip file is closed once indexed
+				next.set(classFiles.size());
+				for (CompletableFuture<Index> task : tasks) {
+					try {
+						task.join();
+					} catch (CompletionException other) {
+						// only the first failure is reported
+					}
+				}
+				Throwable cause = e.getCause();
+				if (cause instanceof UncheckedIOException)
+					throw ((UncheckedIOException) cause).getCause();
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw e;
+			}
+			return this.isCancelled ? null : shards;
+		} finally {
+			executor.shutdown();
+		}
+	}
 	@Override
 	public String getJobFamily() {
 		if (this.resource != null)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -78,6 +78,7 @@ import org.eclipse.jdt.internal.core.index.IndexLocation;
 import org.eclipse.jdt.internal.core.index.IndexQualifier;
 import org.eclipse.jdt.internal.core.index.MetaIndex;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
+import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
 import org.eclipse.jdt.internal.core.search.PatternSearchJob;
 import org.eclipse.jdt.internal.core.search.indexing.QualifierQuery.QueryCategory;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
@@ -111,8 +112,12 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	 */
 	private SimpleLookupTable indexes = new SimpleLookupTable();
 
+	private final IndexingMetrics metrics = new IndexingMetrics(this);
+
 	/* need to save ? */
 	private volatile boolean needToSave;
+	/* need to merge the delta logs of indexes into their index files ? */
+	private volatile boolean needToCompact;
 	private IPath javaPluginLocation = null;
 
 	/**
@@ -134,6 +139,8 @@ public class IndexManager extends JobManager implements IIndexConstants {
 
 	private final IndexNamesRegistry nameRegistry = new IndexNamesRegistry(new File(getSavedIndexesDirectory(),
 			"savedIndexNames.txt"), getJavaPluginWorkingLocation()); //$NON-NLS-1$
+	/** the indexes of library jars shared with other workspaces, null if not enabled */
+	private final SharedIndexStore sharedIndexStore = SharedIndexStore.create(getSavedIndexesDirectory());
 	/**
 	 * search participants who register indexes with the index manager
 	 * <br>
@@ -152,6 +159,17 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	public static final String INDEX_MANAGER_NOTIFY_IDLE_WAIT_PROPERTY = "jdt.core.indexManager.notifyIdleWait"; //$NON-NLS-1$
 	private static final long INDEX_MANAGER_NOTIFY_IDLE_WAIT = getNotifyIdleWait();
 
+	// number of threads running indexing jobs, jobs updating different indexes run at the same time when more than 1
+	public static final String INDEX_MANAGER_THREADS_PROPERTY = "jdt.core.indexManager.threads"; //$NON-NLS-1$
+	private static final int INDEX_MANAGER_THREADS = getThreads();
+
+	// number of threads indexing the class files of a jar, and minimum number of class files indexed by each of them:
+	// the class files of smaller jars are indexed by the job's thread
+	public static final String JAR_INDEXING_THREADS_PROPERTY = "jdt.core.indexManager.jarIndexingThreads"; //$NON-NLS-1$
+	public static int JAR_INDEXING_THREADS = getJarIndexingThreads();
+	public static final String MIN_CLASS_FILES_PER_INDEXING_THREAD_PROPERTY = "jdt.core.indexManager.minClassFilesPerIndexingThread"; //$NON-NLS-1$
+	public static int MIN_CLASS_FILES_PER_INDEXING_THREAD = getMinClassFilesPerIndexingThread();
+
 	// Debug
 	public static boolean DEBUG = false;
 
@@ -375,6 +393,11 @@ private void deleteIndexFiles(SimpleSet pathsToKeep, IProgressMonitor monitor) {
 			if (VERBOSE || DEBUG)
 				trace("Deleting index file " + indexesFiles[i]); //$NON-NLS-1$
 			indexesFiles[i].delete();
+		} else if (fileName.endsWith(Index.DELTA_LOG_SUFFIX)) {
+			// the delta log of an index file is kept with it
+			File indexFile = new File(fileName.substring(0, fileName.length() - Index.DELTA_LOG_SUFFIX.length()));
+			if (pathsToKeep != null && pathsToKeep.includes(new FileIndexLocation(indexFile))) continue;
+			indexesFiles[i].delete();
 		}
 	}
 }
@@ -444,6 +467,7 @@ public synchronized Index getIndex(IPath containerPath, IndexLocation indexLocat
 	// Path is already canonical per construction
 	Index index = getIndex(indexLocation);
 	if (index == null) {
+		this.metrics.indexCacheMiss();
 		Object state = getIndexStates().get(indexLocation);
 		Integer currentIndexState = state == null ? UNKNOWN_STATE : (Integer) state;
 		if (currentIndexState == UNKNOWN_STATE) {
@@ -460,6 +484,8 @@ public synchronized Index getIndex(IPath containerPath, IndexLocation indexLocat
 				try {
 					index = new Index(indexLocation, containerPathString, true /*reuse index file*/);
 					this.indexes.put(indexLocation, index);
+					if (this.sharedIndexStore != null && this.sharedIndexStore.contains(indexLocation))
+						this.sharedIndexStore.reference(indexLocation); // also when reused from the saved state, so that it is not evicted
 					return index;
 				} catch (IOException e) {
 					// failed to read the existing file or its no longer compatible
@@ -506,6 +532,8 @@ public synchronized Index getIndex(IPath containerPath, IndexLocation indexLocat
 				return null;
 			}
 		}
+	} else {
+		this.metrics.indexCacheHit();
 	}
 	return index;
 }
@@ -542,6 +570,7 @@ public synchronized Index[] getIndexes(IndexLocation[] locations, IProgressMonit
 					// non jar files indexes (i.e. containing sources) need to be rebuilt.
 					// see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=286379
 					File indexFile = index.getIndexFile();
+					index.close();
 					if (indexFile.exists()) {
 						if (DEBUG)
 							trace("Change in javaLikeNames - removing index file for " + containerPath ); //$NON-NLS-1$
@@ -622,6 +651,12 @@ private IPath getJavaPluginWorkingLocation() {
 	IPath stateLocation = JavaCore.getPlugin().getStateLocation();
 	return this.javaPluginLocation = stateLocation;
 }
+/**
+ * Answers the store of the indexes of library jars shared with other workspaces, or null if not enabled.
+ */
+SharedIndexStore getSharedIndexStore() {
+	return this.sharedIndexStore;
+}
 private File getSavedIndexesDirectory() {
 	return new File(getJavaPluginWorkingLocation().toOSString());
 }
@@ -675,6 +710,7 @@ public void indexDocument(SearchDocument searchDocument, SearchParticipant searc
 	} finally {
 		searchDocument.setIndex(null);
 	}
+	this.metrics.documentIndexed(searchDocument instanceof JavaSearchDocument ? ((JavaSearchDocument) searchDocument).getContentsLength() : 0);
 }
 public void indexResolvedDocument(SearchDocument searchDocument, SearchParticipant searchParticipant, Index index, IPath indexLocation) {
 	searchParticipant.resolveDocument(searchDocument);
@@ -814,26 +850,30 @@ public synchronized void jobWasCancelled(IPath containerPath) {
 	Index index = getIndex(indexLocation);
 	if (index != null) {
 		index.monitor = null;
+		index.close();
 		this.indexes.removeKey(indexLocation);
 	}
 	updateIndexState(indexLocation, UNKNOWN_STATE);
 }
 /**
- * Advance to the next available job, once the current one has been completed.
+ * Removes the given job from the queue, once it has been completed.
  * Note: clients awaiting until the job count is zero are still waiting at this point.
  */
 @Override
-protected synchronized void moveToNextJob() {
+protected synchronized void jobCompleted(IJob job) {
 	// remember that one job was executed, and we will need to save indexes at some point
 	this.needToSave = true;
-	super.moveToNextJob();
+	super.jobCompleted(job);
 }
 /**
  * No more job awaiting.
  */
 @Override
 protected void notifyIdle(long idlingMilliSeconds){
-	if (idlingMilliSeconds > INDEX_MANAGER_NOTIFY_IDLE_WAIT && this.needToSave) saveIndexes();
+	if (idlingMilliSeconds > INDEX_MANAGER_NOTIFY_IDLE_WAIT) {
+		if (this.needToSave) saveIndexes();
+		if (this.needToCompact) compactIndexes();
+	}
 }
 /**
  * Name of the background process
@@ -886,8 +926,9 @@ private void rebuildIndex(IndexLocation indexLocation, IPath containerPath, fina
 	} else if (target instanceof File) {
 		request = getRequest(target, containerPath, null, this, updateIndex);
 	}
+	// searches cannot use the index until it is rebuilt, get it done before the other jobs
 	if (request != null)
-		request(request);
+		requestFirst(request);
 }
 /**
  * Recreates the index for a given path, keeping the same read-write monitor.
@@ -942,6 +983,7 @@ public void removeIndex(IPath containerPath) {
 		index = getIndex(indexLocation);
 		if (index != null) {
 			index.monitor = null;
+			index.close();
 			indexFile = index.getIndexFile();
 		}
 		if (indexFile == null)
@@ -949,6 +991,8 @@ public void removeIndex(IPath containerPath) {
 		if (this.indexStates.get(indexLocation) == REUSE_STATE) {
 			indexLocation.close();
 			this.indexLocations.put(containerPath, null);
+			if (this.sharedIndexStore != null && this.sharedIndexStore.contains(indexLocation))
+				this.sharedIndexStore.release(indexLocation);
 		} else if (indexFile != null && indexFile.exists()) {
 			if (DEBUG)
 				trace("removing index file " + indexFile); //$NON-NLS-1$
@@ -1007,6 +1051,7 @@ public void removeIndexPath(IPath path) {
 					this.metaIndexUpdates.remove(index);
 				}
 				index.monitor = null;
+				index.close();
 				if (locations == null)
 					locations = new IndexLocation[max];
 				locations[count++] = indexLocation;
@@ -1086,6 +1131,10 @@ public void reset() {
 	super.reset();
 	synchronized (this) {
 		if (this.indexes != null) {
+			for (Object index : this.indexes.valueTable) {
+				if (index != null)
+					((Index) index).close();
+			}
 			this.indexes = new SimpleLookupTable();
 			this.indexStates = null;
 		}
@@ -1149,6 +1198,8 @@ public void saveIndex(Index index) throws IOException {
 		if (VERBOSE)
 			trace("-> saving index " + index.getIndexLocation()); //$NON-NLS-1$
 		if (index.save()) {
+			if (!index.isMerged())
+				this.needToCompact = true; // saved in the delta log of the index
 			updateMetaIndex(index);
 		} else {
 			if (VERBOSE)
@@ -1165,6 +1216,55 @@ public void saveIndex(Index index) throws IOException {
 		updateIndexState(indexLocation, SAVED_STATE);
 	}
 }
+/**
+ * Merge the delta logs of the cached indexes into their index files, so that they no longer hold their documents in
+ * memory
+ */
+public void compactIndexes() {
+	List<Index> toCompact = new ArrayList<>();
+	synchronized(this) {
+		Object[] valueTable = this.indexes.valueTable;
+		for (int i = 0, l = valueTable.length; i < l; i++) {
+			Index index = (Index) valueTable[i];
+			if (index != null)
+				toCompact.add(index);
+		}
+	}
+
+	boolean allCompacted = true;
+	for (int i = 0, length = toCompact.size(); i < length; i++) {
+		Index index = toCompact.get(i);
+		ReadWriteMonitor monitor = index.monitor;
+		if (monitor == null) continue; // index got deleted since acquired
+		try {
+			// same locking as saveIndexes()
+			monitor.enterRead();
+			if (!index.isMerged()) {
+				if (monitor.exitReadEnterWrite()) {
+					try {
+						if (VERBOSE)
+							trace("-> compacting index " + index.getIndexLocation()); //$NON-NLS-1$
+						index.compact();
+					} catch(IOException | NegativeArraySizeException | OutOfMemoryError e) {
+						if(e instanceof FileNotFoundException && index.monitor == null) {
+							// index got deleted since acquired
+						} else {
+							Util.log(e, "Failed to compact JDT index: " + index.toString()); //$NON-NLS-1$
+							allCompacted = false;
+						}
+					} finally {
+						monitor.exitWriteEnterRead();
+					}
+				} else {
+					allCompacted = false;
+				}
+			}
+		} finally {
+			monitor.exitRead();
+		}
+	}
+	this.needToCompact = !allCompacted;
+}
 /**
  * Commit all index memory changes to disk
  */
@@ -1370,8 +1470,11 @@ private synchronized void removeIndexesState(IndexLocation[] locations) {
 	boolean changed = false;
 	for (int i=0; i<length; i++) {
 		if (locations[i] == null) continue;
-		if ((this.indexStates.removeKey(locations[i]) != null)) {
+		Object state = this.indexStates.removeKey(locations[i]);
+		if (state != null) {
 			changed = true;
+			if (state == REUSE_STATE && this.sharedIndexStore != null && this.sharedIndexStore.contains(locations[i]))
+				this.sharedIndexStore.release(locations[i]);
 			if (VERBOSE) {
 				trace("-> index state updated to: ? for: "+locations[i]); //$NON-NLS-1$
 			}
@@ -1526,6 +1629,78 @@ private static long getNotifyIdleWait() {
 	return idleWait;
 }
 
+private static int getThreads() {
+	int threads = 1;
+	String threadsPropertyValue = System.getProperty(INDEX_MANAGER_THREADS_PROPERTY);
+	if (threadsPropertyValue != null) {
+		try {
+			threads = Math.max(1, Math.min(Integer.parseInt(threadsPropertyValue), Runtime.getRuntime().availableProcessors()));
+		} catch (NumberFormatException e) {
+			Util.log(e, "Failed to parse value of property \"" + INDEX_MANAGER_THREADS_PROPERTY + "\": " + threadsPropertyValue); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return threads;
+}
+private static int getJarIndexingThreads() {
+	int processors = Runtime.getRuntime().availableProcessors();
+	int threads = processors;
+	String threadsPropertyValue = System.getProperty(JAR_INDEXING_THREADS_PROPERTY);
+	if (threadsPropertyValue != null) {
+		try {
+			threads = Math.max(1, Math.min(Integer.parseInt(threadsPropertyValue), processors));
+		} catch (NumberFormatException e) {
+			Util.log(e, "Failed to parse value of property \"" + JAR_INDEXING_THREADS_PROPERTY + "\": " + threadsPropertyValue); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return threads;
+}
+
+private static int getMinClassFilesPerIndexingThread() {
+	int classFiles = 500;
+	String classFilesPropertyValue = System.getProperty(MIN_CLASS_FILES_PER_INDEXING_THREAD_PROPERTY);
+	if (classFilesPropertyValue != null) {
+		try {
+			classFiles = Math.max(1, Integer.parseInt(classFilesPropertyValue));
+		} catch (NumberFormatException e) {
+			Util.log(e, "Failed to parse value of property \"" + MIN_CLASS_FILES_PER_INDEXING_THREAD_PROPERTY + "\": " + classFilesPropertyValue); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return classFiles;
+}
+@Override
+protected int getThreadCount() {
+	return INDEX_MANAGER_THREADS;
+}
+/**
+ * Answers the metrics of the indexing and of the index queries since this manager was created.
+ */
+public IndexingMetrics getMetrics() {
+	return this.metrics;
+}
+@Override
+protected void runJob(IJob job) {
+	IndexingMetrics.JobCounters counters = this.metrics.countersOf(job);
+	IndexingMetrics.JobCounters previous = this.metrics.setCurrentJob(counters);
+	long start = System.nanoTime();
+	try {
+		super.runJob(job);
+	} finally {
+		this.metrics.jobExecuted(counters, System.nanoTime() - start);
+		this.metrics.setCurrentJob(previous);
+	}
+}
+/**
+ * Answers the indexes read or created so far.
+ */
+synchronized List<Index> getCachedIndexes() {
+	List<Index> cachedIndexes = new ArrayList<>(this.indexes.elementSize);
+	Object[] valueTable = this.indexes.valueTable;
+	for (int i = 0, l = valueTable.length; i < l; i++)
+		if (valueTable[i] != null)
+			cachedIndexes.add((Index) valueTable[i]);
+	return cachedIndexes;
+}
+
 public Optional<Set<String>> findMatchingIndexNames(QualifierQuery query) {
 	if(DISABLE_META_INDEX) {
 		return Optional.empty();
@@ -46,6 +46,11 @@ public abstract class IndexRequest implements IJob {
 	public String getJobFamily() {
 		return this.containerPath.toString();
 	}
+	@Override
+	public Object getConcurrencyKey() {
+		// the jobs updating an index run one after the other
+		return this.manager.computeIndexLocation(this.containerPath);
+	}
 	protected Integer updatedIndexState() {
 		return IndexManager.UPDATING_STATE;
 	}
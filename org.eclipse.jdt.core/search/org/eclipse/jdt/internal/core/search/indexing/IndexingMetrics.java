@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.internal.compiler.util.Util;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.processing.IJob;
+
+/**
+ * Counts what the {@link IndexManager} does since it was created, so that slow searches can be correlated with the
+ * indexing running at the same time: the jobs run and their duration, the documents indexed and the size of their
+ * contents, the hit rate of the cache of indexes, and the time searches waited for indexes being written.
+ * <p>
+ * The counters are updated without locking by the threads indexing and searching. A {@link #snapshot()} reads them,
+ * along with the number of jobs waiting and the size of the index files, as a tree of maps which
+ * {@link #toJson()} writes as JSON.
+ * </p>
+ */
+public class IndexingMetrics {
+
+	/**
+	 * The counters of the jobs of a class.
+	 */
+	static final class JobCounters {
+		final LongAdder count = new LongAdder();
+		final LongAdder nanos = new LongAdder();
+		final AtomicLong maxNanos = new AtomicLong();
+		final LongAdder documents = new LongAdder();
+		final LongAdder bytes = new LongAdder();
+	}
+
+	private final IndexManager manager;
+	private final long startTime = System.currentTimeMillis();
+	private final ConcurrentHashMap<String, JobCounters> jobs = new ConcurrentHashMap<>(); // job class name -> counters
+	private final ThreadLocal<JobCounters> currentJob = new ThreadLocal<>();
+	private final LongAdder documents = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAdder indexingNanos = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private final LongAdder readWaits = new LongAdder();
+	private final LongAdder readWaitNanos = new LongAdder();
+	private final AtomicLong maxReadWaitNanos = new AtomicLong();
+
+	IndexingMetrics(IndexManager manager) {
+		this.manager = manager;
+	}
+
+	JobCounters countersOf(IJob job) {
+		return this.jobs.computeIfAbsent(job.getClass().getName(), name -> new JobCounters());
+	}
+	/**
+	 * Answers the counters of the job run by the current thread, or null if none.
+	 */
+	JobCounters currentJob() {
+		return this.currentJob.get();
+	}
+	/**
+	 * Makes the given counters those of the job run by the current thread, and answers the previous ones, to be given
+	 * back to {@link #setCurrentJob(JobCounters)} once done.
+	 */
+	JobCounters setCurrentJob(JobCounters counters) {
+		JobCounters previous = this.currentJob.get();
+		if (counters == null)
+			this.currentJob.remove();
+		else
+			this.currentJob.set(counters);
+		return previous;
+	}
+	void jobExecuted(JobCounters counters, long nanos) {
+		counters.count.increment();
+		counters.nanos.add(nanos);
+		counters.maxNanos.accumulateAndGet(nanos, Math::max);
+		this.indexingNanos.add(nanos);
+	}
+	/**
+	 * Counts a document indexed by the current thread, whose contents have the given size.
+	 */
+	void documentIndexed(long size) {
+		this.documents.increment();
+		this.bytes.add(size);
+		JobCounters counters = this.currentJob.get();
+		if (counters != null) {
+			counters.documents.increment();
+			counters.bytes.add(size);
+		}
+	}
+	void indexCacheHit() {
+		this.cacheHits.increment();
+	}
+	void indexCacheMiss() {
+		this.cacheMisses.increment();
+	}
+	/**
+	 * Counts the time a search waited to read an index.
+	 */
+	public void readWaited(long nanos) {
+		this.readWaits.increment();
+		this.readWaitNanos.add(nanos);
+		this.maxReadWaitNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Answers the current values of the metrics, as maps of names to numbers, strings, lists or maps.
+	 */
+	public Map<String, Object> snapshot() {
+		Map<String, Object> snapshot = new TreeMap<>();
+		long now = System.currentTimeMillis();
+		snapshot.put("uptimeMillis", now - this.startTime); //$NON-NLS-1$
+		snapshot.put("awaitingJobs", this.manager.awaitingJobsCount()); //$NON-NLS-1$
+
+		Map<String, Object> jobsSnapshot = new TreeMap<>();
+		for (Map.Entry<String, JobCounters> entry : this.jobs.entrySet()) {
+			JobCounters counters = entry.getValue();
+			Map<String, Object> job = new TreeMap<>();
+			job.put("count", counters.count.sum()); //$NON-NLS-1$
+			job.put("totalMillis", millis(counters.nanos.sum())); //$NON-NLS-1$
+			job.put("maxMillis", millis(counters.maxNanos.get())); //$NON-NLS-1$
+			job.put("documents", counters.documents.sum()); //$NON-NLS-1$
+			job.put("bytesRead", counters.bytes.sum()); //$NON-NLS-1$
+			jobsSnapshot.put(entry.getKey(), job);
+		}
+		snapshot.put("jobs", jobsSnapshot); //$NON-NLS-1$
+
+		long indexingMillis = millis(this.indexingNanos.sum());
+		long documentCount = this.documents.sum();
+		snapshot.put("documentsIndexed", documentCount); //$NON-NLS-1$
+		snapshot.put("bytesRead", this.bytes.sum()); //$NON-NLS-1$
+		snapshot.put("indexingMillis", indexingMillis); //$NON-NLS-1$
+		snapshot.put("documentsPerSecond", indexingMillis == 0 ? 0 : documentCount * 1000 / indexingMillis); //$NON-NLS-1$
+
+		long hits = this.cacheHits.sum();
+		long misses = this.cacheMisses.sum();
+		snapshot.put("indexCacheHits", hits); //$NON-NLS-1$
+		snapshot.put("indexCacheMisses", misses); //$NON-NLS-1$
+		snapshot.put("indexCacheHitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses)); //$NON-NLS-1$
+
+		snapshot.put("searchReadWaits", this.readWaits.sum()); //$NON-NLS-1$
+		snapshot.put("searchReadWaitMillis", millis(this.readWaitNanos.sum())); //$NON-NLS-1$
+		snapshot.put("searchMaxReadWaitMillis", millis(this.maxReadWaitNanos.get())); //$NON-NLS-1$
+
+		List<Object> indexesSnapshot = new ArrayList<>();
+		long totalSize = 0;
+		for (Index index : this.manager.getCachedIndexes()) {
+			File file = index.getIndexFile();
+			if (file == null) continue;
+			long size = file.length() + new File(file.getPath() + Index.DELTA_LOG_SUFFIX).length();
+			totalSize += size;
+			Map<String, Object> indexSnapshot = new TreeMap<>();
+			indexSnapshot.put("container", index.containerPath); //$NON-NLS-1$
+			indexSnapshot.put("file", file.getPath()); //$NON-NLS-1$
+			indexSnapshot.put("bytes", size); //$NON-NLS-1$
+			indexesSnapshot.add(indexSnapshot);
+		}
+		snapshot.put("indexes", indexesSnapshot); //$NON-NLS-1$
+		snapshot.put("indexesBytes", totalSize); //$NON-NLS-1$
+		return snapshot;
+	}
+	private static long millis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	/**
+	 * Answers the current values of the metrics as a JSON object.
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder();
+		appendJson(json, snapshot());
+		return json.toString();
+	}
+	private static void appendJson(StringBuilder json, Object value) {
+		if (value instanceof Map) {
+			json.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) json.append(',');
+				first = false;
+				appendJson(json, entry.getKey().toString());
+				json.append(':');
+				appendJson(json, entry.getValue());
+			}
+			json.append('}');
+		} else if (value instanceof List) {
+			json.append('[');
+			boolean first = true;
+			for (Object element : (List<?>) value) {
+				if (!first) json.append(',');
+				first = false;
+				appendJson(json, element);
+			}
+			json.append(']');
+		} else if (value instanceof String) {
+			Util.appendJsonString(json, (String) value);
+		} else {
+			json.append(value); // a number
+		}
+	}
+}
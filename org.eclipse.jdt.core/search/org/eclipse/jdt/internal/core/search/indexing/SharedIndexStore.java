@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.eclipse.jdt.internal.core.index.IndexLocation;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * A store of the indexes of library jars shared by the workspaces of a machine, where indexes are named by the
+ * contents of the jar they index, so that a jar is only indexed once whatever its location.
+ * <p>
+ * Enabled by the <code>jdt.core.sharedIndexStore</code> system property, the directory of the store, which must be
+ * writable by every user sharing it. Indexes are published into the store once written by a workspace, and are never
+ * changed afterwards: workspaces use them as pre-built indexes, read-only. A workspace references each index it uses
+ * with a file of its own, touched whenever the index is used. Once the indexes exceed the size set by the
+ * <code>jdt.core.sharedIndexStore.maxSize</code> system property (in MB), the ones no workspace referenced recently are
+ * deleted, least recently used first.
+ * </p>
+ */
+public class SharedIndexStore {
+
+	public static final String SHARED_INDEX_STORE_PROPERTY = "jdt.core.sharedIndexStore"; //$NON-NLS-1$
+	public static final String SHARED_INDEX_STORE_MAX_SIZE_PROPERTY = "jdt.core.sharedIndexStore.maxSize"; //$NON-NLS-1$
+	private static final long DEFAULT_MAX_SIZE = 4096; // MB
+	private static final long REFERENCE_EXPIRY = TimeUnit.DAYS.toMillis(30); // references of workspaces gone are dropped after this time
+	private static final String INDEX_SUFFIX = ".index"; //$NON-NLS-1$
+	private static final String REFERENCES_SUFFIX = ".refs"; //$NON-NLS-1$
+
+	private final File directory; // the indexes of the current index version
+	private final String workspaceId;
+	private final long maxSize;
+
+	private SharedIndexStore(File directory, String workspaceId, long maxSize) {
+		this.directory = directory;
+		this.workspaceId = workspaceId;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Answers the store set by the system property, used by the workspace whose indexes are in the given directory,
+	 * or null if there is no store.
+	 */
+	public static SharedIndexStore create(File workspaceIndexesDirectory) {
+		String location = System.getProperty(SHARED_INDEX_STORE_PROPERTY);
+		if (location == null || location.isEmpty())
+			return null;
+		long maxSize = DEFAULT_MAX_SIZE;
+		String maxSizeValue = System.getProperty(SHARED_INDEX_STORE_MAX_SIZE_PROPERTY);
+		if (maxSizeValue != null) {
+			try {
+				maxSize = Long.parseLong(maxSizeValue);
+			} catch (NumberFormatException e) {
+				Util.log(e, "Failed to parse value of property \"" + SHARED_INDEX_STORE_MAX_SIZE_PROPERTY + "\": " + maxSizeValue); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		CRC32 checksumCalculator = new CRC32();
+		checksumCalculator.update(workspaceIndexesDirectory.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		File directory = new File(location, DiskIndex.INDEX_VERSION);
+		return new SharedIndexStore(directory, Long.toString(checksumCalculator.getValue()), maxSize * 1024 * 1024);
+	}
+
+	/**
+	 * Answers the key of the index of the given jar, computed from its contents. The name of the jar is part of the
+	 * key since it gives the name of the automatic module of a jar.
+	 */
+	public String computeKey(File jar) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+		digest.update((byte) 0);
+		digest.update(jar.getName().getBytes(StandardCharsets.UTF_8));
+		StringBuilder key = new StringBuilder(64);
+		for (byte b : digest.digest())
+			key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		return key.toString();
+	}
+
+	/**
+	 * Answers the location of the index of the given key, referenced by the workspace, or null if the store has no
+	 * such index.
+	 */
+	public IndexLocation acquire(String key) {
+		File indexFile = new File(this.directory, key + INDEX_SUFFIX);
+		// reference the index before checking it exists, so that it cannot be evicted in between
+		if (!addReference(key))
+			return null;
+		if (!indexFile.isFile()) {
+			removeReference(key);
+			return null;
+		}
+		indexFile.setLastModified(System.currentTimeMillis()); // used recently
+		try {
+			return IndexLocation.createIndexLocation(indexFile.toURI().toURL());
+		} catch (MalformedURLException e) {
+			removeReference(key);
+			return null;
+		}
+	}
+
+	/**
+	 * Answers whether the given location is the one of an index of the store.
+	 */
+	public boolean contains(IndexLocation location) {
+		File indexFile = location == null ? null : location.getIndexFile();
+		return indexFile != null && this.directory.equals(indexFile.getParentFile());
+	}
+
+	/**
+	 * Records that the workspace still uses the index at the given location of the store.
+	 */
+	public void reference(IndexLocation location) {
+		String key = keyOf(location);
+		addReference(key);
+		new File(this.directory, key + INDEX_SUFFIX).setLastModified(System.currentTimeMillis());
+	}
+
+	/**
+	 * Records that the workspace no longer uses the index at the given location of the store.
+	 */
+	public void release(IndexLocation location) {
+		removeReference(keyOf(location));
+	}
+
+	/**
+	 * Copies the given index file into the store as the index of the given key, unless the store already has one,
+	 * then evicts indexes if the store got too large.
+	 */
+	public void publish(String key, File indexFile) {
+		File target = new File(this.directory, key + INDEX_SUFFIX);
+		if (target.exists())
+			return;
+		File temp = null;
+		try {
+			Files.createDirectories(this.directory.toPath());
+			temp = File.createTempFile(key, ".tmp", this.directory); //$NON-NLS-1$
+			Files.copy(indexFile.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			temp.setReadOnly();
+			try {
+				Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), target.toPath());
+			}
+			temp = null;
+			if (JobManager.VERBOSE)
+				trace("-> published index " + indexFile + " as shared index " + target); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (IOException e) {
+			// another workspace published it meanwhile, or the store is not writable
+			if (JobManager.VERBOSE)
+				trace("-> failed to publish index " + indexFile + " as shared index " + target, e); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			if (temp != null)
+				temp.delete();
+		}
+		evict();
+	}
+
+	/**
+	 * Deletes the indexes no workspace referenced recently, least recently used first, until the store is not larger
+	 * than its maximum size.
+	 */
+	public void evict() {
+		File[] files = this.directory.listFiles((dir, name) -> name.endsWith(INDEX_SUFFIX));
+		if (files == null)
+			return;
+		long size = 0;
+		List<File> unreferenced = new ArrayList<>();
+		long expired = System.currentTimeMillis() - REFERENCE_EXPIRY;
+		for (File file : files) {
+			size += file.length();
+			if (!isReferenced(keyOf(file.getName()), expired))
+				unreferenced.add(file);
+		}
+		if (size <= this.maxSize)
+			return;
+		unreferenced.sort(Comparator.comparingLong(File::lastModified));
+		for (File file : unreferenced) {
+			if (size <= this.maxSize)
+				break;
+			long length = file.length();
+			if (file.delete()) {
+				size -= length;
+				deleteReferences(keyOf(file.getName()));
+				if (JobManager.VERBOSE)
+					trace("-> evicted shared index " + file); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private boolean addReference(String key) {
+		File reference = new File(new File(this.directory, key + REFERENCES_SUFFIX), this.workspaceId);
+		try {
+			Files.createDirectories(reference.getParentFile().toPath());
+			if (!reference.createNewFile())
+				reference.setLastModified(System.currentTimeMillis());
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private void removeReference(String key) {
+		new File(new File(this.directory, key + REFERENCES_SUFFIX), this.workspaceId).delete();
+	}
+
+	private boolean isReferenced(String key, long expired) {
+		File[] references = new File(this.directory, key + REFERENCES_SUFFIX).listFiles();
+		if (references != null) {
+			for (File reference : references) {
+				if (reference.lastModified() > expired)
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private void deleteReferences(String key) {
+		File references = new File(this.directory, key + REFERENCES_SUFFIX);
+		File[] files = references.listFiles();
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+		references.delete();
+	}
+
+	private static String keyOf(IndexLocation location) {
+		return keyOf(location.getIndexFile().getName());
+	}
+
+	private static String keyOf(String fileName) {
+		return fileName.substring(0, fileName.length() - INDEX_SUFFIX.length());
+	}
+}
@@ -28,11 +28,19 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.zip.ZipFile;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
@@ -96,6 +104,7 @@ import org.eclipse.jdt.internal.core.SourceType;
 import org.eclipse.jdt.internal.core.SourceTypeElementInfo;
 import org.eclipse.jdt.internal.core.index.Index;
 import org.eclipse.jdt.internal.core.search.*;
+import org.eclipse.jdt.internal.core.search.PatternSearchJob.ParallelSearchMonitor;
 import org.eclipse.jdt.internal.core.search.indexing.QualifierQuery;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
 import org.eclipse.jdt.internal.core.util.ASTNodeFinder;
@@ -125,6 +134,20 @@ static {
 	}
 }
 
+/**
+ * Preference enabling the location of matches on several threads: the possible matches of a project are then
+ * split in smaller batches, located by workers which each have their own parser and lookup environment.
+ */
+public static final String ENABLE_PARALLEL_MATCH_LOCATION = "enableParallelJavaMatchLocation";//$NON-NLS-1$
+public static final boolean ENABLE_PARALLEL_MATCH_LOCATION_DEFAULT = false;
+/**
+ * Preference setting how many threads locate matches when {@link #ENABLE_PARALLEL_MATCH_LOCATION} is set,
+ * <code>0</code> for one per available processor.
+ */
+public static final String PARALLEL_MATCH_LOCATION_THREADS = "parallelJavaMatchLocationThreads";//$NON-NLS-1$
+public static final int PARALLEL_MATCH_LOCATION_THREADS_DEFAULT = 0;
+static final int MIN_PARALLEL_BATCH = 20;
+
 // permanent state
 public SearchPattern pattern;
 public PatternLocator patternLocator;
@@ -178,6 +201,11 @@ private final boolean searchPackageDeclaration;
 private int sourceStartOfMethodToRetain;
 private int sourceEndOfMethodToRetain;
 
+// workers locating matches in parallel and their threads, created on demand and kept until the end of the search
+private MatchLocator[] workers;
+private ParallelSearchMonitor workerMonitor;
+private ExecutorService workerExecutor;
+
 public static class WorkingCopyDocument extends JavaSearchDocument {
 	public org.eclipse.jdt.core.ICompilationUnit workingCopy;
 	WorkingCopyDocument(org.eclipse.jdt.core.ICompilationUnit workingCopy, SearchParticipant participant) {
@@ -1401,13 +1429,174 @@ protected void locateMatches(JavaProject javaProject, PossibleMatchSet matchSet,
 		this.progressMonitor.worked( expected-length);
 	}
 	// locate matches (processed matches are limited to avoid problem while using VM default memory heap size)
-	for (int index = 0; index < length;) {
-		int max = Math.min(MAX_AT_ONCE, length - index);
-		locateMatches(javaProject, possibleMatches, index, max);
-		index += max;
+	int parallelism = getParallelism(length);
+	if (parallelism > 1) {
+		locateMatchesInParallel(javaProject, possibleMatches, parallelism);
+	} else {
+		for (int index = 0; index < length;) {
+			int max = Math.min(MAX_AT_ONCE, length - index);
+			locateMatches(javaProject, possibleMatches, index, max);
+			index += max;
+		}
 	}
 	this.patternLocator.clear();
 }
+/*
+ * Answers how many workers should locate the given number of possible matches, 1 to locate them on this thread.
+ */
+private int getParallelism(int length) {
+	if (length < 2 * MIN_PARALLEL_BATCH || getClass() != MatchLocator.class || !isParallelMatchLocationEnabled()
+			|| !IParallelizable.isParallelSearchSupported(this.scope)
+			|| !IParallelizable.isParallelSearchSupported(this.pattern))
+		return 1;
+	return Math.min(getParallelMatchLocationThreads(), length / MIN_PARALLEL_BATCH);
+}
+private static boolean isParallelMatchLocationEnabled() {
+	IPreferencesService preferenceService = Platform.getPreferencesService();
+	if (preferenceService == null) {
+		return ENABLE_PARALLEL_MATCH_LOCATION_DEFAULT;
+	}
+	return preferenceService.getBoolean(JavaCore.PLUGIN_ID, ENABLE_PARALLEL_MATCH_LOCATION,
+			ENABLE_PARALLEL_MATCH_LOCATION_DEFAULT, null);
+}
+private static int getParallelMatchLocationThreads() {
+	IPreferencesService preferenceService = Platform.getPreferencesService();
+	int threads = preferenceService == null ? PARALLEL_MATCH_LOCATION_THREADS_DEFAULT
+			: preferenceService.getInt(JavaCore.PLUGIN_ID, PARALLEL_MATCH_LOCATION_THREADS, PARALLEL_MATCH_LOCATION_THREADS_DEFAULT, null);
+	return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+}
+/*
+ * Locates the matches of the possible matches of a project in batches, each batch by a worker with its own parser
+ * and lookup environment. Workers keep the matches of a batch, which are reported on this thread once the previous
+ * batches are, so that the requestor gets the matches in the same order whatever the batch each worker picks.
+ * Batches are smaller than in a sequential search, as several of them are in memory at once.
+ */
+private void locateMatchesInParallel(JavaProject javaProject, PossibleMatch[] possibleMatches, int parallelism) throws CoreException {
+	int length = possibleMatches.length;
+	int batchSize = Math.max(MIN_PARALLEL_BATCH, Math.min(MAX_AT_ONCE / parallelism, length / (4 * parallelism)));
+	int batchCount = (length + batchSize - 1) / batchSize;
+	List<CompletableFuture<List<SearchMatch>>> batches = new ArrayList<>(batchCount);
+	for (int i = 0; i < batchCount; i++)
+		batches.add(new CompletableFuture<>());
+	AtomicInteger nextBatch = new AtomicInteger();
+	MatchLocator[] batchWorkers = getWorkers(parallelism);
+	CompletableFuture<?>[] tasks = new CompletableFuture<?>[parallelism];
+	for (int i = 0; i < parallelism; i++) {
+		MatchLocator worker = batchWorkers[i];
+		// each worker replaces the possible matches of its batches by their similar matches, and reads all of them
+		PossibleMatch[] workerMatches = possibleMatches.clone();
+		tasks[i] = CompletableFuture.runAsync(() -> worker.locateBatches(javaProject, workerMatches, batchSize, batches, nextBatch),
+				this.workerExecutor);
+	}
+	try {
+		for (int i = 0; i < batchCount; i++) {
+			for (SearchMatch match : awaitBatch(batches.get(i)))
+				this.requestor.acceptSearchMatch(match);
+			if (this.progressMonitor != null) {
+				for (int j = i * batchSize, end = Math.min(j + batchSize, length); j < end; j++) {
+					this.progressWorked++;
+					if ((this.progressWorked%this.progressStep)==0) this.progressMonitor.worked(this.progressStep);
+				}
+			}
+		}
+	} finally {
+		// workers are reused for the next project, wait for the batches being located when stopped early
+		nextBatch.set(batchCount);
+		for (CompletableFuture<?> task : tasks) {
+			try {
+				task.join();
+			} catch (RuntimeException e) {
+				// the batch failure was reported, if it had to
+			}
+		}
+	}
+}
+private List<SearchMatch> awaitBatch(CompletableFuture<List<SearchMatch>> batch) throws CoreException {
+	while (true) {
+		if (this.progressMonitor != null && this.progressMonitor.isCanceled())
+			throw new OperationCanceledException();
+		try {
+			return batch.get(100, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// check for cancellation again
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			// rethrow the failure of the worker on this thread, as if the batch had been located here
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new RuntimeException(cause);
+		}
+	}
+}
+/*
+ * Locates the batches of possible matches until there is none left, in the worker.
+ */
+private void locateBatches(JavaProject javaProject, PossibleMatch[] possibleMatches, int batchSize,
+		List<CompletableFuture<List<SearchMatch>>> batches, AtomicInteger nextBatch) {
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	manager.cacheZipFiles(this);
+	try {
+		int batch;
+		while ((batch = nextBatch.getAndIncrement()) < batches.size()) {
+			List<SearchMatch> matches = new ArrayList<>();
+			this.requestor = new SearchRequestor() {
+				@Override
+				public void acceptSearchMatch(SearchMatch match) {
+					matches.add(match);
+				}
+			};
+			int start = batch * batchSize;
+			try {
+				locateMatches(javaProject, possibleMatches, start, Math.min(batchSize, possibleMatches.length - start));
+				batches.get(batch).complete(matches);
+			} catch (Throwable e) {
+				batches.get(batch).completeExceptionally(e);
+			}
+		}
+		this.patternLocator.clear();
+	} finally {
+		manager.flushZipFiles(this);
+	}
+}
+private MatchLocator[] getWorkers(int count) {
+	if (this.workerMonitor == null)
+		this.workerMonitor = new ParallelSearchMonitor(this.progressMonitor != null ? this.progressMonitor : new NullProgressMonitor());
+	if (this.workerExecutor == null) {
+		// parsing and resolving block on the file system and on the model, keep them off the common pool
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.workerExecutor = Executors.newFixedThreadPool(getParallelMatchLocationThreads(), runnable -> {
+			Thread thread = new Thread(runnable, "Java Search Match Locator #" + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	int existing = this.workers == null ? 0 : this.workers.length;
+	if (existing < count) {
+		this.workers = this.workers == null ? new MatchLocator[count] : Arrays.copyOf(this.workers, count);
+		for (int i = existing; i < count; i++)
+			this.workers[i] = newWorker();
+	}
+	return this.workers;
+}
+/*
+ * Creates a locator on copies of the pattern and scope of this one, which keeps its matches for this locator to
+ * report, and is only canceled with this locator.
+ */
+private MatchLocator newWorker() {
+	MatchLocator worker = new MatchLocator(PatternSearchJob.clone(this.pattern), null, PatternSearchJob.clone(this.scope), this.workerMonitor);
+	worker.workingCopies = this.workingCopies;
+	worker.handleFactory = new HandleFactory();
+	worker.progressStep = 1;
+	worker.patternLocator.initializePolymorphicSearch(worker, this.patternLocator);
+	return worker;
+}
 /**
  * Locate the matches in the given files and report them using the search requestor.
  */
@@ -1562,6 +1751,19 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 		if (this.nameEnvironment != null)
 			this.nameEnvironment.cleanup();
 		this.unitScope = null;
+		if (this.workers != null) {
+			for (MatchLocator worker : this.workers) {
+				if (worker.nameEnvironment != null)
+					worker.nameEnvironment.cleanup();
+				worker.unitScope = null;
+			}
+			this.workers = null;
+			this.workerMonitor = null;
+		}
+		if (this.workerExecutor != null) {
+			this.workerExecutor.shutdownNow();
+			this.workerExecutor = null;
+		}
 		manager.flushZipFiles(this);
 		this.bindings = null;
 	}
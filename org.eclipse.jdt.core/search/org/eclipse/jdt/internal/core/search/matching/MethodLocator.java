@@ -137,6 +137,13 @@ public void initializePolymorphicSearch(MatchLocator locator) {
 		trace("Time to initialize polymorphic search: "+(System.currentTimeMillis()-start)); //$NON-NLS-1$
 	}
 }
+@Override
+public void initializePolymorphicSearch(MatchLocator locator, PatternLocator initializedLocator) {
+	MethodLocator initialized = (MethodLocator) initializedLocator;
+	this.allSuperDeclaringTypeNames = initialized.allSuperDeclaringTypeNames;
+	this.samePkgSuperDeclaringTypeNames = initialized.samePkgSuperDeclaringTypeNames;
+	this.matchLocator = locator;
+}
 /*
  * Return whether a type name is in pattern all super declaring types names.
  */
@@ -184,6 +184,13 @@ protected TypeBinding getTypeNameBinding(int index) {
 public void initializePolymorphicSearch(MatchLocator locator) {
 	// default is to do nothing
 }
+/**
+ * Initializes this search pattern for polymorphic search in the given locator, reusing what was computed by
+ * the given pattern locator of the same pattern, so that the workers of a parallel search do not compute it again.
+ */
+public void initializePolymorphicSearch(MatchLocator locator, PatternLocator initializedLocator) {
+	// default is to do nothing
+}
 public int match(Annotation node, MatchingNodeSet nodeSet) {
 	// each subtype should override if needed
 	return IMPOSSIBLE_MATCH;
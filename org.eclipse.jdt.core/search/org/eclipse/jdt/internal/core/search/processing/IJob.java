@@ -58,4 +58,15 @@ public interface IJob {
 	public default boolean waitNeeded() {
 		return false;
 	}
+
+	/**
+	 * Answers the key of what this job updates, when it may run along with the jobs of other keys: jobs of equal keys
+	 * run one after the other, in the order they were requested. Default implementation returns {@code null}: the job
+	 * runs alone, once the jobs requested before it are done.
+	 *
+	 * @return the key of what this job updates, or {@code null} if the job must run alone
+	 */
+	public default Object getConcurrencyKey() {
+		return null;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,15 @@ package org.eclipse.jdt.internal.core.search.processing;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -32,16 +37,37 @@ import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
+/**
+ * Runs jobs in background, in the order they are requested.
+ * <p>
+ * When {@link #getThreadCount()} answers more than one thread, worker threads run jobs along with the processing
+ * thread. A job then starts as soon as no job requested before it has the same {@link IJob#getConcurrencyKey() key},
+ * so that the jobs updating an index still run one after the other, while jobs updating different indexes run at
+ * the same time. A job without key runs alone.
+ * </p>
+ */
 public abstract class JobManager {
 
 	/**
-	 * queue of jobs to execute
+	 * queue of jobs to execute, including the running ones until they complete
 	 * <br>
 	 * synchronized by JobManager.this
 	 */
 	private final List<IJob> awaitingJobs = new LinkedList<>();
 
-	private volatile boolean executing;
+	/**
+	 * jobs of the queue which are being executed
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private final Set<IJob> runningJobs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * jobs of the queue requested by {@link #requestFirst(IJob)}, until they complete
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private final Set<IJob> firstJobs = Collections.newSetFromMap(new IdentityHashMap<>());
 
 	/**
 	 * background processing
@@ -50,6 +76,13 @@ public abstract class JobManager {
 	 */
 	private Thread processingThread;
 
+	/**
+	 * background processing along with the processing thread, null if jobs are only run by the processing thread
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private Thread[] workerThreads;
+
 	private volatile Job progressJob;
 
 	/**
@@ -142,21 +175,25 @@ public abstract class JobManager {
 		}
 
 		try {
-			IJob currentJob;
-			// cancel current job if it belongs to the given family
+			List<IJob> currentJobs = new ArrayList<>();
+			// cancel current jobs if they belong to the given family
 			synchronized(this){
-				currentJob = currentJob();
+				for (IJob job : this.runningJobs) {
+					if (jobFamily == null || job.belongsTo(jobFamily))
+						currentJobs.add(job);
+				}
 				disable();
 			}
-			if (currentJob != null && (jobFamily == null || currentJob.belongsTo(jobFamily))) {
-				currentJob.cancel();
+			if (!currentJobs.isEmpty()) {
+				for (IJob job : currentJobs)
+					job.cancel();
 
 				synchronized (this) {
-					// wait until current active job has finished
-					while (getProcessingThread() != null && this.executing){
+					// wait until current active jobs have finished, unless called by one of them
+					while (getProcessingThread() != null && !isJobThread(Thread.currentThread()) && isAnyRunning(currentJobs)){
 						try {
 							if (VERBOSE) {
-								trace("-> waiting end of current background job - " + currentJob); //$NON-NLS-1$
+								trace("-> waiting end of current background jobs - " + currentJobs); //$NON-NLS-1$
 							}
 							this.wait(50);
 						} catch(InterruptedException e){
@@ -170,14 +207,17 @@ public abstract class JobManager {
 				Iterator<IJob> it = this.awaitingJobs.iterator();
 				boolean notify = false;
 				while (it.hasNext()) {
-					currentJob = it.next();
+					IJob currentJob = it.next();
 					if (jobFamily == null || currentJob.belongsTo(jobFamily)) {
 						if (VERBOSE) {
 							trace("-> discarding background job  - " + currentJob); //$NON-NLS-1$
 						}
 						currentJob.cancel();
-						it.remove();
-						notify = true;
+						if (!this.runningJobs.contains(currentJob)) { // removed once completed otherwise
+							it.remove();
+							this.firstJobs.remove(currentJob);
+							notify = true;
+						}
 					}
 				}
 				if (notify){
@@ -191,6 +231,24 @@ public abstract class JobManager {
 			trace("DISCARD   DONE with background job family - " + jobFamily); //$NON-NLS-1$
 		}
 	}
+	private boolean isAnyRunning(List<IJob> jobs) {
+		for (IJob job : jobs) {
+			if (this.runningJobs.contains(job))
+				return true;
+		}
+		return false;
+	}
+	private synchronized boolean isJobThread(Thread thread) {
+		if (thread == this.processingThread)
+			return true;
+		if (this.workerThreads != null) {
+			for (Thread worker : this.workerThreads) {
+				if (thread == worker)
+					return true;
+			}
+		}
+		return false;
+	}
 	public synchronized void enable() {
 		this.enableCount++;
 		if (VERBOSE) {
@@ -219,6 +277,9 @@ public abstract class JobManager {
 			if(job == first) {
 				break;
 			}
+			if (this.runningJobs.contains(job)) {
+				continue;
+			}
 			if (request.test(job)) {
 				return true;
 			}
@@ -227,20 +288,54 @@ public abstract class JobManager {
 	}
 
 	/**
-	 * Advance to the next available job, once the current one has been completed.
-	 * Note: clients awaiting until the job count is zero are still waiting at this point.
+	 * Answers the next job to run and marks it as running, or null if no job can start now: the first job of the
+	 * queue which is not running, unless a job requested before it has the same key or no key.
 	 */
-	protected synchronized void moveToNextJob() {
-		//if (!enabled) return;
-
-		if (!this.awaitingJobs.isEmpty()) {
-			this.awaitingJobs.remove(0);
-			if (awaitingJobsCount() == 0) {
-				synchronized (this) {
-					this.notifyAll();
+	private synchronized IJob startNextJob() {
+		if (this.enableCount <= 0) {
+			return null;
+		}
+		Set<Object> keys = null; // keys of the jobs before
+		for (IJob job : this.awaitingJobs) {
+			Object key = job.getConcurrencyKey();
+			if (this.runningJobs.contains(job)) {
+				if (key == null) {
+					return null; // runs alone
+				}
+			} else if (key == null) {
+				// runs alone, once the jobs before are done
+				if (!this.runningJobs.isEmpty() || keys != null) {
+					return null;
 				}
+				this.runningJobs.add(job);
+				return job;
+			} else if (keys == null || !keys.contains(key)) {
+				this.runningJobs.add(job);
+				return job;
 			}
+			if (keys == null) {
+				keys = new HashSet<>();
+			}
+			keys.add(key);
 		}
+		return null;
+	}
+
+	/**
+	 * Removes the given job from the queue, once it has been completed.
+	 * Note: clients awaiting until the job count is zero are still waiting at this point.
+	 */
+	protected synchronized void jobCompleted(IJob job) {
+		this.runningJobs.remove(job);
+		this.firstJobs.remove(job);
+		for (Iterator<IJob> it = this.awaitingJobs.iterator(); it.hasNext();) {
+			if (it.next() == job) { // jobs may be equal to other ones waiting
+				it.remove();
+				break;
+			}
+		}
+		// wake up waiters for awaitingJobsCount() and the threads waiting for this job to complete
+		notifyAll();
 	}
 	/**
 	 * When idle, give chance to do something
@@ -416,6 +511,39 @@ public abstract class JobManager {
 		}
 		notifyAll(); // wake up the background thread if it is waiting
 	}
+
+	/**
+	 * Schedules given job ahead of the waiting jobs, after the running ones and the ones requested first before.
+	 * Meant for the jobs searches are blocked on.
+	 *
+	 * @param job
+	 *            a job to schedule first
+	 */
+	public synchronized void requestFirst(IJob job) {
+
+		job.ensureReadyToRun();
+		int index = 0;
+		for (IJob waiting : this.awaitingJobs) {
+			if (!this.runningJobs.contains(waiting) && !this.firstJobs.contains(waiting))
+				break;
+			index++;
+		}
+		this.awaitingJobs.add(index, job);
+		this.firstJobs.add(job);
+		if (VERBOSE) {
+			trace("REQUEST   first background job - " + job); //$NON-NLS-1$
+			trace("AWAITING JOBS count: " + awaitingJobsCount()); //$NON-NLS-1$
+		}
+		notifyAll(); // wake up the background threads if they are waiting
+	}
+
+	/**
+	 * Answers how many threads run jobs, the processing thread included. Default implementation answers
+	 * {@code 1}: jobs are only run by the processing thread.
+	 */
+	protected int getThreadCount() {
+		return 1;
+	}
 	/**
 	 * Flush current state
 	 */
@@ -440,6 +568,19 @@ public abstract class JobManager {
 				t.setContextClassLoader(this.getClass().getClassLoader());
 				t.start();
 				this.processingThread = t;
+
+				int threadCount = getThreadCount();
+				if (threadCount > 1 && this.workerThreads == null) { // workers survive a restart of the processing thread
+					this.workerThreads = new Thread[threadCount - 1];
+					for (int i = 0; i < this.workerThreads.length; i++) {
+						Thread worker = new Thread(this::workerLoop, processName() + " #" + (i + 1)); //$NON-NLS-1$
+						worker.setDaemon(true);
+						worker.setPriority(Thread.NORM_PRIORITY-1);
+						worker.setContextClassLoader(this.getClass().getClassLoader());
+						worker.start();
+						this.workerThreads[i] = worker;
+					}
+				}
 			}
 		}
 	}
@@ -491,7 +632,12 @@ public abstract class JobManager {
 						if (getProcessingThread() == null) continue;
 
 						// must check for new job inside this sync block to avoid timing hole
-						if ((job = currentJob()) == null) {
+						if ((job = startNextJob()) == null) {
+							if (isEnabled() && !this.runningJobs.isEmpty()) {
+								// the jobs left wait for the ones running on worker threads, which notify once done
+								this.wait();
+								continue;
+							}
 							Job pJob = this.progressJob;
 							if (pJob != null) {
 								pJob.cancel();
@@ -527,7 +673,6 @@ public abstract class JobManager {
 						trace("STARTING background job - " + job); //$NON-NLS-1$
 					}
 					try {
-						this.executing = true;
 						if (this.progressJob == null) {
 							ProgressJob pJob = new ProgressJob(Messages.bind(Messages.jobmanager_indexing, "", "")); //$NON-NLS-1$ //$NON-NLS-2$
 							pJob.setPriority(Job.LONG);
@@ -539,13 +684,12 @@ public abstract class JobManager {
 							JavaModelManager.getJavaModelManager().cacheZipFiles(this);
 							cacheZipFiles = true;
 						}
-						job.execute(null); // may enqueue a new job
+						runJob(job); // may enqueue a new job
 					} finally {
-						this.executing = false;
 						if (VERBOSE) {
 							trace("FINISHED background job - " + job); //$NON-NLS-1$
 						}
-						moveToNextJob();
+						jobCompleted(job);
 						if (this.awaitingClients.get() == 0 && job.waitNeeded()) {
 							if (VERBOSE) {
 								trace("WAITING after job - " + job); //$NON-NLS-1$
@@ -581,6 +725,72 @@ public abstract class JobManager {
 			}
 		}
 	}
+	/**
+	 * Runs a job of the background processing
+	 */
+	protected void runJob(IJob job) {
+		job.execute(null);
+	}
+	/**
+	 * Loop of the worker threads, running the jobs which can run along with the ones of the processing thread
+	 */
+	void workerLoop() {
+		boolean cacheZipFiles = false;
+		try {
+			while (true) {
+				try {
+					IJob job;
+					synchronized (this) {
+						if (this.workerThreads == null) {
+							return; // shutting down
+						}
+						if ((job = startNextJob()) == null && !cacheZipFiles) {
+							this.wait(); // wait until a job can start
+							continue;
+						}
+					}
+					if (job == null) {
+						// release the zip files before waiting
+						JavaModelManager.getJavaModelManager().flushZipFiles(this);
+						cacheZipFiles = false;
+						continue;
+					}
+					if (VERBOSE) {
+						trace("STARTING background job - " + job); //$NON-NLS-1$
+					}
+					try {
+						if (!cacheZipFiles) {
+							JavaModelManager.getJavaModelManager().cacheZipFiles(this);
+							cacheZipFiles = true;
+						}
+						runJob(job); // may enqueue a new job
+					} catch (ThreadDeath e) {
+						throw e;
+					} catch (RuntimeException|Error e) {
+						Util.log(e, "Background Indexer Crash Recovery"); //$NON-NLS-1$
+						// keep the worker alive, the index of the job is inconsistent
+						job.cancel();
+					} finally {
+						if (VERBOSE) {
+							trace("FINISHED background job - " + job); //$NON-NLS-1$
+						}
+						jobCompleted(job);
+						if (this.awaitingClients.get() == 0 && job.waitNeeded()) {
+							synchronized (this.idleMonitor) {
+								this.idleMonitor.wait(5); // avoid sleep fixed time
+							}
+						}
+					}
+				} catch (InterruptedException e) {
+					// ignore
+				}
+			}
+		} finally {
+			if (cacheZipFiles) {
+				JavaModelManager.getJavaModelManager().flushZipFiles(this);
+			}
+		}
+	}
 	/**
 	 * Stop background processing, and wait until the current job is completed before returning
 	 */
@@ -595,12 +805,19 @@ public abstract class JobManager {
 		Thread thread = getProcessingThread();
 		try {
 			if (thread != null) { // see http://bugs.eclipse.org/bugs/show_bug.cgi?id=31858
+				Thread[] workers;
 				synchronized (this) {
 					this.processingThread = null; // mark the job manager as shutting down so that the thread will stop by itself
+					workers = this.workerThreads;
+					this.workerThreads = null;
 					notifyAll(); // ensure its awake so it can be shutdown
 				}
 				// in case processing thread is handling a job
 				thread.join();
+				if (workers != null) {
+					for (Thread worker : workers)
+						worker.join();
+				}
 			}
 			Job job = this.progressJob;
 			if (job != null) {
@@ -617,6 +834,7 @@ public abstract class JobManager {
 		buffer.append("Enable count:").append(this.enableCount).append('\n'); //$NON-NLS-1$
 		int numJobs = this.awaitingJobs.size();
 		buffer.append("Jobs in queue:").append(numJobs).append('\n'); //$NON-NLS-1$
+		buffer.append("Running jobs:").append(this.runningJobs.size()).append('\n'); //$NON-NLS-1$
 		for (int i = 0; i < numJobs && i < 15; i++) {
 			buffer.append(i).append(" - job["+i+"]: ").append(this.awaitingJobs.get(i)).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$
 		}